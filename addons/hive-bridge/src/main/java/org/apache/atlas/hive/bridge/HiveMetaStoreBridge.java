@@ -18,9 +18,25 @@
 
 package org.apache.atlas.hive.bridge;
 
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.atlas.ApplicationProperties;
 import org.apache.atlas.AtlasClient;
@@ -60,6 +76,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
 import com.sun.jersey.api.client.ClientResponse;
 
 /**
@@ -79,6 +96,9 @@ public class HiveMetaStoreBridge {
 
     public static final String ATLAS_ENDPOINT = "atlas.rest.address";
 
+    public static final int DEFAULT_IMPORT_THREADS = 1;
+    public static final int DEFAULT_IMPORT_BATCH_SIZE = 100;
+
     private static final Logger LOG = LoggerFactory.getLogger(HiveMetaStoreBridge.class);
 
     public final Hive hiveClient;
@@ -130,6 +150,219 @@ public class HiveMetaStoreBridge {
         }
     }
 
+    /**
+     * Imports the tables of all databases using the given number of threads. The entities of up to batchSize tables
+     * are sent in one request, which creates or updates them by their unique attributes, without looking them up
+     * first. Tables listed in the checkpoint file, if given, are skipped, and the tables of each batch that is
+     * imported are added to it, so that an interrupted import can be resumed by running it again with the same file.
+     */
+    void importHiveMetadata(boolean failOnError, int numThreads, int batchSize, String checkpointFile) throws Exception {
+        LOG.info("Importing hive metadata with {} threads and {} tables per batch", numThreads, batchSize);
+
+        ImportCheckpoint checkpoint = checkpointFile == null ? null : new ImportCheckpoint(new File(checkpointFile));
+        ImportProgress progress = new ImportProgress();
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+
+        try {
+            // databases are registered, and the tables to import listed, before any table is imported
+            List<TableBatchImporter> batches = new ArrayList<>();
+            for (String databaseName : hiveClient.getAllDatabases()) {
+                Referenceable dbReference = registerDatabase(databaseName);
+
+                if (dbReference == null) {
+                    continue;
+                }
+
+                Referenceable dbId = new Referenceable(dbReference.getId().id, dbReference.getTypeName(), null);
+                List<String> tableNames = new ArrayList<>();
+                for (String tableName : hiveClient.getAllTables(databaseName)) {
+                    if (checkpoint == null
+                            || !checkpoint.contains(getTableQualifiedName(clusterName, databaseName, tableName))) {
+                        tableNames.add(tableName);
+                    }
+                }
+
+                for (List<String> batch : Lists.partition(tableNames, batchSize)) {
+                    batches.add(new TableBatchImporter(dbId, databaseName, batch, failOnError, checkpoint, progress));
+                }
+                progress.addTables(tableNames.size());
+            }
+
+            LOG.info("Importing {} tables in {} batches", progress.totalTables.get(), batches.size());
+
+            List<Future<Void>> results = new ArrayList<>(batches.size());
+            for (TableBatchImporter batch : batches) {
+                results.add(executor.submit(batch));
+            }
+
+            for (Future<Void> result : results) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    // the batch has logged the failure; the remaining batches are cancelled below
+                    if (failOnError) {
+                        throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                    }
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+
+            if (checkpoint != null) {
+                checkpoint.close();
+            }
+        }
+
+        progress.log();
+        if (progress.failedTables.get() > 0) {
+            LOG.error("Failed to import {} tables. Please check logs for import errors", progress.failedTables.get());
+        }
+    }
+
+    /**
+     * Imports a batch of tables of a database with one request to Atlas.
+     */
+    private class TableBatchImporter implements Callable<Void> {
+        private final Referenceable dbReference;
+        private final String databaseName;
+        private final List<String> tableNames;
+        private final boolean failOnError;
+        private final ImportCheckpoint checkpoint;
+        private final ImportProgress progress;
+
+        TableBatchImporter(Referenceable dbReference, String databaseName, List<String> tableNames,
+                           boolean failOnError, ImportCheckpoint checkpoint, ImportProgress progress) {
+            this.dbReference = dbReference;
+            this.databaseName = databaseName;
+            this.tableNames = tableNames;
+            this.failOnError = failOnError;
+            this.checkpoint = checkpoint;
+            this.progress = progress;
+        }
+
+        @Override
+        public Void call() throws Exception {
+            List<Referenceable> entities = new ArrayList<>();
+            List<String> tableQualifiedNames = new ArrayList<>(tableNames.size());
+
+            for (String tableName : tableNames) {
+                try {
+                    Table table;
+                    // the metastore client isn't thread safe, only the requests to Atlas are made in parallel
+                    synchronized (hiveClient) {
+                        table = hiveClient.getTable(databaseName, tableName);
+                    }
+
+                    Referenceable tableReference = createTableInstance(dbReference, table);
+                    entities.add(tableReference);
+                    if (table.getTableType() == TableType.EXTERNAL_TABLE) {
+                        String processQualifiedName = getTableProcessQualifiedName(clusterName, table);
+                        Referenceable process = getProcessReference(processQualifiedName);
+                        if (process == null) {
+                            entities.add(createTableProcessInstance(table, tableReference));
+                        } else {
+                            LOG.info("Process {} is already registered", process.toString());
+                        }
+                    }
+                    tableQualifiedNames.add(getTableQualifiedName(clusterName, databaseName, tableName));
+                } catch (Exception e) {
+                    LOG.error("Import failed for hive_table {}.{}", databaseName, tableName, e);
+                    progress.tablesFailed(1);
+                    if (failOnError) {
+                        throw e;
+                    }
+                }
+            }
+
+            if (entities.isEmpty()) {
+                return null;
+            }
+
+            try {
+                getAtlasClient().updateEntities(entities);
+            } catch (Exception e) {
+                LOG.error("Import failed for hive_tables {} of database {}", tableNames, databaseName, e);
+                progress.tablesFailed(tableQualifiedNames.size());
+                throw e;
+            }
+
+            if (checkpoint != null) {
+                checkpoint.add(tableQualifiedNames);
+            }
+            progress.tablesImported(tableQualifiedNames.size());
+            return null;
+        }
+    }
+
+    /**
+     * Names of the tables imported so far, kept in a file with one qualified name per line.
+     */
+    static class ImportCheckpoint implements Closeable {
+        private final Set<String> importedTables = new HashSet<>();
+        private final BufferedWriter writer;
+
+        ImportCheckpoint(File file) throws IOException {
+            if (file.exists()) {
+                importedTables.addAll(Files.readAllLines(file.toPath(), StandardCharsets.UTF_8));
+                LOG.info("Skipping {} tables imported earlier, listed in {}", importedTables.size(), file);
+            }
+            writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+        }
+
+        boolean contains(String tableQualifiedName) {
+            return importedTables.contains(tableQualifiedName);
+        }
+
+        synchronized void add(Collection<String> tableQualifiedNames) throws IOException {
+            for (String tableQualifiedName : tableQualifiedNames) {
+                writer.write(tableQualifiedName);
+                writer.newLine();
+            }
+            writer.flush();
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    private static class ImportProgress {
+        private static final long LOG_INTERVAL_MS = 30000;
+
+        private final long startTime = System.currentTimeMillis();
+        private final AtomicInteger totalTables = new AtomicInteger();
+        private final AtomicInteger importedTables = new AtomicInteger();
+        private final AtomicInteger failedTables = new AtomicInteger();
+        private volatile long lastLogTime = startTime;
+
+        void addTables(int count) {
+            totalTables.addAndGet(count);
+        }
+
+        void tablesImported(int count) {
+            importedTables.addAndGet(count);
+
+            long now = System.currentTimeMillis();
+            if (now - lastLogTime >= LOG_INTERVAL_MS) {
+                lastLogTime = now;
+                log();
+            }
+        }
+
+        void tablesFailed(int count) {
+            failedTables.addAndGet(count);
+        }
+
+        void log() {
+            long elapsedMs = Math.max(System.currentTimeMillis() - startTime, 1);
+
+            LOG.info("Imported {} of {} tables ({} failed) in {} seconds, {} tables/second", importedTables.get(),
+                    totalTables.get(), failedTables.get(), elapsedMs / 1000, importedTables.get() * 1000L / elapsedMs);
+        }
+    }
+
     /**
      * Create a Hive Database entity
      * @param hiveDB The Hive {@link Database} object from which to map properties
@@ -277,30 +510,7 @@ public class HiveMetaStoreBridge {
                 Referenceable process = getProcessReference(tableQualifiedName);
                 if (process == null) {
                     LOG.info("Attempting to register create table process for {}", tableQualifiedName);
-                    Referenceable lineageProcess = new Referenceable(HiveDataTypes.HIVE_PROCESS.getName());
-                    ArrayList<Referenceable> sourceList = new ArrayList<>();
-                    ArrayList<Referenceable> targetList = new ArrayList<>();
-                    String tableLocation = table.getDataLocation().toString();
-                    Referenceable path = fillHDFSDataSet(tableLocation);
-                    String query = getCreateTableString(table, tableLocation);
-                    sourceList.add(path);
-                    targetList.add(tableReferenceable);
-                    lineageProcess.set("inputs", sourceList);
-                    lineageProcess.set("outputs", targetList);
-                    lineageProcess.set("userName", table.getOwner());
-                    lineageProcess.set("startTime", new Date(System.currentTimeMillis()));
-                    lineageProcess.set("endTime", new Date(System.currentTimeMillis()));
-                    lineageProcess.set("operationType", "CREATETABLE");
-                    lineageProcess.set("queryText", query);
-                    lineageProcess.set("queryId", query);
-                    lineageProcess.set("queryPlan", "{}");
-                    lineageProcess.set("clusterName", clusterName);
-                    List<String> recentQueries = new ArrayList<>(1);
-                    recentQueries.add(query);
-                    lineageProcess.set("recentQueries", recentQueries);
-                    String processQualifiedName = getTableProcessQualifiedName(clusterName, table);
-                    lineageProcess.set(AtlasClient.REFERENCEABLE_ATTRIBUTE_NAME, processQualifiedName);
-                    lineageProcess.set(AtlasClient.NAME, query);
+                    Referenceable lineageProcess = createTableProcessInstance(table, tableReferenceable);
                     registerInstance(lineageProcess);
                 } else {
                     LOG.info("Process {} is already registered", process.toString());
@@ -316,6 +526,37 @@ public class HiveMetaStoreBridge {
         }
     }
 
+    /**
+     * Create the process entity which creates the given external table from its location
+     */
+    private Referenceable createTableProcessInstance(Table table, Referenceable tableReference) {
+        Referenceable lineageProcess = new Referenceable(HiveDataTypes.HIVE_PROCESS.getName());
+        ArrayList<Referenceable> sourceList = new ArrayList<>();
+        ArrayList<Referenceable> targetList = new ArrayList<>();
+        String tableLocation = table.getDataLocation().toString();
+        Referenceable path = fillHDFSDataSet(tableLocation);
+        String query = getCreateTableString(table, tableLocation);
+        sourceList.add(path);
+        targetList.add(tableReference);
+        lineageProcess.set("inputs", sourceList);
+        lineageProcess.set("outputs", targetList);
+        lineageProcess.set("userName", table.getOwner());
+        lineageProcess.set("startTime", new Date(System.currentTimeMillis()));
+        lineageProcess.set("endTime", new Date(System.currentTimeMillis()));
+        lineageProcess.set("operationType", "CREATETABLE");
+        lineageProcess.set("queryText", query);
+        lineageProcess.set("queryId", query);
+        lineageProcess.set("queryPlan", "{}");
+        lineageProcess.set("clusterName", clusterName);
+        List<String> recentQueries = new ArrayList<>(1);
+        recentQueries.add(query);
+        lineageProcess.set("recentQueries", recentQueries);
+        String processQualifiedName = getTableProcessQualifiedName(clusterName, table);
+        lineageProcess.set(AtlasClient.REFERENCEABLE_ATTRIBUTE_NAME, processQualifiedName);
+        lineageProcess.set(AtlasClient.NAME, query);
+        return lineageProcess;
+    }
+
     /**
      * Gets reference for the table
      *
@@ -652,6 +893,10 @@ public class HiveMetaStoreBridge {
         }
 
         Options options = new Options();
+        options.addOption("failOnError", false, "stop the import when a table fails to import");
+        options.addOption("threads", true, "number of threads importing tables in batches");
+        options.addOption("batchSize", true, "number of tables imported with each request to Atlas");
+        options.addOption("checkpoint", true, "file with the tables imported so far, to resume an import");
         CommandLineParser parser = new BasicParser();
         CommandLine cmd = parser.parse( options, args);
 
@@ -662,6 +907,14 @@ public class HiveMetaStoreBridge {
 
         HiveMetaStoreBridge hiveMetaStoreBridge = new HiveMetaStoreBridge(atlasConf, new HiveConf(), atlasClient);
         hiveMetaStoreBridge.registerHiveDataModel();
-        hiveMetaStoreBridge.importHiveMetadata(failOnError);
+
+        if (cmd.hasOption("threads") || cmd.hasOption("batchSize") || cmd.hasOption("checkpoint")) {
+            int numThreads = Integer.parseInt(cmd.getOptionValue("threads", String.valueOf(DEFAULT_IMPORT_THREADS)));
+            int batchSize = Integer.parseInt(cmd.getOptionValue("batchSize", String.valueOf(DEFAULT_IMPORT_BATCH_SIZE)));
+
+            hiveMetaStoreBridge.importHiveMetadata(failOnError, numThreads, batchSize, cmd.getOptionValue("checkpoint"));
+        } else {
+            hiveMetaStoreBridge.importHiveMetadata(failOnError);
+        }
     }
 }
@@ -42,12 +42,19 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 import scala.actors.threadpool.Arrays;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
+import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.argThat;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -221,6 +228,41 @@ public class HiveMetaStoreBridgeTest {
         }
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testImportInBatchesWithCheckpoint() throws Exception {
+        setupDB(hiveClient, TEST_DB_NAME);
+        setupTables(hiveClient, TEST_DB_NAME, TEST_TABLE_NAME, TEST_TABLE_NAME + "_1", TEST_TABLE_NAME + "_2");
+        returnExistingDatabase(TEST_DB_NAME, atlasClient, CLUSTER_NAME);
+
+        File checkpointFile = File.createTempFile("import-hive", ".checkpoint");
+        checkpointFile.delete();
+
+        // the create process of the first table is already registered
+        String processQualifiedName = HiveMetaStoreBridge.getTableProcessQualifiedName(CLUSTER_NAME,
+                hiveClient.getTable(TEST_DB_NAME, TEST_TABLE_NAME));
+        when(atlasClient.getEntity(HiveDataTypes.HIVE_PROCESS.getName(), AtlasClient.REFERENCEABLE_ATTRIBUTE_NAME,
+                processQualifiedName)).thenReturn(getEntityReference(HiveDataTypes.HIVE_PROCESS.getName(), "82e06b34-9151-4023-aa9d-b82103a50e77"));
+
+        HiveMetaStoreBridge bridge = new HiveMetaStoreBridge(CLUSTER_NAME, hiveClient, atlasClient);
+        bridge.importHiveMetadata(true, 2, 2, checkpointFile.getAbsolutePath());
+
+        // 3 tables in 2 batches, each table along with its create process unless already registered
+        verify(atlasClient, times(2)).updateEntities((Collection<Referenceable>) any(Collection.class));
+        verify(atlasClient, never()).updateEntities((Collection<Referenceable>) argThat(
+                new ContainsReferenceableProperty(AtlasClient.REFERENCEABLE_ATTRIBUTE_NAME, processQualifiedName)));
+        List<String> importedTables = Files.readAllLines(checkpointFile.toPath(), StandardCharsets.UTF_8);
+        Assert.assertEquals(importedTables.size(), 3);
+        Assert.assertTrue(importedTables.contains(
+                HiveMetaStoreBridge.getTableQualifiedName(CLUSTER_NAME, TEST_DB_NAME, TEST_TABLE_NAME)));
+
+        // tables in the checkpoint are not imported again
+        bridge.importHiveMetadata(true, 2, 2, checkpointFile.getAbsolutePath());
+        verify(atlasClient, times(2)).updateEntities((Collection<Referenceable>) any(Collection.class));
+
+        checkpointFile.delete();
+    }
+
     private Referenceable getEntityReference(String typeName, String id) throws JSONException {
         return new Referenceable(id, typeName, null);
     }
@@ -258,4 +300,22 @@ public class HiveMetaStoreBridgeTest {
             return attrValue.equals(((Referenceable) o).get(attrName));
         }
     }
+
+    private class ContainsReferenceableProperty extends ArgumentMatcher<Object> {
+        private final MatchesReferenceableProperty matcher;
+
+        public ContainsReferenceableProperty(String attrName, Object attrValue) {
+            this.matcher = new MatchesReferenceableProperty(attrName, attrValue);
+        }
+
+        @Override
+        public boolean matches(Object o) {
+            for (Object referenceable : (Collection<?>) o) {
+                if (matcher.matches(referenceable)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
 }
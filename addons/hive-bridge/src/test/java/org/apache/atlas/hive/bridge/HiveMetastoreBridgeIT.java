@@ -86,4 +86,25 @@ public class HiveMetastoreBridgeIT extends HiveITBase {
         assertEquals(outputs.size(), 1);
         assertEquals(outputs.get(0).getId()._getId(), tableId);
     }
+
+    @Test
+    public void testImportInBatches() throws Exception {
+        String tableName = tableName();
+        String tableName2 = tableName();
+        String pFile = createTestDFSPath("parentPath");
+        runCommand(driverWithoutContext, String.format("create EXTERNAL table %s(id string) location '%s'", tableName, pFile));
+        runCommand(driverWithoutContext, String.format("create table %s(id string)", tableName2));
+
+        hiveMetaStoreBridge.importHiveMetadata(true, 2, 10, null);
+
+        String tableId = assertTableIsRegistered(DEFAULT_DB, tableName);
+        assertTableIsRegistered(DEFAULT_DB, tableName2);
+
+        String processId = assertEntityIsRegistered(HiveDataTypes.HIVE_PROCESS.getName(),
+                AtlasClient.REFERENCEABLE_ATTRIBUTE_NAME,
+                getTableProcessQualifiedName(DEFAULT_DB, tableName), null);
+        List<Id> outputs = (List<Id>) atlasClient.getEntity(processId).get(OUTPUTS);
+        assertEquals(outputs.size(), 1);
+        assertEquals(outputs.get(0).getId()._getId(), tableId);
+    }
 }
@@ -0,0 +1,163 @@
+/** Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.authorize.simple;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.IOCase;
+import org.apache.commons.lang.StringUtils;
+
+/**
+ * The resource values of the policies of one user or group for one action and resource type, compiled for matching.
+ *
+ * Values without '*' are matched exactly, with a hash set lookup. Values with a single leading or trailing '*' are
+ * matched with a trie of suffixes or prefixes. Only the remaining values are matched one by one with
+ * FilenameUtils.wildcardMatch.
+ */
+public final class PolicyResourceMatcher {
+    private static final String WILDCARD_ASTERISK = "*";
+
+    private final boolean ignoreCase;
+    private final boolean matchAny;
+    private final Set<String> exactValues = new HashSet<String>();
+    private final PatternTrie prefixes = new PatternTrie();
+    private final PatternTrie suffixes = new PatternTrie();
+    private final List<String> wildcardValues = new ArrayList<String>();
+
+    public PolicyResourceMatcher(List<String> policyValues, boolean ignoreCase) {
+        this.ignoreCase = ignoreCase;
+
+        boolean isMatchAny = false;
+        if (policyValues != null) {
+            for (String policyValue : policyValues) {
+                if (StringUtils.isEmpty(policyValue)) {
+                    continue;
+                }
+                if (StringUtils.containsOnly(policyValue, WILDCARD_ASTERISK)) {
+                    isMatchAny = true;
+                    continue;
+                }
+
+                String value = normalize(policyValue);
+                int asteriskCount = StringUtils.countMatches(value, WILDCARD_ASTERISK);
+
+                if (asteriskCount == 0) {
+                    // '?' is only a wildcard in values which also contain '*'
+                    exactValues.add(value);
+                } else if (asteriskCount == 1 && !value.contains("?") && value.endsWith(WILDCARD_ASTERISK)) {
+                    prefixes.add(value.substring(0, value.length() - 1), false);
+                } else if (asteriskCount == 1 && !value.contains("?") && value.startsWith(WILDCARD_ASTERISK)) {
+                    suffixes.add(value.substring(1), true);
+                } else {
+                    wildcardValues.add(value);
+                }
+            }
+        }
+        this.matchAny = isMatchAny;
+    }
+
+    /**
+     * @return true if the policy values match any resource
+     */
+    public boolean isMatchAny() {
+        return matchAny;
+    }
+
+    /**
+     * Check if the resource matches one of the policy values. A request for all resources, an empty resource or
+     * "*", only matches if the policy values match any resource.
+     */
+    public boolean isMatch(String resource) {
+        if (matchAny || StringUtils.isEmpty(resource) || WILDCARD_ASTERISK.equals(resource)) {
+            return matchAny;
+        }
+
+        String value = normalize(resource);
+        if (exactValues.contains(value) || prefixes.matches(value, false) || suffixes.matches(value, true)) {
+            return true;
+        }
+
+        for (String wildcardValue : wildcardValues) {
+            // values are already normalized for case
+            if (FilenameUtils.wildcardMatch(value, wildcardValue, IOCase.SENSITIVE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String normalize(String value) {
+        return ignoreCase ? value.toLowerCase(Locale.ENGLISH) : value;
+    }
+
+    @Override
+    public String toString() {
+        return "PolicyResourceMatcher [matchAny=" + matchAny + ", exactValues=" + exactValues + ", wildcardValues="
+            + wildcardValues + "]";
+    }
+
+    /**
+     * Trie of the fixed parts of prefix or suffix patterns. A suffix trie stores its keys reversed.
+     */
+    private static final class PatternTrie {
+        private final Node root = new Node();
+
+        void add(String key, boolean reverse) {
+            Node node = root;
+            for (int i = 0; i < key.length(); i++) {
+                char c = key.charAt(reverse ? key.length() - 1 - i : i);
+                Node child = node.children.get(c);
+                if (child == null) {
+                    child = new Node();
+                    node.children.put(c, child);
+                }
+                node = child;
+            }
+            node.terminal = true;
+        }
+
+        // true if a key of the trie is a prefix (or, if reverse, a suffix) of the value
+        boolean matches(String value, boolean reverse) {
+            Node node = root;
+            if (node.terminal) {
+                return true;
+            }
+            for (int i = 0; i < value.length(); i++) {
+                node = node.children.get(value.charAt(reverse ? value.length() - 1 - i : i));
+                if (node == null) {
+                    return false;
+                }
+                if (node.terminal) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static final class Node {
+            final Map<Character, Node> children = new HashMap<Character, Node>();
+            boolean terminal = false;
+        }
+    }
+}
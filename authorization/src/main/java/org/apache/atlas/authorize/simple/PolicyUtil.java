@@ -17,6 +17,7 @@
 package org.apache.atlas.authorize.simple;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -100,4 +101,29 @@ public class PolicyUtil {
 
     }
 
+    /**
+     * Compile the resource lists of a permission map, as created by createPermissionMap, for matching.
+     */
+    public Map<String, Map<AtlasResourceTypes, PolicyResourceMatcher>> compilePermissionMap(
+        Map<String, Map<AtlasResourceTypes, List<String>>> permissionMap, boolean ignoreCase) {
+        Map<String, Map<AtlasResourceTypes, PolicyResourceMatcher>> compiledMap =
+            new HashMap<String, Map<AtlasResourceTypes, PolicyResourceMatcher>>();
+
+        if (permissionMap != null) {
+            for (Entry<String, Map<AtlasResourceTypes, List<String>>> e : permissionMap.entrySet()) {
+                Map<AtlasResourceTypes, PolicyResourceMatcher> matchers =
+                    new EnumMap<AtlasResourceTypes, PolicyResourceMatcher>(AtlasResourceTypes.class);
+
+                for (Entry<AtlasResourceTypes, List<String>> resources : e.getValue().entrySet()) {
+                    matchers.put(resources.getKey(), new PolicyResourceMatcher(resources.getValue(), ignoreCase));
+                }
+                compiledMap.put(e.getKey(), matchers);
+            }
+        }
+        if (isDebugEnabled) {
+            LOG.debug("Compiled permission map :: " + compiledMap);
+        }
+        return compiledMap;
+    }
+
 }
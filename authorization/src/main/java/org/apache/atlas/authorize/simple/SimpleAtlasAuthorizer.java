@@ -19,7 +19,8 @@
 package org.apache.atlas.authorize.simple;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Set;
 import java.util.Map;
@@ -34,13 +35,13 @@ import org.apache.atlas.authorize.AtlasResourceTypes;
 import org.apache.atlas.utils.PropertiesUtil;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.configuration.Configuration;
-import org.apache.commons.io.FilenameUtils;
-import org.apache.commons.io.IOCase;
-import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
 
 public final class SimpleAtlasAuthorizer implements AtlasAuthorizer {
 
@@ -50,18 +51,18 @@ public final class SimpleAtlasAuthorizer implements AtlasAuthorizer {
 
     private static final Logger LOG = LoggerFactory.getLogger(SimpleAtlasAuthorizer.class);
     private boolean isDebugEnabled = LOG.isDebugEnabled();
-    private final static String WILDCARD_ASTERISK = "*";
-    private final static String WILDCARDS = "*?";
     private boolean optIgnoreCase = false;
 
-    private Map<String, Map<AtlasResourceTypes, List<String>>> userReadMap = null;
-    private Map<String, Map<AtlasResourceTypes, List<String>>> userWriteMap = null;
-    private Map<String, Map<AtlasResourceTypes, List<String>>> userUpdateMap = null;
-    private Map<String, Map<AtlasResourceTypes, List<String>>> userDeleteMap = null;
-    private Map<String, Map<AtlasResourceTypes, List<String>>> groupReadMap = null;
-    private Map<String, Map<AtlasResourceTypes, List<String>>> groupWriteMap = null;
-    private Map<String, Map<AtlasResourceTypes, List<String>>> groupUpdateMap = null;
-    private Map<String, Map<AtlasResourceTypes, List<String>>> groupDeleteMap = null;
+    public static final String DECISION_CACHE_SIZE_PROPERTY = "atlas.auth.decision.cache.size";
+    private static final int DEFAULT_DECISION_CACHE_SIZE = 10000;
+
+    private int decisionCacheSize = DEFAULT_DECISION_CACHE_SIZE;
+
+    /*
+     * Policies compiled for matching, together with the decisions made with them. Both are replaced at once when
+     * policies are (re)loaded, so that a decision made with old policies is never returned for new policies.
+     */
+    private volatile CompiledPolicies policies = new CompiledPolicies(DEFAULT_DECISION_CACHE_SIZE);
 
     public SimpleAtlasAuthorizer() {
     }
@@ -84,6 +85,7 @@ public final class SimpleAtlasAuthorizer implements AtlasAuthorizer {
 
             Configuration configuration = ApplicationProperties.get();
             String policyStorePath = configuration.getString("atlas.auth.policy.file", System.getProperty("atlas.conf")+"/policy-store.txt");
+            decisionCacheSize = configuration.getInt(DECISION_CACHE_SIZE_PROPERTY, DEFAULT_DECISION_CACHE_SIZE);
 
             if (isDebugEnabled) {
                 LOG.debug("Loading Apache Atlas policies from : " + policyStorePath);
@@ -92,22 +94,21 @@ public final class SimpleAtlasAuthorizer implements AtlasAuthorizer {
             List<String> policies = FileReaderUtil.readFile(policyStorePath);
             List<PolicyDef> policyDef = parser.parsePolicies(policies);
 
-            userReadMap = util.createPermissionMap(policyDef, AtlasActionTypes.READ, AtlasAccessorTypes.USER);
-            userWriteMap = util.createPermissionMap(policyDef, AtlasActionTypes.CREATE, AtlasAccessorTypes.USER);
-            userUpdateMap = util.createPermissionMap(policyDef, AtlasActionTypes.UPDATE, AtlasAccessorTypes.USER);
-            userDeleteMap = util.createPermissionMap(policyDef, AtlasActionTypes.DELETE, AtlasAccessorTypes.USER);
+            CompiledPolicies compiledPolicies = new CompiledPolicies(decisionCacheSize);
+            for (AtlasActionTypes action : AtlasActionTypes.values()) {
+                Map<String, Map<AtlasResourceTypes, List<String>>> userMap =
+                    util.createPermissionMap(policyDef, action, AtlasAccessorTypes.USER);
+                Map<String, Map<AtlasResourceTypes, List<String>>> groupMap =
+                    util.createPermissionMap(policyDef, action, AtlasAccessorTypes.GROUP);
 
-            groupReadMap = util.createPermissionMap(policyDef, AtlasActionTypes.READ, AtlasAccessorTypes.GROUP);
-            groupWriteMap = util.createPermissionMap(policyDef, AtlasActionTypes.CREATE, AtlasAccessorTypes.GROUP);
-            groupUpdateMap = util.createPermissionMap(policyDef, AtlasActionTypes.UPDATE, AtlasAccessorTypes.GROUP);
-            groupDeleteMap = util.createPermissionMap(policyDef, AtlasActionTypes.DELETE, AtlasAccessorTypes.GROUP);
+                if (isDebugEnabled) {
+                    LOG.debug("\n\nUser" + action + "Map :: " + userMap + "\nGroup" + action + "Map :: " + groupMap);
+                }
 
-            if (isDebugEnabled) {
-                LOG.debug("\n\nUserReadMap :: " + userReadMap + "\nGroupReadMap :: " + groupReadMap);
-                LOG.debug("\n\nUserWriteMap :: " + userWriteMap + "\nGroupWriteMap :: " + groupWriteMap);
-                LOG.debug("\n\nUserUpdateMap :: " + userUpdateMap + "\nGroupUpdateMap :: " + groupUpdateMap);
-                LOG.debug("\n\nUserDeleteMap :: " + userDeleteMap + "\nGroupDeleteMap :: " + groupDeleteMap);
+                compiledPolicies.userMatchers.put(action, util.compilePermissionMap(userMap, optIgnoreCase));
+                compiledPolicies.groupMatchers.put(action, util.compilePermissionMap(groupMap, optIgnoreCase));
             }
+            this.policies = compiledPolicies;
 
         } catch (IOException | AtlasException e) {
             if (LOG.isErrorEnabled()) {
@@ -147,28 +148,22 @@ public final class SimpleAtlasAuthorizer implements AtlasAuthorizer {
             }
             switch (action) {
                 case READ:
-                    isAccessAllowed = checkAccess(user, resourceTypes, resource, userReadMap);
-                    isAccessAllowed =
-                        isAccessAllowed == false ? checkAccessForGroups(groups, resourceTypes, resource, groupReadMap)
-                            : isAccessAllowed;
-                    break;
                 case CREATE:
-                    isAccessAllowed = checkAccess(user, resourceTypes, resource, userWriteMap);
-                    isAccessAllowed =
-                        isAccessAllowed == false ? checkAccessForGroups(groups, resourceTypes, resource, groupWriteMap)
-                            : isAccessAllowed;
-                    break;
                 case UPDATE:
-                    isAccessAllowed = checkAccess(user, resourceTypes, resource, userUpdateMap);
-                    isAccessAllowed =
-                        isAccessAllowed == false
-                            ? checkAccessForGroups(groups, resourceTypes, resource, groupUpdateMap) : isAccessAllowed;
-                    break;
                 case DELETE:
-                    isAccessAllowed = checkAccess(user, resourceTypes, resource, userDeleteMap);
-                    isAccessAllowed =
-                        isAccessAllowed == false
-                            ? checkAccessForGroups(groups, resourceTypes, resource, groupDeleteMap) : isAccessAllowed;
+                    CompiledPolicies compiledPolicies = policies;
+                    DecisionKey decisionKey = new DecisionKey(user, groups, action, resourceTypes, resource);
+                    Boolean decision = compiledPolicies.getDecision(decisionKey);
+
+                    if (decision == null) {
+                        decision = checkAccess(user, resourceTypes, resource, compiledPolicies.userMatchers.get(action))
+                            || checkAccessForGroups(groups, resourceTypes, resource,
+                                   compiledPolicies.groupMatchers.get(action));
+                        compiledPolicies.putDecision(decisionKey, decision);
+                    } else if (isDebugEnabled) {
+                        LOG.debug("Using cached decision for " + request);
+                    }
+                    isAccessAllowed = decision;
                     break;
                 default:
                     if (isDebugEnabled) {
@@ -186,24 +181,23 @@ public final class SimpleAtlasAuthorizer implements AtlasAuthorizer {
     }
 
     private boolean checkAccess(String accessor, Set<AtlasResourceTypes> resourceTypes, String resource,
-        Map<String, Map<AtlasResourceTypes, List<String>>> map) {
+        Map<String, Map<AtlasResourceTypes, PolicyResourceMatcher>> map) {
         if (isDebugEnabled) {
             LOG.debug("==> SimpleAtlasAuthorizer checkAccess");
             LOG.debug("Now checking access for accessor : " + accessor + "\nResource Types : " + resourceTypes
                 + "\nResource : " + resource + "\nMap : " + map);
         }
         boolean result = true;
-        Map<AtlasResourceTypes, List<String>> rescMap = map.get(accessor);
+        Map<AtlasResourceTypes, PolicyResourceMatcher> rescMap = map == null ? null : map.get(accessor);
         if (rescMap != null) {
             for (AtlasResourceTypes resourceType : resourceTypes) {
-                List<String> accessList = rescMap.get(resourceType);
+                PolicyResourceMatcher matcher = rescMap.get(resourceType);
                 if (isDebugEnabled) {
-                    LOG.debug("\nChecking for resource : " + resource + " in list : " + accessList + "\n");
+                    LOG.debug("\nChecking for resource : " + resource + " with : " + matcher + "\n");
                 }
-                if (accessList != null) {
-                    result = result && isMatch(resource, accessList);
-                } else {
+                if (matcher == null || !matcher.isMatch(resource)) {
                     result = false;
+                    break;
                 }
             }
         } else {
@@ -220,7 +214,7 @@ public final class SimpleAtlasAuthorizer implements AtlasAuthorizer {
     }
 
     private boolean checkAccessForGroups(Set<String> groups, Set<AtlasResourceTypes> resourceType, String resource,
-        Map<String, Map<AtlasResourceTypes, List<String>>> map) {
+        Map<String, Map<AtlasResourceTypes, PolicyResourceMatcher>> map) {
         boolean isAccessAllowed = false;
         if (isDebugEnabled) {
             LOG.debug("==> SimpleAtlasAuthorizer checkAccessForGroups");
@@ -241,109 +235,12 @@ public final class SimpleAtlasAuthorizer implements AtlasAuthorizer {
         return isAccessAllowed;
     }
 
-    private boolean resourceMatchHelper(List<String> policyResource) {
-        boolean isMatchAny = false;
-        if (isDebugEnabled) {
-            LOG.debug("==> SimpleAtlasAuthorizer resourceMatchHelper");
-        }
-
-        boolean optWildCard = true;
-
-        List<String> policyValues = new ArrayList<String>();
-
-        if (policyResource != null) {
-            boolean isWildCardPresent = !optWildCard;
-            for (String policyValue : policyResource) {
-                if (StringUtils.isEmpty(policyValue)) {
-                    continue;
-                }
-                if (StringUtils.containsOnly(policyValue, WILDCARD_ASTERISK)) {
-                    isMatchAny = true;
-                } else if (!isWildCardPresent && StringUtils.containsAny(policyValue, WILDCARDS)) {
-                    isWildCardPresent = true;
-                }
-                policyValues.add(policyValue);
-            }
-            optWildCard = optWildCard && isWildCardPresent;
-        } else {
-            isMatchAny = false;
-        }
-
-        if (isDebugEnabled) {
-            LOG.debug("<== SimpleAtlasAuthorizer resourceMatchHelper");
-        }
-        return isMatchAny;
-    }
-
-    private boolean isMatch(String resource, List<String> policyValues) {
-        if (isDebugEnabled) {
-            LOG.debug("==> SimpleAtlasAuthorizer isMatch");
-        }
-        boolean isMatchAny = resourceMatchHelper(policyValues);
-        boolean isMatch = false;
-        boolean allValuesRequested = isAllValuesRequested(resource);
-
-        if (allValuesRequested || isMatchAny) {
-            isMatch = isMatchAny;
-        } else {
-            for (String policyValue : policyValues) {
-                if (policyValue.contains("*")) {
-                    isMatch =
-                        optIgnoreCase ? FilenameUtils.wildcardMatch(resource, policyValue, IOCase.INSENSITIVE)
-                            : FilenameUtils.wildcardMatch(resource, policyValue, IOCase.SENSITIVE);
-                } else {
-                    isMatch =
-                        optIgnoreCase ? StringUtils.equalsIgnoreCase(resource, policyValue) : StringUtils.equals(
-                            resource, policyValue);
-                }
-                if (isMatch) {
-                    break;
-                }
-            }
-        }
-
-        if (isMatch == false) {
-
-            if (isDebugEnabled) {
-                StringBuilder sb = new StringBuilder();
-                sb.append("[");
-                for (String policyValue : policyValues) {
-                    sb.append(policyValue);
-                    sb.append(" ");
-                }
-                sb.append("]");
-
-                LOG.debug("AtlasDefaultResourceMatcher.isMatch returns FALSE, (resource=" + resource
-                    + ", policyValues=" + sb.toString() + ")");
-            }
-
-        }
-
-        if (isDebugEnabled) {
-            LOG.debug("<== SimpleAtlasAuthorizer isMatch(" + resource + "): " + isMatch);
-        }
-
-        return isMatch;
-    }
-
-    private boolean isAllValuesRequested(String resource) {
-        boolean result = StringUtils.isEmpty(resource) || WILDCARD_ASTERISK.equals(resource);
-        return result;
-    }
-
     @Override
     public void cleanUp() {
         if (isDebugEnabled) {
             LOG.debug("==> +SimpleAtlasAuthorizer cleanUp");
         }
-        userReadMap = null;
-        userWriteMap = null;
-        userUpdateMap = null;
-        userDeleteMap = null;
-        groupReadMap = null;
-        groupWriteMap = null;
-        groupUpdateMap = null;
-        groupDeleteMap = null;
+        policies = new CompiledPolicies(decisionCacheSize);
         if (isDebugEnabled) {
             LOG.debug("<== +SimpleAtlasAuthorizer cleanUp");
         }
@@ -358,24 +255,17 @@ public final class SimpleAtlasAuthorizer implements AtlasAuthorizer {
 
         switch (actionTypes) {
             case READ:
-                this.userReadMap = userMap;
-                this.groupReadMap = groupMap;
-                break;
-
             case CREATE:
-
-                this.userWriteMap = userMap;
-                this.groupWriteMap = groupMap;
-                break;
             case UPDATE:
-
-                this.userUpdateMap = userMap;
-                this.groupUpdateMap = groupMap;
-                break;
             case DELETE:
-
-                this.userDeleteMap = userMap;
-                this.groupDeleteMap = groupMap;
+                PolicyUtil util = new PolicyUtil();
+                CompiledPolicies compiledPolicies = new CompiledPolicies(decisionCacheSize);
+
+                compiledPolicies.userMatchers.putAll(policies.userMatchers);
+                compiledPolicies.groupMatchers.putAll(policies.groupMatchers);
+                compiledPolicies.userMatchers.put(actionTypes, util.compilePermissionMap(userMap, optIgnoreCase));
+                compiledPolicies.groupMatchers.put(actionTypes, util.compilePermissionMap(groupMap, optIgnoreCase));
+                this.policies = compiledPolicies;
                 break;
 
             default:
@@ -385,7 +275,81 @@ public final class SimpleAtlasAuthorizer implements AtlasAuthorizer {
                 break;
         }
     }
-    
-}
 
+    @VisibleForTesting
+    long getCachedDecisionCount() {
+        return policies.decisions == null ? 0 : policies.decisions.size();
+    }
+
+    private static final class CompiledPolicies {
+        final Map<AtlasActionTypes, Map<String, Map<AtlasResourceTypes, PolicyResourceMatcher>>> userMatchers =
+            new EnumMap<AtlasActionTypes, Map<String, Map<AtlasResourceTypes, PolicyResourceMatcher>>>(
+                AtlasActionTypes.class);
+        final Map<AtlasActionTypes, Map<String, Map<AtlasResourceTypes, PolicyResourceMatcher>>> groupMatchers =
+            new EnumMap<AtlasActionTypes, Map<String, Map<AtlasResourceTypes, PolicyResourceMatcher>>>(
+                AtlasActionTypes.class);
+        final Cache<DecisionKey, Boolean> decisions;
+
+        CompiledPolicies(int decisionCacheSize) {
+            decisions = decisionCacheSize > 0 ?
+                CacheBuilder.newBuilder().maximumSize(decisionCacheSize).<DecisionKey, Boolean>build() : null;
+        }
+
+        Boolean getDecision(DecisionKey key) {
+            return decisions == null ? null : decisions.getIfPresent(key);
+        }
+
+        void putDecision(DecisionKey key, boolean decision) {
+            if (decisions != null) {
+                decisions.put(key, decision);
+            }
+        }
+    }
+
+    private static final class DecisionKey {
+        private final String user;
+        private final Set<String> groups;
+        private final AtlasActionTypes action;
+        private final Set<AtlasResourceTypes> resourceTypes;
+        private final String resource;
+        private final int hashCode;
+
+        DecisionKey(String user, Set<String> groups, AtlasActionTypes action, Set<AtlasResourceTypes> resourceTypes,
+            String resource) {
+            this.user = user;
+            this.groups = groups == null ? null : ImmutableSet.copyOf(groups);
+            this.action = action;
+            this.resourceTypes = resourceTypes == null ? Collections.<AtlasResourceTypes>emptySet()
+                : ImmutableSet.copyOf(resourceTypes);
+            this.resource = resource;
+
+            int result = user == null ? 0 : user.hashCode();
+            result = 31 * result + (this.groups == null ? 0 : this.groups.hashCode());
+            result = 31 * result + (action == null ? 0 : action.hashCode());
+            result = 31 * result + this.resourceTypes.hashCode();
+            result = 31 * result + (resource == null ? 0 : resource.hashCode());
+            this.hashCode = result;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof DecisionKey)) {
+                return false;
+            }
+            DecisionKey that = (DecisionKey) o;
+            return hashCode == that.hashCode && action == that.action
+                && (resource == null ? that.resource == null : resource.equals(that.resource))
+                && (user == null ? that.user == null : user.equals(that.user))
+                && (groups == null ? that.groups == null : groups.equals(that.groups))
+                && resourceTypes.equals(that.resourceTypes);
+        }
 
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.authorize.simple;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.IOCase;
+import org.testng.annotations.Test;
+
+public class PolicyResourceMatcherTest {
+
+    @Test
+    public void testMatch() {
+        PolicyResourceMatcher matcher =
+            new PolicyResourceMatcher(Arrays.asList("PII", "hive_*", "*_table", "db?.*.col*", "a?c"), false);
+
+        assertFalse(matcher.isMatchAny());
+        assertTrue(matcher.isMatch("PII"));
+        assertFalse(matcher.isMatch("pii"));
+        assertTrue(matcher.isMatch("hive_"));
+        assertTrue(matcher.isMatch("hive_db"));
+        assertTrue(matcher.isMatch("my_table"));
+        assertTrue(matcher.isMatch("db1.sales.col2"));
+        assertFalse(matcher.isMatch("db12.sales.col2"));
+        // '?' is only a wildcard in values which contain '*'
+        assertTrue(matcher.isMatch("a?c"));
+        assertFalse(matcher.isMatch("abc"));
+        // requests for all resources only match policies for all resources
+        assertFalse(matcher.isMatch("*"));
+        assertFalse(matcher.isMatch(""));
+    }
+
+    @Test
+    public void testMatchAny() {
+        PolicyResourceMatcher matcher = new PolicyResourceMatcher(Arrays.asList("PII", "**"), false);
+
+        assertTrue(matcher.isMatchAny());
+        assertTrue(matcher.isMatch("*"));
+        assertTrue(matcher.isMatch("anything"));
+    }
+
+    @Test
+    public void testMatchIgnoreCase() {
+        PolicyResourceMatcher matcher = new PolicyResourceMatcher(Arrays.asList("PII", "Hive_*", "*_Table"), true);
+
+        assertTrue(matcher.isMatch("pii"));
+        assertTrue(matcher.isMatch("HIVE_DB"));
+        assertTrue(matcher.isMatch("my_table"));
+        assertFalse(matcher.isMatch("hive"));
+    }
+
+    /**
+     * Compares the compiled matcher with matching every policy value, for a policy of 5000 values.
+     */
+    @Test
+    public void testMatchManyValues() {
+        Random random = new Random(42);
+        List<String> policyValues = new ArrayList<String>();
+
+        for (int i = 0; i < 5000; i++) {
+            switch (i % 4) {
+            case 0:
+                policyValues.add("resource" + i);
+                break;
+            case 1:
+                policyValues.add("prefix" + i + "*");
+                break;
+            case 2:
+                policyValues.add("*suffix" + i);
+                break;
+            default:
+                policyValues.add("db" + i + ".*.col?");
+            }
+        }
+
+        PolicyResourceMatcher matcher = new PolicyResourceMatcher(policyValues, false);
+
+        for (int i = 0; i < 20000; i++) {
+            int n = random.nextInt(6000);
+            String resource;
+            switch (random.nextInt(5)) {
+            case 0:
+                resource = "resource" + n;
+                break;
+            case 1:
+                resource = "prefix" + n + "_tail";
+                break;
+            case 2:
+                resource = "head_suffix" + n;
+                break;
+            case 3:
+                resource = "db" + n + ".sales.col" + random.nextInt(10);
+                break;
+            default:
+                resource = "other" + n;
+            }
+
+            assertEquals(resource, isMatch(resource, policyValues), matcher.isMatch(resource));
+        }
+    }
+
+    private boolean isMatch(String resource, List<String> policyValues) {
+        for (String policyValue : policyValues) {
+            boolean isMatch = policyValue.contains("*") ?
+                FilenameUtils.wildcardMatch(resource, policyValue, IOCase.SENSITIVE) : resource.equals(policyValue);
+            if (isMatch) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
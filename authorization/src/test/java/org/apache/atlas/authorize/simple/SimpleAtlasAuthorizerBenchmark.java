@@ -0,0 +1,119 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.authorize.simple;
+
+import org.apache.atlas.authorize.AtlasAccessRequest;
+import org.apache.atlas.authorize.AtlasActionTypes;
+import org.apache.atlas.authorize.AtlasResourceTypes;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Measures SimpleAtlasAuthorizer.isAccessAllowed() against a generated policy store. Each policy grants one user and
+ * one of ten groups access to an exact type name and to entities matching a wildcard, so that each group has many
+ * policies. Requests are made by users without policies of their own, and are granted through their group. They repeat
+ * over a fixed set of resources, as REST calls do, and are followed by requests for resources that are never repeated.
+ * Not run as part of the test suite; run with the authorization module's test classpath:
+ *
+ * java org.apache.atlas.authorize.simple.SimpleAtlasAuthorizerBenchmark [number of policies] [iterations]
+ */
+public class SimpleAtlasAuthorizerBenchmark {
+    private static final int NUM_GROUPS    = 10;
+    private static final int NUM_RESOURCES = 1000;
+
+    public static void main(String[] args) throws Exception {
+        int numPolicies = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        int iterations  = args.length > 1 ? Integer.parseInt(args[1]) : 1000000;
+
+        List<String> policies = new ArrayList<>(numPolicies);
+        for (int i = 0; i < numPolicies; i++) {
+            policies.add("policy" + i + ";;user" + i + ":rwud;;group" + (i % NUM_GROUPS) + ":r;;type:type" + i
+                    + ",entity:db" + i + ".*");
+        }
+
+        List<PolicyDef> policyDefs = new PolicyParser().parsePolicies(policies);
+        PolicyUtil      policyUtil = new PolicyUtil();
+
+        SimpleAtlasAuthorizer authorizer = new SimpleAtlasAuthorizer();
+        authorizer.setResourcesForTesting(
+                policyUtil.createPermissionMap(policyDefs, AtlasActionTypes.READ,
+                        SimpleAtlasAuthorizer.AtlasAccessorTypes.USER),
+                policyUtil.createPermissionMap(policyDefs, AtlasActionTypes.READ,
+                        SimpleAtlasAuthorizer.AtlasAccessorTypes.GROUP),
+                AtlasActionTypes.READ);
+
+        Set<AtlasResourceTypes> entityType = Collections.singleton(AtlasResourceTypes.ENTITY);
+        AtlasAccessRequest[]    requests   = new AtlasAccessRequest[NUM_RESOURCES];
+        for (int i = 0; i < NUM_RESOURCES; i++) {
+            requests[i] = createRequest(entityType, i * (numPolicies / NUM_RESOURCES), "table" + i);
+        }
+
+        int numUnique = iterations / 10;
+        List<AtlasAccessRequest> warmUpRequests = createUniqueRequests(entityType, numPolicies, numUnique, "warmup");
+        List<AtlasAccessRequest> uniqueRequests = createUniqueRequests(entityType, numPolicies, numUnique, "unique");
+
+        // warm up
+        int allowed = 0;
+        for (int i = 0; i < iterations / 10; i++) {
+            allowed += authorizer.isAccessAllowed(requests[i % NUM_RESOURCES]) ? 1 : 0;
+        }
+        for (AtlasAccessRequest request : warmUpRequests) {
+            allowed += authorizer.isAccessAllowed(request) ? 1 : 0;
+        }
+
+        long startTime = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            allowed += authorizer.isAccessAllowed(requests[i % NUM_RESOURCES]) ? 1 : 0;
+        }
+        report("repeated requests", iterations, System.nanoTime() - startTime);
+
+        startTime = System.nanoTime();
+        for (AtlasAccessRequest request : uniqueRequests) {
+            allowed += authorizer.isAccessAllowed(request) ? 1 : 0;
+        }
+        report("unique requests", numUnique, System.nanoTime() - startTime);
+
+        System.out.println("allowed " + allowed);
+    }
+
+    private static List<AtlasAccessRequest> createUniqueRequests(Set<AtlasResourceTypes> resourceTypes,
+                                                                 int numPolicies, int numRequests, String prefix) {
+        List<AtlasAccessRequest> ret = new ArrayList<>(numRequests);
+        for (int i = 0; i < numRequests; i++) {
+            ret.add(createRequest(resourceTypes, i % numPolicies, prefix + i));
+        }
+        return ret;
+    }
+
+    private static AtlasAccessRequest createRequest(Set<AtlasResourceTypes> resourceTypes, int policy, String table) {
+        Set<String> groups = new HashSet<>();
+        groups.add("group" + (policy % NUM_GROUPS));
+
+        return new AtlasAccessRequest(resourceTypes, "db" + policy + "." + table, AtlasActionTypes.READ,
+                "analyst" + policy, groups);
+    }
+
+    private static void report(String operation, long numOps, long timeTakenNs) {
+        System.out.println(String.format("%-18s %d ops in %d ms: %.1f ns/op", operation, numOps,
+                timeTakenNs / 1000000, timeTakenNs / (double) numOps));
+    }
+}
@@ -205,4 +205,41 @@ public class SimpleAtlasAuthorizerTest {
 
     }
 
+    @Test
+    public void testDecisionCacheIsReplacedWithPolicies() throws AtlasAuthorizationException {
+        PolicyUtil policyUtil = new PolicyUtil();
+        List<String> policies = new ArrayList<String>();
+        policies.add("hivePolicy;;usr1:r;;grp1:r;;type:PII");
+        List<PolicyDef> policyDefs = new PolicyParser().parsePolicies(policies);
+
+        Set<AtlasResourceTypes> resourceType = new HashSet<AtlasResourceTypes>();
+        resourceType.add(AtlasResourceTypes.TYPE);
+        AtlasAccessRequest request = new AtlasAccessRequest(resourceType, "PII", AtlasActionTypes.READ, "usr1",
+                new HashSet<String>());
+
+        SimpleAtlasAuthorizer authorizer = new SimpleAtlasAuthorizer();
+        authorizer.setResourcesForTesting(
+                policyUtil.createPermissionMap(policyDefs, AtlasActionTypes.READ,
+                        SimpleAtlasAuthorizer.AtlasAccessorTypes.USER),
+                policyUtil.createPermissionMap(policyDefs, AtlasActionTypes.READ,
+                        SimpleAtlasAuthorizer.AtlasAccessorTypes.GROUP),
+                AtlasActionTypes.READ);
+
+        AssertJUnit.assertTrue(authorizer.isAccessAllowed(request));
+        AssertJUnit.assertTrue(authorizer.isAccessAllowed(request));
+        AssertJUnit.assertEquals(1, authorizer.getCachedDecisionCount());
+
+        // usr1 loses read access; the decision made with the earlier policies must not be used
+        policies.set(0, "hivePolicy;;usr2:r;;grp1:r;;type:PII");
+        policyDefs = new PolicyParser().parsePolicies(policies);
+        authorizer.setResourcesForTesting(
+                policyUtil.createPermissionMap(policyDefs, AtlasActionTypes.READ,
+                        SimpleAtlasAuthorizer.AtlasAccessorTypes.USER),
+                policyUtil.createPermissionMap(policyDefs, AtlasActionTypes.READ,
+                        SimpleAtlasAuthorizer.AtlasAccessorTypes.GROUP),
+                AtlasActionTypes.READ);
+
+        AssertJUnit.assertEquals(0, authorizer.getCachedDecisionCount());
+        AssertJUnit.assertFalse(authorizer.isAccessAllowed(request));
+    }
 }
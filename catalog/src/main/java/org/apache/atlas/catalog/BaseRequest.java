@@ -31,6 +31,10 @@ public abstract class BaseRequest implements Request {
     private final Map<String, Object> updateProperties = new HashMap<>();
     private final String queryString;
     private final Collection<String> additionalSelectProperties = new HashSet<>();
+    private int offset = 0;
+    private int limit = NO_LIMIT;
+    private String sortProperty;
+    private boolean sortDescending;
 
     protected BaseRequest(Map<String, Object> queryProperties, String queryString) {
         this(queryProperties, queryString, null);
@@ -75,6 +79,41 @@ public abstract class BaseRequest implements Request {
         return additionalSelectProperties;
     }
 
+    @Override
+    public void setPage(int offset, int limit) {
+        if (offset < 0 || (limit < 1 && limit != NO_LIMIT)) {
+            throw new IllegalArgumentException(String.format("Invalid page: offset=%s, limit=%s", offset, limit));
+        }
+        this.offset = offset;
+        this.limit = limit;
+    }
+
+    @Override
+    public int getOffset() {
+        return offset;
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public void setSort(String propertyName, boolean descending) {
+        this.sortProperty = propertyName;
+        this.sortDescending = descending;
+    }
+
+    @Override
+    public String getSortProperty() {
+        return sortProperty;
+    }
+
+    @Override
+    public boolean isSortDescending() {
+        return sortDescending;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -85,7 +124,11 @@ public abstract class BaseRequest implements Request {
         return queryProperties.equals(that.queryProperties) &&
                updateProperties.equals(that.updateProperties) &&
                additionalSelectProperties.equals(that.additionalSelectProperties) &&
-               queryString == null ? that.queryString == null : queryString.equals(that.queryString);
+               offset == that.offset &&
+               limit == that.limit &&
+               sortDescending == that.sortDescending &&
+               (sortProperty == null ? that.sortProperty == null : sortProperty.equals(that.sortProperty)) &&
+               (queryString == null ? that.queryString == null : queryString.equals(that.queryString));
     }
 
     @Override
@@ -94,6 +137,10 @@ public abstract class BaseRequest implements Request {
         result = 31 * result + updateProperties.hashCode();
         result = 31 * result + (queryString != null ? queryString.hashCode() : 0);
         result = 31 * result + additionalSelectProperties.hashCode();
+        result = 31 * result + offset;
+        result = 31 * result + limit;
+        result = 31 * result + (sortProperty != null ? sortProperty.hashCode() : 0);
+        result = 31 * result + (sortDescending ? 1 : 0);
         return result;
     }
 }
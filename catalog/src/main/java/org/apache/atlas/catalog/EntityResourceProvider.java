@@ -52,7 +52,7 @@ public class EntityResourceProvider extends BaseResourceProvider implements Reso
     @Override
     public Result getResources(Request request) throws InvalidQueryException, ResourceNotFoundException {
         AtlasQuery atlasQuery = queryFactory.createEntityQuery(request);
-        return new Result(atlasQuery.execute());
+        return new Result(atlasQuery.executeLazily());
     }
 
     @Override
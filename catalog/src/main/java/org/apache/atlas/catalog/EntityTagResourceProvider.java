@@ -54,7 +54,7 @@ public class EntityTagResourceProvider extends BaseResourceProvider implements R
     @Override
     public Result getResources(Request request) throws InvalidQueryException, ResourceNotFoundException {
         AtlasQuery atlasQuery = queryFactory.createEntityTagQuery(request);
-        return new Result(atlasQuery.execute());
+        return new Result(atlasQuery.executeLazily());
     }
 
     @Override
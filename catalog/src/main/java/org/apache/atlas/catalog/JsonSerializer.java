@@ -21,8 +21,12 @@ package org.apache.atlas.catalog;
 import com.google.gson.stream.JsonWriter;
 import org.apache.atlas.catalog.exception.CatalogRuntimeException;
 
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.StringWriter;
 import java.io.Writer;
 import java.util.Collection;
@@ -35,17 +39,53 @@ import java.util.Map;
 public class JsonSerializer {
     public String serialize(Result result, UriInfo ui) {
         Writer json = new StringWriter();
-        JsonWriter writer = new JsonWriter(json);
-        writer.setIndent("    ");
 
         try {
-            writeValue(writer, result.getPropertyMaps(), ui.getBaseUri().toASCIIString());
+            serialize(result, ui.getBaseUri().toASCIIString(), json);
         } catch (IOException e) {
             throw new CatalogRuntimeException("Unable to write JSON response.", e);
         }
         return json.toString();
     }
 
+    /**
+     * Create a response entity which writes the result to the response stream one property map at a time,
+     * so that a lazy result is never held in memory as a whole. As the response is committed before the
+     * result is iterated over, a failure while writing truncates the response.
+     *
+     * @param result  result to write
+     * @param ui      request uri info
+     *
+     * @return streaming response entity
+     */
+    public StreamingOutput stream(final Result result, UriInfo ui) {
+        final String baseUrl = ui.getBaseUri().toASCIIString();
+
+        return new StreamingOutput() {
+            @Override
+            public void write(OutputStream output) throws IOException {
+                try {
+                    serialize(result, baseUrl, new BufferedWriter(new OutputStreamWriter(output, "UTF-8")));
+                } finally {
+                    // ends the graph transaction of a lazy result also if the client went away
+                    result.close();
+                }
+            }
+        };
+    }
+
+    private void serialize(Result result, String baseUrl, Writer out) throws IOException {
+        JsonWriter writer = new JsonWriter(out);
+        writer.setIndent("    ");
+
+        writer.beginArray();
+        for (Map<String, Object> propertyMap : result.iteratePropertyMaps()) {
+            writeValue(writer, propertyMap, baseUrl);
+        }
+        writer.endArray();
+        writer.flush();
+    }
+
     private void writeValue(JsonWriter writer, Object value, String baseUrl) throws IOException {
         if (value == null) {
             writer.nullValue();
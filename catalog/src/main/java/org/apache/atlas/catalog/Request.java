@@ -30,6 +30,11 @@ public interface Request {
      */
     enum Cardinality {INSTANCE, COLLECTION}
 
+    /**
+     * Limit value of a request whose result is not limited.
+     */
+    int NO_LIMIT = -1;
+
     /**
      * Get query properties of request.
      * These are the properties which are used to build the query.
@@ -83,4 +88,48 @@ public interface Request {
      * @return collection of added property names or an empty collection
      */
     Collection<String> getAdditionalSelectProperties();
+
+    /**
+     * Set the page of the result which is returned.
+     *
+     * @param offset  number of leading results to skip
+     * @param limit   maximum number of results to return or {@link #NO_LIMIT}
+     */
+    void setPage(int offset, int limit);
+
+    /**
+     * Get the number of leading results which are skipped.
+     *
+     * @return result offset, 0 if not set
+     */
+    int getOffset();
+
+    /**
+     * Get the maximum number of results to return.
+     *
+     * @return result limit or {@link #NO_LIMIT}
+     */
+    int getLimit();
+
+    /**
+     * Set the property which the result is ordered by.
+     *
+     * @param propertyName  name of the property or null to return the result in query order
+     * @param descending    whether to order by descending property value
+     */
+    void setSort(String propertyName, boolean descending);
+
+    /**
+     * Get the property which the result is ordered by.
+     *
+     * @return name of the sort property or null if the result isn't sorted
+     */
+    String getSortProperty();
+
+    /**
+     * Whether the result is ordered by descending sort property value.
+     *
+     * @return true if the sort order is descending
+     */
+    boolean isSortDescending();
 }
@@ -18,6 +18,11 @@
 
 package org.apache.atlas.catalog;
 
+import org.apache.atlas.catalog.exception.CatalogRuntimeException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Map;
 
@@ -30,6 +35,11 @@ public class Result {
      */
     private Collection<Map<String, Object>> propertyMaps;
 
+    /**
+     * property maps which are created as they are iterated over
+     */
+    private Iterable<Map<String, Object>> lazyPropertyMaps;
+
     /**
      * Constructor.
      *
@@ -39,12 +49,53 @@ public class Result {
         this.propertyMaps = propertyMaps;
     }
 
+    /**
+     * Constructor for a result whose property maps are created as they are iterated over.
+     * The property maps can only be iterated over once.
+     *
+     * @param propertyMaps lazily created property maps
+     */
+    public Result(Iterable<Map<String, Object>> propertyMaps) {
+        this.lazyPropertyMaps = propertyMaps;
+    }
+
     /**
      * Obtain the result property maps.
+     * The property maps of a lazy result are all created and held in memory by this call.
      *
      * @return result property maps
      */
     public Collection<Map<String, Object>> getPropertyMaps() {
+        if (propertyMaps == null) {
+            propertyMaps = new ArrayList<>();
+            for (Map<String, Object> propertyMap : lazyPropertyMaps) {
+                propertyMaps.add(propertyMap);
+            }
+            lazyPropertyMaps = null;
+        }
         return propertyMaps;
     }
+
+    /**
+     * Iterate over the result property maps without holding all of them in memory.
+     *
+     * @return result property maps
+     */
+    public Iterable<Map<String, Object>> iteratePropertyMaps() {
+        return propertyMaps != null ? propertyMaps : lazyPropertyMaps;
+    }
+
+    /**
+     * Release what a lazy result holds until it is iterated over completely, such as the graph transaction
+     * of its query. To be called once done with the result, also if the iteration stopped early.
+     */
+    public void close() {
+        if (lazyPropertyMaps instanceof Closeable) {
+            try {
+                ((Closeable) lazyPropertyMaps).close();
+            } catch (IOException e) {
+                throw new CatalogRuntimeException("Unable to close result.", e);
+            }
+        }
+    }
 }
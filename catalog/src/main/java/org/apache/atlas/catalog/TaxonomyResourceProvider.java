@@ -72,7 +72,8 @@ public class TaxonomyResourceProvider extends BaseResourceProvider implements Re
         synchronized (TaxonomyResourceProvider.class) {
             createDefaultTaxonomyIfNeeded();
         }
-        return doGetResources(request);
+        AtlasQuery atlasQuery = queryFactory.createTaxonomyQuery(request);
+        return new Result(atlasQuery.executeLazily());
     }
 
     @Override
@@ -176,7 +177,9 @@ public class TaxonomyResourceProvider extends BaseResourceProvider implements Re
                 LOG.info("Checking if default taxonomy needs to be created.");
                 // if any business taxonomy has been created, don't create one more - hence searching to
                 // see if any taxonomy exists.
-                if (doGetResources(new CollectionRequest(null, null)).getPropertyMaps().isEmpty()) {
+                Request anyTaxonomyRequest = new CollectionRequest(null, null);
+                anyTaxonomyRequest.setPage(0, 1);
+                if (doGetResources(anyTaxonomyRequest).getPropertyMaps().isEmpty()) {
                     LOG.info("No taxonomies found - going to create default taxonomy.");
                     Map<String, Object> requestProperties = new HashMap<>();
                     String defaultTaxonomyName = DEFAULT_TAXONOMY_NAME;
@@ -60,9 +60,10 @@ public class TermResourceProvider extends BaseResourceProvider implements Resour
         TermPath termPath = request.getProperty("termPath");
         String queryString = doQueryStringConversions(termPath, request.getQueryString());
         Request queryRequest = new CollectionRequest(request.getQueryProperties(), queryString);
+        queryRequest.setPage(request.getOffset(), request.getLimit());
+        queryRequest.setSort(request.getSortProperty(), request.isSortDescending());
         AtlasQuery atlasQuery = queryFactory.createTermQuery(queryRequest);
-        Collection<Map<String, Object>> result = atlasQuery.execute();
-        return new Result(result);
+        return new Result(atlasQuery.executeLazily());
     }
 
     public void createResource(Request request)
@@ -23,6 +23,9 @@ import com.tinkerpop.pipes.Pipe;
 import org.apache.atlas.catalog.Request;
 import org.apache.atlas.catalog.definition.ResourceDefinition;
 import org.apache.atlas.repository.Constants;
+import org.apache.atlas.typesystem.persistence.Id;
+
+import java.util.Map;
 
 /**
  * Entity resource query.
@@ -36,4 +39,13 @@ public class AtlasEntityQuery extends BaseQuery {
         return new GremlinPipeline().has(Constants.ENTITY_TEXT_PROPERTY_KEY).
                 hasNot(Constants.ENTITY_TYPE_PROPERTY_KEY, "Taxonomy");
     }
+
+    @Override
+    protected Map<String, Object> getRootConditions() {
+        Map<String, Object> conditions = super.getRootConditions();
+        // entities are of different types, so only id, type and state terms can be used
+        addExpressionConditions(conditions, null);
+        conditions.put(Constants.STATE_PROPERTY_KEY, Id.EntityState.ACTIVE.name());
+        return conditions;
+    }
 }
@@ -67,6 +67,15 @@ public class AtlasEntityTagQuery extends BaseQuery {
         return p.inV();
     }
 
+    @Override
+    protected Map<String, Object> getRootConditions() {
+        Map<String, Object> conditions = super.getRootConditions();
+        if (! guid.equals("*")) {
+            conditions.put(Constants.GUID_PROPERTY_KEY, guid);
+        }
+        return conditions;
+    }
+
     //todo: duplication of effort with resource definition
     @Override
     protected void addHref(VertexWrapper vWrapper, Map<String, Object> filteredPropertyMap) {
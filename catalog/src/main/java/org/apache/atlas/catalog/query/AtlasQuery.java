@@ -35,6 +35,16 @@ public interface AtlasQuery {
      */
     Collection<Map<String, Object>> execute() throws ResourceNotFoundException;
 
+    /**
+     * Execute the query, creating the property map of each matching resource only when it is iterated over.
+     * The result can be iterated over once, on the calling thread, and the graph transaction is committed
+     * when the iteration completes.
+     *
+     * @return property maps, one per matching resource
+     * @throws ResourceNotFoundException if an explicitly specified resource doesn't exist
+     */
+    Iterable<Map<String, Object>> executeLazily() throws ResourceNotFoundException;
+
     /**
      * Execute the query and update the results with the provided properties.
      *
@@ -22,6 +22,10 @@ import com.tinkerpop.gremlin.java.GremlinPipeline;
 import com.tinkerpop.pipes.Pipe;
 import org.apache.atlas.catalog.Request;
 import org.apache.atlas.catalog.definition.ResourceDefinition;
+import org.apache.atlas.repository.Constants;
+import org.apache.atlas.typesystem.persistence.Id;
+
+import java.util.Map;
 
 /**
  * Taxonomy resource query.
@@ -35,4 +39,13 @@ public class AtlasTaxonomyQuery extends BaseQuery {
     protected Pipe getQueryPipe() {
         return new GremlinPipeline().has("__typeName", "Taxonomy");
     }
+
+    @Override
+    protected Map<String, Object> getRootConditions() {
+        Map<String, Object> conditions = super.getRootConditions();
+        addExpressionConditions(conditions, "Taxonomy");
+        conditions.put(Constants.ENTITY_TYPE_PROPERTY_KEY, "Taxonomy");
+        conditions.put(Constants.STATE_PROPERTY_KEY, Id.EntityState.ACTIVE.name());
+        return conditions;
+    }
 }
@@ -26,6 +26,8 @@ import org.apache.atlas.catalog.TermPath;
 import org.apache.atlas.catalog.definition.ResourceDefinition;
 import org.apache.atlas.repository.Constants;
 
+import java.util.Map;
+
 /**
  * Term resource query.
  */
@@ -48,4 +50,14 @@ public class AtlasTermQuery extends BaseQuery {
         }
         return p;
     }
+
+    @Override
+    protected Map<String, Object> getRootConditions() {
+        Map<String, Object> conditions = super.getRootConditions();
+        if (! termPath.getTaxonomyName().equals("*")) {
+            conditions.put("Taxonomy.name", termPath.getTaxonomyName());
+        }
+        conditions.put(Constants.ENTITY_TYPE_PROPERTY_KEY, "Taxonomy");
+        return conditions;
+    }
 }
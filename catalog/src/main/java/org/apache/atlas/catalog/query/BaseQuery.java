@@ -18,10 +18,16 @@
 
 package org.apache.atlas.catalog.query;
 
+import java.io.Closeable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
 import org.apache.atlas.catalog.Request;
 import org.apache.atlas.catalog.VertexWrapper;
@@ -32,18 +38,30 @@ import org.apache.atlas.catalog.projection.ProjectionResult;
 import org.apache.atlas.repository.Constants;
 import org.apache.atlas.repository.graphdb.titan0.Titan0GraphDatabase;
 import org.apache.atlas.typesystem.persistence.Id;
+import org.apache.atlas.typesystem.types.AttributeDefinition;
+import org.apache.atlas.typesystem.types.DataTypes;
 
 import com.thinkaurelius.titan.core.TitanGraph;
 import com.tinkerpop.blueprints.Compare;
 import com.tinkerpop.blueprints.Vertex;
 import com.tinkerpop.gremlin.java.GremlinPipeline;
 import com.tinkerpop.pipes.Pipe;
+import com.tinkerpop.pipes.PipeFunction;
 import com.tinkerpop.pipes.filter.PropertyFilterPipe;
+import com.tinkerpop.pipes.util.structures.Pair;
 
 /**
  * Base Query implementation.
  */
 public abstract class BaseQuery implements AtlasQuery {
+    // string properties which map to the same vertex property for all types
+    private static final Map<String, String> INTERNAL_PROPERTY_KEYS = new HashMap<>();
+    static {
+        INTERNAL_PROPERTY_KEYS.put("id", Constants.GUID_PROPERTY_KEY);
+        INTERNAL_PROPERTY_KEYS.put("type", Constants.ENTITY_TYPE_PROPERTY_KEY);
+        INTERNAL_PROPERTY_KEYS.put("state", Constants.STATE_PROPERTY_KEY);
+    }
+
     protected final QueryExpression queryExpression;
     protected final ResourceDefinition resourceDefinition;
     protected final Request request;
@@ -69,6 +87,19 @@ public abstract class BaseQuery implements AtlasQuery {
         return resultMaps;
     }
 
+    @Override
+    public Iterable<Map<String, Object>> executeLazily() throws ResourceNotFoundException {
+        final Iterator<Vertex> vertices;
+        try {
+            vertices = buildQueryPipeline();
+        } catch (Throwable t) {
+            getGraph().rollback();
+            throw t;
+        }
+
+        return new LazyPropertyMaps(vertices);
+    }
+
     @Override
     public Collection<Map<String, Object>> execute(Map<String, Object> updateProperties)
             throws ResourceNotFoundException {
@@ -92,12 +123,40 @@ public abstract class BaseQuery implements AtlasQuery {
     }
 
     private List<Vertex> executeQuery() {
+        return buildQueryPipeline().toList();
+    }
+
+    private GremlinPipeline buildQueryPipeline() {
         GremlinPipeline pipeline = buildPipeline().as("root");
         Pipe expressionPipe = queryExpression.asPipe();
 
         // AlwaysQuery returns null for pipe
-        return expressionPipe == null ? pipeline.toList() :
-                pipeline.add(expressionPipe).back("root").toList();
+        if (expressionPipe != null) {
+            pipeline = pipeline.add(expressionPipe).back("root");
+        }
+        return addPagePipes(pipeline);
+    }
+
+    /**
+     * Order the pipeline by the sort property of the request, and restrict it to the requested page.
+     * Ordering needs all matching vertices, but only the vertices of the page are converted to property maps.
+     *
+     * @param pipeline  pipeline of matching vertices
+     * @return pipeline of the vertices of the requested page
+     */
+    protected GremlinPipeline addPagePipes(GremlinPipeline pipeline) {
+        String sortProperty = request.getSortProperty();
+        if (sortProperty != null) {
+            pipeline = pipeline.order(new PropertyComparator(sortProperty, request.isSortDescending()));
+        }
+
+        int offset = request.getOffset();
+        int limit = request.getLimit();
+        if (offset > 0 || limit != Request.NO_LIMIT) {
+            // range is inclusive of the high index, -1 for no upper bound
+            pipeline = pipeline.range(offset, limit == Request.NO_LIMIT ? -1 : offset + limit - 1);
+        }
+        return pipeline;
     }
 
     protected GremlinPipeline buildPipeline() {
@@ -112,8 +171,84 @@ public abstract class BaseQuery implements AtlasQuery {
 
     protected abstract Pipe getQueryPipe();
 
+    /**
+     * Get the pipeline of vertices that the query pipe is applied to. The vertices are looked up with the index
+     * of the first root condition on an indexed property. Only if there is no such condition, all vertices are used.
+     *
+     * @return root vertex pipeline
+     */
     protected GremlinPipeline getRootVertexPipeline() {
-        return new GremlinPipeline(getGraph().getVertices());
+        TitanGraph graph = getGraph();
+        Set<String> indexedKeys = graph.getIndexedKeys(Vertex.class);
+
+        for (Map.Entry<String, Object> condition : getRootConditions().entrySet()) {
+            if (indexedKeys.contains(condition.getKey())) {
+                return new GremlinPipeline(graph.query().has(condition.getKey(), condition.getValue()).vertices());
+            }
+        }
+        return new GremlinPipeline(graph.getVertices());
+    }
+
+    /**
+     * Get property values which every vertex that the query pipe starts from, and that can lead to a result,
+     * has. Conditions are ordered by preference for looking up the root vertices, most selective first.
+     *
+     * @return map of vertex property key to value
+     */
+    protected Map<String, Object> getRootConditions() {
+        return new LinkedHashMap<>();
+    }
+
+    /**
+     * Add a root condition for each term which the query expression requires to be true. Only applicable to
+     * queries whose results are the root vertices themselves.
+     *
+     * @param conditions  conditions to add to
+     * @param vertexType  type of all root vertices, or null if the root vertices may be of different types
+     */
+    protected void addExpressionConditions(Map<String, Object> conditions, String vertexType) {
+        addExpressionConditions(conditions, queryExpression, vertexType);
+    }
+
+    private void addExpressionConditions(Map<String, Object> conditions, QueryExpression expression,
+                                         String vertexType) {
+        if (expression.isNegate() || expression.isProjectionExpression()) {
+            return;
+        }
+
+        if (expression instanceof BooleanQueryExpression) {
+            for (QueryExpression requiredExpression : ((BooleanQueryExpression) expression).getRequiredExpressions()) {
+                addExpressionConditions(conditions, requiredExpression, vertexType);
+            }
+        } else if (expression instanceof TermQueryExpression) {
+            String value = expression.getExpectedValue();
+            String propertyKey = getStringPropertyKey(expression.getField(), vertexType);
+
+            // "null" matches a missing property, and escaped values differ from the stored value
+            if (propertyKey != null && !value.equals("null") && !value.contains(QueryFactory.PATH_SEP_TOKEN)
+                    && !conditions.containsKey(propertyKey)) {
+                conditions.put(propertyKey, value);
+            }
+        }
+    }
+
+    // vertex property key of the given string property, or null if it is not known to be a string property
+    private String getStringPropertyKey(String propertyName, String vertexType) {
+        if (INTERNAL_PROPERTY_KEYS.containsKey(propertyName)) {
+            return INTERNAL_PROPERTY_KEYS.get(propertyName);
+        }
+
+        if (vertexType == null || resourceDefinition.getPropertyValueFormatters().containsKey(propertyName)) {
+            return null;
+        }
+
+        for (AttributeDefinition propertyDefinition : resourceDefinition.getPropertyDefinitions()) {
+            if (propertyDefinition.name.equals(propertyName)
+                    && DataTypes.STRING_TYPE.getName().equals(propertyDefinition.dataTypeName)) {
+                return resourceDefinition.getPropertyMapper().toFullyQualifiedName(propertyName, vertexType);
+            }
+        }
+        return null;
     }
 
     protected Pipe getNotDeletedPipe() {
@@ -174,4 +309,116 @@ public abstract class BaseQuery implements AtlasQuery {
     protected VertexWrapper wrapVertex(Vertex v) {
         return new VertexWrapper(v, resourceDefinition);
     }
+
+    /**
+     * Property maps of the query vertices, which can be iterated over once. The graph transaction ends when all
+     * vertices have been iterated over, when the iteration fails, or when closed before either.
+     */
+    private class LazyPropertyMaps implements Iterable<Map<String, Object>>, Closeable {
+        private final Iterator<Vertex> vertices;
+        private boolean iterated = false;
+        private boolean transactionEnded = false;
+
+        private LazyPropertyMaps(Iterator<Vertex> vertices) {
+            this.vertices = vertices;
+        }
+
+        @Override
+        public Iterator<Map<String, Object>> iterator() {
+            if (iterated) {
+                throw new IllegalStateException("Lazy query result can only be iterated over once");
+            }
+            iterated = true;
+            return new PropertyMapIterator(this);
+        }
+
+        @Override
+        public void close() {
+            endTransaction(false);
+        }
+
+        private void endTransaction(boolean commit) {
+            if (transactionEnded) {
+                return;
+            }
+            transactionEnded = true;
+            if (commit) {
+                getGraph().commit();
+            } else {
+                getGraph().rollback();
+            }
+        }
+    }
+
+    /**
+     * Creates the property maps of the vertices as they are iterated over.
+     */
+    private class PropertyMapIterator implements Iterator<Map<String, Object>> {
+        private final LazyPropertyMaps propertyMaps;
+
+        private PropertyMapIterator(LazyPropertyMaps propertyMaps) {
+            this.propertyMaps = propertyMaps;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                boolean hasNext = propertyMaps.vertices.hasNext();
+                if (!hasNext) {
+                    propertyMaps.endTransaction(true);
+                }
+                return hasNext;
+            } catch (Throwable t) {
+                propertyMaps.endTransaction(false);
+                throw t;
+            }
+        }
+
+        @Override
+        public Map<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            try {
+                return processPropertyMap(wrapVertex(propertyMaps.vertices.next()));
+            } catch (Throwable t) {
+                propertyMaps.endTransaction(false);
+                throw t;
+            }
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("remove");
+        }
+    }
+
+    /**
+     * Compares vertices by the value of a resource property. Vertices without a value are ordered last.
+     */
+    private class PropertyComparator implements PipeFunction<Pair<Vertex, Vertex>, Integer> {
+        private final String propertyName;
+        private final boolean descending;
+
+        private PropertyComparator(String propertyName, boolean descending) {
+            this.propertyName = propertyName;
+            this.descending = descending;
+        }
+
+        @Override
+        public Integer compute(Pair<Vertex, Vertex> vertices) {
+            Object value1 = wrapVertex(vertices.getA()).getProperty(propertyName);
+            Object value2 = wrapVertex(vertices.getB()).getProperty(propertyName);
+
+            if (value1 == null || value2 == null) {
+                return value1 == null ? (value2 == null ? 0 : 1) : -1;
+            }
+
+            int result = value1 instanceof Comparable && value1.getClass().isInstance(value2) ?
+                    ((Comparable) value1).compareTo(value2) :
+                    String.valueOf(value1).compareTo(String.valueOf(value2));
+            return descending ? -result : result;
+        }
+    }
 }
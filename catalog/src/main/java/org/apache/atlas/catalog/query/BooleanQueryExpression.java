@@ -62,6 +62,25 @@ public class BooleanQueryExpression extends BaseQueryExpression {
         }
     }
 
+    /**
+     * Get the operand expressions which must all be true for this expression to be true.
+     *
+     * @return required operand expressions, empty if no operand is required by itself
+     */
+    public Collection<QueryExpression> getRequiredExpressions() {
+        Map<BooleanClause.Occur, Collection<BooleanClause>> groupedClauses = groupClauses();
+        Collection<QueryExpression> requiredExpressions = new ArrayList<>();
+
+        // SHOULD clauses are or'ed with the MUST clauses, see asPipe()
+        Collection<BooleanClause> andClauses = groupedClauses.get(BooleanClause.Occur.MUST);
+        if (andClauses != null && !groupedClauses.containsKey(BooleanClause.Occur.SHOULD)) {
+            for (BooleanClause andClause : andClauses) {
+                requiredExpressions.add(queryFactory.create(andClause.getQuery(), resourceDefinition));
+            }
+        }
+        return requiredExpressions;
+    }
+
     private Map<BooleanClause.Occur, Collection<BooleanClause>> groupClauses() {
         Map<BooleanClause.Occur, Collection<BooleanClause>> groupedClauses = new HashMap<>();
         for (BooleanClause clause : clauses) {
@@ -23,6 +23,7 @@ import org.testng.annotations.Test;
 import java.util.*;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
@@ -71,4 +72,22 @@ public class CollectionRequestTest {
         assertTrue(requestAdditionalSelectProps.contains("bar"));
 
     }
+
+    @Test
+    public void testEqualsWithPageAndSort() {
+        String query = "name:foo*";
+        Request request = new CollectionRequest(null, query);
+        Request pagedRequest = new CollectionRequest(null, query);
+        pagedRequest.setPage(10, 5);
+        Request sortedRequest = new CollectionRequest(null, query);
+        sortedRequest.setSort("name", true);
+
+        assertEquals(request, new CollectionRequest(null, query));
+        assertFalse(request.equals(pagedRequest));
+        assertFalse(request.equals(sortedRequest));
+
+        request.setPage(10, 5);
+        assertEquals(request, pagedRequest);
+        assertEquals(request.hashCode(), pagedRequest.hashCode());
+    }
 }
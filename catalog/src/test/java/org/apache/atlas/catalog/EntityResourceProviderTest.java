@@ -122,7 +122,7 @@ public class EntityResourceProviderTest {
 
         // mock expectations
         expect(queryFactory.createEntityQuery(capture(requestCapture))).andReturn(query);
-        expect(query.execute()).andReturn(queryResult);
+        expect(query.executeLazily()).andReturn(queryResult);
         replay(typeSystem, queryFactory, query);
 
         EntityResourceProvider provider = new EntityResourceProvider(typeSystem);
@@ -155,7 +155,7 @@ public class EntityResourceProviderTest {
 
         // mock expectations
         expect(queryFactory.createEntityQuery(capture(requestCapture))).andReturn(query);
-        expect(query.execute()).andReturn(queryResult);
+        expect(query.executeLazily()).andReturn(queryResult);
         replay(typeSystem, queryFactory, query);
 
         EntityResourceProvider provider = new EntityResourceProvider(typeSystem);
@@ -126,7 +126,7 @@ public class EntityTagResourceProviderTest {
         queryResultRow2.put("description", "test term 2 description");
         // mock expectations
         expect(queryFactory.createEntityTagQuery(capture(requestCapture))).andReturn(query);
-        expect(query.execute()).andReturn(queryResult);
+        expect(query.executeLazily()).andReturn(queryResult);
         replay(typeSystem, queryFactory, query);
 
         EntityTagResourceProvider provider = new EntityTagResourceProvider(typeSystem);
@@ -160,7 +160,7 @@ public class EntityTagResourceProviderTest {
 
         // mock expectations
         expect(queryFactory.createEntityTagQuery(capture(requestCapture))).andReturn(query);
-        expect(query.execute()).andReturn(queryResult);
+        expect(query.executeLazily()).andReturn(queryResult);
         replay(typeSystem, queryFactory, query);
 
         EntityTagResourceProvider provider = new EntityTagResourceProvider(typeSystem);
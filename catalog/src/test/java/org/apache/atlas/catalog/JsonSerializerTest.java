@@ -22,6 +22,8 @@ import org.testng.annotations.Test;
 
 import javax.ws.rs.core.UriInfo;
 
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.net.URI;
 import java.util.*;
 
@@ -29,6 +31,8 @@ import static org.easymock.EasyMock.createStrictMock;
 import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.replay;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 /**
  * Unit tests for JsonSerializer.
@@ -86,6 +90,74 @@ public class JsonSerializerTest {
         assertEquals(resultJson, EXPECTED_JSON);
     }
 
+    @Test
+    public void testStream_lazyResult() throws Exception {
+        UriInfo uriInfo = createStrictMock(UriInfo.class);
+        URI uri = new URI("http://test.com:8080/");
+        expect(uriInfo.getBaseUri()).andReturn(uri);
+
+        replay(uriInfo);
+
+        final Map<String, Object> resultMap = new TreeMap<>(new ResourceComparator());
+        resultMap.put("name", "foo");
+        resultMap.put("href", "v1/testResources/foo");
+
+        // property maps are only created as the result is iterated over
+        Iterable<Map<String, Object>> resultMaps = new Iterable<Map<String, Object>>() {
+            @Override
+            public Iterator<Map<String, Object>> iterator() {
+                return Collections.<Map<String, Object>>singletonList(resultMap).iterator();
+            }
+        };
+        Result result = new Result(resultMaps);
+
+        JsonSerializer serializer = new JsonSerializer();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        serializer.stream(result, uriInfo).write(out);
+
+        assertEquals(out.toString("UTF-8"),
+                "[\n" +
+                "    {\n" +
+                "        \"href\": \"http://test.com:8080/v1/testResources/foo\",\n" +
+                "        \"name\": \"foo\"\n" +
+                "    }\n" +
+                "]");
+    }
+
+    @Test
+    public void testStream_lazyResultClosedOnFailure() throws Exception {
+        UriInfo uriInfo = createStrictMock(UriInfo.class);
+        URI uri = new URI("http://test.com:8080/");
+        expect(uriInfo.getBaseUri()).andReturn(uri);
+
+        replay(uriInfo);
+
+        final boolean[] closed = new boolean[1];
+        Result result = new Result(new ClosingIterable() {
+            @Override
+            public Iterator<Map<String, Object>> iterator() {
+                throw new IllegalStateException("query failed");
+            }
+
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        });
+
+        JsonSerializer serializer = new JsonSerializer();
+        try {
+            serializer.stream(result, uriInfo).write(new ByteArrayOutputStream());
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        assertTrue(closed[0]);
+    }
+
+    private interface ClosingIterable extends Iterable<Map<String, Object>>, Closeable {
+    }
+
     private static final String EXPECTED_JSON =
             "[\n" +
             "    {\n" +
@@ -125,6 +125,7 @@ public class TaxonomyResourceProviderTest {
         assertNull(checkForAnyTaxonomiesRequest.getQueryString());
         assertEquals(checkForAnyTaxonomiesRequest.getAdditionalSelectProperties().size(), 0);
         assertEquals(checkForAnyTaxonomiesRequest.getQueryProperties().size(), 0);
+        assertEquals(checkForAnyTaxonomiesRequest.getLimit(), 1);
 
         Request createDefaultTaxonomyRequest = createDefaultTaxonomyRequestCapture.getValue();
         assertNull(createDefaultTaxonomyRequest.getQueryString());
@@ -230,7 +231,7 @@ public class TaxonomyResourceProviderTest {
 
         // mock expectations
         expect(queryFactory.createTaxonomyQuery(capture(requestCapture))).andReturn(query);
-        expect(query.execute()).andReturn(queryResult);
+        expect(query.executeLazily()).andReturn(queryResult);
         replay(typeSystem, queryFactory, query);
 
         TaxonomyResourceProvider provider = new TestTaxonomyResourceProvider(typeSystem);
@@ -263,7 +264,7 @@ public class TaxonomyResourceProviderTest {
 
         // mock expectations
         expect(queryFactory.createTaxonomyQuery(capture(requestCapture))).andReturn(query);
-        expect(query.execute()).andReturn(queryResult);
+        expect(query.executeLazily()).andReturn(queryResult);
         replay(typeSystem, queryFactory, query);
 
         TaxonomyResourceProvider provider = new TestTaxonomyResourceProvider(typeSystem);
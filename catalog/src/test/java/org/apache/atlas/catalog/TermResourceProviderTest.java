@@ -152,7 +152,7 @@ public class TermResourceProviderTest {
 
         // mock expectations
         expect(queryFactory.createTermQuery(capture(requestCapture))).andReturn(query);
-        expect(query.execute()).andReturn(queryResult);
+        expect(query.executeLazily()).andReturn(queryResult);
         replay(typeSystem, queryFactory, query);
 
         TermResourceProvider provider = new TermResourceProvider(typeSystem);
@@ -161,6 +161,8 @@ public class TermResourceProviderTest {
         Map<String, Object> requestProperties = new HashMap<>();
         requestProperties.put("termPath", termPath);
         Request userRequest = new CollectionRequest(requestProperties, "name:taxonomy*");
+        userRequest.setPage(10, 2);
+        userRequest.setSort("name", true);
         // invoke test method
         Result result = provider.getResources(userRequest);
 
@@ -172,6 +174,10 @@ public class TermResourceProviderTest {
         assertEquals(request.getQueryString(), "name:taxonomy*");
         assertEquals(request.getAdditionalSelectProperties().size(), 0);
         assertEquals(request.getQueryProperties().size(), 1);
+        assertEquals(request.getOffset(), 10);
+        assertEquals(request.getLimit(), 2);
+        assertEquals(request.getSortProperty(), "name");
+        assertTrue(request.isSortDescending());
 
         verify(typeSystem, queryFactory, query);
     }
@@ -190,7 +196,7 @@ public class TermResourceProviderTest {
 
         // mock expectations
         expect(queryFactory.createTermQuery(capture(requestCapture))).andReturn(query);
-        expect(query.execute()).andReturn(queryResult);
+        expect(query.executeLazily()).andReturn(queryResult);
         replay(typeSystem, queryFactory, query);
 
         TermResourceProvider provider = new TermResourceProvider(typeSystem);
@@ -19,13 +19,17 @@
 package org.apache.atlas.catalog.query;
 
 import com.thinkaurelius.titan.core.TitanGraph;
+import com.tinkerpop.blueprints.GraphQuery;
 import com.tinkerpop.blueprints.Vertex;
 import com.tinkerpop.gremlin.java.GremlinPipeline;
 import com.tinkerpop.pipes.Pipe;
+import com.tinkerpop.pipes.PipeFunction;
 import org.apache.atlas.catalog.Request;
 import org.apache.atlas.catalog.VertexWrapper;
 import org.apache.atlas.catalog.definition.ResourceDefinition;
 import org.apache.atlas.repository.Constants;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.TermQuery;
 import org.easymock.Capture;
 import org.testng.annotations.Test;
 
@@ -76,6 +80,9 @@ public class AtlasEntityQueryTest {
         expect(expression.asPipe()).andReturn(expressionPipe);
         expect(rootPipeline.add(expressionPipe)).andReturn(expressionPipeline);
         expect(expressionPipeline.back("root")).andReturn(rootPipeline);
+        expect(request.getSortProperty()).andReturn(null);
+        expect(request.getOffset()).andReturn(0);
+        expect(request.getLimit()).andReturn(Request.NO_LIMIT);
         expect(rootPipeline.toList()).andReturn(results);
         graph.commit();
         expect(vertex1Wrapper.getPropertyMap()).andReturn(vertex1PropertyMap);
@@ -127,6 +134,9 @@ public class AtlasEntityQueryTest {
         expect(expression.asPipe()).andReturn(expressionPipe);
         expect(rootPipeline.add(expressionPipe)).andReturn(expressionPipeline);
         expect(expressionPipeline.back("root")).andReturn(rootPipeline);
+        expect(request.getSortProperty()).andReturn(null);
+        expect(request.getOffset()).andReturn(0);
+        expect(request.getLimit()).andReturn(Request.NO_LIMIT);
         expect(rootPipeline.toList()).andThrow(new RuntimeException("something bad happened"));
         graph.rollback();
 
@@ -187,6 +197,9 @@ public class AtlasEntityQueryTest {
         expect(expression.asPipe()).andReturn(expressionPipe);
         expect(rootPipeline.add(expressionPipe)).andReturn(expressionPipeline);
         expect(expressionPipeline.back("root")).andReturn(rootPipeline);
+        expect(request.getSortProperty()).andReturn(null);
+        expect(request.getOffset()).andReturn(0);
+        expect(request.getLimit()).andReturn(Request.NO_LIMIT);
         expect(rootPipeline.toList()).andReturn(results);
         graph.commit();
         vertex1Wrapper.setProperty("prop3", "newValue");
@@ -223,6 +236,113 @@ public class AtlasEntityQueryTest {
                 vertex1, vertex1Wrapper);
     }
 
+    @Test
+    public void testExecuteLazily_sortedPage() throws Exception {
+        TitanGraph graph = createStrictMock(TitanGraph.class);
+        QueryExpression expression = createStrictMock(QueryExpression.class);
+        ResourceDefinition resourceDefinition = createStrictMock(ResourceDefinition.class);
+        Request request = createStrictMock(Request.class);
+        GremlinPipeline initialPipeline = createStrictMock(GremlinPipeline.class);
+        Pipe queryPipe = createStrictMock(Pipe.class);
+        Pipe expressionPipe = createStrictMock(Pipe.class);
+        Pipe notDeletedPipe = createStrictMock(Pipe.class);
+        GremlinPipeline rootPipeline = createStrictMock(GremlinPipeline.class);
+        GremlinPipeline queryPipeline = createStrictMock(GremlinPipeline.class);
+        GremlinPipeline expressionPipeline = createStrictMock(GremlinPipeline.class);
+        GremlinPipeline notDeletedPipeline = createStrictMock(GremlinPipeline.class);
+        GremlinPipeline sortedPipeline = createStrictMock(GremlinPipeline.class);
+        GremlinPipeline pagePipeline = createStrictMock(GremlinPipeline.class);
+        Vertex vertex1 = createStrictMock(Vertex.class);
+        VertexWrapper vertex1Wrapper = createStrictMock(VertexWrapper.class);
+
+        Map<String, Object> vertex1PropertyMap = new HashMap<>();
+        vertex1PropertyMap.put("prop1", "prop1.value1");
+
+        // mock expectations
+        expect(initialPipeline.add(queryPipe)).andReturn(queryPipeline);
+        expect(initialPipeline.add(notDeletedPipe)).andReturn(notDeletedPipeline);
+        expect(initialPipeline.as("root")).andReturn(rootPipeline);
+        expect(expression.asPipe()).andReturn(expressionPipe);
+        expect(rootPipeline.add(expressionPipe)).andReturn(expressionPipeline);
+        expect(expressionPipeline.back("root")).andReturn(rootPipeline);
+        expect(request.getSortProperty()).andReturn("name");
+        expect(request.isSortDescending()).andReturn(true);
+        expect(rootPipeline.order(isA(PipeFunction.class))).andReturn(sortedPipeline);
+        expect(request.getOffset()).andReturn(20);
+        expect(request.getLimit()).andReturn(10);
+        expect(sortedPipeline.range(20, 29)).andReturn(pagePipeline);
+        // property maps are only created as the result is iterated over
+        expect(pagePipeline.hasNext()).andReturn(true).times(2);
+        expect(pagePipeline.next()).andReturn(vertex1);
+        expect(vertex1Wrapper.getPropertyMap()).andReturn(vertex1PropertyMap);
+        expect(resourceDefinition.filterProperties(request, vertex1PropertyMap)).andReturn(vertex1PropertyMap);
+        expect(resourceDefinition.resolveHref(vertex1PropertyMap)).andReturn("/foo/bar");
+        expect(request.getCardinality()).andReturn(Request.Cardinality.COLLECTION);
+        expect(pagePipeline.hasNext()).andReturn(false);
+        graph.commit();
+
+        replay(graph, expression, resourceDefinition, request, initialPipeline, queryPipe, expressionPipe,
+                notDeletedPipe, rootPipeline, queryPipeline, expressionPipeline, notDeletedPipeline,
+                sortedPipeline, pagePipeline, vertex1, vertex1Wrapper);
+        // end mock expectations
+
+        AtlasEntityQuery query = new TestAtlasEntityQuery(expression, resourceDefinition, request,
+                initialPipeline, queryPipe, notDeletedPipe, graph, vertex1Wrapper);
+
+        // invoke method being tested
+        Iterable<Map<String, Object>> queryResults = query.executeLazily();
+
+        List<Map<String, Object>> resultMaps = new ArrayList<>();
+        for (Map<String, Object> resultMap : queryResults) {
+            resultMaps.add(resultMap);
+        }
+        assertEquals(resultMaps.size(), 1);
+        assertEquals(resultMaps.get(0).get("href"), "/foo/bar");
+
+        try {
+            queryResults.iterator();
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        verify(graph, expression, resourceDefinition, request, initialPipeline, queryPipe, expressionPipe,
+                notDeletedPipe, rootPipeline, queryPipeline, expressionPipeline, notDeletedPipeline,
+                sortedPipeline, pagePipeline, vertex1, vertex1Wrapper);
+    }
+
+    @Test
+    public void testGetRootVertexPipeline_indexLookup() throws Exception {
+        final TitanGraph graph = createStrictMock(TitanGraph.class);
+        GraphQuery graphQuery = createStrictMock(GraphQuery.class);
+        ResourceDefinition resourceDefinition = createStrictMock(ResourceDefinition.class);
+        Request request = createStrictMock(Request.class);
+        Vertex vertex1 = createStrictMock(Vertex.class);
+
+        QueryExpression expression = new TermQueryExpression(new TermQuery(new Term("id", "guid1")), resourceDefinition);
+
+        // mock expectations
+        expect(graph.getIndexedKeys(Vertex.class)).andReturn(
+                new HashSet<>(Arrays.asList(Constants.STATE_PROPERTY_KEY, Constants.GUID_PROPERTY_KEY)));
+        expect(graph.query()).andReturn(graphQuery);
+        expect(graphQuery.has(Constants.GUID_PROPERTY_KEY, "guid1")).andReturn(graphQuery);
+        expect(graphQuery.vertices()).andReturn(Collections.singletonList(vertex1));
+        replay(graph, graphQuery, resourceDefinition, request, vertex1);
+        // end mock expectations
+
+        AtlasEntityQuery query = new AtlasEntityQuery(expression, resourceDefinition, request) {
+            @Override
+            protected TitanGraph getGraph() {
+                return graph;
+            }
+        };
+
+        // the guid term of the expression is preferred over the entity state
+        assertEquals(query.getRootVertexPipeline().toList(), Collections.singletonList(vertex1));
+
+        verify(graph, graphQuery, resourceDefinition, request, vertex1);
+    }
+
     private class TestAtlasEntityQuery extends AtlasEntityQuery {
         private final GremlinPipeline initialPipeline;
         private final Pipe queryPipe;
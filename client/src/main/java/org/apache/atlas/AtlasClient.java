@@ -107,6 +107,8 @@ public class AtlasClient {
     public static final String QUERY = "query";
     public static final String LIMIT = "limit";
     public static final String OFFSET = "offset";
+    public static final String ATTRIBUTES = "attributes";
+    public static final String DEPTH = "depth";
     public static final String QUERY_TYPE = "queryType";
     public static final String ATTRIBUTE_NAME = "property";
     public static final String ATTRIBUTE_VALUE = "value";
@@ -927,6 +929,30 @@ public class AtlasClient {
         }
     }
 
+    /**
+     * Get the given attributes of an entity given the entity id
+     * @param guid entity id
+     * @param attributes names of the attributes to fetch, all attributes if null or empty
+     * @param depth number of levels of composite entities to fetch, -1 for all
+     * @return result object
+     * @throws AtlasServiceException
+     */
+    public Referenceable getEntity(String guid, Collection<String> attributes, int depth)
+        throws AtlasServiceException {
+        WebResource resource = getResource(API.GET_ENTITY, guid);
+        if (attributes != null && !attributes.isEmpty()) {
+            resource = resource.queryParam(ATTRIBUTES, StringUtils.join(attributes, ","));
+        }
+        resource = resource.queryParam(DEPTH, String.valueOf(depth));
+        JSONObject jsonResponse = callAPIWithResource(API.GET_ENTITY, resource, null);
+        try {
+            String entityInstanceDefinition = jsonResponse.getString(AtlasClient.DEFINITION);
+            return InstanceSerialization.fromJsonReferenceable(entityInstanceDefinition, true);
+        } catch (JSONException e) {
+            throw new AtlasServiceException(API.GET_ENTITY, e);
+        }
+    }
+
     public static String toString(JSONArray jsonArray) throws JSONException {
         ArrayList<String> resultsList = new ArrayList<>();
         for (int index = 0; index < jsonArray.length(); index++) {
@@ -981,6 +1007,29 @@ public class AtlasClient {
         return extractResults(jsonResponse, AtlasClient.RESULTS, new ExtractOperation<String, String>());
     }
 
+    /**
+     * Lists a page of the entities of the given type
+     * @param entityType type name
+     * @param limit maximum number of entities to return, -1 for all
+     * @param offset number of entities to skip
+     * @return guids of the entities
+     * @throws AtlasServiceException
+     */
+    public List<String> listEntities(final String entityType, final int limit, final int offset)
+        throws AtlasServiceException {
+        JSONObject jsonResponse = callAPIWithRetries(API.LIST_ENTITIES, null, new ResourceCreator() {
+            @Override
+            public WebResource createResource() {
+                WebResource resource = getResource(API.LIST_ENTITIES);
+                resource = resource.queryParam(TYPE, entityType);
+                resource = resource.queryParam(LIMIT, String.valueOf(limit));
+                resource = resource.queryParam(OFFSET, String.valueOf(offset));
+                return resource;
+            }
+        });
+        return extractResults(jsonResponse, AtlasClient.RESULTS, new ExtractOperation<String, String>());
+    }
+
     /**
      * List traits for a given entity identified by its GUID
      * @param guid GUID of the entity
@@ -19,6 +19,7 @@ package org.apache.atlas.repository.graphdb;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Map;
 import java.util.Set;
 
 import javax.script.ScriptException;
@@ -264,6 +265,20 @@ public interface AtlasGraph<V, E> {
      */
     Object executeGremlinScript(String query, boolean isPath) throws ScriptException;
 
+    /**
+     * Executes a Gremlin script with the given parameter bindings, returns an object with the result.
+     * Scripts that differ only in their parameter values share the same compiled script.
+     *
+     * @param query
+     * @param parameters values of the variables referenced by the script
+     * @param isPath whether this is a path query
+     *
+     * @return the result from executing the script
+     *
+     * @throws ScriptException
+     */
+    Object executeGremlinScript(String query, Map<String, Object> parameters, boolean isPath) throws ScriptException;
+
     /**
      * Convenience method to check whether the given property is
      * a multi-property.
@@ -35,6 +35,16 @@ public interface AtlasIndexQuery<V, E> {
      */
     Iterator<Result<V, E>> vertices();
 
+    /**
+     * Gets a page of the query results. The offset and limit are applied by the index
+     * backend, so skipped results are never loaded from the graph.
+     *
+     * @param offset number of results to skip
+     * @param limit maximum number of results to return
+     * @return
+     */
+    Iterator<Result<V, E>> vertices(int offset, int limit);
+
     /**
      * Query result from an index query.
      *
@@ -0,0 +1,166 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.graphdb.titan0;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineManager;
+import javax.script.ScriptException;
+
+import org.apache.atlas.ApplicationProperties;
+import org.apache.atlas.AtlasException;
+import org.apache.commons.configuration.Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+/**
+ * Shared gremlin-groovy script engine with an LRU cache of compiled scripts, keyed by the script text.
+ *
+ * Groovy compiles every script into a new class, and the engine keeps every class it has compiled. To bound
+ * the memory used by these classes, the engine (along with its class loader and the cache) is replaced once
+ * it has compiled a configured number of scripts.
+ */
+public class GremlinScriptCache {
+    private static final Logger LOG = LoggerFactory.getLogger(GremlinScriptCache.class);
+
+    public static final String CACHE_SIZE_PROPERTY = "atlas.graph.gremlin.script.cache.size";
+    public static final String MAX_COMPILATIONS_PROPERTY = "atlas.graph.gremlin.script.engine.max.compilations";
+
+    private static final int DEFAULT_CACHE_SIZE = 1000;
+    private static final int DEFAULT_MAX_COMPILATIONS = 10000;
+
+    private final int cacheSize;
+    private final int maxCompilations;
+    private final AtomicInteger engineRecycleCount = new AtomicInteger();
+
+    private volatile EngineGeneration current;
+
+    public GremlinScriptCache() {
+        this(getConfiguredInt(CACHE_SIZE_PROPERTY, DEFAULT_CACHE_SIZE),
+             getConfiguredInt(MAX_COMPILATIONS_PROPERTY, DEFAULT_MAX_COMPILATIONS));
+    }
+
+    public GremlinScriptCache(int cacheSize, int maxCompilations) {
+        this.cacheSize       = cacheSize;
+        this.maxCompilations = Math.max(cacheSize, maxCompilations);
+        this.current         = new EngineGeneration(cacheSize);
+    }
+
+    /**
+     * Evaluates the given script with the given bindings, compiling it only if it is not already cached.
+     */
+    public Object eval(String script, Bindings bindings) throws ScriptException {
+        EngineGeneration generation = current;
+        CompiledScript   compiled   = getCompiledScript(generation, script.trim());
+
+        return compiled.eval(bindings);
+    }
+
+    public Bindings createBindings() {
+        return current.engine.createBindings();
+    }
+
+    public long getHitCount() {
+        return current.scripts.stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return current.scripts.stats().missCount();
+    }
+
+    public int getEngineRecycleCount() {
+        return engineRecycleCount.get();
+    }
+
+    private CompiledScript getCompiledScript(final EngineGeneration generation, final String script)
+        throws ScriptException {
+        try {
+            CompiledScript ret = generation.scripts.get(script, new Callable<CompiledScript>() {
+                @Override
+                public CompiledScript call() throws ScriptException {
+                    generation.compilations.incrementAndGet();
+
+                    return ((Compilable) generation.engine).compile(script);
+                }
+            });
+
+            if (generation.compilations.get() >= maxCompilations) {
+                recycle(generation);
+            }
+
+            if (LOG.isDebugEnabled()) {
+                CacheStats stats = generation.scripts.stats();
+
+                LOG.debug("Gremlin script cache: hits={}, misses={}, size={}", stats.hitCount(), stats.missCount(),
+                          generation.scripts.size());
+            }
+
+            return ret;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ScriptException) {
+                throw (ScriptException) e.getCause();
+            }
+
+            throw new ScriptException(e);
+        }
+    }
+
+    private synchronized void recycle(EngineGeneration generation) {
+        if (current == generation) {
+            LOG.info("Gremlin script engine compiled {} scripts; replacing it to release the compiled classes",
+                     generation.compilations.get());
+
+            current = new EngineGeneration(cacheSize);
+
+            engineRecycleCount.incrementAndGet();
+        }
+    }
+
+    private static int getConfiguredInt(String property, int defaultValue) {
+        try {
+            Configuration configuration = ApplicationProperties.get();
+
+            return configuration.getInt(property, defaultValue);
+        } catch (AtlasException e) {
+            LOG.warn("Failed to read {}, using default value {}", property, defaultValue, e);
+
+            return defaultValue;
+        }
+    }
+
+    private static class EngineGeneration {
+        final ScriptEngine                  engine;
+        final Cache<String, CompiledScript> scripts;
+        final AtomicInteger                 compilations = new AtomicInteger();
+
+        EngineGeneration(int cacheSize) {
+            engine  = new ScriptEngineManager().getEngineByName("gremlin-groovy");
+            scripts = CacheBuilder.newBuilder().maximumSize(cacheSize).recordStats().build();
+        }
+    }
+}
@@ -30,8 +30,6 @@ import java.util.Map;
 import java.util.Set;
 
 import javax.script.Bindings;
-import javax.script.ScriptEngine;
-import javax.script.ScriptEngineManager;
 import javax.script.ScriptException;
 
 import org.apache.atlas.groovy.GroovyExpression;
@@ -69,6 +67,8 @@ import com.tinkerpop.pipes.util.structures.Row;
  */
 public class Titan0Graph implements AtlasGraph<Titan0Vertex, Titan0Edge> {
 
+    private static final GremlinScriptCache SCRIPT_CACHE = new GremlinScriptCache();
+
     private final Set<String> multiProperties;
 
     public Titan0Graph() {
@@ -261,8 +261,14 @@ public class Titan0Graph implements AtlasGraph<Titan0Vertex, Titan0Edge> {
 
     @Override
     public Object executeGremlinScript(String query, boolean isPath) throws ScriptException {
+        return executeGremlinScript(query, Collections.<String, Object>emptyMap(), isPath);
+    }
+
+    @Override
+    public Object executeGremlinScript(String query, Map<String, Object> parameters, boolean isPath)
+        throws ScriptException {
 
-        Object result = executeGremlinScript(query);
+        Object result = executeGremlinScript(query, parameters);
         if (isPath) {
             List<Object> path = convertPathQueryResultToList(result);
 
@@ -276,13 +282,12 @@ public class Titan0Graph implements AtlasGraph<Titan0Vertex, Titan0Edge> {
         }
     }
 
-    private Object executeGremlinScript(String gremlinQuery) throws ScriptException {
+    private Object executeGremlinScript(String gremlinQuery, Map<String, Object> parameters) throws ScriptException {
 
-        ScriptEngineManager manager = new ScriptEngineManager();
-        ScriptEngine engine = manager.getEngineByName("gremlin-groovy");
-        Bindings bindings = engine.createBindings();
+        Bindings bindings = SCRIPT_CACHE.createBindings();
+        bindings.putAll(parameters);
         bindings.put("g", getGraph());
-        Object result = engine.eval(gremlinQuery, bindings);
+        Object result = SCRIPT_CACHE.eval(gremlinQuery, bindings);
         return result;
     }
 
@@ -43,7 +43,19 @@ public class Titan0IndexQuery implements AtlasIndexQuery<Titan0Vertex, Titan0Edg
 
     @Override
     public Iterator<AtlasIndexQuery.Result<Titan0Vertex, Titan0Edge>> vertices() {
-        Iterator<TitanIndexQuery.Result<Vertex>> results = wrappedIndexQuery.vertices().iterator();
+        return wrapResults(wrappedIndexQuery.vertices().iterator());
+    }
+
+    @Override
+    public Iterator<AtlasIndexQuery.Result<Titan0Vertex, Titan0Edge>> vertices(int offset, int limit) {
+        // passed on to the index provider, as start/rows for Solr and from/size for Elasticsearch
+        Iterable<TitanIndexQuery.Result<Vertex>> results = wrappedIndexQuery.offset(offset).limit(limit).vertices();
+
+        return wrapResults(results.iterator());
+    }
+
+    private Iterator<AtlasIndexQuery.Result<Titan0Vertex, Titan0Edge>> wrapResults(
+            Iterator<TitanIndexQuery.Result<Vertex>> results) {
 
         Function<TitanIndexQuery.Result<Vertex>, AtlasIndexQuery.Result<Titan0Vertex, Titan0Edge>> function =
                 new Function<TitanIndexQuery.Result<Vertex>, AtlasIndexQuery.Result<Titan0Vertex, Titan0Edge>>() {
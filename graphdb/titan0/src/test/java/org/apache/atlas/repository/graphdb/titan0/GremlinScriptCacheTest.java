@@ -0,0 +1,61 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.graphdb.titan0;
+
+import javax.script.Bindings;
+import javax.script.ScriptException;
+import javax.script.SimpleBindings;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+@Test
+public class GremlinScriptCacheTest {
+
+    @Test
+    public void testCompiledScriptIsReusedWithDifferentBindings() throws ScriptException {
+        GremlinScriptCache cache = new GremlinScriptCache(10, 100);
+
+        Assert.assertEquals(cache.eval("p1 + 1", bindings("p1", 1)), 2);
+        Assert.assertEquals(cache.eval("p1 + 1", bindings("p1", 41)), 42);
+        Assert.assertEquals(cache.eval("  p1 + 1  ", bindings("p1", 2)), 3);
+
+        Assert.assertEquals(cache.getMissCount(), 1);
+        Assert.assertEquals(cache.getHitCount(), 2);
+    }
+
+    @Test
+    public void testEngineIsRecycledAfterMaxCompilations() throws ScriptException {
+        GremlinScriptCache cache = new GremlinScriptCache(2, 2);
+
+        cache.eval("p1 + 1", bindings("p1", 1));
+        cache.eval("p1 + 2", bindings("p1", 1));
+
+        Assert.assertEquals(cache.getEngineRecycleCount(), 1);
+        Assert.assertEquals(cache.eval("p1 + 3", bindings("p1", 1)), 4);
+        Assert.assertEquals(cache.getMissCount(), 1);
+    }
+
+    private Bindings bindings(String name, Object value) {
+        Bindings ret = new SimpleBindings();
+
+        ret.put(name, value);
+
+        return ret;
+    }
+}
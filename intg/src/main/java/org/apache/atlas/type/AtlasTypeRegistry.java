@@ -17,6 +17,8 @@
  */
 package org.apache.atlas.type;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.sun.jersey.spi.resource.Singleton;
 
 import org.apache.atlas.AtlasErrorCode;
@@ -69,6 +71,10 @@ public class AtlasTypeRegistry {
 
         AtlasType ret = registryData.allTypes.getTypeByName(typeName);
 
+        if (ret == null) {
+            ret = registryData.collectionTypes.getIfPresent(typeName);
+        }
+
         if (ret == null) {
             if (typeName.startsWith(ATLAS_TYPE_ARRAY_PREFIX) && typeName.endsWith(ATLAS_TYPE_ARRAY_SUFFIX)) {
                 int    startIdx        = ATLAS_TYPE_ARRAY_PREFIX.length();
@@ -87,6 +93,8 @@ public class AtlasTypeRegistry {
             } else {
                 throw new AtlasBaseException(AtlasErrorCode.UNKNOWN_TYPENAME, typeName);
             }
+
+            registryData.addCollectionType(typeName, ret);
         }
 
         if (LOG.isDebugEnabled()) {
@@ -159,16 +167,25 @@ public class AtlasTypeRegistry {
     }
 
     public void commitTransientTypeRegistry(AtlasTransientTypeRegistry transientTypeRegistry) {
+        transientTypeRegistry.registryData.collectionTypes.invalidateAll();
+
         this.registryData = transientTypeRegistry.registryData;
     }
 
     static class RegistryData {
+        static final int MAX_COLLECTION_TYPES = 10000;
+
         final TypeCache                            allTypes;
         final TypeDefCache<AtlasEnumDef>           enumDefs;
         final TypeDefCache<AtlasStructDef>         structDefs;
         final TypeDefCache<AtlasClassificationDef> classificationDefs;
         final TypeDefCache<AtlasEntityDef>         entityDefs;
 
+        // array and map types resolved by getType(), which are not registered in allTypes; the least recently used
+        // types are evicted once MAX_COLLECTION_TYPES are cached
+        final Cache<String, AtlasType>             collectionTypes =
+                CacheBuilder.newBuilder().maximumSize(MAX_COLLECTION_TYPES).<String, AtlasType>build();
+
         RegistryData() {
             allTypes           = new TypeCache();
             enumDefs           = new TypeDefCache<>(allTypes);
@@ -198,6 +215,10 @@ public class AtlasTypeRegistry {
             entityDefs         = new TypeDefCache<>(other.entityDefs, allTypes);
         }
 
+        void addCollectionType(String typeName, AtlasType type) {
+            collectionTypes.put(typeName, type);
+        }
+
         void updateGuid(String typeName, String guid) {
             if (typeName != null) {
                 enumDefs.updateGuid(typeName, guid);
@@ -233,6 +254,9 @@ public class AtlasTypeRegistry {
         }
 
         private void resolveReferences() throws AtlasBaseException {
+            // collection types resolved earlier might refer to types that have since been replaced
+            registryData.collectionTypes.invalidateAll();
+
             for (AtlasType type : registryData.allTypes.getAllTypes()) {
                 type.resolveReferences(this);
             }
@@ -0,0 +1,113 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.type;
+
+import org.apache.atlas.model.instance.AtlasEntity;
+import org.apache.atlas.model.typedef.AtlasBaseTypeDef;
+import org.apache.atlas.model.typedef.AtlasEntityDef;
+import org.apache.atlas.model.typedef.AtlasStructDef.AtlasAttributeDef;
+import org.apache.atlas.type.AtlasTypeRegistry.AtlasTransientTypeRegistry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Measures AtlasTypeRegistry.getType() on the attribute types of a wide Hive-like table, and
+ * AtlasEntityType.validateValue() on an instance of the table. Not run as part of the test suite; run with the intg
+ * module's test classpath:
+ *
+ * java org.apache.atlas.type.AtlasTypeRegistryBenchmark [number of attributes] [iterations]
+ */
+public class AtlasTypeRegistryBenchmark {
+    private static final String TABLE_TYPE = "benchmark_hive_table";
+
+    private static final String[] ATTRIBUTE_TYPES = {
+            AtlasBaseTypeDef.ATLAS_TYPE_STRING,
+            AtlasBaseTypeDef.ATLAS_TYPE_LONG,
+            AtlasBaseTypeDef.getArrayTypeName(AtlasBaseTypeDef.ATLAS_TYPE_STRING),
+            AtlasBaseTypeDef.getMapTypeName(AtlasBaseTypeDef.ATLAS_TYPE_STRING, AtlasBaseTypeDef.ATLAS_TYPE_STRING),
+            AtlasBaseTypeDef.getArrayTypeName(AtlasBaseTypeDef.ATLAS_TYPE_INT),
+    };
+
+    public static void main(String[] args) throws Exception {
+        int numAttributes = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int iterations    = args.length > 1 ? Integer.parseInt(args[1]) : 20000;
+
+        AtlasTypeRegistry typeRegistry = new AtlasTypeRegistry();
+        AtlasEntityDef    tableDef     = new AtlasEntityDef(TABLE_TYPE);
+
+        for (int i = 0; i < numAttributes; i++) {
+            tableDef.addAttribute(new AtlasAttributeDef("attr" + i, ATTRIBUTE_TYPES[i % ATTRIBUTE_TYPES.length]));
+        }
+
+        AtlasTransientTypeRegistry ttr = typeRegistry.createTransientTypeRegistry();
+        ttr.addType(tableDef);
+        typeRegistry.commitTransientTypeRegistry(ttr);
+
+        AtlasEntityType tableType = (AtlasEntityType) typeRegistry.getType(TABLE_TYPE);
+        AtlasEntity     table     = tableType.createDefaultValue();
+
+        for (int i = 0; i < numAttributes; i++) {
+            switch (i % ATTRIBUTE_TYPES.length) {
+                case 0: table.setAttribute("attr" + i, "value" + i); break;
+                case 1: table.setAttribute("attr" + i, (long) i); break;
+                case 2: table.setAttribute("attr" + i, Arrays.asList("a", "b", "c")); break;
+                case 3: table.setAttribute("attr" + i, Collections.singletonMap("key", "value")); break;
+                default: table.setAttribute("attr" + i, Arrays.asList(1, 2, 3)); break;
+            }
+        }
+
+        List<String> messages = new ArrayList<>();
+
+        // warm up
+        run(typeRegistry, tableDef, tableType, table, messages, iterations / 10);
+
+        long startTime = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            for (AtlasAttributeDef attributeDef : tableDef.getAttributeDefs()) {
+                typeRegistry.getType(attributeDef.getTypeName());
+            }
+        }
+        report("getType", iterations * numAttributes, System.nanoTime() - startTime);
+
+        startTime = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            if (!tableType.validateValue(table, TABLE_TYPE, messages)) {
+                throw new IllegalStateException("Validation failed: " + messages);
+            }
+        }
+        report("validateValue", iterations, System.nanoTime() - startTime);
+    }
+
+    private static void run(AtlasTypeRegistry typeRegistry, AtlasEntityDef tableDef, AtlasEntityType tableType,
+                            AtlasEntity table, List<String> messages, int iterations) throws Exception {
+        for (int i = 0; i < iterations; i++) {
+            for (AtlasAttributeDef attributeDef : tableDef.getAttributeDefs()) {
+                typeRegistry.getType(attributeDef.getTypeName());
+            }
+            tableType.validateValue(table, TABLE_TYPE, messages);
+        }
+    }
+
+    private static void report(String operation, long numOps, long timeTakenNs) {
+        System.out.println(String.format("%-14s %d ops in %d ms: %.1f ns/op", operation, numOps,
+                timeTakenNs / 1000000, timeTakenNs / (double) numOps));
+    }
+}
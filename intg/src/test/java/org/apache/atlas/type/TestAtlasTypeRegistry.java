@@ -26,7 +26,9 @@ import org.apache.atlas.type.AtlasTypeRegistry.AtlasTransientTypeRegistry;
 import org.testng.annotations.Test;
 
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
 import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
 
 public class TestAtlasTypeRegistry {
 
@@ -267,4 +269,30 @@ public class TestAtlasTypeRegistry {
         }
         assertNotNull(failureMsg, "expected invalid supertype failure");
     }
+
+    @Test
+    public void testCollectionTypesAreReused() throws AtlasBaseException {
+        AtlasTypeRegistry          typeRegistry = new AtlasTypeRegistry();
+        AtlasTransientTypeRegistry ttr          = typeRegistry.createTransientTypeRegistry();
+
+        ttr.addType(new AtlasEntityDef("E1"));
+        typeRegistry.commitTransientTypeRegistry(ttr);
+
+        AtlasType arrayType = typeRegistry.getType("array<E1>");
+        AtlasType mapType   = typeRegistry.getType("map<string,E1>");
+
+        assertSame(typeRegistry.getType("array<E1>"), arrayType);
+        assertSame(typeRegistry.getType("map<string,E1>"), mapType);
+
+        // after the element type is replaced, the collection types should refer to the new element type
+        ttr = typeRegistry.createTransientTypeRegistry();
+        ttr.updateType(new AtlasEntityDef("E1"));
+        typeRegistry.commitTransientTypeRegistry(ttr);
+
+        AtlasType newArrayType = typeRegistry.getType("array<E1>");
+
+        assertNotSame(newArrayType, arrayType);
+        assertSame(((AtlasArrayType) newArrayType).getElementType(), typeRegistry.getType("E1"));
+        assertSame(((AtlasMapType) typeRegistry.getType("map<string,E1>")).getValueType(), typeRegistry.getType("E1"));
+    }
 }
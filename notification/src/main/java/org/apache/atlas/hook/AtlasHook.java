@@ -19,9 +19,12 @@
 package org.apache.atlas.hook;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
 import org.apache.atlas.ApplicationProperties;
+import org.apache.atlas.AtlasConstants;
 import org.apache.atlas.notification.NotificationException;
 import org.apache.atlas.notification.NotificationInterface;
 import org.apache.atlas.notification.NotificationModule;
@@ -31,6 +34,7 @@ import org.apache.atlas.typesystem.json.InstanceSerialization;
 import org.apache.commons.configuration.Configuration;
 import org.apache.commons.lang.StringUtils;
 import org.apache.hadoop.security.UserGroupInformation;
+import org.apache.hadoop.util.ShutdownHookManager;
 import org.codehaus.jettison.json.JSONArray;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -55,6 +59,7 @@ public abstract class AtlasHook {
     private static boolean logFailedMessages;
     private static FailedMessagesLogger failedMessagesLogger;
     private static int notificationRetryInterval;
+    private static boolean sendAsync;
     public static final String ATLAS_NOTIFICATION_RETRY_INTERVAL = "atlas.notification.hook.retry.interval";
 
     public static final String ATLAS_NOTIFICATION_FAILED_MESSAGES_FILENAME_KEY =
@@ -63,6 +68,9 @@ public abstract class AtlasHook {
     public static final String ATLAS_NOTIFICATION_LOG_FAILED_MESSAGES_ENABLED_KEY =
             "atlas.notification.log.failed.messages";
 
+    // runs after the shutdown hooks of the hooks' executors, which can still send notifications
+    private static final int NOTIFICATION_SHUTDOWN_HOOK_PRIORITY = AtlasConstants.ATLAS_SHUTDOWN_HOOK_PRIORITY - 1;
+
     static {
         try {
             atlasProperties = ApplicationProperties.get();
@@ -79,9 +87,25 @@ public abstract class AtlasHook {
         }
 
         notificationRetryInterval = atlasProperties.getInt(ATLAS_NOTIFICATION_RETRY_INTERVAL, 1000);
+        sendAsync = atlasProperties.getBoolean(NotificationInterface.PROPERTY_SEND_ASYNC, false);
         Injector injector = Guice.createInjector(new NotificationModule());
         notifInterface = injector.getInstance(NotificationInterface.class);
 
+        if (sendAsync) {
+            // messages sent asynchronously may still be waiting in the producer when a short-lived process exits
+            ShutdownHookManager.get().addShutdownHook(new Thread() {
+                @Override
+                public void run() {
+                    LOG.info("==> Shutdown of Atlas Hook notifications");
+                    try {
+                        notifInterface.close();
+                    } finally {
+                        LOG.info("<== Shutdown of Atlas Hook notifications");
+                    }
+                }
+            }, NOTIFICATION_SHUTDOWN_HOOK_PRIORITY);
+        }
+
         LOG.info("Created Atlas Hook");
     }
 
@@ -111,7 +135,42 @@ public abstract class AtlasHook {
      * @param maxRetries maximum number of retries while sending message to messaging system
      */
     public static void notifyEntities(List<HookNotification.HookNotificationMessage> messages, int maxRetries) {
-        notifyEntitiesInternal(messages, maxRetries, notifInterface, logFailedMessages, failedMessagesLogger);
+        if (sendAsync) {
+            notifyEntitiesAsync(messages, notifInterface, logFailedMessages, failedMessagesLogger);
+        } else {
+            notifyEntitiesInternal(messages, maxRetries, notifInterface, logFailedMessages, failedMessagesLogger);
+        }
+    }
+
+    /**
+     * Sends the messages without waiting for them to be acknowledged. Retries are left to the messaging system's
+     * producer; messages that still fail are logged once the send completes.
+     */
+    @VisibleForTesting
+    static void notifyEntitiesAsync(final List<HookNotification.HookNotificationMessage> messages,
+                                    NotificationInterface notificationInterface,
+                                    final boolean shouldLogFailedMessages, final FailedMessagesLogger logger) {
+        if (messages == null || messages.isEmpty()) {
+            return;
+        }
+
+        Futures.addCallback(notificationInterface.sendAsync(NotificationInterface.NotificationType.HOOK, messages),
+                new FutureCallback<Void>() {
+                    @Override
+                    public void onSuccess(Void result) {
+                    }
+
+                    @Override
+                    public void onFailure(Throwable t) {
+                        if (shouldLogFailedMessages && t instanceof NotificationException) {
+                            List<String> failedMessages = ((NotificationException) t).getFailedMessages();
+                            for (String msg : failedMessages) {
+                                logger.log(msg);
+                            }
+                        }
+                        LOG.error("Failed to notify atlas for entity {}", messages, t);
+                    }
+                });
     }
 
     @VisibleForTesting
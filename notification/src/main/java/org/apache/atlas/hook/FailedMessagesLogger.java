@@ -45,7 +45,7 @@ public class FailedMessagesLogger {
         this.failedMessageFile = failedMessageFile;
     }
 
-    void init() {
+    public void init() {
         String rootLoggerDirectory = getRootLoggerDirectory();
         if (rootLoggerDirectory == null) {
             return;
@@ -91,7 +91,7 @@ public class FailedMessagesLogger {
         return rootLoggerDirectory;
     }
 
-    void log(String message) {
+    public void log(String message) {
         logger.error(message);
     }
 }
@@ -18,6 +18,8 @@
 package org.apache.atlas.kafka;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
 import com.google.inject.Singleton;
 import kafka.consumer.Consumer;
 import kafka.consumer.KafkaStream;
@@ -36,6 +38,7 @@ import org.apache.atlas.service.Service;
 import org.apache.commons.configuration.Configuration;
 import org.apache.commons.configuration.ConfigurationConverter;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerConfig;
@@ -55,11 +58,13 @@ import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Kafka specific access point to the Atlas notification framework.
@@ -250,6 +255,36 @@ public class KafkaNotification extends AbstractNotification implements Service {
         }
     }
 
+    @Override
+    protected ListenableFuture<Void> sendInternalAsync(NotificationType type, String[] messages) {
+        if (producer == null) {
+            createProducer();
+        }
+        return sendAsyncToProducer(producer, type, messages);
+    }
+
+    /**
+     * Hands the messages to the producer, which batches them according to its batch.size and linger.ms settings.
+     * Returns without waiting for the broker to acknowledge them.
+     */
+    @VisibleForTesting
+    ListenableFuture<Void> sendAsyncToProducer(Producer p, NotificationType type, String[] messages) {
+        String topic = TOPIC_MAP.get(type);
+        AsyncSendContext context = new AsyncSendContext(topic, messages.length);
+
+        for (String message : messages) {
+            ProducerRecord record = new ProducerRecord(topic, message);
+            Callback callback = context.callbackFor(message);
+            LOG.debug("Sending message asynchronously for topic {}: {}", topic, message);
+            try {
+                p.send(record, callback);
+            } catch (Exception e) {
+                callback.onCompletion(null, e);
+            }
+        }
+        return context.getFuture();
+    }
+
     // ----- helper methods --------------------------------------------------
 
     /**
@@ -376,6 +411,59 @@ public class KafkaNotification extends AbstractNotification implements Service {
         }
     }
 
+    /**
+     * Tracks the completion of the messages of one asynchronous send.
+     */
+    private static class AsyncSendContext {
+        private final String topic;
+        private final AtomicInteger pending;
+        private final List<String> failedMessages = Collections.synchronizedList(new ArrayList<String>());
+        private final SettableFuture<Void> future = SettableFuture.create();
+        private volatile Exception lastFailureException;
+
+        AsyncSendContext(String topic, int numMessages) {
+            this.topic = topic;
+            this.pending = new AtomicInteger(numMessages);
+
+            if (numMessages == 0) {
+                future.set(null);
+            }
+        }
+
+        Callback callbackFor(final String message) {
+            return new Callback() {
+                @Override
+                public void onCompletion(RecordMetadata metadata, Exception exception) {
+                    if (exception != null) {
+                        LOG.warn("Failed to send message for topic {}", topic, exception);
+                        lastFailureException = exception;
+                        failedMessages.add(message);
+                    } else {
+                        LOG.debug("Sent message for topic - {}, partition - {}, offset - {}", metadata.topic(),
+                            metadata.partition(), metadata.offset());
+                    }
+
+                    if (pending.decrementAndGet() == 0) {
+                        complete();
+                    }
+                }
+            };
+        }
+
+        ListenableFuture<Void> getFuture() {
+            return future;
+        }
+
+        private void complete() {
+            if (lastFailureException != null) {
+                future.setException(new NotificationException(lastFailureException,
+                        new ArrayList<>(failedMessages)));
+            } else {
+                future.set(null);
+            }
+        }
+    }
+
     private class MessageContext {
 
         private final Future<RecordMetadata> future;
@@ -18,6 +18,8 @@
 package org.apache.atlas.notification;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
@@ -89,6 +91,15 @@ public abstract class AbstractNotification implements NotificationInterface {
         send(type, Arrays.asList(messages));
     }
 
+    @Override
+    public <T> ListenableFuture<Void> sendAsync(NotificationType type, List<T> messages) {
+        String[] strMessages = new String[messages.size()];
+        for (int index = 0; index < messages.size(); index++) {
+            strMessages[index] = getMessageJson(messages.get(index));
+        }
+        return sendInternalAsync(type, strMessages);
+    }
+
     // ----- AbstractNotification --------------------------------------------
 
     /**
@@ -119,6 +130,24 @@ public abstract class AbstractNotification implements NotificationInterface {
      */
     protected abstract void sendInternal(NotificationType type, String[] messages) throws NotificationException;
 
+    /**
+     * Send the given messages without waiting for them to be acknowledged. By default, the messages are sent
+     * synchronously and an already completed future is returned.
+     *
+     * @param type      the message type
+     * @param messages  the array of messages to send
+     *
+     * @return a future that completes once the messages are sent
+     */
+    protected ListenableFuture<Void> sendInternalAsync(NotificationType type, String[] messages) {
+        try {
+            sendInternal(type, messages);
+            return Futures.immediateFuture(null);
+        } catch (NotificationException e) {
+            return Futures.immediateFailedFuture(e);
+        }
+    }
+
 
     // ----- utility methods -------------------------------------------------
 
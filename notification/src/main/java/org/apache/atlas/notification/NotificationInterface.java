@@ -17,6 +17,7 @@
  */
 package org.apache.atlas.notification;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.gson.reflect.TypeToken;
 import org.apache.atlas.notification.entity.EntityMessageDeserializer;
 import org.apache.atlas.notification.entity.EntityNotification;
@@ -40,6 +41,11 @@ public interface NotificationInterface {
      */
     String PROPERTY_PREFIX = "atlas.notification";
 
+    /**
+     * Whether notification producers should send messages without waiting for them to be acknowledged.
+     */
+    String PROPERTY_SEND_ASYNC = PROPERTY_PREFIX + ".send.async";
+
     /**
      * Notification message class types.
      */
@@ -129,6 +135,18 @@ public interface NotificationInterface {
      */
     <T> void send(NotificationType type, List<T> messages) throws NotificationException;
 
+    /**
+     * Send the given messages, without waiting for them to be acknowledged.
+     *
+     * @param type      the message type
+     * @param messages  the list of messages to send
+     * @param <T>       the message type
+     *
+     * @return a future that completes once all the messages are sent. If any message could not be sent, the future
+     *         fails with a {@link NotificationException} that lists the failed messages
+     */
+    <T> ListenableFuture<Void> sendAsync(NotificationType type, List<T> messages);
+
     /**
      * Shutdown any notification producers and consumers associated with this interface instance.
      */
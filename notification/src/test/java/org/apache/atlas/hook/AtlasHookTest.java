@@ -18,6 +18,7 @@
 
 package org.apache.atlas.hook;
 
+import com.google.common.util.concurrent.Futures;
 import org.apache.atlas.notification.NotificationException;
 import org.apache.atlas.notification.NotificationInterface;
 import org.apache.atlas.notification.hook.HookNotification;
@@ -34,6 +35,7 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
 
 
 public class AtlasHookTest {
@@ -130,4 +132,19 @@ public class AtlasHookTest {
 
         verifyZeroInteractions(failedMessagesLogger);
     }
+
+    @Test
+    public void testFailedMessagesOfAsyncSendAreLogged() {
+        List<HookNotification.HookNotificationMessage> hookNotificationMessages =
+                new ArrayList<HookNotification.HookNotificationMessage>() {{
+                    add(new HookNotification.EntityCreateRequest("user"));
+                }
+            };
+        when(notificationInterface.sendAsync(NotificationInterface.NotificationType.HOOK, hookNotificationMessages))
+                .thenReturn(Futures.<Void>immediateFailedFuture(
+                        new NotificationException(new Exception(), Arrays.asList("test message1"))));
+        AtlasHook.notifyEntitiesAsync(hookNotificationMessages, notificationInterface, true, failedMessagesLogger);
+
+        verify(failedMessagesLogger, times(1)).log("test message1");
+    }
 }
@@ -0,0 +1,86 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.kafka;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import org.apache.atlas.ApplicationProperties;
+import org.apache.atlas.notification.NotificationInterface;
+import org.apache.atlas.notification.hook.HookNotification;
+import org.apache.atlas.typesystem.Referenceable;
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.lang.RandomStringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compares the throughput of synchronous and asynchronous sends against the embedded Kafka broker. Not run as part
+ * of the test suite; run with the notification module's test classpath:
+ *
+ * java org.apache.atlas.kafka.KafkaNotificationBenchmark [number of messages] [linger.ms]
+ */
+public class KafkaNotificationBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int numMessages = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        String lingerMs = args.length > 1 ? args[1] : "5";
+
+        Configuration properties = ApplicationProperties.get();
+        properties.setProperty("atlas.kafka.data", "target/" + RandomStringUtils.randomAlphanumeric(5));
+        properties.setProperty("atlas.kafka.linger.ms", lingerMs);
+
+        KafkaNotification kafkaNotification = new KafkaNotification(properties);
+        kafkaNotification.start();
+
+        try {
+            HookNotification.HookNotificationMessage message =
+                    new HookNotification.EntityCreateRequest("user", new Referenceable("type"));
+
+            // warm up the producer and the topic
+            kafkaNotification.send(NotificationInterface.NotificationType.HOOK, message);
+
+            long startTime = System.currentTimeMillis();
+            for (int i = 0; i < numMessages; i++) {
+                kafkaNotification.send(NotificationInterface.NotificationType.HOOK, message);
+            }
+            report("sync", numMessages, System.currentTimeMillis() - startTime);
+
+            List<ListenableFuture<Void>> futures = new ArrayList<>(numMessages);
+            startTime = System.currentTimeMillis();
+            for (int i = 0; i < numMessages; i++) {
+                futures.add(kafkaNotification.sendAsync(NotificationInterface.NotificationType.HOOK,
+                        Collections.singletonList(message)));
+            }
+            long submitTime = System.currentTimeMillis() - startTime;
+            for (ListenableFuture<Void> future : futures) {
+                future.get();
+            }
+            report("async (submit)", numMessages, submitTime);
+            report("async (acknowledged)", numMessages, System.currentTimeMillis() - startTime);
+        } finally {
+            kafkaNotification.close();
+            kafkaNotification.stop();
+        }
+    }
+
+    private static void report(String mode, int numMessages, long timeTakenMs) {
+        System.out.println(String.format("%-22s %d messages in %d ms: %.0f messages/sec", mode, numMessages,
+                timeTakenMs, numMessages * 1000.0 / Math.max(timeTakenMs, 1)));
+    }
+}
@@ -24,10 +24,13 @@ import org.apache.atlas.notification.MessageDeserializer;
 import org.apache.atlas.notification.NotificationConsumer;
 import org.apache.atlas.notification.NotificationException;
 import org.apache.atlas.notification.NotificationInterface;
+import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.TopicPartition;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
@@ -40,6 +43,7 @@ import java.util.concurrent.Future;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -162,6 +166,44 @@ public class KafkaNotificationMockTest {
         }
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldCollectFailedMessagesOfAsyncSend() throws Exception {
+        Properties configProperties = mock(Properties.class);
+        KafkaNotification kafkaNotification = new KafkaNotification(configProperties);
+
+        Producer producer = mock(Producer.class);
+        final String topicName = kafkaNotification.getTopicName(NotificationInterface.NotificationType.HOOK);
+        String message1 = "This is a test message1";
+        String message2 = "This is a test message2";
+        doAnswer(completeWith(new RecordMetadata(new TopicPartition(topicName, 0), 0, 0), null))
+                .when(producer).send(eq(new ProducerRecord(topicName, message1)), any(Callback.class));
+        doAnswer(completeWith(null, new RuntimeException("Simulating exception")))
+                .when(producer).send(eq(new ProducerRecord(topicName, message2)), any(Callback.class));
+
+        Future<Void> future = kafkaNotification.sendAsyncToProducer(producer,
+                NotificationInterface.NotificationType.HOOK, new String[]{message1, message2});
+
+        try {
+            future.get();
+            fail("Should have thrown NotificationException");
+        } catch (ExecutionException e) {
+            NotificationException cause = (NotificationException) e.getCause();
+            assertEquals(cause.getFailedMessages().size(), 1);
+            assertEquals(cause.getFailedMessages().get(0), "This is a test message2");
+        }
+    }
+
+    private Answer completeWith(final RecordMetadata metadata, final Exception exception) {
+        return new Answer() {
+            @Override
+            public Object answer(InvocationOnMock invocation) {
+                ((Callback) invocation.getArguments()[1]).onCompletion(metadata, exception);
+                return null;
+            }
+        };
+    }
+
     class TestKafkaNotification extends KafkaNotification {
 
         private final ConsumerConnector consumerConnector;
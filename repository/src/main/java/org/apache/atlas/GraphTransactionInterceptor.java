@@ -20,6 +20,7 @@ package org.apache.atlas;
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
 import org.apache.atlas.repository.graph.AtlasGraphProvider;
+import org.apache.atlas.repository.graph.GraphHelper;
 import org.apache.atlas.repository.graphdb.AtlasGraph;
 import org.apache.atlas.typesystem.exception.EntityNotFoundException;
 import org.apache.atlas.typesystem.exception.SchemaNotFoundException;
@@ -37,6 +38,8 @@ public class GraphTransactionInterceptor implements MethodInterceptor {
             graph = AtlasGraphProvider.getGraphInstance();
         }
 
+        // Only the outermost transaction clears the cache, as inner calls run within its transaction
+        boolean isCacheOwner = GraphHelper.startTransactionCache();
         try {
             Object response = invocation.proceed();
             graph.commit();
@@ -49,7 +52,12 @@ public class GraphTransactionInterceptor implements MethodInterceptor {
                 LOG.error("graph rollback due to exception " + t.getClass().getSimpleName() + ":" + t.getMessage());
             }
             graph.rollback();
+            RequestContext.get().clearCachedInstances();
             throw t;
+        } finally {
+            if (isCacheOwner) {
+                GraphHelper.clearTransactionCache();
+            }
         }
     }
 
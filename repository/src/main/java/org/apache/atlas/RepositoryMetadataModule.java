@@ -35,6 +35,7 @@ import org.apache.atlas.repository.MetadataRepository;
 import org.apache.atlas.repository.audit.EntityAuditListener;
 import org.apache.atlas.repository.audit.EntityAuditRepository;
 import org.apache.atlas.repository.graph.DeleteHandler;
+import org.apache.atlas.repository.graph.FullTextIndexer;
 import org.apache.atlas.repository.graph.GraphBackedMetadataRepository;
 import org.apache.atlas.repository.graph.GraphBackedSearchIndexer;
 import org.apache.atlas.repository.store.graph.v1.AtlasTypeDefGraphStoreV1;
@@ -104,6 +105,7 @@ public class RepositoryMetadataModule extends com.google.inject.AbstractModule {
         Multibinder<EntityChangeListener> entityChangeListenerBinder =
                 Multibinder.newSetBinder(binder(), EntityChangeListener.class);
         entityChangeListenerBinder.addBinding().to(EntityAuditListener.class);
+        entityChangeListenerBinder.addBinding().to(FullTextIndexer.class);
 
         MethodInterceptor interceptor = new GraphTransactionInterceptor();
         requestInjection(interceptor);
@@ -23,28 +23,21 @@ import org.apache.atlas.AtlasClient;
 import org.apache.atlas.AtlasException;
 import org.apache.atlas.AtlasProperties;
 import org.apache.atlas.GraphTransaction;
-import org.apache.atlas.discovery.graph.DefaultGraphPersistenceStrategy;
 import org.apache.atlas.discovery.graph.GraphBackedDiscoveryService;
-import org.apache.atlas.query.InputLineageClosureQuery;
-import org.apache.atlas.query.OutputLineageClosureQuery;
 import org.apache.atlas.query.QueryParams;
 import org.apache.atlas.repository.Constants;
-import org.apache.atlas.repository.MetadataRepository;
 import org.apache.atlas.repository.graph.AtlasGraphProvider;
 import org.apache.atlas.repository.graph.GraphHelper;
 import org.apache.atlas.repository.graphdb.AtlasGraph;
 import org.apache.atlas.repository.graphdb.AtlasVertex;
 import org.apache.atlas.typesystem.exception.EntityNotFoundException;
 import org.apache.atlas.typesystem.exception.SchemaNotFoundException;
+import org.apache.atlas.typesystem.json.InstanceSerialization;
 import org.apache.atlas.typesystem.persistence.Id;
-import org.apache.atlas.typesystem.types.TypeUtils;
 import org.apache.atlas.utils.ParamChecker;
 import org.apache.commons.configuration.Configuration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import scala.Option;
-import scala.Some;
-import scala.collection.immutable.List;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -58,16 +51,12 @@ public class DataSetLineageService implements LineageService {
 
     private static final Logger LOG = LoggerFactory.getLogger(DataSetLineageService.class);
 
-    private static final Option<List<String>> SELECT_ATTRIBUTES =
-            Some.<List<String>>apply(List.<String>fromArray(new String[]{AtlasClient.NAME,
-                    AtlasClient.REFERENCEABLE_ATTRIBUTE_NAME}));
-    public static final String SELECT_INSTANCE_GUID = "__guid";
-
     public static final String DATASET_SCHEMA_QUERY_PREFIX = "atlas.lineage.schema.query.";
 
-    private static final String HIVE_PROCESS_TYPE_NAME = "Process";
-    private static final String HIVE_PROCESS_INPUT_ATTRIBUTE_NAME = "inputs";
-    private static final String HIVE_PROCESS_OUTPUT_ATTRIBUTE_NAME = "outputs";
+    /**
+     * Maximum number of processes between a dataset and the datasets in its lineage graphs. 0 means no limit.
+     */
+    public static final String LINEAGE_MAX_DEPTH_PROPERTY = "atlas.lineage.max.depth";
 
     private static final Configuration propertiesConf;
 
@@ -81,15 +70,18 @@ public class DataSetLineageService implements LineageService {
 
 
     private final AtlasGraph graph;
-    private final DefaultGraphPersistenceStrategy graphPersistenceStrategy;
     private final GraphBackedDiscoveryService discoveryService;
+    private final DataSetLineageTraversal inputsTraversal;
+    private final DataSetLineageTraversal outputsTraversal;
 
     @Inject
-    DataSetLineageService(MetadataRepository metadataRepository,
-                          GraphBackedDiscoveryService discoveryService) throws DiscoveryException {
+    DataSetLineageService(GraphBackedDiscoveryService discoveryService) throws DiscoveryException {
         this.graph = AtlasGraphProvider.getGraphInstance();
-        this.graphPersistenceStrategy = new DefaultGraphPersistenceStrategy(metadataRepository);
         this.discoveryService = discoveryService;
+
+        int maxDepth = propertiesConf.getInt(LINEAGE_MAX_DEPTH_PROPERTY, 0);
+        this.inputsTraversal = new DataSetLineageTraversal(true, maxDepth);
+        this.outputsTraversal = new DataSetLineageTraversal(false, maxDepth);
     }
 
     /**
@@ -103,8 +95,8 @@ public class DataSetLineageService implements LineageService {
     public String getOutputsGraph(String datasetName) throws AtlasException {
         LOG.info("Fetching lineage outputs graph for datasetName={}", datasetName);
         datasetName = ParamChecker.notEmpty(datasetName, "dataset name");
-        TypeUtils.Pair<String, String> typeIdPair = validateDatasetNameExists(datasetName);
-        return getOutputsGraphForId(typeIdPair.right);
+        AtlasVertex datasetVertex = validateDatasetNameExists(datasetName);
+        return getOutputsGraphForVertex(datasetVertex);
     }
 
     /**
@@ -118,8 +110,8 @@ public class DataSetLineageService implements LineageService {
     public String getInputsGraph(String tableName) throws AtlasException {
         LOG.info("Fetching lineage inputs graph for tableName={}", tableName);
         tableName = ParamChecker.notEmpty(tableName, "table name");
-        TypeUtils.Pair<String, String> typeIdPair = validateDatasetNameExists(tableName);
-        return getInputsGraphForId(typeIdPair.right);
+        AtlasVertex datasetVertex = validateDatasetNameExists(tableName);
+        return getInputsGraphForVertex(datasetVertex);
     }
 
     @Override
@@ -127,17 +119,12 @@ public class DataSetLineageService implements LineageService {
     public String getInputsGraphForEntity(String guid) throws AtlasException {
         LOG.info("Fetching lineage inputs graph for entity={}", guid);
         guid = ParamChecker.notEmpty(guid, "Entity id");
-        validateDatasetExists(guid);
-        return getInputsGraphForId(guid);
+        AtlasVertex datasetVertex = validateDatasetExists(guid);
+        return getInputsGraphForVertex(datasetVertex);
     }
 
-    private String getInputsGraphForId(String guid) {
-        InputLineageClosureQuery
-                inputsQuery = new InputLineageClosureQuery(AtlasClient.DATA_SET_SUPER_TYPE, SELECT_INSTANCE_GUID,
-                guid, HIVE_PROCESS_TYPE_NAME,
-                HIVE_PROCESS_INPUT_ATTRIBUTE_NAME, HIVE_PROCESS_OUTPUT_ATTRIBUTE_NAME, Option.empty(),
-                SELECT_ATTRIBUTES, true, graphPersistenceStrategy, graph);
-        return inputsQuery.graph().toInstanceJson();
+    private String getInputsGraphForVertex(AtlasVertex datasetVertex) throws AtlasException {
+        return InstanceSerialization.toJson(inputsTraversal.traverse(datasetVertex), false);
     }
 
     @Override
@@ -145,16 +132,12 @@ public class DataSetLineageService implements LineageService {
     public String getOutputsGraphForEntity(String guid) throws AtlasException {
         LOG.info("Fetching lineage outputs graph for entity guid={}", guid);
         guid = ParamChecker.notEmpty(guid, "Entity id");
-        validateDatasetExists(guid);
-        return getOutputsGraphForId(guid);
+        AtlasVertex datasetVertex = validateDatasetExists(guid);
+        return getOutputsGraphForVertex(datasetVertex);
     }
 
-    private String getOutputsGraphForId(String guid) {
-        OutputLineageClosureQuery outputsQuery =
-                new OutputLineageClosureQuery(AtlasClient.DATA_SET_SUPER_TYPE, SELECT_INSTANCE_GUID, guid, HIVE_PROCESS_TYPE_NAME,
-                        HIVE_PROCESS_INPUT_ATTRIBUTE_NAME, HIVE_PROCESS_OUTPUT_ATTRIBUTE_NAME, Option.empty(),
-                        SELECT_ATTRIBUTES, true, graphPersistenceStrategy, graph);
-        return outputsQuery.graph().toInstanceJson();
+    private String getOutputsGraphForVertex(AtlasVertex datasetVertex) throws AtlasException {
+        return InstanceSerialization.toJson(outputsTraversal.traverse(datasetVertex), false);
     }
 
     /**
@@ -168,9 +151,9 @@ public class DataSetLineageService implements LineageService {
     public String getSchema(String datasetName) throws AtlasException {
         datasetName = ParamChecker.notEmpty(datasetName, "table name");
         LOG.info("Fetching schema for tableName={}", datasetName);
-        TypeUtils.Pair<String, String> typeIdPair = validateDatasetNameExists(datasetName);
+        AtlasVertex datasetVertex = validateDatasetNameExists(datasetName);
 
-        return getSchemaForId(typeIdPair.left, typeIdPair.right);
+        return getSchemaForId(GraphHelper.getTypeName(datasetVertex), GraphHelper.getIdFromVertex(datasetVertex));
     }
 
     private String getSchemaForId(String typeName, String guid) throws DiscoveryException, SchemaNotFoundException {
@@ -189,23 +172,23 @@ public class DataSetLineageService implements LineageService {
     public String getSchemaForEntity(String guid) throws AtlasException {
         guid = ParamChecker.notEmpty(guid, "Entity id");
         LOG.info("Fetching schema for entity guid={}", guid);
-        String typeName = validateDatasetExists(guid);
-        return getSchemaForId(typeName, guid);
+        AtlasVertex datasetVertex = validateDatasetExists(guid);
+        return getSchemaForId(GraphHelper.getTypeName(datasetVertex), guid);
     }
 
     /**
      * Validate if indeed this is a table type and exists.
      *
      * @param datasetName table name
+     * @return the dataset vertex
      */
-    private TypeUtils.Pair<String, String> validateDatasetNameExists(String datasetName) throws AtlasException {
+    private AtlasVertex validateDatasetNameExists(String datasetName) throws AtlasException {
         Iterator<AtlasVertex> results = graph.query().has("Referenceable.qualifiedName", datasetName)
                                              .has(Constants.STATE_PROPERTY_KEY, Id.EntityState.ACTIVE.name())
                                              .has(Constants.SUPER_TYPES_PROPERTY_KEY, AtlasClient.DATA_SET_SUPER_TYPE)
                                              .vertices().iterator();
         while (results.hasNext()) {
-            AtlasVertex vertex = results.next();
-            return TypeUtils.Pair.of(GraphHelper.getTypeName(vertex), GraphHelper.getIdFromVertex(vertex));
+            return results.next();
         }
         throw new EntityNotFoundException("Dataset with name = " + datasetName + " does not exist");
     }
@@ -214,14 +197,14 @@ public class DataSetLineageService implements LineageService {
      * Validate if indeed this is a table type and exists.
      *
      * @param guid entity id
+     * @return the dataset vertex
      */
-    private String validateDatasetExists(String guid) throws AtlasException {
+    private AtlasVertex validateDatasetExists(String guid) throws AtlasException {
         Iterator<AtlasVertex> results = graph.query().has(Constants.GUID_PROPERTY_KEY, guid)
                           .has(Constants.SUPER_TYPES_PROPERTY_KEY, AtlasClient.DATA_SET_SUPER_TYPE)
                           .vertices().iterator();
         while (results.hasNext()) {
-            AtlasVertex vertex = results.next();
-            return GraphHelper.getTypeName(vertex);
+            return results.next();
         }
         throw new EntityNotFoundException("Dataset with guid = " + guid + " does not exist");
     }
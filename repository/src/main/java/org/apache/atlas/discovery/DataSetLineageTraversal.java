@@ -0,0 +1,221 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.atlas.discovery;
+
+import org.apache.atlas.AtlasClient;
+import org.apache.atlas.AtlasException;
+import org.apache.atlas.repository.graph.GraphHelper;
+import org.apache.atlas.repository.graphdb.AtlasEdge;
+import org.apache.atlas.repository.graphdb.AtlasEdgeDirection;
+import org.apache.atlas.repository.graphdb.AtlasVertex;
+import org.apache.atlas.typesystem.ITypedStruct;
+import org.apache.atlas.typesystem.types.AttributeDefinition;
+import org.apache.atlas.typesystem.types.ClassType;
+import org.apache.atlas.typesystem.types.DataTypes;
+import org.apache.atlas.typesystem.types.IDataType;
+import org.apache.atlas.typesystem.types.Multiplicity;
+import org.apache.atlas.typesystem.types.StructType;
+import org.apache.atlas.typesystem.types.TypeSystem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Computes the lineage closure of a dataset by walking the process edges of the graph, without a Gremlin query.
+ *
+ * The dataset -> process -> dataset hops are followed breadth first, and each dataset and process is expanded
+ * once, so cycles end the walk. The result has the same form as the graph of a lineage closure query: a map of
+ * guid -> vertex struct (id, name and qualifiedName) for the datasets, and a map of guid -> adjacent guids for the
+ * datasets and processes on the paths.
+ */
+final class DataSetLineageTraversal {
+    static final String VERTICES_ATTRIBUTE_NAME = "vertices";
+    static final String EDGES_ATTRIBUTE_NAME = "edges";
+    static final String VERTEX_ID_ATTRIBUTE_NAME = "vertexId";
+
+    private static final String VERTEX_TYPE_NAME = "__DataSetLineageVertex";
+    private static final String GRAPH_TYPE_NAME = "__DataSetLineageGraph";
+
+    private final TypeSystem typeSystem = TypeSystem.getInstance();
+
+    private final boolean inputs;
+    private final int maxDepth;
+
+    /**
+     * @param inputs true to walk to the inputs of datasets, false to walk to their outputs
+     * @param maxDepth maximum number of process hops from the dataset, or 0 for no limit
+     */
+    DataSetLineageTraversal(boolean inputs, int maxDepth) {
+        this.inputs = inputs;
+        this.maxDepth = maxDepth;
+    }
+
+    ITypedStruct traverse(AtlasVertex datasetVertex) throws AtlasException {
+        ClassType processType = typeSystem.getDataType(ClassType.class, AtlasClient.PROCESS_SUPER_TYPE);
+        ClassType dataSetType = typeSystem.getDataType(ClassType.class, AtlasClient.DATA_SET_SUPER_TYPE);
+        String inputsLabel = GraphHelper.getEdgeLabel(processType,
+                processType.fieldMapping().fields.get(AtlasClient.PROCESS_ATTRIBUTE_INPUTS));
+        String outputsLabel = GraphHelper.getEdgeLabel(processType,
+                processType.fieldMapping().fields.get(AtlasClient.PROCESS_ATTRIBUTE_OUTPUTS));
+
+        // dataset <- process edges, and process -> dataset edges, in the direction of the walk
+        String processLabel = inputs ? outputsLabel : inputsLabel;
+        String datasetLabel = inputs ? inputsLabel : outputsLabel;
+
+        VertexMapper vertexMapper = new VertexMapper(dataSetType);
+        Map<String, ITypedStruct> vertices = new LinkedHashMap<>();
+        Map<String, Set<String>> edges = new LinkedHashMap<>();
+        // Whether each expanded process has datasets at the other side
+        Map<String, Boolean> expandedProcesses = new HashMap<>();
+        Set<String> visitedDatasets = new HashSet<>();
+
+        String sourceGuid = GraphHelper.getIdFromVertex(datasetVertex);
+        visitedDatasets.add(sourceGuid);
+        List<AtlasVertex> level = Collections.singletonList(datasetVertex);
+
+        for (int depth = 0; !level.isEmpty() && (maxDepth <= 0 || depth < maxDepth); depth++) {
+            List<AtlasVertex> nextLevel = new ArrayList<>();
+
+            for (AtlasVertex vertex : level) {
+                String guid = GraphHelper.getIdFromVertex(vertex);
+
+                for (AtlasEdge processEdge : (Iterable<AtlasEdge>) vertex.getEdges(AtlasEdgeDirection.IN, processLabel)) {
+                    AtlasVertex processVertex = processEdge.getOutVertex();
+                    String processGuid = GraphHelper.getIdFromVertex(processVertex);
+                    Boolean hasDatasets = expandedProcesses.get(processGuid);
+
+                    if (hasDatasets == null) {
+                        hasDatasets = false;
+                        for (AtlasEdge datasetEdge : (Iterable<AtlasEdge>) processVertex.getEdges(AtlasEdgeDirection.OUT,
+                                datasetLabel)) {
+                            AtlasVertex nextVertex = datasetEdge.getInVertex();
+                            String nextGuid = GraphHelper.getIdFromVertex(nextVertex);
+
+                            addEdge(edges, processGuid, nextGuid);
+                            hasDatasets = true;
+                            if (!vertices.containsKey(nextGuid)) {
+                                vertices.put(nextGuid, vertexMapper.toStruct(nextVertex));
+                            }
+                            if (visitedDatasets.add(nextGuid)) {
+                                nextLevel.add(nextVertex);
+                            }
+                        }
+                        expandedProcesses.put(processGuid, hasDatasets);
+                    }
+
+                    if (hasDatasets) {
+                        addEdge(edges, guid, processGuid);
+                    }
+                }
+            }
+            level = nextLevel;
+        }
+
+        // As for closure queries, the dataset itself is only included if it has lineage
+        if (!vertices.isEmpty() && !vertices.containsKey(sourceGuid)) {
+            vertices.put(sourceGuid, vertexMapper.toStruct(datasetVertex));
+        }
+
+        return toGraphStruct(vertexMapper.vertexType, vertices, edges);
+    }
+
+    private static void addEdge(Map<String, Set<String>> edges, String fromGuid, String toGuid) {
+        Set<String> adjacentGuids = edges.get(fromGuid);
+        if (adjacentGuids == null) {
+            adjacentGuids = new LinkedHashSet<>();
+            edges.put(fromGuid, adjacentGuids);
+        }
+        adjacentGuids.add(toGuid);
+    }
+
+    private ITypedStruct toGraphStruct(StructType vertexType, Map<String, ITypedStruct> vertices,
+                                       Map<String, Set<String>> edges) throws AtlasException {
+        DataTypes.MapType verticesType = typeSystem.defineMapType(DataTypes.STRING_TYPE, vertexType);
+        DataTypes.MapType edgesType = typeSystem.defineMapType(DataTypes.STRING_TYPE,
+                typeSystem.defineArrayType(DataTypes.STRING_TYPE));
+
+        Map<String, IDataType> tempTypes = new HashMap<>();
+        tempTypes.put(vertexType.getName(), vertexType);
+        tempTypes.put(verticesType.getName(), verticesType);
+        tempTypes.put(edgesType.getName(), edgesType);
+
+        StructType graphType = typeSystem.defineQueryResultType(GRAPH_TYPE_NAME, tempTypes,
+                new AttributeDefinition(VERTICES_ATTRIBUTE_NAME, verticesType.getName(), Multiplicity.REQUIRED, false,
+                        null),
+                new AttributeDefinition(EDGES_ATTRIBUTE_NAME, edgesType.getName(), Multiplicity.REQUIRED, false,
+                        null));
+
+        Map<String, List<String>> edgeLists = new LinkedHashMap<>();
+        for (Map.Entry<String, Set<String>> entry : edges.entrySet()) {
+            edgeLists.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+        }
+
+        ITypedStruct ret = graphType.createInstance();
+        ret.set(VERTICES_ATTRIBUTE_NAME, vertices);
+        ret.set(EDGES_ATTRIBUTE_NAME, edgeLists);
+        return ret;
+    }
+
+    /**
+     * Maps dataset vertices to the vertex struct of the result.
+     */
+    private final class VertexMapper {
+        private final StructType vertexType;
+        private final String namePropertyName;
+        private final String qualifiedNamePropertyName;
+
+        VertexMapper(ClassType dataSetType) throws AtlasException {
+            this.vertexType = typeSystem.defineQueryResultType(VERTEX_TYPE_NAME, null,
+                    new AttributeDefinition(VERTEX_ID_ATTRIBUTE_NAME, typeSystem.getIdType().getName(),
+                            Multiplicity.REQUIRED, false, null),
+                    new AttributeDefinition(AtlasClient.NAME, DataTypes.STRING_TYPE.getName(),
+                            Multiplicity.OPTIONAL, false, null),
+                    new AttributeDefinition(AtlasClient.REFERENCEABLE_ATTRIBUTE_NAME, DataTypes.STRING_TYPE.getName(),
+                            Multiplicity.OPTIONAL, false, null));
+            this.namePropertyName = GraphHelper.getQualifiedFieldName(dataSetType, AtlasClient.NAME);
+            this.qualifiedNamePropertyName =
+                    GraphHelper.getQualifiedFieldName(dataSetType, AtlasClient.REFERENCEABLE_ATTRIBUTE_NAME);
+        }
+
+        ITypedStruct toStruct(AtlasVertex vertex) throws AtlasException {
+            TypeSystem.IdType idType = typeSystem.getIdType();
+            ITypedStruct id = idType.getStructType().createInstance();
+            id.set(idType.idAttrName(), GraphHelper.getIdFromVertex(vertex));
+            id.set(idType.typeNameAttrName(), GraphHelper.getTypeName(vertex));
+            String state = GraphHelper.getStateAsString(vertex);
+            if (state != null) {
+                id.set(idType.stateAttrName(), state);
+            }
+
+            ITypedStruct ret = vertexType.createInstance();
+            ret.set(VERTEX_ID_ATTRIBUTE_NAME, id);
+            ret.set(AtlasClient.NAME, GraphHelper.getSingleValuedProperty(vertex, namePropertyName, String.class));
+            ret.set(AtlasClient.REFERENCEABLE_ATTRIBUTE_NAME,
+                    GraphHelper.getSingleValuedProperty(vertex, qualifiedNamePropertyName, String.class));
+            return ret;
+        }
+    }
+}
@@ -37,6 +37,18 @@ public interface DiscoveryService {
      */
     String searchByFullText(String query, QueryParams queryParams) throws DiscoveryException;
 
+    /**
+     * Searches using Full text query, passing each result row to the given handler as it is read from the index,
+     * instead of building the results json.
+     * @param query query string
+     * @param queryParams Default query parameters like limit, offset
+     * @param handler receives the result rows
+     * @return number of rows passed to the handler
+     * @throws DiscoveryException
+     */
+    int searchByFullText(String query, QueryParams queryParams, FullTextResultHandler handler)
+        throws DiscoveryException;
+
     /**
      * Searches using DSL query
      * @param dslQuery query string
@@ -56,4 +68,11 @@ public interface DiscoveryService {
      * @throws org.apache.atlas.discovery.DiscoveryException
      */
     List<Map<String, String>> searchByGremlin(String gremlinQuery) throws DiscoveryException;
+
+    /**
+     * Receives the rows of a full text search.
+     */
+    interface FullTextResultHandler {
+        void handle(String guid, String typeName, double score) throws DiscoveryException;
+    }
 }
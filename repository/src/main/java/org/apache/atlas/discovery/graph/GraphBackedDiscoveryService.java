@@ -24,12 +24,15 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.script.ScriptException;
 
+import org.apache.atlas.ApplicationProperties;
 import org.apache.atlas.AtlasClient;
+import org.apache.atlas.AtlasException;
 import org.apache.atlas.GraphTransaction;
 import org.apache.atlas.discovery.DiscoveryException;
 import org.apache.atlas.discovery.DiscoveryService;
@@ -49,12 +52,17 @@ import org.apache.atlas.repository.graphdb.AtlasEdge;
 import org.apache.atlas.repository.graphdb.AtlasGraph;
 import org.apache.atlas.repository.graphdb.AtlasIndexQuery;
 import org.apache.atlas.repository.graphdb.AtlasVertex;
+import org.apache.atlas.typesystem.types.TypeSystem;
 import org.codehaus.jettison.json.JSONArray;
 import org.codehaus.jettison.json.JSONException;
 import org.codehaus.jettison.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import scala.util.Either;
 import scala.util.parsing.combinator.Parsers;
 
@@ -68,14 +76,24 @@ public class GraphBackedDiscoveryService implements DiscoveryService {
 
     private final AtlasGraph graph;
     private final DefaultGraphPersistenceStrategy graphPersistenceStrategy;
+    private final Cache<DslQueryKey, ValidatedQuery> validatedQueryCache;
 
     public final static String SCORE = "score";
 
+    public static final String DSL_QUERY_CACHE_SIZE_PROPERTY = "atlas.search.dsl.cache.size";
+
     @Inject
     GraphBackedDiscoveryService(MetadataRepository metadataRepository)
     throws DiscoveryException {
         this.graph = AtlasGraphProvider.getGraphInstance();
         this.graphPersistenceStrategy = new DefaultGraphPersistenceStrategy(metadataRepository);
+
+        try {
+            int cacheSize = ApplicationProperties.get().getInt(DSL_QUERY_CACHE_SIZE_PROPERTY, 1000);
+            this.validatedQueryCache = CacheBuilder.newBuilder().maximumSize(cacheSize).build();
+        } catch (AtlasException e) {
+            throw new DiscoveryException(e);
+        }
     }
 
     //For titan 0.5.4, refer to http://s3.thinkaurelius.com/docs/titan/0.5.4/index-backends.html for indexed query
@@ -84,29 +102,16 @@ public class GraphBackedDiscoveryService implements DiscoveryService {
     @Override
     @GraphTransaction
     public String searchByFullText(String query, QueryParams queryParams) throws DiscoveryException {
-        String graphQuery = String.format("v.\"%s\":(%s)", Constants.ENTITY_TEXT_PROPERTY_KEY, query);
-        LOG.debug("Full text query: {}", graphQuery);
-        Iterator<AtlasIndexQuery.Result<?, ?>> results =graph.indexQuery(Constants.FULLTEXT_INDEX, graphQuery).vertices();
-        JSONArray response = new JSONArray();
+        final JSONArray response = new JSONArray();
 
-        int index = 0;
-        while (results.hasNext() && index < queryParams.offset()) {
-            results.next();
-            index++;
-        }
-
-        while (results.hasNext() && response.length() < queryParams.limit()) {
-            
-            AtlasIndexQuery.Result<?,?> result = results.next();
-            AtlasVertex<?,?> vertex = result.getVertex();
-
-            JSONObject row = new JSONObject();
-            String guid = GraphHelper.getIdFromVertex(vertex);
-            if (guid != null) { //Filter non-class entities
+        searchByFullText(query, queryParams, new FullTextResultHandler() {
+            @Override
+            public void handle(String guid, String typeName, double score) throws DiscoveryException {
+                JSONObject row = new JSONObject();
                 try {
                     row.put("guid", guid);
-                    row.put(AtlasClient.TYPENAME, GraphHelper.getTypeName(vertex));
-                    row.put(SCORE, result.getScore());
+                    row.put(AtlasClient.TYPENAME, typeName);
+                    row.put(SCORE, score);
                 } catch (JSONException e) {
                     LOG.error("Unable to create response", e);
                     throw new DiscoveryException("Unable to create response");
@@ -114,10 +119,35 @@ public class GraphBackedDiscoveryService implements DiscoveryService {
 
                 response.put(row);
             }
-        }
+        });
         return response.toString();
     }
 
+    @Override
+    @GraphTransaction
+    public int searchByFullText(String query, QueryParams queryParams, FullTextResultHandler handler)
+        throws DiscoveryException {
+        String graphQuery = String.format("v.\"%s\":(%s)", Constants.ENTITY_TEXT_PROPERTY_KEY, query);
+        LOG.debug("Full text query: {}", graphQuery);
+
+        // offset and limit are applied by the index, so that deep pages don't load the skipped vertices
+        Iterator<AtlasIndexQuery.Result<?, ?>> results = graph.indexQuery(Constants.FULLTEXT_INDEX, graphQuery)
+                .vertices(queryParams.offset(), queryParams.limit());
+        int count = 0;
+
+        while (results.hasNext()) {
+            AtlasIndexQuery.Result<?,?> result = results.next();
+            AtlasVertex<?,?> vertex = result.getVertex();
+
+            String guid = GraphHelper.getIdFromVertex(vertex);
+            if (guid != null) { //Filter non-class entities
+                handler.handle(guid, GraphHelper.getTypeName(vertex), result.getScore());
+                count++;
+            }
+        }
+        return count;
+    }
+
     @Override
     @GraphTransaction
     public String searchByDSL(String dslQuery, QueryParams queryParams) throws DiscoveryException {
@@ -128,21 +158,42 @@ public class GraphBackedDiscoveryService implements DiscoveryService {
     public GremlinQueryResult evaluate(String dslQuery, QueryParams queryParams) throws DiscoveryException {
         LOG.debug("Executing dsl query={}", dslQuery);
         try {
-            Either<Parsers.NoSuccess, Expressions.Expression> either = QueryParser.apply(dslQuery, queryParams);
-            if (either.isRight()) {
-                Expressions.Expression expression = either.right().get();
-                return evaluate(dslQuery, expression);
-            } else {
-                throw new DiscoveryException("Invalid expression : " + dslQuery + ". " + either.left());
-            }
+            Expressions.Expression validatedExpression = getValidatedExpression(dslQuery, queryParams);
+            return evaluate(dslQuery, validatedExpression);
+        } catch (DiscoveryException e) {
+            throw e;
         } catch (Exception e) { // unable to catch ExpressionException
             throw new DiscoveryException("Invalid expression : " + dslQuery, e);
         }
     }
 
-    private GremlinQueryResult evaluate(String dslQuery, Expressions.Expression expression) {
-        Expressions.Expression validatedExpression = QueryProcessor.validate(expression);
+    /**
+     * Parses and validates the given query. Validated queries are cached, until types in the type system change.
+     */
+    @VisibleForTesting
+    public Expressions.Expression getValidatedExpression(String dslQuery, QueryParams queryParams)
+        throws DiscoveryException {
+        long           typesChangeCount = TypeSystem.getInstance().getChangeCount();
+        DslQueryKey    key              = new DslQueryKey(dslQuery, queryParams);
+        ValidatedQuery cached           = validatedQueryCache.getIfPresent(key);
+
+        if (cached != null && cached.typesChangeCount == typesChangeCount) {
+            return cached.expression;
+        }
 
+        Either<Parsers.NoSuccess, Expressions.Expression> either = QueryParser.apply(dslQuery, queryParams);
+        if (either.isLeft()) {
+            throw new DiscoveryException("Invalid expression : " + dslQuery + ". " + either.left());
+        }
+
+        Expressions.Expression validatedExpression = QueryProcessor.validate(either.right().get());
+
+        validatedQueryCache.put(key, new ValidatedQuery(typesChangeCount, validatedExpression));
+
+        return validatedExpression;
+    }
+
+    private GremlinQueryResult evaluate(String dslQuery, Expressions.Expression validatedExpression) {
         //If the final limit is 0, don't launch the query, return with 0 rows
         if (validatedExpression instanceof Expressions.LimitExpression
                 && ((Integer)((Expressions.LimitExpression) validatedExpression).limit().rawValue()) == 0) {
@@ -225,4 +276,43 @@ public class GraphBackedDiscoveryService implements DiscoveryService {
         }
         return result;
     }
+
+    private static final class DslQueryKey {
+        private final String      dslQuery;
+        private final QueryParams queryParams;
+
+        DslQueryKey(String dslQuery, QueryParams queryParams) {
+            this.dslQuery    = dslQuery;
+            this.queryParams = queryParams;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof DslQueryKey)) {
+                return false;
+            }
+
+            DslQueryKey that = (DslQueryKey) o;
+
+            return Objects.equals(dslQuery, that.dslQuery) && Objects.equals(queryParams, that.queryParams);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dslQuery, queryParams);
+        }
+    }
+
+    private static final class ValidatedQuery {
+        private final long                   typesChangeCount;
+        private final Expressions.Expression expression;
+
+        ValidatedQuery(long typesChangeCount, Expressions.Expression expression) {
+            this.typesChangeCount = typesChangeCount;
+            this.expression       = expression;
+        }
+    }
 }
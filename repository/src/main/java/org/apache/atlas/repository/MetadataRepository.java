@@ -29,6 +29,7 @@ import org.apache.atlas.typesystem.types.AttributeInfo;
 import org.apache.atlas.typesystem.types.IDataType;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * An interface for persisting metadata into a blueprints enabled graph db.
@@ -93,7 +94,8 @@ public interface MetadataRepository {
     List<String> createEntities(ITypedReferenceableInstance... entities) throws RepositoryException, EntityExistsException;
 
     /**
-     * Fetch the complete definition of an entity given its GUID.
+     * Fetch the complete definition of an entity given its GUID. The instance can be shared with other callers in the
+     * same request, and must not be modified.
      *
      * @param guid globally unique identifier for the entity
      * @return entity (typed instance) definition
@@ -101,6 +103,19 @@ public interface MetadataRepository {
      */
     ITypedReferenceableInstance getEntityDefinition(String guid) throws RepositoryException, EntityNotFoundException;
 
+    /**
+     * Fetch the given attributes of an entity given its GUID, with its composite entities down to the given depth.
+     *
+     * @param guid globally unique identifier for the entity
+     * @param attributes names of the attributes to fetch, null for all attributes
+     * @param compositeDepth number of levels of composite entities to fetch, -1 for all. Composite entities
+     *                       below this depth are returned as ids
+     * @return entity (typed instance) definition
+     * @throws RepositoryException
+     */
+    ITypedReferenceableInstance getEntityDefinition(String guid, Set<String> attributes, int compositeDepth)
+        throws RepositoryException, EntityNotFoundException;
+
     /**
      * Gets the list of entities for a given entity type.
      *
@@ -110,6 +125,19 @@ public interface MetadataRepository {
      */
     List<String> getEntityList(String entityType) throws RepositoryException;
 
+    /**
+     * Passes a page of the entities for a given entity type to the handler, while iterating over the type index.
+     *
+     * @param entityType name of a type which is unique
+     * @param offset number of entities to skip
+     * @param limit maximum number of entities to pass to the handler, -1 for all
+     * @param handler receives the guids of the entities
+     * @return number of entities passed to the handler
+     * @throws AtlasException
+     */
+    int getEntityList(String entityType, int offset, int limit, EntityListHandler handler)
+        throws AtlasException;
+
     /**
      * Deletes entities for the specified guids.
      *
@@ -169,4 +197,11 @@ public interface MetadataRepository {
      * @return entity instance
      */
     ITypedReferenceableInstance getEntityDefinition(String entityType, String attribute, Object value) throws AtlasException;
+
+    /**
+     * Receives the guids of an entity listing.
+     */
+    interface EntityListHandler {
+        void handle(String guid) throws AtlasException;
+    }
 }
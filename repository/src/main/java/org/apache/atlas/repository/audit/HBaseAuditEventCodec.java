@@ -0,0 +1,274 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.atlas.repository.audit;
+
+import org.apache.atlas.AtlasException;
+import org.apache.atlas.EntityAuditEvent;
+import org.apache.atlas.EntityAuditEvent.EntityAuditAction;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Binary encoding of audit events stored in HBase.
+ *
+ * Row key -> entity id bytes + 0xFF + 8 byte big-endian timestamp. 0xFF never occurs in UTF-8, so the key can be
+ * split unambiguously, and rows of an entity sort by timestamp. Rows written with the earlier
+ * "entity id:timestamp" string key sort before these rows, and can still be decoded.
+ *
+ * Value -> version, action code, flags, user, details and entity definition. Details and definition larger than
+ * a threshold are deflate compressed.
+ */
+final class HBaseAuditEventCodec {
+    static final byte KEY_SEPARATOR = (byte) 0xFF;
+    static final String LEGACY_KEY_SEPARATOR = ":";
+
+    static final byte VERSION_1 = 1;
+
+    private static final int TIMESTAMP_LENGTH = Bytes.SIZEOF_LONG;
+    private static final int COMPRESSION_THRESHOLD = 256;
+
+    private static final byte FLAG_DETAILS_COMPRESSED = 0x01;
+    private static final byte FLAG_DEFINITION_COMPRESSED = 0x02;
+
+    private HBaseAuditEventCodec() {
+    }
+
+    static byte[] encodeKey(String entityId, long timestamp) {
+        byte[] id = Bytes.toBytes(entityId);
+        byte[] key = new byte[id.length + 1 + TIMESTAMP_LENGTH];
+
+        System.arraycopy(id, 0, key, 0, id.length);
+        key[id.length] = KEY_SEPARATOR;
+        Bytes.putLong(key, id.length + 1, timestamp);
+
+        return key;
+    }
+
+    static boolean isLegacyKey(byte[] key) {
+        return key.length < 1 + TIMESTAMP_LENGTH || key[key.length - TIMESTAMP_LENGTH - 1] != KEY_SEPARATOR;
+    }
+
+    /**
+     * Decodes the entity id and timestamp of either key format into a new event.
+     */
+    static EntityAuditEvent decodeKey(byte[] key) {
+        EntityAuditEvent event = new EntityAuditEvent();
+
+        if (isLegacyKey(key)) {
+            String[] parts = Bytes.toString(key).split(LEGACY_KEY_SEPARATOR);
+            event.setEntityId(parts[0]);
+            event.setTimestamp(Long.valueOf(parts[1]));
+        } else {
+            int idLength = key.length - TIMESTAMP_LENGTH - 1;
+            event.setEntityId(Bytes.toString(key, 0, idLength));
+            event.setTimestamp(Bytes.toLong(key, idLength + 1));
+        }
+        event.setEventKey(toEventKey(event.getEntityId(), event.getTimestamp()));
+
+        return event;
+    }
+
+    /**
+     * Event keys are handed out to clients for pagination, and keep the "entity id:timestamp" form for both formats.
+     */
+    static String toEventKey(String entityId, long timestamp) {
+        return entityId + LEGACY_KEY_SEPARATOR + timestamp;
+    }
+
+    static byte[] encodeValue(EntityAuditEvent event, boolean withDefinition) throws AtlasException {
+        byte[] details = toBytes(event.getDetails());
+        byte[] definition = withDefinition ? toBytes(event.getEntityDefinitionString()) : null;
+        byte flags = 0;
+
+        if (details != null && details.length > COMPRESSION_THRESHOLD) {
+            details = compress(details);
+            flags |= FLAG_DETAILS_COMPRESSED;
+        }
+        if (definition != null && definition.length > COMPRESSION_THRESHOLD) {
+            definition = compress(definition);
+            flags |= FLAG_DEFINITION_COMPRESSED;
+        }
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+
+            out.writeByte(VERSION_1);
+            out.writeByte(toActionCode(event.getAction()));
+            out.writeByte(flags);
+            writeBytes(out, toBytes(event.getUser()));
+            writeBytes(out, details);
+            writeBytes(out, definition);
+            out.flush();
+
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new AtlasException(e);
+        }
+    }
+
+    /**
+     * Sets the user, action, details and, if requested and present, the entity definition of the event.
+     */
+    static void decodeValue(byte[] value, EntityAuditEvent event, boolean withDefinition) throws AtlasException {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(value));
+            byte version = in.readByte();
+
+            if (version != VERSION_1) {
+                throw new AtlasException("Unsupported audit event encoding version " + version);
+            }
+
+            EntityAuditAction action = fromActionCode(in.readByte());
+            byte flags = in.readByte();
+            byte[] user = readBytes(in);
+            byte[] details = readBytes(in);
+
+            if ((flags & FLAG_DETAILS_COMPRESSED) != 0) {
+                details = decompress(details);
+            }
+
+            event.setAction(action);
+            event.setUser(toString(user));
+            event.setDetails(toString(details));
+
+            if (withDefinition) {
+                byte[] definition = readBytes(in);
+
+                if (definition != null) {
+                    if ((flags & FLAG_DEFINITION_COMPRESSED) != 0) {
+                        definition = decompress(definition);
+                    }
+                    event.setEntityDefinition(Bytes.toString(definition));
+                }
+            }
+        } catch (IOException e) {
+            throw new AtlasException(e);
+        }
+    }
+
+    static byte toActionCode(EntityAuditAction action) {
+        switch (action) {
+        case ENTITY_CREATE:
+            return 1;
+        case ENTITY_UPDATE:
+            return 2;
+        case ENTITY_DELETE:
+            return 3;
+        case TAG_ADD:
+            return 4;
+        case TAG_DELETE:
+            return 5;
+        default:
+            throw new IllegalArgumentException("Unknown audit action " + action);
+        }
+    }
+
+    static EntityAuditAction fromActionCode(byte code) throws AtlasException {
+        switch (code) {
+        case 1:
+            return EntityAuditAction.ENTITY_CREATE;
+        case 2:
+            return EntityAuditAction.ENTITY_UPDATE;
+        case 3:
+            return EntityAuditAction.ENTITY_DELETE;
+        case 4:
+            return EntityAuditAction.TAG_ADD;
+        case 5:
+            return EntityAuditAction.TAG_DELETE;
+        default:
+            throw new AtlasException("Unknown audit action code " + code);
+        }
+    }
+
+    static byte[] compress(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    static byte[] decompress(byte[] data) throws AtlasException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new AtlasException("Truncated compressed audit payload");
+                }
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new AtlasException(e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            out.writeInt(value.length);
+            out.write(value);
+        }
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+
+        byte[] ret = new byte[length];
+        in.readFully(ret);
+        return ret;
+    }
+
+    private static byte[] toBytes(String value) {
+        return value == null ? null : Bytes.toBytes(value);
+    }
+
+    private static String toString(byte[] value) {
+        return value == null ? null : Bytes.toString(value);
+    }
+}
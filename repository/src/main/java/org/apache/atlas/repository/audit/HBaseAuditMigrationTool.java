@@ -0,0 +1,132 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.atlas.repository.audit;
+
+import org.apache.atlas.ApplicationProperties;
+import org.apache.atlas.AtlasException;
+import org.apache.atlas.EntityAuditEvent;
+import org.apache.commons.configuration.Configuration;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.ConnectionFactory;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Mutation;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts audit events stored with the legacy string row key and columns to the binary format of
+ * {@link HBaseAuditEventCodec}. Each legacy row is rewritten with the new key and then deleted, so the tool can be
+ * re-run after a failure, and while Atlas is running.
+ *
+ * Usage: java -cp &lt;atlas classpath&gt; org.apache.atlas.repository.audit.HBaseAuditMigrationTool [batch size]
+ */
+public class HBaseAuditMigrationTool {
+    private static final Logger LOG = LoggerFactory.getLogger(HBaseAuditMigrationTool.class);
+
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private final Connection connection;
+    private final TableName tableName;
+    private final int batchSize;
+
+    public HBaseAuditMigrationTool(Connection connection, TableName tableName, int batchSize) {
+        this.connection = connection;
+        this.tableName = tableName;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @return number of rows converted
+     */
+    public long migrate() throws AtlasException {
+        long numConverted = 0;
+        long numScanned = 0;
+
+        try (Table table = connection.getTable(tableName);
+             ResultScanner scanner = table.getScanner(new Scan().addFamily(HBaseBasedAuditRepository.COLUMN_FAMILY)
+                                                                .setCaching(batchSize))) {
+            List<Mutation> mutations = new ArrayList<>();
+            Result result;
+
+            while ((result = scanner.next()) != null) {
+                numScanned++;
+
+                if (!HBaseAuditEventCodec.isLegacyKey(result.getRow())) {
+                    continue;
+                }
+
+                EntityAuditEvent event = HBaseBasedAuditRepository.fromResult(result, true);
+
+                mutations.add(HBaseBasedAuditRepository.toPut(event, event.getEntityDefinition() != null));
+                mutations.add(new Delete(result.getRow()));
+                numConverted++;
+
+                if (mutations.size() >= batchSize * 2) {
+                    write(table, mutations);
+                    LOG.info("Converted {} of {} audit events scanned", numConverted, numScanned);
+                }
+            }
+
+            write(table, mutations);
+        } catch (IOException e) {
+            throw new AtlasException(e);
+        }
+
+        LOG.info("Converted {} of {} audit events in table {}", numConverted, numScanned, tableName);
+        return numConverted;
+    }
+
+    private void write(Table table, List<Mutation> mutations) throws IOException {
+        if (mutations.isEmpty()) {
+            return;
+        }
+
+        try {
+            table.batch(mutations, new Object[mutations.size()]);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+        mutations.clear();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int batchSize = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_BATCH_SIZE;
+
+        Configuration atlasConf = ApplicationProperties.get();
+        TableName tableName = TableName.valueOf(atlasConf.getString(HBaseBasedAuditRepository.CONFIG_TABLE_NAME,
+                HBaseBasedAuditRepository.DEFAULT_TABLE_NAME));
+
+        try (Connection connection = ConnectionFactory.createConnection(
+                HBaseBasedAuditRepository.getHBaseConfiguration(atlasConf))) {
+            long numConverted = new HBaseAuditMigrationTool(connection, tableName, batchSize).migrate();
+
+            System.out.println("Converted " + numConverted + " audit events in " + tableName);
+        }
+    }
+}
@@ -0,0 +1,420 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.atlas.repository.audit;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.apache.atlas.AtlasException;
+import org.apache.atlas.EntityAuditEvent;
+import org.apache.atlas.utils.AtlasPerfTracer;
+import org.apache.commons.configuration.Configuration;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.BufferedMutatorParams;
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.RetriesExhaustedWithDetailsException;
+import org.apache.hadoop.hbase.client.Row;
+import org.apache.hadoop.hbase.protobuf.ProtobufUtil;
+import org.apache.hadoop.hbase.protobuf.generated.ClientProtos.MutationProto;
+import org.apache.hadoop.hbase.protobuf.generated.ClientProtos.MutationProto.MutationType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes audit events to HBase from a background thread.
+ *
+ * Callers add events to a bounded queue, waiting at most the configured time when the queue is full. The writer
+ * thread converts the events to puts and writes them in batches. Events that can't be queued in time, and puts that
+ * HBase fails to write, are appended to a local spill file. The spill file is replayed when the writer starts and
+ * whenever the queue runs empty.
+ *
+ * Events are only in memory while they are queued, and until the batch they are written in is flushed. Stopping the
+ * writer writes them, or spills them if HBase can't be written, but if the server process crashes they are lost:
+ * at most queue.size events, plus batch.size events being written.
+ */
+class HBaseAuditWriter implements Runnable {
+    private static final Logger LOG = LoggerFactory.getLogger(HBaseAuditWriter.class);
+    private static final Logger PERF_LOG = AtlasPerfTracer.getPerfLogger(HBaseAuditWriter.class);
+
+    public static final String CONFIG_PREFIX = HBaseBasedAuditRepository.CONFIG_PREFIX + ".hbase.async";
+    public static final String CONFIG_QUEUE_SIZE = CONFIG_PREFIX + ".queue.size";
+    public static final String CONFIG_QUEUE_WAIT_MS = CONFIG_PREFIX + ".queue.max.wait.ms";
+    public static final String CONFIG_BATCH_SIZE = CONFIG_PREFIX + ".batch.size";
+    public static final String CONFIG_FLUSH_INTERVAL_MS = CONFIG_PREFIX + ".flush.interval.ms";
+    public static final String CONFIG_WRITE_BUFFER_SIZE = CONFIG_PREFIX + ".write.buffer.size";
+    public static final String CONFIG_SPILL_DIR = CONFIG_PREFIX + ".spill.dir";
+
+    private static final String SPILL_FILE_NAME = "audit-events.spill";
+    private static final String REPLAY_FILE_NAME = "audit-events.replay";
+
+    private final Connection connection;
+    private final TableName tableName;
+    private final BlockingQueue<EntityAuditEvent> queue;
+    private final boolean persistEntityDefinition;
+    private final long queueWaitMs;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long writeBufferSize;
+    private final File spillFile;
+    private final File replayFile;
+
+    private final AtomicLong numFlushes = new AtomicLong();
+    private final AtomicLong totalFlushTimeMs = new AtomicLong();
+    private final AtomicLong numSpilled = new AtomicLong();
+
+    private BufferedMutator mutator;
+    private Thread writerThread;
+    private volatile boolean shouldRun;
+
+    HBaseAuditWriter(Connection connection, TableName tableName, Configuration atlasConf,
+                     boolean persistEntityDefinition) {
+        this.connection = connection;
+        this.tableName = tableName;
+        this.persistEntityDefinition = persistEntityDefinition;
+        this.queue = new LinkedBlockingQueue<>(atlasConf.getInt(CONFIG_QUEUE_SIZE, 10000));
+        this.queueWaitMs = atlasConf.getLong(CONFIG_QUEUE_WAIT_MS, 100);
+        this.batchSize = atlasConf.getInt(CONFIG_BATCH_SIZE, 500);
+        this.flushIntervalMs = atlasConf.getLong(CONFIG_FLUSH_INTERVAL_MS, 1000);
+        this.writeBufferSize = atlasConf.getLong(CONFIG_WRITE_BUFFER_SIZE, 2 * 1024 * 1024);
+
+        String spillDir = atlasConf.getString(CONFIG_SPILL_DIR,
+                System.getProperty("atlas.data", System.getProperty("java.io.tmpdir")) + File.separator + "audit");
+
+        this.spillFile = new File(spillDir, SPILL_FILE_NAME);
+        this.replayFile = new File(spillDir, REPLAY_FILE_NAME);
+    }
+
+    /**
+     * Starts the writer thread, unless it is already running. Events queued while the writer was stopped are then
+     * written.
+     */
+    void start() throws AtlasException {
+        if (writerThread != null) {
+            return;
+        }
+
+        BufferedMutatorParams params = new BufferedMutatorParams(tableName)
+                .writeBufferSize(writeBufferSize)
+                .listener(new BufferedMutator.ExceptionListener() {
+                    @Override
+                    public void onException(RetriesExhaustedWithDetailsException e, BufferedMutator mutator) {
+                        List<Put> failed = new ArrayList<>(e.getNumExceptions());
+                        for (int i = 0; i < e.getNumExceptions(); i++) {
+                            Row row = e.getRow(i);
+                            if (row instanceof Put) {
+                                failed.add((Put) row);
+                            }
+                        }
+
+                        LOG.warn("Failed to write {} audit events to HBase; spilling them to {}", failed.size(),
+                                spillFile, e);
+                        spill(failed);
+                    }
+                });
+
+        try {
+            mutator = connection.getBufferedMutator(params);
+        } catch (IOException e) {
+            throw new AtlasException(e);
+        }
+
+        shouldRun = true;
+        writerThread = new Thread(this, "atlas-audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    boolean isRunning() {
+        return writerThread != null;
+    }
+
+    /**
+     * Stops the writer thread and writes the remaining queued events. The events are spilled if they can't be
+     * written, so that they are written when the writer is started again.
+     */
+    void stop() throws AtlasException {
+        shouldRun = false;
+
+        if (writerThread != null) {
+            writerThread.interrupt();
+            try {
+                writerThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writerThread = null;
+        }
+
+        if (mutator != null) {
+            List<EntityAuditEvent> remaining = new ArrayList<>();
+            queue.drainTo(remaining);
+            List<Put> puts = toPuts(remaining);
+
+            try {
+                if (!puts.isEmpty()) {
+                    mutator.mutate(puts);
+                }
+            } catch (IOException e) {
+                LOG.warn("Failed to write {} audit events on stop; spilling them to {}", puts.size(), spillFile, e);
+                if (!spill(puts)) {
+                    throw new AtlasException(e);
+                }
+            }
+
+            try {
+                // puts that fail to be flushed here are spilled by the exception listener
+                mutator.close();
+            } catch (IOException e) {
+                throw new AtlasException(e);
+            } finally {
+                mutator = null;
+            }
+        }
+    }
+
+    /**
+     * Queues the given events. Waits at most queue.max.wait.ms for space in the queue, and spills the events that
+     * couldn't be queued in time.
+     */
+    void add(List<EntityAuditEvent> events) throws AtlasException {
+        for (int i = 0; i < events.size(); i++) {
+            boolean queued;
+            try {
+                queued = queue.offer(events.get(i), queueWaitMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queued = false;
+            }
+
+            if (!queued) {
+                LOG.warn("Audit queue is full; spilling {} audit events to {}", events.size() - i, spillFile);
+                if (!spill(toPuts(events.subList(i, events.size())))) {
+                    throw new AtlasException("Failed to queue or spill audit events");
+                }
+                break;
+            }
+        }
+    }
+
+    int getQueueDepth() {
+        return queue.size();
+    }
+
+    long getFlushCount() {
+        return numFlushes.get();
+    }
+
+    long getAverageFlushTimeMs() {
+        long flushes = numFlushes.get();
+        return flushes == 0 ? 0 : totalFlushTimeMs.get() / flushes;
+    }
+
+    long getSpilledCount() {
+        return numSpilled.get();
+    }
+
+    @Override
+    public void run() {
+        LOG.info("Audit writer started: table={}, spill file={}", tableName, spillFile);
+
+        replaySpilled();
+
+        List<EntityAuditEvent> batch = new ArrayList<>(batchSize);
+        long lastFlushTime = System.currentTimeMillis();
+        int unflushed = 0;
+
+        while (shouldRun) {
+            try {
+                EntityAuditEvent event = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (event != null) {
+                    batch.add(event);
+                    queue.drainTo(batch, batchSize - 1);
+
+                    List<Put> puts = toPuts(batch);
+                    batch.clear();
+
+                    try {
+                        mutator.mutate(puts);
+                        unflushed += puts.size();
+                    } catch (IOException e) {
+                        // puts are idempotent, so spilling the ones that did reach HBase only writes them again
+                        LOG.warn("Failed to write {} audit events; spilling them to {}", puts.size(), spillFile, e);
+                        spill(puts);
+                    }
+                }
+
+                long now = System.currentTimeMillis();
+                if (unflushed >= batchSize || (unflushed > 0 && now - lastFlushTime >= flushIntervalMs)) {
+                    flush(unflushed);
+                    unflushed = 0;
+                    lastFlushTime = System.currentTimeMillis();
+                }
+
+                if (unflushed == 0 && queue.isEmpty()) {
+                    replaySpilled();
+                }
+            } catch (InterruptedException e) {
+                LOG.info("Audit writer interrupted");
+            } catch (IOException e) {
+                // failed puts are handed to the exception listener, which spills them
+                LOG.warn("Error while writing audit events", e);
+                unflushed = 0;
+            }
+        }
+
+        try {
+            flush(unflushed);
+        } catch (IOException e) {
+            LOG.warn("Error while flushing audit events", e);
+        }
+
+        LOG.info("Audit writer stopped");
+    }
+
+    /**
+     * Converts events to puts. An event that can't be encoded is logged and dropped, as retrying won't help.
+     */
+    private List<Put> toPuts(List<EntityAuditEvent> events) {
+        List<Put> puts = new ArrayList<>(events.size());
+        for (EntityAuditEvent event : events) {
+            try {
+                puts.add(HBaseBasedAuditRepository.toPut(event, persistEntityDefinition));
+            } catch (AtlasException e) {
+                LOG.error("Failed to encode audit event {}; dropping it", event, e);
+            }
+        }
+        return puts;
+    }
+
+    private void flush(int numPuts) throws IOException {
+        AtlasPerfTracer perf = null;
+
+        if (AtlasPerfTracer.isPerfTraceEnabled(PERF_LOG)) {
+            perf = AtlasPerfTracer.getPerfTracer(PERF_LOG, "HBaseAuditWriter.flush(" + numPuts + ")");
+        }
+
+        long startTime = System.currentTimeMillis();
+        try {
+            mutator.flush();
+        } finally {
+            long timeTaken = System.currentTimeMillis() - startTime;
+
+            numFlushes.incrementAndGet();
+            totalFlushTimeMs.addAndGet(timeTaken);
+
+            LOG.debug("Flushed {} audit events in {} ms; queue depth={}", numPuts, timeTaken, queue.size());
+
+            AtlasPerfTracer.log(perf);
+        }
+    }
+
+    private synchronized boolean spill(List<Put> puts) {
+        if (puts.isEmpty()) {
+            return true;
+        }
+
+        if (!spillFile.getParentFile().exists() && !spillFile.getParentFile().mkdirs()) {
+            LOG.error("Failed to create audit spill directory {}", spillFile.getParent());
+            return false;
+        }
+
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(spillFile, true))) {
+            for (Put put : puts) {
+                ProtobufUtil.toMutation(MutationType.PUT, put).writeDelimitedTo(out);
+            }
+            out.flush();
+
+            numSpilled.addAndGet(puts.size());
+            return true;
+        } catch (IOException e) {
+            LOG.error("Failed to spill {} audit events to {}", puts.size(), spillFile, e);
+            return false;
+        }
+    }
+
+    /**
+     * Writes the spilled puts to HBase. The spill file is renamed first, so that puts spilled during the replay go
+     * to a new spill file.
+     */
+    private void replaySpilled() {
+        synchronized (this) {
+            // a replay file left behind by an earlier run is replayed before the current spill file
+            if (!replayFile.exists() && !(spillFile.exists() && spillFile.renameTo(replayFile))) {
+                return;
+            }
+        }
+
+        int numReplayed = 0;
+        try (InputStream in = new BufferedInputStream(new FileInputStream(replayFile))) {
+            List<Put> batch = new ArrayList<>(batchSize);
+            MutationProto proto;
+
+            while ((proto = MutationProto.parseDelimitedFrom(in)) != null) {
+                batch.add(ProtobufUtil.toPut(proto));
+
+                if (batch.size() >= batchSize) {
+                    mutator.mutate(batch);
+                    numReplayed += batch.size();
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                mutator.mutate(batch);
+                numReplayed += batch.size();
+            }
+            flush(numReplayed);
+        } catch (InvalidProtocolBufferException e) {
+            // retrying won't help, so the file is set aside for inspection
+            File corruptFile = new File(replayFile.getParentFile(),
+                    REPLAY_FILE_NAME + ".corrupt." + System.currentTimeMillis());
+            LOG.error("Unable to read spilled audit events from {}, moving it to {}", replayFile, corruptFile, e);
+            if (!replayFile.renameTo(corruptFile)) {
+                LOG.warn("Failed to rename {}", replayFile);
+            }
+            return;
+        } catch (IOException e) {
+            // the replay file is kept and replayed again later. Puts already written are then written again, which
+            // overwrites them with the same values
+            LOG.warn("Error while replaying spilled audit events from {}", replayFile, e);
+            return;
+        }
+
+        LOG.info("Replayed {} spilled audit events", numReplayed);
+
+        if (!replayFile.delete()) {
+            LOG.warn("Failed to delete {}", replayFile);
+        }
+    }
+}
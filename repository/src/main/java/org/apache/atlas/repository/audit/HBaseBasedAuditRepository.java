@@ -40,7 +40,6 @@ import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.client.ResultScanner;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.client.Table;
-import org.apache.hadoop.hbase.filter.PageFilter;
 import org.apache.hadoop.hbase.io.compress.Compression;
 import org.apache.hadoop.hbase.io.encoding.DataBlockEncoding;
 import org.apache.hadoop.hbase.regionserver.BloomType;
@@ -58,14 +57,22 @@ import java.util.List;
 /**
  * HBase based repository for entity audit events
  * Table -> 1, ATLAS_ENTITY_EVENTS
- * Key -> entity id + timestamp
+ * Key -> entity id + 0xFF + 8 byte big-endian timestamp
  * Column Family -> 1,dt
- * Columns -> action, user, detail
+ * Columns -> e, binary encoded event (see {@link HBaseAuditEventCodec})
  * versions -> 1
  *
+ * Rows written by earlier versions have the key entity id + ":" + timestamp string, and columns action, user, detail
+ * and definition. They are still read, and can be converted with {@link HBaseAuditMigrationTool}.
+ *
  * Note: The timestamp in the key is assumed to be timestamp in milli seconds. Since the key is entity id + timestamp,
  * and only 1 version is kept, there can be just 1 audit event per entity id + timestamp. This is ok for one atlas server.
  * But if there are more than one atlas servers, we should use server id in the key
+ *
+ * When atlas.audit.hbase.async.enabled is set, events are written by a background {@link HBaseAuditWriter} and
+ * putEvents() returns once the events are queued. Queued events are lost if the server crashes before they are
+ * written, so asynchronous writes should stay disabled where every audit event must be kept. With HA enabled, the
+ * writer runs only while this server is active.
  */
 @Singleton
 public class HBaseBasedAuditRepository implements Service, EntityAuditRepository, ActiveStateChangeHandler {
@@ -75,15 +82,15 @@ public class HBaseBasedAuditRepository implements Service, EntityAuditRepository
     public static final String CONFIG_TABLE_NAME = CONFIG_PREFIX + ".hbase.tablename";
     public static final String DEFAULT_TABLE_NAME = "ATLAS_ENTITY_AUDIT_EVENTS";
 
-    private static final String FIELD_SEPARATOR = ":";
-
     public static final String CONFIG_PERSIST_ENTITY_DEFINITION = CONFIG_PREFIX + ".persistEntityDefinition";
+    public static final String CONFIG_ASYNC_ENABLED = CONFIG_PREFIX + ".hbase.async.enabled";
 
     public static final byte[] COLUMN_FAMILY = Bytes.toBytes("dt");
     public static final byte[] COLUMN_ACTION = Bytes.toBytes("a");
     public static final byte[] COLUMN_DETAIL = Bytes.toBytes("d");
     public static final byte[] COLUMN_USER = Bytes.toBytes("u");
     public static final byte[] COLUMN_DEFINITION = Bytes.toBytes("f");
+    public static final byte[] COLUMN_EVENT = Bytes.toBytes("e");
 
     private static boolean persistEntityDefinition;
 
@@ -96,6 +103,7 @@ public class HBaseBasedAuditRepository implements Service, EntityAuditRepository
     }
     private TableName tableName;
     private Connection connection;
+    private volatile HBaseAuditWriter asyncWriter;
 
     /**
      * Add events to the event repository
@@ -115,21 +123,21 @@ public class HBaseBasedAuditRepository implements Service, EntityAuditRepository
      */
     public void putEvents(List<EntityAuditEvent> events) throws AtlasException {
         LOG.info("Putting {} events", events.size());
+        HBaseAuditWriter writer = asyncWriter;
+        if (writer != null) {
+            writer.add(events);
+            return;
+        }
+
+        List<Put> puts = new ArrayList<>(events.size());
+        for (EntityAuditEvent event : events) {
+            LOG.debug("Adding entity audit event {}", event);
+            puts.add(toPut(event, persistEntityDefinition));
+        }
+
         Table table = null;
         try {
             table = connection.getTable(tableName);
-            List<Put> puts = new ArrayList<>(events.size());
-            for (EntityAuditEvent event : events) {
-                LOG.debug("Adding entity audit event {}", event);
-                Put put = new Put(getKey(event.getEntityId(), event.getTimestamp()));
-                addColumn(put, COLUMN_ACTION, event.getAction());
-                addColumn(put, COLUMN_USER, event.getUser());
-                addColumn(put, COLUMN_DETAIL, event.getDetails());
-                if (persistEntityDefinition) {
-                    addColumn(put, COLUMN_DEFINITION, event.getEntityDefinitionString());
-                }
-                puts.add(put);
-            }
             table.put(puts);
         } catch (IOException e) {
             throw new AtlasException(e);
@@ -138,23 +146,61 @@ public class HBaseBasedAuditRepository implements Service, EntityAuditRepository
         }
     }
 
-    private <T> void addColumn(Put put, byte[] columnName, T columnValue) {
-        if (columnValue != null && !columnValue.toString().isEmpty()) {
-            put.addColumn(COLUMN_FAMILY, columnName, Bytes.toBytes(columnValue.toString()));
-        }
+    /**
+     * @return number of audit events waiting to be written, when events are written asynchronously
+     */
+    public int getQueueDepth() {
+        return asyncWriter == null ? 0 : asyncWriter.getQueueDepth();
     }
 
-    private byte[] getKey(String id, Long ts) {
-        assert id != null : "entity id can't be null";
-        assert ts != null : "timestamp can't be null";
-        String keyStr = id + FIELD_SEPARATOR + ts;
-        return Bytes.toBytes(keyStr);
+    /**
+     * @return average time taken to flush audit events to HBase, when events are written asynchronously
+     */
+    public long getAverageFlushTimeMs() {
+        return asyncWriter == null ? 0 : asyncWriter.getAverageFlushTimeMs();
+    }
+
+    /**
+     * @return number of audit events spilled to the local spill file, when events are written asynchronously
+     */
+    public long getSpilledEventCount() {
+        return asyncWriter == null ? 0 : asyncWriter.getSpilledCount();
+    }
+
+    static Put toPut(EntityAuditEvent event, boolean withDefinition) throws AtlasException {
+        Put put = new Put(HBaseAuditEventCodec.encodeKey(event.getEntityId(), event.getTimestamp()));
+        put.addColumn(COLUMN_FAMILY, COLUMN_EVENT, HBaseAuditEventCodec.encodeValue(event, withDefinition));
+        return put;
+    }
+
+    /**
+     * Reads the event from a row in either the current or the legacy format
+     */
+    static EntityAuditEvent fromResult(Result result, boolean withDefinition) throws AtlasException {
+        EntityAuditEvent event = HBaseAuditEventCodec.decodeKey(result.getRow());
+        byte[] value = result.getValue(COLUMN_FAMILY, COLUMN_EVENT);
+
+        if (value != null) {
+            HBaseAuditEventCodec.decodeValue(value, event, withDefinition);
+        } else {
+            event.setUser(getResultString(result, COLUMN_USER));
+            event.setAction(EntityAuditEvent.EntityAuditAction.valueOf(getResultString(result, COLUMN_ACTION)));
+            event.setDetails(getResultString(result, COLUMN_DETAIL));
+            if (withDefinition) {
+                String colDef = getResultString(result, COLUMN_DEFINITION);
+                if (colDef != null) {
+                    event.setEntityDefinition(colDef);
+                }
+            }
+        }
+        return event;
     }
 
     /**
      * List events for the given entity id in decreasing order of timestamp, from the given startKey. Returns n results
      * @param entityId entity id
-     * @param startKey key for the first event to be returned, used for pagination
+     * @param startKey key for the first event to be returned, used for pagination. This is the eventKey of a
+     *                 previously returned event, of the form entity id:timestamp
      * @param n number of events to be returned
      * @return list of events
      * @throws AtlasException
@@ -170,43 +216,37 @@ public class HBaseBasedAuditRepository implements Service, EntityAuditRepository
             /**
              * Scan Details:
              * In hbase, the events are stored in increasing order of timestamp. So, doing reverse scan to get the latest event first
-             * Page filter is set to limit the number of results returned.
+             * No page filter is set, as it counts the rows skipped below. The scan is read until n events are collected
              * Stop row is set to the entity id to avoid going past the current entity while scanning
              * small is set to true to optimise RPC calls as the scanner is created per request
              */
-            Scan scan = new Scan().setReversed(true).setFilter(new PageFilter(n))
+            /*
+             * Rows in the current format sort after the legacy rows of the same entity, so the scan returns them
+             * first. When paginating, the start row is always built in the current format; legacy rows newer than
+             * the start key are skipped below.
+             */
+            long startTimestamp = Long.MAX_VALUE;
+            if (StringUtils.isNotEmpty(startKey)) {
+                startTimestamp = Long.valueOf(startKey.substring(
+                        startKey.lastIndexOf(HBaseAuditEventCodec.LEGACY_KEY_SEPARATOR) + 1));
+            }
+
+            Scan scan = new Scan().setReversed(true)
+                                  .setStartRow(HBaseAuditEventCodec.encodeKey(entityId, startTimestamp))
                                   .setStopRow(Bytes.toBytes(entityId))
                                   .setCaching(n)
                                   .setSmall(true);
-            if (StringUtils.isEmpty(startKey)) {
-                //Set start row to entity id + max long value
-                byte[] entityBytes = getKey(entityId, Long.MAX_VALUE);
-                scan = scan.setStartRow(entityBytes);
-            } else {
-                scan = scan.setStartRow(Bytes.toBytes(startKey));
-            }
             scanner = table.getScanner(scan);
             Result result;
             List<EntityAuditEvent> events = new ArrayList<>();
 
-            //PageFilter doesn't ensure n results are returned. The filter is per region server.
-            //So, adding extra check on n here
-            while ((result = scanner.next()) != null && events.size() < n) {
-                EntityAuditEvent event = fromKey(result.getRow());
+            while (events.size() < n && (result = scanner.next()) != null) {
+                EntityAuditEvent event = fromResult(result, persistEntityDefinition);
 
                 //In case the user sets random start key, guarding against random events
-                if (!event.getEntityId().equals(entityId)) {
+                if (!event.getEntityId().equals(entityId) || event.getTimestamp() > startTimestamp) {
                     continue;
                 }
-                event.setUser(getResultString(result, COLUMN_USER));
-                event.setAction(EntityAuditEvent.EntityAuditAction.valueOf(getResultString(result, COLUMN_ACTION)));
-                event.setDetails(getResultString(result, COLUMN_DETAIL));
-                if (persistEntityDefinition) {
-                    String colDef = getResultString(result, COLUMN_DEFINITION);
-                    if (colDef != null) {
-                        event.setEntityDefinition(colDef);
-                    }
-                }
                 events.add(event);
             }
             LOG.info("Got events for entity id {}, starting timestamp {}, #records {}", entityId, startKey, events.size());
@@ -219,7 +259,7 @@ public class HBaseBasedAuditRepository implements Service, EntityAuditRepository
         }
     }
 
-    private String getResultString(Result result, byte[] columnName) {
+    private static String getResultString(Result result, byte[] columnName) {
         byte[] rawValue = result.getValue(COLUMN_FAMILY, columnName);
         if ( rawValue != null) {
             return Bytes.toString(rawValue);
@@ -227,18 +267,6 @@ public class HBaseBasedAuditRepository implements Service, EntityAuditRepository
         return null;
     }
 
-    private EntityAuditEvent fromKey(byte[] keyBytes) {
-        String key = Bytes.toString(keyBytes);
-        EntityAuditEvent event = new EntityAuditEvent();
-        if (StringUtils.isNotEmpty(key)) {
-            String[] parts = key.split(FIELD_SEPARATOR);
-            event.setEntityId(parts[0]);
-            event.setTimestamp(Long.valueOf(parts[1]));
-            event.setEventKey(key);
-        }
-        return event;
-    }
-
     private void close(Closeable closeable) throws AtlasException {
         if (closeable != null) {
             try {
@@ -311,9 +339,21 @@ public class HBaseBasedAuditRepository implements Service, EntityAuditRepository
             throw new AtlasException(e);
         }
 
+        if (atlasConf.getBoolean(CONFIG_ASYNC_ENABLED, false)) {
+            LOG.info("Audit events will be written asynchronously");
+            asyncWriter = new HBaseAuditWriter(connection, tableName, atlasConf, persistEntityDefinition);
+        }
+
         if (!HAConfiguration.isHAEnabled(atlasConf)) {
-            LOG.info("HA is disabled. Hence creating table on startup.");
+            LOG.info("HA is disabled. Hence creating table and starting audit writer on startup.");
             createTableIfNotExists();
+            startAsyncWriter();
+        }
+    }
+
+    private void startAsyncWriter() throws AtlasException {
+        if (asyncWriter != null) {
+            asyncWriter.start();
         }
     }
 
@@ -324,17 +364,27 @@ public class HBaseBasedAuditRepository implements Service, EntityAuditRepository
 
     @Override
     public void stop() throws AtlasException {
+        if (asyncWriter != null) {
+            asyncWriter.stop();
+            asyncWriter = null;
+        }
         close(connection);
     }
 
     @Override
     public void instanceIsActive() throws AtlasException {
-        LOG.info("Reacting to active: Creating HBase table for Audit if required.");
+        LOG.info("Reacting to active: Creating HBase table for Audit if required, and starting audit writer.");
         createTableIfNotExists();
+        startAsyncWriter();
     }
 
     @Override
-    public void instanceIsPassive() {
-        LOG.info("Reacting to passive: No action for now.");
+    public void instanceIsPassive() throws AtlasException {
+        if (asyncWriter != null) {
+            LOG.info("Reacting to passive: Stopping audit writer.");
+            asyncWriter.stop();
+        } else {
+            LOG.info("Reacting to passive: No action for now.");
+        }
     }
 }
@@ -22,11 +22,16 @@ import static org.apache.atlas.repository.graph.GraphHelper.EDGE_LABEL_PREFIX;
 import static org.apache.atlas.repository.graph.GraphHelper.string;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.atlas.AtlasException;
 import org.apache.atlas.RequestContext;
@@ -44,18 +49,28 @@ import org.apache.atlas.typesystem.types.HierarchicalType;
 import org.apache.atlas.typesystem.types.IDataType;
 import org.apache.atlas.typesystem.types.StructType;
 import org.apache.atlas.typesystem.types.TypeSystem;
+import org.apache.atlas.utils.AtlasPerfTracer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public abstract class DeleteHandler {
     public static final Logger LOG = LoggerFactory.getLogger(DeleteHandler.class);
+    private static final Logger PERF_LOG = AtlasPerfTracer.getPerfLogger(DeleteHandler.class);
 
     protected static final GraphHelper graphHelper = GraphHelper.getInstance();
 
+    // Number of deleted entities between progress messages
+    private static final int PROGRESS_LOG_INTERVAL = 1000;
+
     protected TypeSystem typeSystem;
     private boolean shouldUpdateReverseAttribute;
     private boolean softDelete;
 
+    // Progress of the deletes, for getMetrics()
+    private final AtomicInteger activeDeletes = new AtomicInteger();
+    private final AtomicLong pendingEntities = new AtomicLong();
+    private final AtomicLong deletedEntities = new AtomicLong();
+
     public DeleteHandler(TypeSystem typeSystem, boolean shouldUpdateReverseAttribute, boolean softDelete) {
         this.typeSystem = typeSystem;
         this.shouldUpdateReverseAttribute = shouldUpdateReverseAttribute;
@@ -67,38 +82,159 @@ public abstract class DeleteHandler {
      * Deletes any traits, composite entities, and structs owned by each entity.
      * Also deletes all the references from/to the entity.
      *
+     * The deletion candidates of all the entities are computed and recorded in RequestContext first, so that
+     * references between candidates are not updated. References to the candidates from other entities are then
+     * removed, once for each referring entity and attribute, and the candidates are deleted grouped by type.
+     * The progress of the delete is available from getMetrics(), and is logged every 1000 entities.
+     *
      * @param instanceVertices
      * @throws AtlasException
      */
     public void deleteEntities(List<AtlasVertex> instanceVertices) throws AtlasException {
-       RequestContext requestContext = RequestContext.get();
+        RequestContext requestContext = RequestContext.get();
 
-       Set<AtlasVertex> deletionCandidateVertices = new HashSet<>();
-
-       for (AtlasVertex instanceVertex : instanceVertices) {
+        List<AtlasVertex> rootVertices = new ArrayList<>(instanceVertices.size());
+        for (AtlasVertex instanceVertex : instanceVertices) {
             String guid = GraphHelper.getIdFromVertex(instanceVertex);
             Id.EntityState state = GraphHelper.getState(instanceVertex);
-            if (requestContext.getDeletedEntityIds().contains(guid) || state == Id.EntityState.DELETED) {
-                   LOG.debug("Skipping deletion of {} as it is already deleted", guid);
-                   continue;
+            if (requestContext.isDeletedEntity(guid) || state == Id.EntityState.DELETED) {
+                LOG.debug("Skipping deletion of {} as it is already deleted", guid);
+                continue;
+            }
+            rootVertices.add(instanceVertex);
+        }
+
+        if (rootVertices.isEmpty()) {
+            return;
+        }
+
+        // Get GUIDs and vertices for all deletion candidates, record them in RequestContext
+        // and group the vertices by type. Candidates recorded earlier in this request are
+        // deleted by the deleteEntities() call that recorded them.
+        Map<String, List<AtlasVertex>> deletionCandidatesByType = new LinkedHashMap<>();
+        int candidateCount = 0;
+
+        for (VertexInfo vertexInfo : graphHelper.getCompositeVertices(rootVertices)) {
+            if (requestContext.isDeletedEntity(vertexInfo.getGuid())) {
+                continue;
             }
+            requestContext.recordEntityDelete(vertexInfo.getGuid(), vertexInfo.getTypeName());
+
+            List<AtlasVertex> vertices = deletionCandidatesByType.get(vertexInfo.getTypeName());
+            if (vertices == null) {
+                vertices = new ArrayList<>();
+                deletionCandidatesByType.put(vertexInfo.getTypeName(), vertices);
+            }
+            vertices.add(vertexInfo.getVertex());
+            candidateCount++;
+        }
+
+        if (candidateCount == 0) {
+            return;
+        }
+
+        activeDeletes.incrementAndGet();
+        pendingEntities.addAndGet(candidateCount);
+
+        int deletedCount = 0;
+        try {
+            deleteReferencesToCandidates(deletionCandidatesByType.values());
+
+            // Delete traits and vertices.
+            for (Map.Entry<String, List<AtlasVertex>> entry : deletionCandidatesByType.entrySet()) {
+                AtlasPerfTracer perf = null;
+                if (AtlasPerfTracer.isPerfTraceEnabled(PERF_LOG)) {
+                    perf = AtlasPerfTracer.getPerfTracer(PERF_LOG,
+                            "DeleteHandler.deleteEntities(" + entry.getKey() + ", " + entry.getValue().size() + ")");
+                }
 
-           // Get GUIDs and vertices for all deletion candidates.
-           Set<VertexInfo> compositeVertices = graphHelper.getCompositeVertices(instanceVertex);
-
-           // Record all deletion candidate GUIDs in RequestContext
-           // and gather deletion candidate vertices.
-           for (VertexInfo vertexInfo : compositeVertices) {
-               requestContext.recordEntityDelete(vertexInfo.getGuid(), vertexInfo.getTypeName());
-               deletionCandidateVertices.add(vertexInfo.getVertex());
-           }
-       }
-
-       // Delete traits and vertices.
-       for (AtlasVertex deletionCandidateVertex : deletionCandidateVertices) {
-           deleteAllTraits(deletionCandidateVertex);
-           deleteTypeVertex(deletionCandidateVertex, false);
-       }
+                try {
+                    IDataType type = typeSystem.getDataType(IDataType.class, entry.getKey());
+
+                    for (AtlasVertex deletionCandidateVertex : entry.getValue()) {
+                        deleteAllTraits(deletionCandidateVertex);
+                        deleteTypeVertex(deletionCandidateVertex, type, false);
+
+                        deletedCount++;
+                        pendingEntities.decrementAndGet();
+                        deletedEntities.incrementAndGet();
+
+                        if (deletedCount % PROGRESS_LOG_INTERVAL == 0) {
+                            LOG.info("Deleted {} of {} entities", deletedCount, candidateCount);
+                        }
+                    }
+                } finally {
+                    AtlasPerfTracer.log(perf);
+                }
+            }
+        } finally {
+            pendingEntities.addAndGet(deletedCount - candidateCount);
+            activeDeletes.decrementAndGet();
+        }
+
+        if (candidateCount >= PROGRESS_LOG_INTERVAL) {
+            LOG.info("Deleted {} entities", candidateCount);
+        }
+    }
+
+    /**
+     * Returns the progress of the deletes made by this handler: the number of deletes in progress, the number of
+     * entities they are still to delete, and the number of entities deleted since startup. Entities are counted when
+     * their vertex is deleted, before the graph transaction is committed.
+     *
+     * @return metric name to value
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+
+        metrics.put("activeDeletes", activeDeletes.get());
+        metrics.put("pendingEntities", pendingEntities.get());
+        metrics.put("deletedEntities", deletedEntities.get());
+
+        return metrics;
+    }
+
+    /**
+     * Removes the references from other entities to the deletion candidates. The references of each entity
+     * attribute are collected first, so that the attribute is read and updated once, rather than once for every
+     * deleted candidate it refers to. References between candidates are left to be deleted with the candidates,
+     * and references from struct and trait vertices are left to deleteVertex().
+     */
+    private void deleteReferencesToCandidates(Collection<List<AtlasVertex>> candidateVertices) throws AtlasException {
+        RequestContext requestContext = RequestContext.get();
+        Map<String, EdgesToVertices> referencesByAttribute = new LinkedHashMap<>();
+
+        for (List<AtlasVertex> vertices : candidateVertices) {
+            for (AtlasVertex candidateVertex : vertices) {
+                Iterator<AtlasEdge> edges = candidateVertex.getEdges(AtlasEdgeDirection.IN).iterator();
+                while (edges.hasNext()) {
+                    AtlasEdge edge = edges.next();
+                    if (GraphHelper.getState(edge) != Id.EntityState.ACTIVE) {
+                        continue;
+                    }
+
+                    AtlasVertex outVertex = edge.getOutVertex();
+                    String outId = GraphHelper.getIdFromVertex(outVertex);
+                    if (outId == null || requestContext.isDeletedEntity(outId)
+                            || GraphHelper.getState(outVertex) == Id.EntityState.DELETED) {
+                        continue;
+                    }
+
+                    AttributeInfo attribute = getAttributeForEdge(edge.getLabel());
+                    String key = outVertex.getId() + ":" + attribute.name;
+                    EdgesToVertices references = referencesByAttribute.get(key);
+                    if (references == null) {
+                        references = new EdgesToVertices(outVertex, attribute.name);
+                        referencesByAttribute.put(key, references);
+                    }
+                    references.inVertexIds.add(candidateVertex.getId().toString());
+                }
+            }
+        }
+
+        for (EdgesToVertices references : referencesByAttribute.values()) {
+            deleteEdgesBetweenVertices(references.outVertex, references.inVertexIds, references.attributeName);
+        }
     }
 
     protected abstract void deleteEdge(AtlasEdge edge, boolean force) throws AtlasException;
@@ -131,9 +267,12 @@ public abstract class DeleteHandler {
      * @throws AtlasException
      */
     protected void deleteTypeVertex(AtlasVertex instanceVertex, boolean force) throws AtlasException {
-        LOG.debug("Deleting {}", string(instanceVertex));
         String typeName = GraphHelper.getTypeName(instanceVertex);
-        IDataType type = typeSystem.getDataType(IDataType.class, typeName);
+        deleteTypeVertex(instanceVertex, typeSystem.getDataType(IDataType.class, typeName), force);
+    }
+
+    private void deleteTypeVertex(AtlasVertex instanceVertex, IDataType type, boolean force) throws AtlasException {
+        LOG.debug("Deleting {}", string(instanceVertex));
         FieldMapping fieldMapping = getFieldMapping(type);
 
         for (AttributeInfo attributeInfo : fieldMapping.fields.values()) {
@@ -234,8 +373,8 @@ public abstract class DeleteHandler {
     }
 
     protected void deleteEdge(AtlasEdge edge, boolean updateReverseAttribute, boolean force) throws AtlasException {
-        //update reverse attribute
-        if (updateReverseAttribute) {
+        //update reverse attribute, unless the referenced vertex is deleted in this request as well
+        if (updateReverseAttribute && !isDeletionCandidate(edge.getInVertex())) {
             AttributeInfo attributeInfo = getAttributeForEdge(edge.getLabel());
             if (attributeInfo.reverseAttributeName != null) {
                 deleteEdgeBetweenVertices(edge.getInVertex(), edge.getOutVertex(),
@@ -254,7 +393,8 @@ public abstract class DeleteHandler {
         while(edges.hasNext()) {
             AtlasEdge edge = edges.next();
             Id.EntityState edgeState = GraphHelper.getState(edge);
-            if (edgeState == Id.EntityState.ACTIVE) {
+            //References from vertices deleted in this request are deleted with them
+            if (edgeState == Id.EntityState.ACTIVE && !isDeletionCandidate(edge.getOutVertex())) {
                 //Delete only the active edge references
                 AttributeInfo attribute = getAttributeForEdge(edge.getLabel());
                 //TODO use delete edge instead??
@@ -266,6 +406,11 @@ public abstract class DeleteHandler {
 
     protected abstract void _deleteVertex(AtlasVertex instanceVertex, boolean force);
 
+    private boolean isDeletionCandidate(AtlasVertex vertex) {
+        String id = GraphHelper.getIdFromVertex(vertex);
+        return id != null && RequestContext.get().isDeletedEntity(id);
+    }
+
     /**
      * Deletes the edge between outvertex and inVertex. The edge is for attribute attributeName of outVertex
      * @param outVertex
@@ -276,6 +421,19 @@ public abstract class DeleteHandler {
     protected void deleteEdgeBetweenVertices(AtlasVertex outVertex, AtlasVertex inVertex, String attributeName) throws AtlasException {
         LOG.debug("Removing edge from {} to {} with attribute name {}", string(outVertex), string(inVertex),
                 attributeName);
+        deleteEdgesBetweenVertices(outVertex, Collections.singleton(inVertex.getId().toString()), attributeName);
+    }
+
+    /**
+     * Deletes the edges from outVertex to the vertices with the given ids. The edges are for attribute attributeName
+     * of outVertex, which is read and updated once for all the edges.
+     * @param outVertex
+     * @param inVertexIds
+     * @param attributeName
+     * @throws AtlasException
+     */
+    private void deleteEdgesBetweenVertices(AtlasVertex outVertex, Set<String> inVertexIds, String attributeName)
+        throws AtlasException {
         String typeName = GraphHelper.getTypeName(outVertex);
         String outId = GraphHelper.getIdFromVertex(outVertex);
         Id.EntityState state = GraphHelper.getState(outVertex);
@@ -288,13 +446,16 @@ public abstract class DeleteHandler {
         AttributeInfo attributeInfo = getFieldMapping(type).fields.get(attributeName);
         String propertyName = GraphHelper.getQualifiedFieldName(type, attributeName);
         String edgeLabel = EDGE_LABEL_PREFIX + propertyName;
-        AtlasEdge edge = null;
+        List<AtlasEdge> edges = new ArrayList<>();
 
         switch (attributeInfo.dataType().getTypeCategory()) {
         case CLASS:
             //If its class attribute, its the only edge between two vertices
             if (attributeInfo.multiplicity.nullAllowed()) {
-                edge = graphHelper.getEdgeForLabel(outVertex, edgeLabel);
+                AtlasEdge edge = graphHelper.getEdgeForLabel(outVertex, edgeLabel);
+                if (edge != null) {
+                    edges.add(edge);
+                }
                 if (shouldUpdateReverseAttribute) {
                     GraphHelper.setProperty(outVertex, propertyName, null);
                 }
@@ -306,19 +467,19 @@ public abstract class DeleteHandler {
             break;
 
         case ARRAY:
-            //If its array attribute, find the right edge between the two vertices and update array property
+            //If its array attribute, find the right edges between the vertices and update array property
             List<String> elements = GraphHelper.getListProperty(outVertex, propertyName);
             if (elements != null) {
                 elements = new ArrayList<>(elements);   //Make a copy, else list.remove reflects on titan.getProperty()
-                for (String elementEdgeId : elements) {
+                for (String elementEdgeId : new ArrayList<>(elements)) {
                     AtlasEdge elementEdge = graphHelper.getEdgeByEdgeId(outVertex, edgeLabel, elementEdgeId);
                     if (elementEdge == null) {
                         continue;
                     }
 
                     AtlasVertex elementVertex = elementEdge.getInVertex();
-                    if (elementVertex.equals(inVertex)) {
-                        edge = elementEdge;
+                    if (inVertexIds.contains(elementVertex.getId().toString())) {
+                        edges.add(elementEdge);
 
                         //TODO element.size includes deleted items as well. should exclude
                         if (!attributeInfo.multiplicity.nullAllowed()
@@ -337,30 +498,31 @@ public abstract class DeleteHandler {
                             LOG.debug("Removing edge {} from the array attribute {}", string(elementEdge),
                                     attributeName);
                             elements.remove(elementEdge.getId().toString());
-                            GraphHelper.setProperty(outVertex, propertyName, elements);
-                            break;
-
                         }
                     }
                 }
+
+                if (shouldUpdateReverseAttribute && !edges.isEmpty()) {
+                    GraphHelper.setProperty(outVertex, propertyName, elements);
+                }
             }
             break;
 
         case MAP:
-            //If its map attribute, find the right edge between two vertices and update map property
+            //If its map attribute, find the right edges between the vertices and update map property
             List<String> keys = GraphHelper.getListProperty(outVertex, propertyName);
             if (keys != null) {
                 keys = new ArrayList<>(keys);   //Make a copy, else list.remove reflects on titan.getProperty()
-                for (String key : keys) {
+                for (String key : new ArrayList<>(keys)) {
                     String keyPropertyName = GraphHelper.getQualifiedNameForMapKey(propertyName, key);
                     String mapEdgeId = GraphHelper.getSingleValuedProperty(outVertex, keyPropertyName, String.class);
                     AtlasEdge mapEdge = graphHelper.getEdgeByEdgeId(outVertex, keyPropertyName, mapEdgeId);
                     if(mapEdge != null) {
                         AtlasVertex mapVertex = mapEdge.getInVertex();
-                        if (mapVertex.getId().toString().equals(inVertex.getId().toString())) {
+                        if (inVertexIds.contains(mapVertex.getId().toString())) {
                             //TODO keys.size includes deleted items as well. should exclude
                             if (attributeInfo.multiplicity.nullAllowed() || keys.size() > attributeInfo.multiplicity.lower) {
-                                edge = mapEdge;
+                                edges.add(mapEdge);
                             } else {
                                 // Deleting this entry would violate the attribute's lower bound.
                                 throw new NullRequiredAttributeException(
@@ -373,13 +535,15 @@ public abstract class DeleteHandler {
                                 LOG.debug("Removing edge {}, key {} from the map attribute {}", string(mapEdge), key,
                                         attributeName);
                                 keys.remove(key);
-                                GraphHelper.setProperty(outVertex, propertyName, keys);
                                 GraphHelper.setProperty(outVertex, keyPropertyName, null);
                             }
-                            break;
                         }
                     }
                 }
+
+                if (shouldUpdateReverseAttribute && !edges.isEmpty()) {
+                    GraphHelper.setProperty(outVertex, propertyName, keys);
+                }
             }
             break;
 
@@ -389,11 +553,13 @@ public abstract class DeleteHandler {
 
         default:
             throw new IllegalStateException("There can't be an edge from " + GraphHelper.getVertexDetails(outVertex) + " to "
-                    + GraphHelper.getVertexDetails(inVertex) + " with attribute name " + attributeName + " which is not class/array/map attribute");
+                    + inVertexIds + " with attribute name " + attributeName + " which is not class/array/map attribute");
         }
 
-        if (edge != null) {
-            deleteEdge(edge, false);
+        if (!edges.isEmpty()) {
+            for (AtlasEdge edge : edges) {
+                deleteEdge(edge, false);
+            }
             RequestContext requestContext = RequestContext.get();
             GraphHelper.setProperty(outVertex, Constants.MODIFICATION_TIMESTAMP_PROPERTY_KEY,
                     requestContext.getRequestTime());
@@ -436,4 +602,18 @@ public abstract class DeleteHandler {
             deleteEdgeReference(instanceVertex, relationshipLabel, DataTypes.TypeCategory.TRAIT, false);
         }
     }
+
+    /**
+     * The edges of one attribute of an entity to vertices being deleted.
+     */
+    private static final class EdgesToVertices {
+        final AtlasVertex outVertex;
+        final String attributeName;
+        final Set<String> inVertexIds = new HashSet<>();
+
+        EdgesToVertices(AtlasVertex outVertex, String attributeName) {
+            this.outVertex = outVertex;
+            this.attributeName = attributeName;
+        }
+    }
 }
@@ -0,0 +1,168 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.graph;
+
+import org.apache.atlas.ApplicationProperties;
+import org.apache.atlas.AtlasException;
+import org.apache.atlas.listener.EntityChangeListener;
+import org.apache.atlas.repository.Constants;
+import org.apache.atlas.repository.graphdb.AtlasGraph;
+import org.apache.atlas.repository.graphdb.AtlasVertex;
+import org.apache.atlas.typesystem.IStruct;
+import org.apache.atlas.typesystem.ITypedReferenceableInstance;
+import org.apache.atlas.typesystem.exception.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Singleton;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the full text of created and updated entities, and of entities whose traits changed, in a background thread,
+ * once the entities are committed. Only active when atlas.fulltext.async.enabled is set; otherwise the full text is
+ * built while the entities are written. When the queue of pending entities is full, the calling thread waits for space in the queue, so that the
+ * full text is always built in the order of the updates, and in a graph transaction of the indexer thread.
+ */
+@Singleton
+public class FullTextIndexer implements EntityChangeListener {
+    private static final Logger LOG = LoggerFactory.getLogger(FullTextIndexer.class);
+
+    public static final String QUEUE_SIZE_PROPERTY = "atlas.fulltext.async.queue.size";
+
+    private final AtlasGraph graph;
+    private final ExecutorService executor;
+
+    public FullTextIndexer() throws AtlasException {
+        this(AtlasGraphProvider.getGraphInstance(), FullTextMapper.isAsyncEnabled(),
+             ApplicationProperties.get().getInt(QUEUE_SIZE_PROPERTY, 1000));
+    }
+
+    FullTextIndexer(AtlasGraph graph, boolean enabled, int queueSize) {
+        this.graph = graph;
+
+        if (enabled) {
+            executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<Runnable>(queueSize),
+                    new ThreadFactoryBuilder().setNameFormat("atlas-fulltext-indexer").setDaemon(true).build(),
+                    new WaitForSpacePolicy());
+        } else {
+            executor = null;
+        }
+    }
+
+    @Override
+    public void onEntitiesAdded(Collection<ITypedReferenceableInstance> entities) throws AtlasException {
+        submit(entities);
+    }
+
+    @Override
+    public void onEntitiesUpdated(Collection<ITypedReferenceableInstance> entities) throws AtlasException {
+        submit(entities);
+    }
+
+    @Override
+    public void onTraitAdded(ITypedReferenceableInstance entity, IStruct trait) throws AtlasException {
+        submit(Collections.singletonList(entity));
+    }
+
+    @Override
+    public void onTraitDeleted(ITypedReferenceableInstance entity, String traitName) throws AtlasException {
+        submit(Collections.singletonList(entity));
+    }
+
+    @Override
+    public void onEntitiesDeleted(Collection<ITypedReferenceableInstance> entities) throws AtlasException {
+    }
+
+    private void submit(Collection<ITypedReferenceableInstance> entities) {
+        if (executor == null || entities.isEmpty()) {
+            return;
+        }
+
+        final List<String> guids = new ArrayList<>(entities.size());
+        for (ITypedReferenceableInstance entity : entities) {
+            guids.add(entity.getId()._getId());
+        }
+
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    index(guids);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOG.warn("Full text of entities {} is not updated", guids, e);
+        }
+    }
+
+    void index(List<String> guids) {
+        FullTextMapper fullTextMapper = new FullTextMapper();
+        GraphHelper graphHelper = GraphHelper.getInstance();
+
+        try {
+            for (String guid : guids) {
+                AtlasVertex instanceVertex;
+                try {
+                    instanceVertex = graphHelper.getVertexForGUID(guid);
+                } catch (EntityNotFoundException e) {
+                    LOG.debug("Entity {} was deleted before its full text was built", guid);
+                    continue;
+                }
+
+                String fullText = fullTextMapper.mapRecursive(instanceVertex, true);
+                GraphHelper.setProperty(instanceVertex, Constants.ENTITY_TEXT_PROPERTY_KEY, fullText);
+            }
+            graph.commit();
+        } catch (Exception e) {
+            LOG.error("Failed to build full text for entities {}", guids, e);
+            graph.rollback();
+        }
+    }
+
+    /**
+     * Queues a task that didn't fit in the queue by waiting for space, instead of running it in the calling thread,
+     * which would build the full text ahead of older queued updates, and commit the caller's transaction.
+     */
+    private static class WaitForSpacePolicy implements RejectedExecutionHandler {
+        @Override
+        public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("Full text indexer is shut down");
+            }
+
+            try {
+                executor.getQueue().put(task);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrupted while waiting to queue full text update", e);
+            }
+        }
+    }
+}
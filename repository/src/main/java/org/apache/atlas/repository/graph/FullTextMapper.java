@@ -17,144 +17,272 @@
  */
 package org.apache.atlas.repository.graph;
 
-import org.apache.atlas.repository.graphdb.AtlasVertex;
+import org.apache.atlas.ApplicationProperties;
 import org.apache.atlas.AtlasException;
-import org.apache.atlas.typesystem.ITypedInstance;
-import org.apache.atlas.typesystem.ITypedReferenceableInstance;
+import org.apache.atlas.repository.Constants;
+import org.apache.atlas.repository.graphdb.AtlasEdge;
+import org.apache.atlas.repository.graphdb.AtlasEdgeDirection;
+import org.apache.atlas.repository.graphdb.AtlasVertex;
 import org.apache.atlas.typesystem.types.AttributeInfo;
+import org.apache.atlas.typesystem.types.ClassType;
 import org.apache.atlas.typesystem.types.DataTypes;
-import org.apache.atlas.typesystem.types.EnumValue;
 import org.apache.atlas.typesystem.types.IDataType;
+import org.apache.atlas.typesystem.types.StructType;
+import org.apache.atlas.typesystem.types.TraitType;
+import org.apache.atlas.typesystem.types.TypeSystem;
+import org.apache.commons.configuration.Configuration;
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Builds the full text of an entity from the properties of its vertex. Referenced entities and structs are read
+ * from their vertices as well; no typed instances are created. The text of an entity is capped at
+ * atlas.fulltext.max.length characters.
+ */
 public class FullTextMapper {
 
     private static final Logger LOG = LoggerFactory.getLogger(FullTextMapper.class);
 
-    private final GraphToTypedInstanceMapper graphToTypedInstanceMapper;
+    public static final String MAX_LENGTH_PROPERTY = "atlas.fulltext.max.length";
+    public static final String ASYNC_ENABLED_PROPERTY = "atlas.fulltext.async.enabled";
+
+    private static final int DEFAULT_MAX_LENGTH = 64 * 1024;
 
     private static final GraphHelper graphHelper = GraphHelper.getInstance();
 
     private static final String FULL_TEXT_DELIMITER = " ";
-    private final Map<String, ITypedReferenceableInstance> instanceCache;
 
-    FullTextMapper(GraphToTypedInstanceMapper graphToTypedInstanceMapper) {
-        this.graphToTypedInstanceMapper = graphToTypedInstanceMapper;
-        instanceCache = new HashMap<>();
+    private static int configuredMaxLength;
+    private static boolean asyncEnabled;
+
+    static {
+        try {
+            Configuration configuration = ApplicationProperties.get();
+            configuredMaxLength = configuration.getInt(MAX_LENGTH_PROPERTY, DEFAULT_MAX_LENGTH);
+            asyncEnabled = configuration.getBoolean(ASYNC_ENABLED_PROPERTY, false);
+        } catch (AtlasException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private final TypeSystem typeSystem = TypeSystem.getInstance();
+    private final int maxLength;
+    private final Map<String, String> referenceTextCache = new HashMap<>();
+
+    FullTextMapper() {
+        this(configuredMaxLength);
+    }
+
+    /**
+     * @param maxLength maximum number of characters in the text of an entity; 0 for no limit
+     */
+    FullTextMapper(int maxLength) {
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * @return true if full text should be built by {@link FullTextIndexer} after the entities are committed, instead
+     * of within the transaction that writes them
+     */
+    static boolean isAsyncEnabled() {
+        return asyncEnabled;
     }
 
     public String mapRecursive(AtlasVertex instanceVertex, boolean followReferences) throws AtlasException {
-        String guid = GraphHelper.getIdFromVertex(instanceVertex);
-        ITypedReferenceableInstance typedReference;
-        if (instanceCache.containsKey(guid)) {
-            typedReference = instanceCache.get(guid);
-            LOG.debug("Cache hit: guid = {}, entityId = {}", guid, typedReference.getId()._getId());
-        } else {
-            typedReference =
-                    graphToTypedInstanceMapper.mapGraphToTypedInstance(guid, instanceVertex);
-            instanceCache.put(guid, typedReference);
-            LOG.debug("Cache miss: guid = {}, entityId = {}", guid, typedReference.getId().getId());
-        }
-        String fullText = forInstance(typedReference, followReferences);
-        StringBuilder fullTextBuilder =
-            new StringBuilder(typedReference.getTypeName()).append(FULL_TEXT_DELIMITER).append(fullText);
-
-        List<String> traits = typedReference.getTraits();
-        for (String traitName : traits) {
-            String traitText = forInstance((ITypedInstance) typedReference.getTrait(traitName), false);
-            fullTextBuilder.append(FULL_TEXT_DELIMITER).append(traitName).append(FULL_TEXT_DELIMITER)
-                .append(traitText);
-        }
-        return fullTextBuilder.toString();
+        FullTextBuilder fullText = new FullTextBuilder(maxLength);
+
+        addEntity(instanceVertex, followReferences, fullText);
+
+        return fullText.toString();
     }
 
-    private String forAttribute(IDataType type, Object value, boolean followReferences)
+    private void addEntity(AtlasVertex instanceVertex, boolean followReferences, FullTextBuilder fullText)
         throws AtlasException {
-        if (value == null) {
-            return null;
+        String typeName = GraphHelper.getTypeName(instanceVertex);
+        ClassType classType = typeSystem.getDataType(ClassType.class, typeName);
+
+        fullText.append(typeName);
+        addAttributes(instanceVertex, classType, classType.fieldMapping().fields, followReferences, fullText);
+
+        for (String traitName : GraphHelper.getTraitNames(instanceVertex)) {
+            if (fullText.isFull()) {
+                break;
+            }
+
+            TraitType traitType = typeSystem.getDataType(TraitType.class, traitName);
+            String traitLabel = GraphHelper.getTraitLabel(typeName, traitName);
+
+            fullText.append(traitName);
+            for (AtlasEdge edge : (Iterable<AtlasEdge>) instanceVertex.getEdges(AtlasEdgeDirection.OUT, traitLabel)) {
+                AtlasVertex traitVertex = edge.getInVertex();
+                if (traitVertex != null) {
+                    addAttributes(traitVertex, traitType, traitType.fieldMapping().fields, false, fullText);
+                    break;
+                }
+            }
         }
-        switch (type.getTypeCategory()) {
+    }
+
+    private void addAttributes(AtlasVertex vertex, IDataType ownerType, Map<String, AttributeInfo> fields,
+                               boolean followReferences, FullTextBuilder fullText) throws AtlasException {
+        for (AttributeInfo attributeInfo : fields.values()) {
+            if (fullText.isFull()) {
+                return;
+            }
+
+            int mark = fullText.length();
+
+            fullText.append(attributeInfo.name);
+            if (!addAttribute(vertex, ownerType, attributeInfo, followReferences, fullText)) {
+                fullText.reset(mark);
+            }
+        }
+    }
+
+    /**
+     * @return true if text was added for the attribute value
+     */
+    private boolean addAttribute(AtlasVertex vertex, IDataType ownerType, AttributeInfo attributeInfo,
+                                 boolean followReferences, FullTextBuilder fullText) throws AtlasException {
+        IDataType dataType = attributeInfo.dataType();
+        String propertyName = GraphHelper.getQualifiedFieldName(ownerType, attributeInfo.name);
+        int mark = fullText.length();
+
+        switch (dataType.getTypeCategory()) {
         case PRIMITIVE:
-            return String.valueOf(value);
         case ENUM:
-
-            return ((EnumValue) value).value;
+            Object value = GraphHelper.getSingleValuedProperty(vertex, propertyName, Object.class);
+            if (value != null && dataType == DataTypes.DATE_TYPE && value instanceof Number) {
+                value = new Date(((Number) value).longValue());
+            }
+            return fullText.append(value);
 
         case ARRAY:
-            StringBuilder fullText = new StringBuilder();
-            IDataType elemType = ((DataTypes.ArrayType) type).getElemType();
-            List list = (List) value;
-
-            for (Object element : list) {
-                String elemFullText = forAttribute(elemType, element, false);
-                if (StringUtils.isNotEmpty(elemFullText)) {
-                    fullText = fullText.append(FULL_TEXT_DELIMITER).append(elemFullText);
+            IDataType elemType = ((DataTypes.ArrayType) dataType).getElemType();
+            if (!isPrimitiveOrEnum(elemType)) {
+                // references and structs in collections are not part of the full text
+                return false;
+            }
+
+            List<Object> list = GraphHelper.getArrayElementsProperty(elemType, vertex, propertyName);
+            if (list != null) {
+                for (Object element : list) {
+                    fullText.append(element);
                 }
             }
-            return fullText.toString();
+            return fullText.length() > mark;
 
         case MAP:
-            fullText = new StringBuilder();
-            IDataType keyType = ((DataTypes.MapType) type).getKeyType();
-            IDataType valueType = ((DataTypes.MapType) type).getValueType();
-            Map map = (Map) value;
-
-            for (Object entryObj : map.entrySet()) {
-                Map.Entry entry = (Map.Entry) entryObj;
-                String keyFullText = forAttribute(keyType, entry.getKey(), false);
-                if (StringUtils.isNotEmpty(keyFullText)) {
-                    fullText = fullText.append(FULL_TEXT_DELIMITER).append(keyFullText);
-                }
-                String valueFullText = forAttribute(valueType, entry.getValue(), false);
-                if (StringUtils.isNotEmpty(valueFullText)) {
-                    fullText = fullText.append(FULL_TEXT_DELIMITER).append(valueFullText);
+            IDataType valueType = ((DataTypes.MapType) dataType).getValueType();
+            List<String> keys = GraphHelper.getListProperty(vertex, propertyName);
+            if (keys != null) {
+                for (String key : keys) {
+                    fullText.append(key);
+                    if (isPrimitiveOrEnum(valueType)) {
+                        fullText.append(GraphHelper.getMapValueProperty(valueType, vertex, propertyName + "." + key));
+                    }
                 }
             }
-            return fullText.toString();
+            return fullText.length() > mark;
 
-        case CLASS:
+        case STRUCT:
             if (followReferences) {
-                String refGuid = ((ITypedReferenceableInstance) value).getId()._getId();
-                AtlasVertex refVertex = graphHelper.getVertexForGUID(refGuid);
-                return mapRecursive(refVertex, false);
+                AtlasEdge edge = graphHelper.getEdgeForLabel(vertex, GraphHelper.getEdgeLabel(ownerType, attributeInfo));
+                if (GraphHelper.elementExists(edge)) {
+                    StructType structType = (StructType) dataType;
+                    addAttributes(edge.getInVertex(), structType, structType.fieldMapping().fields, true, fullText);
+                }
             }
-            break;
+            return fullText.length() > mark;
 
-        case STRUCT:
+        case CLASS:
             if (followReferences) {
-                return forInstance((ITypedInstance) value, true);
+                AtlasEdge edge = graphHelper.getEdgeForLabel(vertex, GraphHelper.getEdgeLabel(ownerType, attributeInfo));
+                if (GraphHelper.elementExists(edge)) {
+                    return fullText.append(getReferenceText(edge.getInVertex()));
+                }
             }
-            break;
+            return false;
+
+        case TRAIT:
+            return false;
 
         default:
-            throw new IllegalStateException("Unhandled type category " + type.getTypeCategory());
+            throw new IllegalStateException("Unhandled type category " + dataType.getTypeCategory());
+        }
+    }
 
+    private String getReferenceText(AtlasVertex referenceVertex) throws AtlasException {
+        String guid = GraphHelper.getSingleValuedProperty(referenceVertex, Constants.GUID_PROPERTY_KEY, String.class);
+        String ret = referenceTextCache.get(guid);
+
+        if (ret == null) {
+            ret = mapRecursive(referenceVertex, false);
+            referenceTextCache.put(guid, ret);
+            LOG.debug("Cache miss: guid = {}", guid);
+        } else {
+            LOG.debug("Cache hit: guid = {}", guid);
         }
-        return null;
+        return ret;
     }
 
-    private String forInstance(ITypedInstance typedInstance, boolean followReferences)
-        throws AtlasException {
-        StringBuilder fullText = new StringBuilder();
-        for (AttributeInfo attributeInfo : typedInstance.fieldMapping().fields.values()) {
-            Object attrValue = typedInstance.get(attributeInfo.name);
-            if (attrValue == null) {
-                continue;
+    private static boolean isPrimitiveOrEnum(IDataType dataType) {
+        return dataType.getTypeCategory() == DataTypes.TypeCategory.PRIMITIVE
+                || dataType.getTypeCategory() == DataTypes.TypeCategory.ENUM;
+    }
+
+    /**
+     * Appends delimited values, and stops appending once the maximum length is reached.
+     */
+    private static class FullTextBuilder {
+        private final StringBuilder text = new StringBuilder();
+        private final int maxLength;
+
+        FullTextBuilder(int maxLength) {
+            this.maxLength = maxLength;
+        }
+
+        /**
+         * @return true if anything was appended
+         */
+        boolean append(Object value) {
+            String str = value == null ? null : String.valueOf(value);
+            if (StringUtils.isEmpty(str) || isFull()) {
+                return false;
+            }
+
+            if (text.length() > 0) {
+                text.append(FULL_TEXT_DELIMITER);
             }
+            text.append(str);
 
-            String attrFullText = forAttribute(attributeInfo.dataType(), attrValue, followReferences);
-            if (StringUtils.isNotEmpty(attrFullText)) {
-                fullText =
-                    fullText.append(FULL_TEXT_DELIMITER).append(attributeInfo.name).append(FULL_TEXT_DELIMITER)
-                        .append(attrFullText);
+            if (maxLength > 0 && text.length() > maxLength) {
+                text.setLength(maxLength);
             }
+            return true;
+        }
+
+        boolean isFull() {
+            return maxLength > 0 && text.length() >= maxLength;
+        }
+
+        int length() {
+            return text.length();
+        }
+
+        void reset(int length) {
+            text.setLength(length);
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
         }
-        return fullText.toString();
     }
 }
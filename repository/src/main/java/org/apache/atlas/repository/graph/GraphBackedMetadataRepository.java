@@ -20,9 +20,9 @@ package org.apache.atlas.repository.graph;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.atlas.AtlasClient;
 import org.apache.atlas.AtlasException;
@@ -150,10 +150,37 @@ public class GraphBackedMetadataRepository implements MetadataRepository {
     public ITypedReferenceableInstance getEntityDefinition(String guid) throws RepositoryException, EntityNotFoundException {
         LOG.debug("Retrieving entity with guid={}", guid);
 
+        RequestContext requestContext = RequestContext.get();
+        ITypedReferenceableInstance instance = requestContext.getCachedInstance(guid);
+        if (instance != null) {
+            return instance;
+        }
+
+        AtlasVertex instanceVertex = graphHelper.getVertexForGUID(guid);
+
+        try {
+            instance = graphToInstanceMapper.mapGraphToTypedInstance(guid, instanceVertex);
+            requestContext.cacheInstance(guid, instance);
+            return instance;
+        } catch (AtlasException e) {
+            throw new RepositoryException(e);
+        }
+    }
+
+    @Override
+    @GraphTransaction
+    public ITypedReferenceableInstance getEntityDefinition(String guid, Set<String> attributes, int compositeDepth)
+        throws RepositoryException, EntityNotFoundException {
+        if (attributes == null && compositeDepth < 0) {
+            return getEntityDefinition(guid);
+        }
+
+        LOG.debug("Retrieving attributes {} of entity with guid={}, composite depth={}", attributes, guid, compositeDepth);
+
         AtlasVertex instanceVertex = graphHelper.getVertexForGUID(guid);
 
         try {
-            return graphToInstanceMapper.mapGraphToTypedInstance(guid, instanceVertex);
+            return graphToInstanceMapper.mapGraphToTypedInstance(guid, instanceVertex, attributes, compositeDepth);
         } catch (AtlasException e) {
             throw new RepositoryException(e);
         }
@@ -177,20 +204,47 @@ public class GraphBackedMetadataRepository implements MetadataRepository {
     @Override
     @GraphTransaction
     public List<String> getEntityList(String entityType) throws RepositoryException {
-        LOG.debug("Retrieving entity list for type={}", entityType);
+        final List<String> entityList = new ArrayList<>();
+
+        try {
+            getEntityList(entityType, 0, -1, new EntityListHandler() {
+                @Override
+                public void handle(String guid) {
+                    entityList.add(guid);
+                }
+            });
+        } catch (RepositoryException e) {
+            throw e;
+        } catch (AtlasException e) {
+            throw new RepositoryException(e);
+        }
+
+        return entityList;
+    }
+
+    @Override
+    @GraphTransaction
+    public int getEntityList(String entityType, int offset, int limit, EntityListHandler handler)
+        throws AtlasException {
+        LOG.debug("Retrieving entity list for type={}, offset={}, limit={}", entityType, offset, limit);
         AtlasGraphQuery query = graph.query().has(Constants.ENTITY_TYPE_PROPERTY_KEY, entityType);
+        // the query result is iterated lazily, so only the skipped and returned vertices are loaded
         Iterator<AtlasVertex> results = query.vertices().iterator();
-        if (!results.hasNext()) {
-            return Collections.emptyList();
+
+        int index = 0;
+        while (results.hasNext() && index < offset) {
+            results.next();
+            index++;
         }
 
-        ArrayList<String> entityList = new ArrayList<>();
-        while (results.hasNext()) {
+        int count = 0;
+        while (results.hasNext() && (limit < 0 || count < limit)) {
             AtlasVertex vertex = results.next();
-            entityList.add(GraphHelper.getIdFromVertex(vertex));
+            handler.handle(GraphHelper.getIdFromVertex(vertex));
+            count++;
         }
 
-        return entityList;
+        return count;
     }
 
     /**
@@ -222,6 +276,7 @@ public class GraphBackedMetadataRepository implements MetadataRepository {
         Preconditions.checkNotNull(traitInstance, "Trait instance cannot be null");
         final String traitName = traitInstance.getTypeName();
         LOG.debug("Adding a new trait={} for entity={}", traitName, guid);
+        RequestContext.get().clearCachedInstances();
 
         try {
             AtlasVertex instanceVertex = graphHelper.getVertexForGUID(guid);
@@ -257,7 +312,8 @@ public class GraphBackedMetadataRepository implements MetadataRepository {
     @GraphTransaction
     public void deleteTrait(String guid, String traitNameToBeDeleted) throws TraitNotFoundException, EntityNotFoundException, RepositoryException {
         LOG.debug("Deleting trait={} from entity={}", traitNameToBeDeleted, guid);
-        
+        RequestContext.get().clearCachedInstances();
+
         AtlasVertex instanceVertex = graphHelper.getVertexForGUID(guid);
 
         List<String> traitNames = GraphHelper.getTraitNames(instanceVertex);
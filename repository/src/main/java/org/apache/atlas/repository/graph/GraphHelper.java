@@ -20,10 +20,13 @@ package org.apache.atlas.repository.graph;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
 import java.util.UUID;
@@ -83,6 +86,13 @@ public final class GraphHelper {
 
     private static volatile GraphHelper INSTANCE;
 
+    // Edges looked up or created in the current graph transaction, by out vertex id, label and in vertex id.
+    // Only set within GraphTransactionInterceptor, as edges can't be used after their transaction ends
+    private static final ThreadLocal<Map<String, AtlasEdge>> TRANSACTION_EDGES = new ThreadLocal<>();
+
+    // Entity vertices looked up or created in the current graph transaction, by guid. Set along with TRANSACTION_EDGES
+    private static final ThreadLocal<Map<String, AtlasVertex>> TRANSACTION_VERTICES = new ThreadLocal<>();
+
     private AtlasGraph graph;
     private static int maxRetries;
     public static long retrySleepTimeMillis;
@@ -134,6 +144,8 @@ public final class GraphHelper {
         // add version information
         setProperty(vertexWithIdentity, Constants.VERSION_PROPERTY_KEY, typedInstance.getId().version);
 
+        cacheVertex(guid, vertexWithIdentity);
+
         return vertexWithIdentity;
     }
 
@@ -175,22 +187,23 @@ public final class GraphHelper {
     }
 
     public AtlasEdge getOrCreateEdge(AtlasVertex outVertex, AtlasVertex inVertex, String edgeLabel) throws RepositoryException {
+        String cacheKey = edgeCacheKey(outVertex, edgeLabel, inVertex);
+        AtlasEdge cachedEdge = getCachedEdge(cacheKey);
+        if (cachedEdge != null) {
+            return cachedEdge;
+        }
+
         for (int numRetries = 0; numRetries < maxRetries; numRetries++) {
             try {
                 LOG.debug("Running edge creation attempt {}", numRetries);
-                Iterator<AtlasEdge> edges = getAdjacentEdgesByLabel(inVertex, AtlasEdgeDirection.IN, edgeLabel);
-
-                while (edges.hasNext()) {
-                    AtlasEdge edge = edges.next();
-                    if (edge.getOutVertex().equals(outVertex)) {
-                        Id.EntityState edgeState = getState(edge);
-                        if (edgeState == null || edgeState == Id.EntityState.ACTIVE) {
-                            return edge;
-                        }
-                    }
+                AtlasEdge edge = findActiveEdge(outVertex, inVertex, edgeLabel);
+                if (edge == null) {
+                    edge = addEdge(outVertex, inVertex, edgeLabel);
+                    // the new edge can replace the edge cached for the label
+                    evictCachedEdge(edgeCacheKey(outVertex, edgeLabel, null));
                 }
-
-                return addEdge(outVertex, inVertex, edgeLabel);
+                cacheEdge(cacheKey, edge);
+                return edge;
             } catch (Exception e) {
                 LOG.warn(String.format("Exception while trying to create edge from %s to %s with label %s. Retrying",
                         vertexString(outVertex), vertexString(inVertex), edgeLabel), e);
@@ -211,6 +224,97 @@ public final class GraphHelper {
         return null;
     }
 
+    /**
+     * Finds the active edge with the given label from outVertex to inVertex. The edges with the label of both
+     * vertices are read in turn, so the cost is bounded by the vertex with fewer of them: a table has an edge to each
+     * of its columns, while a database is referenced by each of its tables.
+     */
+    private AtlasEdge findActiveEdge(AtlasVertex outVertex, AtlasVertex inVertex, String edgeLabel) {
+        Iterator<AtlasEdge> outEdges = outVertex.getEdges(AtlasEdgeDirection.OUT, edgeLabel).iterator();
+        Iterator<AtlasEdge> inEdges = inVertex.getEdges(AtlasEdgeDirection.IN, edgeLabel).iterator();
+
+        while (outEdges.hasNext() && inEdges.hasNext()) {
+            AtlasEdge edge = outEdges.next();
+            if (edge.getInVertex().equals(inVertex) && isActive(edge)) {
+                return edge;
+            }
+
+            edge = inEdges.next();
+            if (edge.getOutVertex().equals(outVertex) && isActive(edge)) {
+                return edge;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isActive(AtlasEdge edge) {
+        Id.EntityState edgeState = getState(edge);
+        return edgeState == null || edgeState == Id.EntityState.ACTIVE;
+    }
+
+    /**
+     * Enables the cache of edges and entity vertices for the graph transaction of the current thread, if not already
+     * enabled.
+     *
+     * @return true if the cache was enabled by this call, and is to be cleared by the caller
+     */
+    public static boolean startTransactionCache() {
+        if (TRANSACTION_EDGES.get() == null) {
+            TRANSACTION_EDGES.set(new HashMap<String, AtlasEdge>());
+            TRANSACTION_VERTICES.set(new HashMap<String, AtlasVertex>());
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Drops the cache of edges and entity vertices of the current thread. To be called when the graph transaction is
+     * committed or rolled back.
+     */
+    public static void clearTransactionCache() {
+        TRANSACTION_EDGES.remove();
+        TRANSACTION_VERTICES.remove();
+    }
+
+    private static String edgeCacheKey(AtlasVertex outVertex, String edgeLabel, AtlasVertex inVertex) {
+        return outVertex.getId() + ":" + edgeLabel + ":" + (inVertex == null ? "" : inVertex.getId());
+    }
+
+    private static AtlasEdge getCachedEdge(String cacheKey) {
+        Map<String, AtlasEdge> edges = TRANSACTION_EDGES.get();
+        AtlasEdge edge = edges == null ? null : edges.get(cacheKey);
+
+        if (edge != null) {
+            Id.EntityState edgeState = getState(edge);
+            if (edgeState == null || edgeState == Id.EntityState.ACTIVE) {
+                return edge;
+            }
+            edges.remove(cacheKey);
+        }
+        return null;
+    }
+
+    /**
+     * Drops the cached lookups of the edge. To be called when the edge is deleted or replaced.
+     */
+    public static void evictCachedEdge(AtlasEdge edge) {
+        evictCachedEdge(edgeCacheKey(edge.getOutVertex(), edge.getLabel(), edge.getInVertex()));
+        evictCachedEdge(edgeCacheKey(edge.getOutVertex(), edge.getLabel(), null));
+    }
+
+    private static void evictCachedEdge(String cacheKey) {
+        Map<String, AtlasEdge> edges = TRANSACTION_EDGES.get();
+        if (edges != null) {
+            edges.remove(cacheKey);
+        }
+    }
+
+    private static void cacheEdge(String cacheKey, AtlasEdge edge) {
+        Map<String, AtlasEdge> edges = TRANSACTION_EDGES.get();
+        if (edges != null) {
+            edges.put(cacheKey, edge);
+        }
+    }
 
     public AtlasEdge getEdgeByEdgeId(AtlasVertex outVertex, String edgeLabel, String edgeId) {
         if (edgeId == null) {
@@ -312,6 +416,12 @@ public final class GraphHelper {
      * @return
      */
     public AtlasEdge getEdgeForLabel(AtlasVertex vertex, String edgeLabel) {
+        String cacheKey = edgeCacheKey(vertex, edgeLabel, null);
+        AtlasEdge cachedEdge = getCachedEdge(cacheKey);
+        if (cachedEdge != null) {
+            return cachedEdge;
+        }
+
         Iterator<AtlasEdge> iterator = getAdjacentEdgesByLabel(vertex, AtlasEdgeDirection.OUT, edgeLabel);
         AtlasEdge latestDeletedEdge = null;
         long latestDeletedEdgeTime = Long.MIN_VALUE;
@@ -321,6 +431,7 @@ public final class GraphHelper {
             Id.EntityState edgeState = getState(edge);
             if (edgeState == null || edgeState == Id.EntityState.ACTIVE) {
                 LOG.debug("Found {}", string(edge));
+                cacheEdge(cacheKey, edge);
                 return edge;
             } else {
                 Long modificationTime = edge.getProperty(Constants.MODIFICATION_TIMESTAMP_PROPERTY_KEY, Long.class);
@@ -438,6 +549,7 @@ public final class GraphHelper {
     public void removeEdge(AtlasEdge edge) {
         String edgeString = string(edge);
         LOG.debug("Removing {}", edgeString);
+        evictCachedEdge(edge);
         graph.removeEdge(edge);
         LOG.info("Removed {}", edgeString);
     }
@@ -450,12 +562,36 @@ public final class GraphHelper {
     public void removeVertex(AtlasVertex vertex) {
         String vertexString = string(vertex);
         LOG.debug("Removing {}", vertexString);
+        String guid = getIdFromVertex(vertex);
+        Map<String, AtlasVertex> cachedVertices = TRANSACTION_VERTICES.get();
+        if (guid != null && cachedVertices != null) {
+            cachedVertices.remove(guid);
+        }
+        Map<String, AtlasEdge> cachedEdges = TRANSACTION_EDGES.get();
+        if (cachedEdges != null) {
+            // removes the edges of the vertex as well
+            cachedEdges.clear();
+        }
         graph.removeVertex(vertex);
         LOG.info("Removed {}", vertexString);
     }
 
     public AtlasVertex getVertexForGUID(String guid) throws EntityNotFoundException {
-        return findVertex(Constants.GUID_PROPERTY_KEY, guid);
+        Map<String, AtlasVertex> cachedVertices = TRANSACTION_VERTICES.get();
+        AtlasVertex vertex = cachedVertices == null ? null : cachedVertices.get(guid);
+
+        if (vertex == null) {
+            vertex = findVertex(Constants.GUID_PROPERTY_KEY, guid);
+            cacheVertex(guid, vertex);
+        }
+        return vertex;
+    }
+
+    private static void cacheVertex(String guid, AtlasVertex vertex) {
+        Map<String, AtlasVertex> cachedVertices = TRANSACTION_VERTICES.get();
+        if (cachedVertices != null) {
+            cachedVertices.put(guid, vertex);
+        }
     }
 
     public static String getQualifiedNameForMapKey(String prefix, String key) {
@@ -547,6 +683,71 @@ public final class GraphHelper {
         return result;
     }
 
+    /**
+     * Finds the vertices of the given instances of a class type by their unique attributes, like
+     * getVertexForInstanceByUniqueAttribute(), but with one graph query for each unique attribute
+     * instead of one for each instance and unique attribute.
+     *
+     * @return vertices found, by instance id. Instances without an existing vertex are not included.
+     */
+    public Map<Id, AtlasVertex> getVerticesForInstancesByUniqueAttribute(ClassType classType,
+            Collection<? extends IReferenceableInstance> instances) throws AtlasException {
+        Map<Id, AtlasVertex> result = new HashMap<>();
+
+        for (AttributeInfo attributeInfo : classType.fieldMapping().fields.values()) {
+            if (!attributeInfo.isUnique) {
+                continue;
+            }
+
+            // values are matched by their string form, as the values read from the vertices can be of
+            // a different type than the values of the instances, for example Long instead of Integer
+            Map<String, List<Id>> idsByValue = new HashMap<>();
+            List<Object> values = new ArrayList<>();
+
+            for (IReferenceableInstance instance : instances) {
+                Object value = instance.get(attributeInfo.name);
+                if (value == null) {
+                    continue;
+                }
+
+                String key = String.valueOf(value);
+                List<Id> ids = idsByValue.get(key);
+                if (ids == null) {
+                    ids = new ArrayList<>();
+                    idsByValue.put(key, ids);
+                    values.add(value);
+                }
+                ids.add(instance.getId());
+            }
+
+            if (values.isEmpty()) {
+                continue;
+            }
+
+            String propertyKey = getQualifiedFieldName(classType, attributeInfo.name);
+            LOG.debug("Finding vertices of type {} with {} in {} values", classType.getName(), propertyKey, values.size());
+
+            AtlasGraphQuery query = graph.query()
+                    .in(propertyKey, values)
+                    .has(Constants.ENTITY_TYPE_PROPERTY_KEY, classType.getName())
+                    .has(Constants.STATE_PROPERTY_KEY, Id.EntityState.ACTIVE.name());
+
+            for (AtlasVertex vertex : (Iterable<AtlasVertex>) query.vertices()) {
+                Object value = vertex.getProperty(propertyKey, Object.class);
+                // like findVertex(), the first vertex with a value is used
+                List<Id> ids = value == null ? null : idsByValue.remove(String.valueOf(value));
+
+                if (ids != null) {
+                    for (Id id : ids) {
+                        result.put(id, vertex);
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+
     /**
      * Guid and AtlasVertex combo
      */
@@ -609,9 +810,22 @@ public final class GraphHelper {
      * @throws AtlasException
      */
     public Set<VertexInfo> getCompositeVertices(AtlasVertex entityVertex) throws AtlasException {
-        Set<VertexInfo> result = new HashSet<>();
+        return getCompositeVertices(Collections.singletonList(entityVertex));
+    }
+
+    /**
+     * Get the GUIDs and vertices for all composite entities owned/contained by the specified root entity vertices.
+     * Each entity is visited once, even if it is reachable from several roots.
+     *
+     * @param entityVertices the root entity vertices
+     * @return set of VertexInfo for all composite entities, in the order they were visited
+     * @throws AtlasException
+     */
+    public Set<VertexInfo> getCompositeVertices(Collection<AtlasVertex> entityVertices) throws AtlasException {
+        Set<VertexInfo> result = new LinkedHashSet<>();
+        Set<String> visitedGuids = new HashSet<>();
         Stack<AtlasVertex> vertices = new Stack<>();
-        vertices.push(entityVertex);
+        vertices.addAll(entityVertices);
         while (vertices.size() > 0) {
             AtlasVertex vertex = vertices.pop();
             String typeName = GraphHelper.getTypeName(vertex);
@@ -621,6 +835,9 @@ public final class GraphHelper {
                 //If the reference vertex is marked for deletion, skip it
                 continue;
             }
+            if (!visitedGuids.add(guid)) {
+                continue;
+            }
             result.add(new VertexInfo(guid, vertex, typeName));
             ClassType classType = typeSystem.getDataType(ClassType.class, typeName);
             for (AttributeInfo attributeInfo : classType.fieldMapping().fields.values()) {
@@ -708,10 +925,16 @@ public final class GraphHelper {
     
         //Both assigned id and values are required for full update
         //classtype.convert() will remove values if id is assigned. So, set temp id, convert and
-        // then replace with original id
+        // then replace with original id. The id of entityInstance is restored as well, since callers
+        // converting in-process instances (like the notification consumer) may convert the same instance again
         Id origId = entityInstance.getId();
         entityInstance.replaceWithNewId(new Id(entityInstance.getTypeName()));
-        ITypedReferenceableInstance typedInstrance = entityType.convert(entityInstance, Multiplicity.REQUIRED);
+        ITypedReferenceableInstance typedInstrance;
+        try {
+            typedInstrance = entityType.convert(entityInstance, Multiplicity.REQUIRED);
+        } finally {
+            entityInstance.replaceWithNewId(origId);
+        }
         ((ReferenceableInstance)typedInstrance).replaceWithNewId(origId);
         return typedInstrance;
     }
@@ -26,6 +26,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.atlas.AtlasException;
 import org.apache.atlas.repository.Constants;
@@ -65,6 +66,18 @@ public final class GraphToTypedInstanceMapper {
 
     public ITypedReferenceableInstance mapGraphToTypedInstance(String guid, AtlasVertex instanceVertex)
         throws AtlasException {
+        return mapGraphToTypedInstance(guid, instanceVertex, null, -1);
+    }
+
+    /**
+     * Maps the given attributes of an entity vertex, and its composite entities down to the given depth.
+     * Composite entities below that depth are returned as ids, like other references.
+     *
+     * @param attributes names of the attributes to map, null for all. Composite entities have all their attributes
+     * @param compositeDepth number of levels of composite entities to map, -1 for all
+     */
+    public ITypedReferenceableInstance mapGraphToTypedInstance(String guid, AtlasVertex instanceVertex,
+        Set<String> attributes, int compositeDepth) throws AtlasException {
 
         LOG.debug("Mapping graph root vertex {} to typed instance for guid {}", instanceVertex, guid);
         String typeName = GraphHelper.getSingleValuedProperty(instanceVertex, Constants.ENTITY_TYPE_PROPERTY_KEY, String.class);
@@ -79,7 +92,13 @@ public final class GraphToTypedInstanceMapper {
         ITypedReferenceableInstance typedInstance =
             classType.createInstance(id, traits.toArray(new String[traits.size()]));
 
-        mapVertexToInstance(instanceVertex, typedInstance, classType.fieldMapping().fields);
+        Map<String, AttributeInfo> fields = classType.fieldMapping().fields;
+        if (attributes != null) {
+            fields = new HashMap<>(fields);
+            fields.keySet().retainAll(attributes);
+        }
+
+        mapVertexToInstance(instanceVertex, typedInstance, fields, compositeDepth);
         mapVertexToInstanceTraits(instanceVertex, typedInstance, traits);
 
         return typedInstance;
@@ -96,16 +115,21 @@ public final class GraphToTypedInstanceMapper {
 
     public void mapVertexToInstance(AtlasVertex instanceVertex, ITypedInstance typedInstance,
         Map<String, AttributeInfo> fields) throws AtlasException {
+        mapVertexToInstance(instanceVertex, typedInstance, fields, -1);
+    }
+
+    private void mapVertexToInstance(AtlasVertex instanceVertex, ITypedInstance typedInstance,
+        Map<String, AttributeInfo> fields, int compositeDepth) throws AtlasException {
 
         LOG.debug("Mapping vertex {} to instance {} for fields", instanceVertex, typedInstance.getTypeName(),
             fields);
         for (AttributeInfo attributeInfo : fields.values()) {
-            mapVertexToAttribute(instanceVertex, typedInstance, attributeInfo);
+            mapVertexToAttribute(instanceVertex, typedInstance, attributeInfo, compositeDepth);
         }
     }
 
     private void mapVertexToAttribute(AtlasVertex instanceVertex, ITypedInstance typedInstance,
-        AttributeInfo attributeInfo) throws AtlasException {
+        AttributeInfo attributeInfo, int compositeDepth) throws AtlasException {
         LOG.debug("Mapping attributeInfo {}", attributeInfo.name);
         final IDataType dataType = attributeInfo.dataType();
         final String vertexPropertyName = GraphHelper.getQualifiedFieldName(typedInstance, attributeInfo);
@@ -126,16 +150,16 @@ public final class GraphToTypedInstanceMapper {
             break;
 
         case ARRAY:
-            mapVertexToArrayInstance(instanceVertex, typedInstance, attributeInfo, vertexPropertyName);
+            mapVertexToArrayInstance(instanceVertex, typedInstance, attributeInfo, vertexPropertyName, compositeDepth);
             break;
 
         case MAP:
-            mapVertexToMapInstance(instanceVertex, typedInstance, attributeInfo, vertexPropertyName);
+            mapVertexToMapInstance(instanceVertex, typedInstance, attributeInfo, vertexPropertyName, compositeDepth);
             break;
 
         case STRUCT:
             ITypedStruct structInstance = mapVertexToStructInstance(instanceVertex,
-                    (StructType) attributeInfo.dataType(), relationshipLabel, null);
+                    (StructType) attributeInfo.dataType(), relationshipLabel, null, compositeDepth);
             typedInstance.set(attributeInfo.name, structInstance);
             break;
 
@@ -146,7 +170,7 @@ public final class GraphToTypedInstanceMapper {
         case CLASS:
             AtlasEdge nullEdge = null;
             Object idOrInstance = mapVertexToClassReference(instanceVertex, attributeInfo, relationshipLabel,
-                attributeInfo.dataType(), nullEdge);
+                attributeInfo.dataType(), nullEdge, compositeDepth);
             if (idOrInstance != null) {
                 typedInstance.set(attributeInfo.name, idOrInstance);
             }
@@ -158,7 +182,8 @@ public final class GraphToTypedInstanceMapper {
     }
 
     private Object mapVertexToClassReference(AtlasVertex instanceVertex, AttributeInfo attributeInfo,
-            String relationshipLabel, IDataType dataType, AtlasEdge optionalEdge) throws AtlasException {
+            String relationshipLabel, IDataType dataType, AtlasEdge optionalEdge, int compositeDepth)
+        throws AtlasException {
         LOG.debug("Finding edge for {} -> label {} ", instanceVertex, relationshipLabel);
 
         AtlasEdge edge = null;
@@ -172,10 +197,11 @@ public final class GraphToTypedInstanceMapper {
             final AtlasVertex referenceVertex = edge.getInVertex();
             final String guid = GraphHelper.getSingleValuedProperty(referenceVertex, Constants.GUID_PROPERTY_KEY, String.class);
             LOG.debug("Found vertex {} for label {} with guid {}", referenceVertex, relationshipLabel, guid);
-            if (attributeInfo.isComposite) {
+            if (attributeInfo.isComposite && compositeDepth != 0) {
                 //Also, when you retrieve a type's instance, you get the complete object graph of the composites
                 LOG.debug("Found composite, mapping vertex to instance");
-                return mapGraphToTypedInstance(guid, referenceVertex);
+                return mapGraphToTypedInstance(guid, referenceVertex, null,
+                        compositeDepth < 0 ? compositeDepth : compositeDepth - 1);
             } else {
                 String state = GraphHelper.getStateAsString(referenceVertex);
                 Id referenceId =
@@ -191,7 +217,7 @@ public final class GraphToTypedInstanceMapper {
 
     @SuppressWarnings("unchecked")
     private void mapVertexToArrayInstance(AtlasVertex<?,?> instanceVertex, ITypedInstance typedInstance,
-            AttributeInfo attributeInfo, String propertyName) throws AtlasException {
+            AttributeInfo attributeInfo, String propertyName, int compositeDepth) throws AtlasException {
         LOG.debug("mapping vertex {} to array {}", instanceVertex, attributeInfo.name);
 
         final DataTypes.ArrayType arrayType = (DataTypes.ArrayType) attributeInfo.dataType();
@@ -207,7 +233,7 @@ public final class GraphToTypedInstanceMapper {
         ArrayList values = new ArrayList();
         for (int index = 0; index < list.size(); index++) {
             values.add(mapVertexToCollectionEntry(instanceVertex, attributeInfo, elementType, list.get(index),
-                    edgeLabel));
+                    edgeLabel, compositeDepth));
         }
 
         if (values.size() > 0) {
@@ -216,7 +242,7 @@ public final class GraphToTypedInstanceMapper {
     }
 
     private Object mapVertexToCollectionEntry(AtlasVertex instanceVertex, AttributeInfo attributeInfo,
-        IDataType elementType, Object value, String edgeLabel) throws AtlasException {
+        IDataType elementType, Object value, String edgeLabel, int compositeDepth) throws AtlasException {
         switch (elementType.getTypeCategory()) {
         case PRIMITIVE:
         case ENUM:
@@ -229,10 +255,12 @@ public final class GraphToTypedInstanceMapper {
             break;
 
         case STRUCT:
-            return mapVertexToStructInstance(instanceVertex, (StructType) elementType, edgeLabel, (AtlasEdge) value);
+            return mapVertexToStructInstance(instanceVertex, (StructType) elementType, edgeLabel, (AtlasEdge) value,
+                    compositeDepth);
 
         case CLASS:
-            return mapVertexToClassReference(instanceVertex, attributeInfo, edgeLabel, elementType, (AtlasEdge) value);
+            return mapVertexToClassReference(instanceVertex, attributeInfo, edgeLabel, elementType, (AtlasEdge) value,
+                    compositeDepth);
 
         default:
             break;
@@ -243,7 +271,7 @@ public final class GraphToTypedInstanceMapper {
 
     @SuppressWarnings("unchecked")
     private void mapVertexToMapInstance(AtlasVertex<?,?> instanceVertex, ITypedInstance typedInstance,
-            AttributeInfo attributeInfo, final String propertyName) throws AtlasException {
+            AttributeInfo attributeInfo, final String propertyName, int compositeDepth) throws AtlasException {
         LOG.debug("mapping vertex {} to array {}", instanceVertex, attributeInfo.name);
         List<String> keys = GraphHelper.getListProperty(instanceVertex, propertyName);
         if (keys == null || keys.size() == 0) {
@@ -257,7 +285,8 @@ public final class GraphToTypedInstanceMapper {
             final String keyPropertyName = propertyName + "." + key;
             final String edgeLabel = GraphHelper.EDGE_LABEL_PREFIX + keyPropertyName;
             final Object keyValue = GraphHelper.getMapValueProperty(valueType, instanceVertex, keyPropertyName);
-            Object mapValue = mapVertexToCollectionEntry(instanceVertex, attributeInfo, valueType, keyValue, edgeLabel);
+            Object mapValue = mapVertexToCollectionEntry(instanceVertex, attributeInfo, valueType, keyValue, edgeLabel,
+                    compositeDepth);
             if (mapValue != null) {
                 values.put(key, mapValue);
             }
@@ -269,7 +298,7 @@ public final class GraphToTypedInstanceMapper {
     }
 
     private  ITypedStruct mapVertexToStructInstance(AtlasVertex instanceVertex, StructType structType,
-            String relationshipLabel, AtlasEdge optionalEdge) throws AtlasException {
+            String relationshipLabel, AtlasEdge optionalEdge, int compositeDepth) throws AtlasException {
         LOG.debug("mapping {} to struct {}", string(instanceVertex), relationshipLabel);
         ITypedStruct structInstance = null;
 
@@ -285,7 +314,7 @@ public final class GraphToTypedInstanceMapper {
             AtlasVertex structInstanceVertex = edge.getInVertex();
             LOG.debug("Found struct instance {}, mapping to instance {} ", string(structInstanceVertex),
                     structInstance.getTypeName());
-            mapVertexToInstance(structInstanceVertex, structInstance, structType.fieldMapping().fields);
+            mapVertexToInstance(structInstanceVertex, structInstance, structType.fieldMapping().fields, compositeDepth);
 
         }
         return structInstance;
@@ -59,6 +59,7 @@ public class SoftDeleteHandler extends DeleteHandler {
                 GraphHelper.setProperty(edge, STATE_PROPERTY_KEY, Id.EntityState.DELETED.name());
                 GraphHelper
                         .setProperty(edge, MODIFICATION_TIMESTAMP_PROPERTY_KEY, RequestContext.get().getRequestTime());
+                GraphHelper.evictCachedEdge(edge);
             }
         }
     }
@@ -96,7 +96,7 @@ public final class TypedInstanceToGraphMapper {
                     createVerticesAndDiscoverInstances(newInstances);
             List<ITypedReferenceableInstance> entitiesToCreate = instancesPair.left;
             List<ITypedReferenceableInstance> entitiesToUpdate = instancesPair.right;
-            FullTextMapper fulltextMapper = new FullTextMapper(graphToTypedInstanceMapper);
+            FullTextMapper fulltextMapper = new FullTextMapper();
             switch (operation) {
             case CREATE:
                 List<String> ids = addOrUpdateAttributesAndTraits(operation, entitiesToCreate);
@@ -239,6 +239,9 @@ public final class TypedInstanceToGraphMapper {
         List<ITypedReferenceableInstance> instancesToCreate = new ArrayList<>();
         List<ITypedReferenceableInstance> instancesToUpdate = new ArrayList<>();
 
+        Set<Id> instancesWithSharedValues = new HashSet<>();
+        Map<Id, AtlasVertex> existingVertices = findVerticesByUniqueAttributes(instances, instancesWithSharedValues);
+
         for (IReferenceableInstance instance : instances) {
             LOG.debug("Discovering instance to create/update for {}", instance.toShortString());
             ITypedReferenceableInstance newInstance;
@@ -259,7 +262,12 @@ public final class TypedInstanceToGraphMapper {
                 } else {
                     //Check if there is already an instance with the same unique attribute value
                     ClassType classType = typeSystem.getDataType(ClassType.class, instance.getTypeName());
-                    instanceVertex = graphHelper.getVertexForInstanceByUniqueAttribute(classType, instance);
+                    if (instancesWithSharedValues.contains(id)) {
+                        // may match a vertex created for an earlier instance in this loop
+                        instanceVertex = graphHelper.getVertexForInstanceByUniqueAttribute(classType, instance);
+                    } else {
+                        instanceVertex = existingVertices.get(id);
+                    }
 
                     //no entity with the given unique attribute, create new
                     if (instanceVertex == null) {
@@ -289,7 +297,57 @@ public final class TypedInstanceToGraphMapper {
         return TypeUtils.Pair.of(instancesToCreate, instancesToUpdate);
     }
 
+    /**
+     * Looks up the existing vertices of the new instances (without guid) by their unique attributes, with one query
+     * for each type and unique attribute. Ids of instances that have the same unique attribute value as another
+     * instance are added to instancesWithSharedValues; these have to be looked up after the earlier instances are
+     * mapped.
+     */
+    private Map<Id, AtlasVertex> findVerticesByUniqueAttributes(Collection<IReferenceableInstance> instances,
+            Set<Id> instancesWithSharedValues) throws AtlasException {
+        Map<String, List<IReferenceableInstance>> instancesByType = new HashMap<>();
+
+        for (IReferenceableInstance instance : instances) {
+            Id id = instance.getId();
+
+            if (!id.isAssigned() && !idToVertexMap.containsKey(id)) {
+                List<IReferenceableInstance> typeInstances = instancesByType.get(instance.getTypeName());
+                if (typeInstances == null) {
+                    typeInstances = new ArrayList<>();
+                    instancesByType.put(instance.getTypeName(), typeInstances);
+                }
+                typeInstances.add(instance);
+            }
+        }
+
+        Map<Id, AtlasVertex> ret = new HashMap<>();
+
+        for (Map.Entry<String, List<IReferenceableInstance>> entry : instancesByType.entrySet()) {
+            ClassType classType = typeSystem.getDataType(ClassType.class, entry.getKey());
+            Set<String> uniqueValues = new HashSet<>();
+
+            for (IReferenceableInstance instance : entry.getValue()) {
+                for (AttributeInfo attributeInfo : classType.fieldMapping().fields.values()) {
+                    Object value = attributeInfo.isUnique ? instance.get(attributeInfo.name) : null;
+
+                    if (value != null && !uniqueValues.add(attributeInfo.name + "=" + value)) {
+                        instancesWithSharedValues.add(instance.getId());
+                    }
+                }
+            }
+
+            ret.putAll(graphHelper.getVerticesForInstancesByUniqueAttribute(classType, entry.getValue()));
+        }
+
+        return ret;
+    }
+
     private void addFullTextProperty(List<ITypedReferenceableInstance> instances, FullTextMapper fulltextMapper) throws AtlasException {
+        if (FullTextMapper.isAsyncEnabled()) {
+            // built by FullTextIndexer, once the entities are committed
+            return;
+        }
+
         for (ITypedReferenceableInstance typedInstance : instances) { // Traverse
             AtlasVertex instanceVertex = getClassVertex(typedInstance);
             String fullText = fulltextMapper.mapRecursive(instanceVertex, true);
@@ -20,7 +20,10 @@ package org.apache.atlas.repository.typestore;
 
 import static org.apache.atlas.repository.graph.GraphHelper.setProperty;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -229,6 +232,39 @@ public class GraphBackedTypeStore implements ITypeStore {
         return getTypesFromVertices(vertices);
     }
 
+    @Override
+    @GraphTransaction
+    public TypesDef restoreTypes(Collection<String> typeNames, Collection<String> excludedTypeNames)
+        throws AtlasException {
+        List<AtlasVertex> typeVertices = new ArrayList<>();
+        Set<String> visitedTypeNames = new HashSet<>(typeNames);
+        Deque<AtlasVertex> queue = new ArrayDeque<>();
+
+        Iterator<AtlasVertex> vertices =
+            graph.query().has(Constants.VERTEX_TYPE_PROPERTY_KEY, VERTEX_TYPE).in(Constants.TYPENAME_PROPERTY_KEY, typeNames).vertices().iterator();
+        while (vertices.hasNext()) {
+            queue.add(vertices.next());
+        }
+
+        // super and attribute types are connected with out edges, follow them to get the dependencies
+        while (!queue.isEmpty()) {
+            AtlasVertex vertex = queue.poll();
+            typeVertices.add(vertex);
+
+            Iterator<AtlasEdge> edges = vertex.getEdges(AtlasEdgeDirection.OUT).iterator();
+            while (edges.hasNext()) {
+                AtlasVertex refVertex = edges.next().getInVertex();
+                String refTypeName = GraphHelper.getSingleValuedProperty(refVertex, Constants.TYPENAME_PROPERTY_KEY, String.class);
+
+                if (refTypeName != null && !excludedTypeNames.contains(refTypeName) && visitedTypeNames.add(refTypeName)) {
+                    queue.add(refVertex);
+                }
+            }
+        }
+
+        return getTypesFromVertices(typeVertices.iterator());
+    }
+
     private TypesDef getTypesFromVertices(Iterator<AtlasVertex> vertices) throws AtlasException {
         ImmutableList.Builder<EnumTypeDefinition> enums = ImmutableList.builder();
         ImmutableList.Builder<StructTypeDefinition> structs = ImmutableList.builder();
@@ -23,6 +23,8 @@ import org.apache.atlas.AtlasException;
 import org.apache.atlas.typesystem.TypesDef;
 import org.apache.atlas.typesystem.types.TypeSystem;
 
+import java.util.Collection;
+
 public interface ITypeStore {
 
     /**
@@ -49,4 +51,16 @@ public interface ITypeStore {
      * @throws AtlasException
      */
     TypesDef restoreType(String typeName) throws AtlasException;
+
+    /**
+     * Restore the specified type definitions, along with the super and attribute types they depend on, directly
+     * or indirectly.
+     *
+     * @param typeNames names of requested types
+     * @param excludedTypeNames names of types that are already known to the caller. These types, and the types
+     *                          they depend on, are not restored.
+     * @return persisted type definitions
+     * @throws AtlasException
+     */
+    TypesDef restoreTypes(Collection<String> typeNames, Collection<String> excludedTypeNames) throws AtlasException;
 }
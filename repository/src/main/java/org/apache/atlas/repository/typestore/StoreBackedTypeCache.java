@@ -19,11 +19,15 @@ package org.apache.atlas.repository.typestore;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
+import org.apache.atlas.ApplicationProperties;
 import org.apache.atlas.AtlasException;
 import org.apache.atlas.typesystem.TypesDef;
 import org.apache.atlas.typesystem.types.AttributeDefinition;
@@ -38,8 +42,14 @@ import org.apache.atlas.typesystem.types.TypeSystem.TransientTypeSystem;
 import org.apache.atlas.typesystem.types.TypeUtils;
 import org.apache.atlas.typesystem.types.cache.DefaultTypeCache;
 import org.apache.atlas.typesystem.types.utils.TypesUtil;
+import org.apache.commons.configuration.Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Sets;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
@@ -49,21 +59,56 @@ import com.google.inject.Singleton;
  * the requested type from the type store if it is not found in the cache,
  * and adds it to the cache if it's found in the store.
  * Any attribute and super types that are required by the requested type
- * are also loaded from the store if they are not already in the cache.
+ * are also loaded from the store, in the same store access, if they are not already in the cache.
+ *
+ * Types listed in atlas.TypeCache.preload.types are loaded by {@link #preloadConfiguredTypes()}, which the metadata
+ * service calls once it has restored the type system, on an active instance only. Names that are not found
+ * in the store are remembered for atlas.TypeCache.notFound.ttl.seconds, so repeated lookups of an unknown type
+ * don't access the store each time.
  */
 @Singleton
 public class StoreBackedTypeCache extends DefaultTypeCache {
+    private static final Logger LOG = LoggerFactory.getLogger(StoreBackedTypeCache.class);
+
+    public static final String PRELOAD_TYPES_PROPERTY = "atlas.TypeCache.preload.types";
+    public static final String NOT_FOUND_TTL_PROPERTY = "atlas.TypeCache.notFound.ttl.seconds";
+    public static final String NOT_FOUND_MAX_SIZE_PROPERTY = "atlas.TypeCache.notFound.max.size";
+
+    private static final long DEFAULT_NOT_FOUND_TTL_SECONDS = 60;
+    private static final long DEFAULT_NOT_FOUND_MAX_SIZE = 10000;
 
     private ITypeStore typeStore;
 
     private ImmutableList<String> coreTypes;
     private TypeSystem typeSystem;
 
+    // null when caching of type names not found in the store is disabled
+    private final Cache<String, Boolean> notFoundTypeNames;
+
+    private final List<String> preloadTypeNames;
+
     @Inject
-    public StoreBackedTypeCache(final ITypeStore typeStore) {
+    public StoreBackedTypeCache(final ITypeStore typeStore) throws AtlasException {
+        this(typeStore, ApplicationProperties.get());
+    }
+
+    public StoreBackedTypeCache(final ITypeStore typeStore, Configuration configuration) throws AtlasException {
         this.typeStore = typeStore;
         typeSystem = TypeSystem.getInstance();
         coreTypes = typeSystem.getCoreTypes();
+
+        long notFoundTtl = configuration.getLong(NOT_FOUND_TTL_PROPERTY, DEFAULT_NOT_FOUND_TTL_SECONDS);
+        if (notFoundTtl > 0) {
+            notFoundTypeNames = CacheBuilder.newBuilder()
+                    .expireAfterWrite(notFoundTtl, TimeUnit.SECONDS)
+                    .maximumSize(configuration.getLong(NOT_FOUND_MAX_SIZE_PROPERTY, DEFAULT_NOT_FOUND_MAX_SIZE))
+                    .build();
+        } else {
+            notFoundTypeNames = null;
+        }
+
+        String[] preloadTypes = configuration.getStringArray(PRELOAD_TYPES_PROPERTY);
+        preloadTypeNames = preloadTypes == null ? Collections.<String>emptyList() : Arrays.asList(preloadTypes);
     }
 
     private static class Context {
@@ -72,6 +117,12 @@ public class StoreBackedTypeCache extends DefaultTypeCache {
         ImmutableList.Builder<HierarchicalTypeDefinition<ClassType>> classTypes = ImmutableList.builder();
         ImmutableList.Builder<HierarchicalTypeDefinition<TraitType>> traits = ImmutableList.builder();
         Set<String> loadedFromStore = new HashSet<>();
+        // the cached and loaded type names, as a view so that the cached names aren't copied for each load
+        final Set<String> knownTypeNames;
+
+        Context(Set<String> cachedTypeNames) {
+            knownTypeNames = Sets.union(cachedTypeNames, loadedFromStore);
+        }
 
         public void addTypesDefToLists(TypesDef typesDef) {
 
@@ -117,6 +168,46 @@ public class StoreBackedTypeCache extends DefaultTypeCache {
         return super.has(typeName);
     }
 
+    /**
+     * Loads the types listed in atlas.TypeCache.preload.types. Failures are logged, and the types are then loaded on
+     * first access instead.
+     */
+    public void preloadConfiguredTypes() {
+        if (preloadTypeNames.isEmpty()) {
+            return;
+        }
+
+        try {
+            preload(preloadTypeNames);
+        } catch (Exception e) {
+            LOG.warn("Failed to preload types {}", preloadTypeNames, e);
+        }
+    }
+
+    /**
+     * Loads the specified types, and the types they require, from the type store into the cache.
+     * Types that are already cached or that are not found in the store are skipped.
+     *
+     * @param typeNames names of types to load
+     * @return the types that were added to the cache
+     */
+    public Map<String, IDataType> preload(Collection<String> typeNames) throws AtlasException {
+        List<String> typeNamesToLoad = new ArrayList<>(typeNames.size());
+        for (String typeName : typeNames) {
+            if (!coreTypes.contains(typeName) && !super.has(typeName)) {
+                typeNamesToLoad.add(typeName);
+            }
+        }
+
+        if (typeNamesToLoad.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, IDataType> typesAdded = loadFromStore(typeNamesToLoad);
+        LOG.info("Preloaded {} types from the type store", typesAdded.size());
+        return typesAdded;
+    }
+
     /**
      * Check the type store for the requested type. 
      * If found in the type store, the type and any required super and attribute types
@@ -125,21 +216,66 @@ public class StoreBackedTypeCache extends DefaultTypeCache {
     @Override
     public IDataType onTypeFault(String typeName) throws AtlasException {
 
+        if (notFoundTypeNames != null && notFoundTypeNames.getIfPresent(typeName) != null) {
+            return null;
+        }
+
         // Type is not cached - check the type store.
         // Any super and attribute types needed by the requested type
         // which are not cached will also be loaded from the store.
-        Context context = new Context();
-        TypesDef typesDef = getTypeFromStore(typeName, context);
-        if (typesDef.isEmpty()) {
+        Map<String, IDataType> typesAdded = loadFromStore(Collections.singletonList(typeName));
+        IDataType ret = typesAdded.get(typeName);
+        if (ret == null && notFoundTypeNames != null) {
             // Type not found in the type store.
-            return null;
+            notFoundTypeNames.put(typeName, Boolean.TRUE);
+        }
+        return ret;
+    }
+
+    @Override
+    public void put(IDataType type) throws AtlasException {
+        super.put(type);
+        if (notFoundTypeNames != null) {
+            notFoundTypeNames.invalidate(type.getName());
+        }
+    }
+
+    @Override
+    public void putAll(Collection<IDataType> types) throws AtlasException {
+        super.putAll(types);
+        if (notFoundTypeNames != null) {
+            for (IDataType type : types) {
+                notFoundTypeNames.invalidate(type.getName());
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        if (notFoundTypeNames != null) {
+            notFoundTypeNames.invalidateAll();
+        }
+    }
+
+    private Map<String, IDataType> loadFromStore(Collection<String> typeNames) throws AtlasException {
+        Context context = new Context(getCachedTypeNames());
+        TypesDef typesDef = getTypesFromStore(typeNames, context);
+        if (typesDef.isEmpty()) {
+            return Collections.emptyMap();
         }
 
         // Add all types that were loaded from the store to the cache.
         TransientTypeSystem transientTypeSystem = typeSystem.createTransientTypeSystem(context.getTypesDef(), false);
         Map<String, IDataType> typesAdded = transientTypeSystem.getTypesAdded();
         putAll(typesAdded.values());
-        return typesAdded.get(typeName);
+        return typesAdded;
+    }
+
+    private Set<String> getCachedTypeNames() throws AtlasException {
+        Collection<String> typeNames = getAllTypeNames();
+        // DefaultTypeCache returns a view of its type names, which is used as is
+        return typeNames instanceof Set ? (Set<String>) typeNames : new HashSet<>(typeNames);
     }
 
     private void getTypeFromCacheOrStore(String typeName, Context context)
@@ -153,25 +289,26 @@ public class StoreBackedTypeCache extends DefaultTypeCache {
             return;
         }
 
-        // Type not cached and hasn't been loaded during this operation, so check the store.
-        TypesDef typesDef = getTypeFromStore(typeName, context);
+        // Not returned with the types that require it, which is the case only if the store
+        // has no reference from them. Check the store for the type itself.
+        TypesDef typesDef = getTypesFromStore(Collections.singletonList(typeName), context);
         if (typesDef.isEmpty()) {
             // Attribute type not found in cache or store.
             throw new AtlasException(typeName + " not found in type store");
         }
     }
 
-    private TypesDef getTypeFromStore(String typeName, Context context)
+    private TypesDef getTypesFromStore(Collection<String> typeNames, Context context)
             throws AtlasException {
 
-        TypesDef typesDef = typeStore.restoreType(typeName);
+        TypesDef typesDef = typeStore.restoreTypes(typeNames, context.knownTypeNames);
         if (!typesDef.isEmpty()) {
-            // Type found in store, add it to lists.
+            // Types found in store, add them to lists.
             context.addTypesDefToLists(typesDef);
 
-            // Check the attribute and super types that are
-            // used by the requested type, and restore them
-            // as needed.
+            // Check that the attribute and super types that are
+            // used by the requested types were restored, and restore
+            // them as needed.
             checkAttributeAndSuperTypes(typesDef, context);
         }
         return typesDef;
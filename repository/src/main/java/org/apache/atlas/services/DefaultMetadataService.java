@@ -42,6 +42,7 @@ import org.apache.atlas.repository.RepositoryException;
 import org.apache.atlas.repository.audit.EntityAuditRepository;
 import org.apache.atlas.repository.graph.GraphHelper;
 import org.apache.atlas.repository.typestore.ITypeStore;
+import org.apache.atlas.repository.typestore.StoreBackedTypeCache;
 import org.apache.atlas.typesystem.IStruct;
 import org.apache.atlas.typesystem.ITypedReferenceableInstance;
 import org.apache.atlas.typesystem.ITypedStruct;
@@ -79,6 +80,7 @@ import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -103,6 +105,7 @@ public class DefaultMetadataService implements MetadataService, ActiveStateChang
     private final TypeSystem typeSystem;
     private final MetadataRepository repository;
     private final ITypeStore typeStore;
+    private final TypeCache typeCache;
     private IBootstrapTypesRegistrar typesRegistrar;
 
     private final Collection<TypesChangeListener> typeChangeListeners = new LinkedHashSet<>();
@@ -143,6 +146,7 @@ public class DefaultMetadataService implements MetadataService, ActiveStateChang
          * This allows cache implementations to participate in Guice dependency injection.
          */
         this.typeSystem.setTypeCache(typeCache);
+        this.typeCache = typeCache;
 
         this.repository = repository;
 
@@ -176,6 +180,10 @@ public class DefaultMetadataService implements MetadataService, ActiveStateChang
             LOG.info("Type system was already initialized, refreshing cache.");
             refreshCache(typesDef);
         }
+
+        if (typeCache instanceof StoreBackedTypeCache) {
+            ((StoreBackedTypeCache) typeCache).preloadConfiguredTypes();
+        }
         LOG.info("Restored type system from the store");
     }
 
@@ -332,6 +340,7 @@ public class DefaultMetadataService implements MetadataService, ActiveStateChang
         return createEntities(typedInstances);
     }
 
+    @Override
     public List<String> createEntities(ITypedReferenceableInstance[] typedInstances) throws AtlasException {
         final List<String> guids = repository.createEntities(typedInstances);
         onEntitiesAdded(guids);
@@ -361,6 +370,14 @@ public class DefaultMetadataService implements MetadataService, ActiveStateChang
         return InstanceSerialization.toJson(instance, true);
     }
 
+    @Override
+    public String getEntityDefinition(String guid, Set<String> attributes, int compositeDepth) throws AtlasException {
+        guid = ParamChecker.notEmpty(guid, "entity id");
+
+        final ITypedReferenceableInstance instance = repository.getEntityDefinition(guid, attributes, compositeDepth);
+        return InstanceSerialization.toJson(instance, true);
+    }
+
     private ITypedReferenceableInstance getEntityDefinitionReference(String entityType, String attribute, String value)
             throws AtlasException {
         validateTypeExists(entityType);
@@ -402,6 +419,20 @@ public class DefaultMetadataService implements MetadataService, ActiveStateChang
         return repository.getEntityList(entityType);
     }
 
+    @Override
+    public List<String> getEntityList(String entityType, int offset, int limit) throws AtlasException {
+        validateTypeExists(entityType);
+
+        final List<String> entityList = new ArrayList<>();
+        repository.getEntityList(entityType, offset, limit, new MetadataRepository.EntityListHandler() {
+            @Override
+            public void handle(String guid) {
+                entityList.add(guid);
+            }
+        });
+        return entityList;
+    }
+
     /**
      * Updates an entity, instance of the type based on the guid set.
      *
@@ -413,6 +444,11 @@ public class DefaultMetadataService implements MetadataService, ActiveStateChang
         entityInstanceDefinition = ParamChecker.notEmpty(entityInstanceDefinition, "Entity instance definition");
         ITypedReferenceableInstance[] typedInstances = deserializeClassInstances(entityInstanceDefinition);
 
+        return updateEntities(typedInstances);
+    }
+
+    @Override
+    public AtlasClient.EntityResult updateEntities(ITypedReferenceableInstance[] typedInstances) throws AtlasException {
         AtlasClient.EntityResult entityResult = repository.updateEntities(typedInstances);
         onEntitiesAddedUpdated(entityResult);
         return entityResult;
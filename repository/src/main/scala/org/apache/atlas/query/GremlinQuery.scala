@@ -78,7 +78,13 @@ trait IntSequence {
     def next: Int
 }
 
-case class GremlinQuery(expr: Expression, queryStr: String, resultMaping: Map[String, (String, Int)]) {
+/**
+ * @param queryStr   the gremlin script. String literals are referenced as variables, whose values are in parameters;
+ *                   this lets queries that differ only in literal values share the same compiled script
+ * @param parameters values of the variables referenced in queryStr
+ */
+case class GremlinQuery(expr: Expression, queryStr: String, resultMaping: Map[String, (String, Int)],
+                        parameters: java.util.Map[String, Object] = java.util.Collections.emptyMap[String, Object]()) {
 
     def hasSelectList = resultMaping != null
 
@@ -491,7 +497,7 @@ class GremlinTranslator(expr: Expression,
        }
     }
 
-    def genFullQuery(expr: Expression, hasSelect: Boolean): String = {
+    def genFullQuery(expr: Expression, hasSelect: Boolean): GroovyGenerationContext = {
 
         var q : GroovyExpression = new FunctionCallExpression(new IdentifierExpression("g"),"V");
 
@@ -511,21 +517,21 @@ class GremlinTranslator(expr: Expression,
         overallExpression.addStatement(q)
         overallExpression.addStatements(postStatements);
 
-        var qryStr = generateGremlin(overallExpression);
+        var qryCtx = generateGremlin(overallExpression);
 
         if(debug) {
-          println(" query " + qryStr)
+          println(" query " + qryCtx.getQuery + " parameters " + qryCtx.getParameters)
         }
 
-        qryStr;
+        qryCtx;
 
     }
 
-    def generateGremlin(expr: GroovyExpression) : String = {
+    def generateGremlin(expr: GroovyExpression) : GroovyGenerationContext = {
          val ctx : GroovyGenerationContext = new GroovyGenerationContext();
-         ctx.setParametersAllowed(false);
+         ctx.setParametersAllowed(true);
          expr.generateGroovy(ctx);
-         return ctx.getQuery;
+         return ctx;
     }
 
     def translate(): GremlinQuery = {
@@ -543,9 +549,11 @@ class GremlinTranslator(expr: Expression,
         val se = SelectExpressionHelper.extractSelectExpression(e1)
         if (se.isDefined) {
           val rMap = buildResultMapping(se.get)
-          GremlinQuery(e1, genFullQuery(e1, true), rMap)
+          val qryCtx = genFullQuery(e1, true)
+          GremlinQuery(e1, qryCtx.getQuery, rMap, qryCtx.getParameters)
         } else {
-            GremlinQuery(e1, genFullQuery(e1, false), null)
+            val qryCtx = genFullQuery(e1, false)
+            GremlinQuery(e1, qryCtx.getQuery, null, qryCtx.getParameters)
         }
 
     }
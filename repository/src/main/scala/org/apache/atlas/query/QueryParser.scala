@@ -22,7 +22,7 @@ import org.apache.atlas.query.Expressions._
 
 import scala.util.parsing.combinator.lexical.StdLexical
 import scala.util.parsing.combinator.syntactical.StandardTokenParsers
-import scala.util.parsing.combinator.{ImplicitConversions, PackratParsers}
+import scala.util.parsing.combinator.{ImplicitConversions, PackratParsers, Parsers}
 import scala.util.parsing.input.CharArrayReader._
 
 trait QueryKeywords {
@@ -121,11 +121,35 @@ trait ExpressionUtils {
 
 case class QueryParams(limit: Int, offset: Int)
 
+/**
+ * Parses DSL queries. The parser combinators keep state while parsing, so a QueryParser instance must not be used
+ * by multiple threads at once; each thread gets its own instance.
+ */
+object QueryParser {
+
+    private val parsers = new ThreadLocal[QueryParser] {
+        override def initialValue() = new QueryParser
+    }
+
+    val lexical: QueryLexer = new QueryParser().lexical
+
+    /**
+      * @param input query string
+      * @param queryParams query parameters that contains limit and offset
+      * @return
+      */
+    def apply(input: String)(implicit queryParams: QueryParams = null): Either[Parsers#NoSuccess, Expression] = {
+        parser.parse(input)(queryParams)
+    }
+
+    private[query] def parser: QueryParser = parsers.get()
+}
+
 /**
  * Query parser is used to parse the DSL query. It uses scala PackratParsers and pattern matching to extract the expressions.
  * It builds up a expression tree.
  */
-object QueryParser extends StandardTokenParsers with QueryKeywords with ExpressionUtils with PackratParsers {
+class QueryParser extends StandardTokenParsers with QueryKeywords with ExpressionUtils with PackratParsers {
 
     import scala.language.higherKinds
 
@@ -142,7 +166,7 @@ object QueryParser extends StandardTokenParsers with QueryKeywords with Expressi
     * @param queryParams query parameters that contains limit and offset
     * @return
     */
-    def apply(input: String)(implicit queryParams: QueryParams = null): Either[NoSuccess, Expression] = synchronized {
+    def parse(input: String)(implicit queryParams: QueryParams = null): Either[NoSuccess, Expression] = {
         phrase(queryWithPath)(new lexical.Scanner(input)) match {
             case Success(r, x) => Right(r)
             case f@Failure(m, x) => Left(f)
@@ -24,7 +24,10 @@ import org.apache.atlas.AtlasException;
 import org.apache.atlas.BaseRepositoryTest;
 import org.apache.atlas.RepositoryMetadataModule;
 import org.apache.atlas.query.QueryParams;
+import org.apache.atlas.repository.graph.GraphHelper;
+import org.apache.atlas.repository.graphdb.AtlasVertex;
 import org.apache.atlas.typesystem.ITypedReferenceableInstance;
+import org.apache.atlas.typesystem.ITypedStruct;
 import org.apache.atlas.typesystem.Referenceable;
 import org.apache.atlas.typesystem.Struct;
 import org.apache.atlas.typesystem.exception.EntityNotFoundException;
@@ -213,6 +216,24 @@ public class DataSetLineageServiceTest extends BaseRepositoryTest {
         Assert.assertEquals(edges.length(), 4);
     }
 
+    @Test
+    public void testGetInputsGraphWithMaxDepth() throws Exception {
+        ITypedReferenceableInstance entity =
+                repository.getEntityDefinition(HIVE_TABLE_TYPE, "name", "sales_fact_monthly_mv");
+        AtlasVertex vertex = GraphHelper.getInstance().getVertexForGUID(entity.getId()._getId());
+
+        // Only sales_fact_daily_mv, through loadSalesMonthly, is within one process of sales_fact_monthly_mv
+        ITypedStruct result = new DataSetLineageTraversal(true, 1).traverse(vertex);
+        Map<String, ?> vertices = (Map) result.get(DataSetLineageTraversal.VERTICES_ATTRIBUTE_NAME);
+        Map<String, ?> edges = (Map) result.get(DataSetLineageTraversal.EDGES_ATTRIBUTE_NAME);
+        assertEquals(vertices.size(), 2);
+        assertEquals(edges.size(), 2);
+
+        result = new DataSetLineageTraversal(true, 0).traverse(vertex);
+        vertices = (Map) result.get(DataSetLineageTraversal.VERTICES_ATTRIBUTE_NAME);
+        assertEquals(vertices.size(), 4);
+    }
+
     @Test(dataProvider = "invalidArgumentsProvider")
     public void testGetOutputsGraphInvalidArguments(final String tableName, String expectedException) throws Exception {
         testInvalidArguments(expectedException, new Invoker() {
@@ -26,6 +26,7 @@ import org.apache.atlas.RepositoryMetadataModule;
 import org.apache.atlas.RequestContext;
 import org.apache.atlas.TestUtils;
 import org.apache.atlas.discovery.graph.GraphBackedDiscoveryService;
+import org.apache.atlas.query.Expressions;
 import org.apache.atlas.query.QueryParams;
 import org.apache.atlas.repository.Constants;
 import org.apache.atlas.repository.MetadataRepository;
@@ -37,6 +38,7 @@ import org.apache.atlas.typesystem.Referenceable;
 import org.apache.atlas.typesystem.persistence.Id;
 import org.apache.atlas.typesystem.types.ClassType;
 import org.apache.atlas.typesystem.types.DataTypes;
+import org.apache.atlas.typesystem.types.EnumValue;
 import org.apache.atlas.typesystem.types.HierarchicalTypeDefinition;
 import org.apache.atlas.typesystem.types.IDataType;
 import org.apache.atlas.typesystem.types.Multiplicity;
@@ -67,6 +69,8 @@ import static org.apache.atlas.typesystem.types.utils.TypesUtil.createOptionalAt
 import static org.apache.atlas.typesystem.types.utils.TypesUtil.createRequiredAttrDef;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
 
 @Guice(modules = RepositoryMetadataModule.class)
 public class GraphBackedDiscoveryServiceTest extends BaseRepositoryTest {
@@ -138,6 +142,20 @@ public class GraphBackedDiscoveryServiceTest extends BaseRepositoryTest {
         return discoveryService.searchByDSL(dslQuery, queryParams);
     }
 
+    @Test
+    public void testValidatedQueryIsCachedUntilTypesChange() throws Exception {
+        String dslQuery = "Department where name = 'hr'";
+        Expressions.Expression expression = discoveryService.getValidatedExpression(dslQuery, queryParams);
+        assertSame(discoveryService.getValidatedExpression(dslQuery, queryParams), expression);
+
+        TypeSystem.getInstance().defineEnumType("dsl_cache_enum_" + System.nanoTime(), new EnumValue("A", 1));
+
+        Expressions.Expression revalidated = discoveryService.getValidatedExpression(dslQuery, queryParams);
+        assertNotSame(revalidated, expression);
+        assertEquals(revalidated.toString(), expression.toString());
+        assertSame(discoveryService.getValidatedExpression(dslQuery, queryParams), revalidated);
+    }
+
     @Test
     public void testSearchBySystemProperties() throws Exception {
         //system property in select
@@ -0,0 +1,83 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.audit;
+
+import org.apache.atlas.EntityAuditEvent;
+import org.apache.commons.lang.StringUtils;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class HBaseAuditEventCodecTest {
+
+    @Test
+    public void testKeysSortByTimestamp() {
+        byte[] key1 = HBaseAuditEventCodec.encodeKey("guid", 999L);
+        byte[] key2 = HBaseAuditEventCodec.encodeKey("guid", 1000L);
+
+        assertTrue(Bytes.compareTo(key1, key2) < 0);
+        assertTrue(Bytes.compareTo(Bytes.toBytes("guid:99999"), key1) < 0);
+        assertFalse(HBaseAuditEventCodec.isLegacyKey(key1));
+
+        EntityAuditEvent event = HBaseAuditEventCodec.decodeKey(key2);
+        assertEquals(event.getEntityId(), "guid");
+        assertEquals(event.getTimestamp(), 1000L);
+        assertEquals(event.getEventKey(), "guid:1000");
+    }
+
+    @Test
+    public void testLegacyKey() {
+        byte[] key = Bytes.toBytes("guid:1467012345678");
+
+        assertTrue(HBaseAuditEventCodec.isLegacyKey(key));
+
+        EntityAuditEvent event = HBaseAuditEventCodec.decodeKey(key);
+        assertEquals(event.getEntityId(), "guid");
+        assertEquals(event.getTimestamp(), 1467012345678L);
+        assertEquals(event.getEventKey(), "guid:1467012345678");
+    }
+
+    @Test
+    public void testValueRoundTrip() throws Exception {
+        String details = "Created: " + StringUtils.repeat("{\"name\":\"value\"}", 100);
+        EntityAuditEvent event = new EntityAuditEvent("guid", 1L, "user1",
+                EntityAuditEvent.EntityAuditAction.TAG_ADD, details, null);
+
+        byte[] value = HBaseAuditEventCodec.encodeValue(event, true);
+        assertTrue(value.length < details.length() / 2);
+
+        EntityAuditEvent decoded = new EntityAuditEvent();
+        HBaseAuditEventCodec.decodeValue(value, decoded, true);
+
+        assertEquals(decoded.getAction(), EntityAuditEvent.EntityAuditAction.TAG_ADD);
+        assertEquals(decoded.getUser(), "user1");
+        assertEquals(decoded.getDetails(), details);
+        assertNull(decoded.getEntityDefinition());
+    }
+
+    @Test
+    public void testActionCodes() throws Exception {
+        for (EntityAuditEvent.EntityAuditAction action : EntityAuditEvent.EntityAuditAction.values()) {
+            assertEquals(HBaseAuditEventCodec.fromActionCode(HBaseAuditEventCodec.toActionCode(action)), action);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.audit;
+
+import org.apache.atlas.EntityAuditEvent;
+import org.apache.commons.configuration.PropertiesConfiguration;
+import org.apache.commons.io.FileUtils;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.BufferedMutatorParams;
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.Mutation;
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class HBaseAuditWriterTest {
+    private File spillDir;
+
+    @BeforeMethod
+    public void setup() {
+        spillDir = new File(System.getProperty("java.io.tmpdir"), "audit-spill-" + System.nanoTime());
+    }
+
+    @AfterMethod
+    public void teardown() throws Exception {
+        FileUtils.deleteDirectory(spillDir);
+    }
+
+    @Test
+    public void testEventsThatCannotBeQueuedAreSpilledAndReplayed() throws Exception {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.setProperty(HBaseAuditWriter.CONFIG_QUEUE_SIZE, 1);
+        configuration.setProperty(HBaseAuditWriter.CONFIG_QUEUE_WAIT_MS, 0);
+        configuration.setProperty(HBaseAuditWriter.CONFIG_SPILL_DIR, spillDir.getAbsolutePath());
+
+        Connection connection = mock(Connection.class);
+        BufferedMutator mutator = mock(BufferedMutator.class);
+        when(connection.getBufferedMutator(any(BufferedMutatorParams.class))).thenReturn(mutator);
+
+        HBaseAuditWriter writer = new HBaseAuditWriter(connection, TableName.valueOf("audit"), configuration, false);
+
+        // the writer isn't running yet, so only the first event fits in the queue
+        writer.add(Arrays.asList(event("entity1"), event("entity2"), event("entity3")));
+        assertEquals(writer.getQueueDepth(), 1);
+        assertEquals(writer.getSpilledCount(), 2);
+
+        writer.start();
+        writer.stop();
+
+        List<String> entityIds = getWrittenEntityIds(mutator);
+        assertEquals(entityIds.size(), 3);
+        assertTrue(entityIds.containsAll(Arrays.asList("entity1", "entity2", "entity3")));
+        assertFalse(new File(spillDir, "audit-events.spill").exists());
+        assertFalse(new File(spillDir, "audit-events.replay").exists());
+    }
+
+    @Test
+    public void testEventsThatCannotBeWrittenAreSpilled() throws Exception {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.setProperty(HBaseAuditWriter.CONFIG_SPILL_DIR, spillDir.getAbsolutePath());
+
+        Connection connection = mock(Connection.class);
+        BufferedMutator mutator = mock(BufferedMutator.class);
+        when(connection.getBufferedMutator(any(BufferedMutatorParams.class))).thenReturn(mutator);
+        doThrow(new IOException("HBase unavailable")).when(mutator).mutate(any(List.class));
+
+        HBaseAuditWriter writer = new HBaseAuditWriter(connection, TableName.valueOf("audit"), configuration, false);
+        writer.start();
+        writer.stop();
+        assertFalse(writer.isRunning());
+
+        // events added while the writer is stopped stay queued
+        writer.add(Arrays.asList(event("entity1"), event("entity2")));
+        assertEquals(writer.getQueueDepth(), 2);
+
+        // the events are spilled either by the writer thread or by stop(), whichever takes them from the queue
+        writer.start();
+        writer.stop();
+
+        assertEquals(writer.getQueueDepth(), 0);
+        assertEquals(writer.getSpilledCount(), 2);
+        assertTrue(new File(spillDir, "audit-events.spill").exists()
+                || new File(spillDir, "audit-events.replay").exists());
+    }
+
+    @Test
+    public void testSpilledPutsAreKeptWhenReplayFails() throws Exception {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.setProperty(HBaseAuditWriter.CONFIG_QUEUE_SIZE, 1);
+        configuration.setProperty(HBaseAuditWriter.CONFIG_QUEUE_WAIT_MS, 0);
+        configuration.setProperty(HBaseAuditWriter.CONFIG_SPILL_DIR, spillDir.getAbsolutePath());
+
+        Connection connection = mock(Connection.class);
+        BufferedMutator mutator = mock(BufferedMutator.class);
+        when(connection.getBufferedMutator(any(BufferedMutatorParams.class))).thenReturn(mutator);
+        doThrow(new IOException("HBase unavailable")).when(mutator).flush();
+
+        HBaseAuditWriter writer = new HBaseAuditWriter(connection, TableName.valueOf("audit"), configuration, false);
+
+        writer.add(Arrays.asList(event("entity1"), event("entity2"), event("entity3")));
+        assertEquals(writer.getSpilledCount(), 2);
+
+        writer.start();
+        writer.stop();
+
+        // the spilled puts are replayed again once HBase is available
+        assertTrue(new File(spillDir, "audit-events.replay").exists());
+    }
+
+    private List<String> getWrittenEntityIds(BufferedMutator mutator) throws IOException {
+        ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        verify(mutator, atLeastOnce()).mutate(captor.capture());
+
+        List<String> entityIds = new ArrayList<>();
+        for (List mutations : captor.getAllValues()) {
+            for (Object mutation : mutations) {
+                entityIds.add(HBaseAuditEventCodec.decodeKey(((Mutation) mutation).getRow()).getEntityId());
+            }
+        }
+        return entityIds;
+    }
+
+    private EntityAuditEvent event(String entityId) throws Exception {
+        return new EntityAuditEvent(entityId, System.currentTimeMillis(), "user",
+                EntityAuditEvent.EntityAuditAction.ENTITY_CREATE, "details", null);
+    }
+}
@@ -21,8 +21,11 @@ package org.apache.atlas.repository.audit;
 import org.apache.atlas.AtlasException;
 import org.apache.atlas.ha.HAConfiguration;
 import org.apache.commons.configuration.Configuration;
+import org.apache.commons.configuration.PropertiesConfiguration;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Admin;
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.BufferedMutatorParams;
 import org.apache.hadoop.hbase.client.Connection;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -31,7 +34,10 @@ import org.testng.annotations.Test;
 
 import java.io.IOException;
 
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
@@ -93,4 +99,40 @@ public class HBaseBasedAuditRepositoryHATest {
         verify(connection).getAdmin();
         verify(admin).tableExists(tableName);
     }
+
+    @Test
+    public void testAsyncWriterShouldRunOnlyWhileActive() throws AtlasException, IOException {
+        PropertiesConfiguration atlasConf = new PropertiesConfiguration();
+        atlasConf.setProperty(HAConfiguration.ATLAS_SERVER_HA_ENABLED_KEY, true);
+        atlasConf.setProperty(HBaseBasedAuditRepository.CONFIG_ASYNC_ENABLED, true);
+        atlasConf.setProperty(HBaseAuditWriter.CONFIG_SPILL_DIR,
+                System.getProperty("java.io.tmpdir") + "/audit-spill-" + System.nanoTime());
+
+        Admin admin = mock(Admin.class);
+        BufferedMutator mutator = mock(BufferedMutator.class);
+        when(connection.getAdmin()).thenReturn(admin);
+        when(admin.tableExists(TableName.valueOf(HBaseBasedAuditRepository.DEFAULT_TABLE_NAME))).thenReturn(true);
+        when(connection.getBufferedMutator(any(BufferedMutatorParams.class))).thenReturn(mutator);
+        HBaseBasedAuditRepository auditRepository = new HBaseBasedAuditRepository() {
+            @Override
+            protected Connection createConnection(org.apache.hadoop.conf.Configuration hbaseConf) {
+                return connection;
+            }
+        };
+
+        auditRepository.startInternal(atlasConf, hbaseConf);
+        verify(connection, never()).getBufferedMutator(any(BufferedMutatorParams.class));
+
+        auditRepository.instanceIsActive();
+        verify(connection).getBufferedMutator(any(BufferedMutatorParams.class));
+
+        auditRepository.instanceIsPassive();
+        verify(mutator).close();
+
+        auditRepository.instanceIsActive();
+        verify(connection, times(2)).getBufferedMutator(any(BufferedMutatorParams.class));
+
+        auditRepository.stop();
+        verify(mutator, times(2)).close();
+    }
 }
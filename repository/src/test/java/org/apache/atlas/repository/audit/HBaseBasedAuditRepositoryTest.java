@@ -24,10 +24,16 @@ import org.apache.commons.configuration.Configuration;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Admin;
 import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.util.Bytes;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
@@ -59,6 +65,66 @@ public class HBaseBasedAuditRepositoryTest extends AuditRepositoryTestBase {
         assertTrue(admin.tableExists(tableName));
     }
 
+    @Test
+    public void testLegacyRowsAreReadAndMigrated() throws Exception {
+        String entityId = "legacy-" + System.nanoTime();
+        long ts = System.currentTimeMillis();
+
+        Table table = HBaseTestUtils.getConnection().getTable(tableName);
+        Put put = new Put(Bytes.toBytes(entityId + ":" + (ts - 1)));
+        put.addColumn(HBaseBasedAuditRepository.COLUMN_FAMILY, HBaseBasedAuditRepository.COLUMN_ACTION,
+                Bytes.toBytes(EntityAuditEvent.EntityAuditAction.ENTITY_CREATE.name()));
+        put.addColumn(HBaseBasedAuditRepository.COLUMN_FAMILY, HBaseBasedAuditRepository.COLUMN_USER,
+                Bytes.toBytes("user1"));
+        put.addColumn(HBaseBasedAuditRepository.COLUMN_FAMILY, HBaseBasedAuditRepository.COLUMN_DETAIL,
+                Bytes.toBytes("created"));
+        table.put(put);
+        table.close();
+
+        eventRepository.putEvents(new EntityAuditEvent(entityId, ts, "user2",
+                EntityAuditEvent.EntityAuditAction.ENTITY_UPDATE, "updated", null));
+
+        List<EntityAuditEvent> events = eventRepository.listEvents(entityId, null, (short) 10);
+        assertEquals(events.size(), 2);
+        assertEquals(events.get(0).getAction(), EntityAuditEvent.EntityAuditAction.ENTITY_UPDATE);
+        assertEquals(events.get(1).getAction(), EntityAuditEvent.EntityAuditAction.ENTITY_CREATE);
+        assertEquals(events.get(1).getUser(), "user1");
+
+        long converted = new HBaseAuditMigrationTool(HBaseTestUtils.getConnection(), tableName, 10).migrate();
+        assertTrue(converted >= 1);
+
+        List<EntityAuditEvent> migrated = eventRepository.listEvents(entityId, null, (short) 10);
+        assertEquals(migrated, events);
+    }
+
+    @Test
+    public void testPageIsFilledPastSkippedLegacyRows() throws Exception {
+        String entityId = "legacy-page-" + System.nanoTime();
+        long ts = System.currentTimeMillis();
+
+        // legacy rows sort before the current rows, so the newer ones are scanned and skipped after the start key
+        Table table = HBaseTestUtils.getConnection().getTable(tableName);
+        for (long legacyTs : new long[] { ts + 2, ts + 1, ts - 1 }) {
+            Put put = new Put(Bytes.toBytes(entityId + ":" + legacyTs));
+            put.addColumn(HBaseBasedAuditRepository.COLUMN_FAMILY, HBaseBasedAuditRepository.COLUMN_ACTION,
+                    Bytes.toBytes(EntityAuditEvent.EntityAuditAction.ENTITY_UPDATE.name()));
+            put.addColumn(HBaseBasedAuditRepository.COLUMN_FAMILY, HBaseBasedAuditRepository.COLUMN_USER,
+                    Bytes.toBytes("user1"));
+            put.addColumn(HBaseBasedAuditRepository.COLUMN_FAMILY, HBaseBasedAuditRepository.COLUMN_DETAIL,
+                    Bytes.toBytes("updated " + legacyTs));
+            table.put(put);
+        }
+        table.close();
+
+        eventRepository.putEvents(new EntityAuditEvent(entityId, ts, "user2",
+                EntityAuditEvent.EntityAuditAction.ENTITY_UPDATE, "updated", null));
+
+        List<EntityAuditEvent> events = eventRepository.listEvents(entityId, entityId + ":" + ts, (short) 2);
+        assertEquals(events.size(), 2);
+        assertEquals(events.get(0).getTimestamp(), ts);
+        assertEquals(events.get(1).getTimestamp(), ts - 1);
+    }
+
     @Override
     protected void assertEventEquals(EntityAuditEvent actual, EntityAuditEvent expected) {
         super.assertEventEquals(actual, expected);
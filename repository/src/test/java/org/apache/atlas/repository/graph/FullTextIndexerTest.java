@@ -0,0 +1,74 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.repository.graph;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.atlas.repository.graphdb.AtlasGraph;
+import org.apache.atlas.typesystem.ITypedReferenceableInstance;
+import org.apache.atlas.typesystem.Struct;
+import org.apache.atlas.typesystem.persistence.Id;
+import org.testng.annotations.Test;
+
+public class FullTextIndexerTest {
+
+    @Test
+    public void testFullTextIsRefreshedOnTraitChanges() throws Exception {
+        final BlockingQueue<List<String>> indexed = new LinkedBlockingQueue<>();
+        FullTextIndexer fullTextIndexer = new FullTextIndexer(mock(AtlasGraph.class), true, 10) {
+            @Override
+            void index(List<String> guids) {
+                indexed.add(guids);
+            }
+        };
+        ITypedReferenceableInstance entity = mock(ITypedReferenceableInstance.class);
+        when(entity.getId()).thenReturn(new Id("guid1", 0, "type1"));
+
+        fullTextIndexer.onTraitAdded(entity, new Struct("trait1"));
+        assertEquals(indexed.poll(10, TimeUnit.SECONDS), Arrays.asList("guid1"));
+
+        fullTextIndexer.onTraitDeleted(entity, "trait1");
+        assertEquals(indexed.poll(10, TimeUnit.SECONDS), Arrays.asList("guid1"));
+    }
+
+    @Test
+    public void testNothingIsIndexedWhenDisabled() throws Exception {
+        final BlockingQueue<List<String>> indexed = new LinkedBlockingQueue<>();
+        FullTextIndexer fullTextIndexer = new FullTextIndexer(mock(AtlasGraph.class), false, 10) {
+            @Override
+            void index(List<String> guids) {
+                indexed.add(guids);
+            }
+        };
+        ITypedReferenceableInstance entity = mock(ITypedReferenceableInstance.class);
+        when(entity.getId()).thenReturn(new Id("guid1", 0, "type1"));
+
+        fullTextIndexer.onTraitAdded(entity, new Struct("trait1"));
+        fullTextIndexer.onTraitDeleted(entity, "trait1");
+        assertNull(indexed.poll(100, TimeUnit.MILLISECONDS));
+    }
+}
@@ -101,6 +101,8 @@ public abstract class GraphBackedMetadataRepositoryDeleteTestBase {
 
     private TypeSystem typeSystem;
 
+    private DeleteHandler deleteHandler;
+
     private ClassType compositeMapOwnerType;
 
     private ClassType compositeMapValueType;
@@ -112,7 +114,8 @@ public abstract class GraphBackedMetadataRepositoryDeleteTestBase {
         typeSystem.reset();
 
         new GraphBackedSearchIndexer(new AtlasTypeRegistry());
-        final GraphBackedMetadataRepository delegate = new GraphBackedMetadataRepository(getDeleteHandler(typeSystem));
+        deleteHandler = getDeleteHandler(typeSystem);
+        final GraphBackedMetadataRepository delegate = new GraphBackedMetadataRepository(deleteHandler);
 
         repositoryService = (MetadataRepository)Proxy.newProxyInstance(Thread.currentThread().getContextClassLoader(),
                 new Class[]{MetadataRepository.class}, new InvocationHandler() {
@@ -352,6 +355,104 @@ public abstract class GraphBackedMetadataRepositoryDeleteTestBase {
         assertTestDeleteEntities(tableInstance);
     }
 
+    /**
+     * Verify deleting many tables, with some of their columns in the same request, deletes each entity once.
+     */
+    @Test
+    public void testDeleteEntitiesWithOverlappingCandidates() throws Exception {
+        String dbGuid = createInstance(createDBEntity());
+        List<String> rootGuids = new ArrayList<>();
+        List<String> expectedGuids = new ArrayList<>();
+
+        for (int i = 0; i < 10; i++) {
+            Referenceable tableEntity = createTableEntity(dbGuid);
+            tableEntity.set(COLUMNS_ATTR_NAME, ImmutableList.of(createColumnEntity(), createColumnEntity(),
+                    createColumnEntity(), createColumnEntity(), createColumnEntity()));
+            createInstance(tableEntity);
+
+            ITypedReferenceableInstance tableInstance = repositoryService.getEntityDefinition(TestUtils.TABLE_TYPE,
+                    NAME, tableEntity.get(NAME));
+            List<IReferenceableInstance> columns = (List<IReferenceableInstance>) tableInstance.get(COLUMNS_ATTR_NAME);
+
+            // Delete the first column both directly and through its table
+            rootGuids.add(columns.get(0).getId()._getId());
+            rootGuids.add(tableInstance.getId()._getId());
+            expectedGuids.add(tableInstance.getId()._getId());
+            for (IReferenceableInstance column : columns) {
+                expectedGuids.add(column.getId()._getId());
+            }
+        }
+
+        List<String> deletedGuids = deleteEntities(rootGuids.toArray(new String[rootGuids.size()]))
+                .getDeletedEntities();
+        assertEquals(deletedGuids.size(), expectedGuids.size());
+        assertTrue(deletedGuids.containsAll(expectedGuids));
+
+        for (String guid : expectedGuids) {
+            assertEntityDeleted(guid);
+        }
+    }
+
+    /**
+     * Verify deleting many tables referenced by a process, which is not deleted, updates the process once and
+     * leaves the references to the remaining tables.
+     */
+    @Test
+    public void testDeleteEntitiesReferencedByOtherEntity() throws Exception {
+        String dbGuid = createInstance(createDBEntity());
+        List<Id> tableIds = new ArrayList<>();
+        List<String> rootGuids = new ArrayList<>();
+        List<String> expectedGuids = new ArrayList<>();
+        List<String> remainingTableGuids = new ArrayList<>();
+        List<String> deletedTableGuids = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            Referenceable tableEntity = createTableEntity(dbGuid);
+            tableEntity.set(COLUMNS_ATTR_NAME, ImmutableList.of(createColumnEntity(), createColumnEntity()));
+            createInstance(tableEntity);
+
+            ITypedReferenceableInstance tableInstance = repositoryService.getEntityDefinition(TestUtils.TABLE_TYPE,
+                    NAME, tableEntity.get(NAME));
+            String tableGuid = tableInstance.getId()._getId();
+            tableIds.add(new Id(tableGuid, 0, TABLE_TYPE));
+
+            // Delete every other table, with its columns
+            if (i % 2 == 0) {
+                rootGuids.add(tableGuid);
+                deletedTableGuids.add(tableGuid);
+                expectedGuids.add(tableGuid);
+                for (IReferenceableInstance column : (List<IReferenceableInstance>) tableInstance.get(COLUMNS_ATTR_NAME)) {
+                    expectedGuids.add(column.getId()._getId());
+                }
+            } else {
+                remainingTableGuids.add(tableGuid);
+            }
+        }
+
+        Referenceable process = new Referenceable(PROCESS_TYPE);
+        process.set(AtlasClient.PROCESS_ATTRIBUTE_OUTPUTS, tableIds);
+        String processId = createInstance(process);
+
+        long deletedEntities = (Long) deleteHandler.getMetrics().get("deletedEntities");
+        EntityResult entityResult = deleteEntities(rootGuids.toArray(new String[rootGuids.size()]));
+
+        assertEquals(entityResult.getDeletedEntities().size(), expectedGuids.size());
+        assertTrue(entityResult.getDeletedEntities().containsAll(expectedGuids));
+        assertTrue(entityResult.getUpdateEntities().contains(processId));
+        for (String guid : expectedGuids) {
+            assertEntityDeleted(guid);
+        }
+        assertTestDeleteEntitiesReferencedByOtherEntity(processId, remainingTableGuids, deletedTableGuids);
+
+        Map<String, Object> metrics = deleteHandler.getMetrics();
+        assertEquals(metrics.get("activeDeletes"), 0);
+        assertEquals(metrics.get("pendingEntities"), 0L);
+        assertEquals(metrics.get("deletedEntities"), deletedEntities + expectedGuids.size());
+    }
+
+    protected abstract void assertTestDeleteEntitiesReferencedByOtherEntity(String processId,
+            List<String> remainingTableGuids, List<String> deletedTableGuids) throws Exception;
+
     protected abstract void assertDeletedColumn(ITypedReferenceableInstance tableInstance) throws AtlasException;
 
     protected abstract void assertTestDeleteEntities(ITypedReferenceableInstance tableInstance) throws Exception;
@@ -25,9 +25,11 @@ import org.apache.atlas.GraphTransaction;
 import org.apache.atlas.RepositoryMetadataModule;
 import org.apache.atlas.RequestContext;
 import org.apache.atlas.TestUtils;
+import org.apache.atlas.discovery.DiscoveryService;
 import org.apache.atlas.discovery.graph.GraphBackedDiscoveryService;
 import org.apache.atlas.query.QueryParams;
 import org.apache.atlas.repository.Constants;
+import org.apache.atlas.repository.MetadataRepository;
 import org.apache.atlas.repository.RepositoryException;
 import org.apache.atlas.repository.graphdb.AtlasEdge;
 import org.apache.atlas.repository.graphdb.AtlasEdgeDirection;
@@ -63,10 +65,15 @@ import org.testng.annotations.Guice;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
@@ -82,6 +89,8 @@ import static org.apache.atlas.typesystem.types.utils.TypesUtil.createUniqueRequ
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 /**
@@ -209,6 +218,24 @@ public class GraphBackedMetadataRepositoryTest {
         Assert.assertEquals(entity.getId().getState(), Id.EntityState.ACTIVE);
     }
 
+    @Test(dependsOnMethods = "testSubmitEntity")
+    public void testGetEntityDefinitionWithProjectionAndDepth() throws Exception {
+        ITypedReferenceableInstance dept = repositoryService.getEntityDefinition(guid, null, 0);
+        List<?> employees = (List<?>) dept.get("employees");
+        Assert.assertEquals(employees.size(), 4);
+        for (Object employee : employees) {
+            Assert.assertTrue(employee instanceof Id);
+        }
+
+        dept = repositoryService.getEntityDefinition(guid, null, 1);
+        employees = (List<?>) dept.get("employees");
+        Assert.assertTrue(employees.get(0) instanceof ITypedReferenceableInstance);
+
+        dept = repositoryService.getEntityDefinition(guid, Collections.singleton("name"), -1);
+        Assert.assertEquals(dept.getString("name"), "hr");
+        Assert.assertNull(dept.get("employees"));
+    }
+
     @Test(expectedExceptions = EntityNotFoundException.class)
     public void testGetEntityDefinitionNonExistent() throws Exception {
         repositoryService.getEntityDefinition("blah");
@@ -223,6 +250,31 @@ public class GraphBackedMetadataRepositoryTest {
         Assert.assertTrue(entityList.contains(guid));
     }
 
+    @Test(dependsOnMethods = "testSubmitEntity")
+    public void testGetEntityListPaged() throws Exception {
+        List<String> allPersons = repositoryService.getEntityList(TestUtils.PERSON_TYPE);
+        Assert.assertTrue(allPersons.size() > 2);
+
+        final List<String> pages = new ArrayList<>();
+        MetadataRepository.EntityListHandler handler = new MetadataRepository.EntityListHandler() {
+            @Override
+            public void handle(String guid) {
+                pages.add(guid);
+            }
+        };
+        int offset = 0;
+        int count;
+        do {
+            count = repositoryService.getEntityList(TestUtils.PERSON_TYPE, offset, 2, handler);
+            Assert.assertTrue(count <= 2);
+            offset += count;
+        } while (count == 2);
+
+        //pages should not overlap, and should cover all the entities
+        Assert.assertEquals(pages, allPersons);
+        Assert.assertEquals(repositoryService.getEntityList(TestUtils.PERSON_TYPE, allPersons.size(), -1, handler), 0);
+    }
+
     @Test
     public void testGetTypeAttributeName() throws Exception {
         Assert.assertEquals(repositoryService.getTypeAttributeName(), Constants.ENTITY_TYPE_PROPERTY_KEY);
@@ -353,6 +405,44 @@ public class GraphBackedMetadataRepositoryTest {
         assertEquals(entity.getId()._getId(), id2);
     }
 
+    @Test
+    public void testEntityDefinitionIsCachedInRequest() throws Exception {
+        String guid = createEntity(TestUtils.createDBEntity()).get(0);
+
+        RequestContext requestContext = RequestContext.createContext();
+        ITypedReferenceableInstance db = repositoryService.getEntityDefinition(guid);
+        assertSame(repositoryService.getEntityDefinition(guid), db);
+        assertEquals(requestContext.getInstanceCacheHits(), 1);
+        assertEquals(requestContext.getInstanceCacheMisses(), 1);
+
+        //local writes invalidate the cached instances
+        requestContext.recordEntityUpdate(guid);
+        assertNotSame(repositoryService.getEntityDefinition(guid), db);
+        assertEquals(requestContext.getInstanceCacheMisses(), 2);
+    }
+
+    @Test
+    public void testGetVerticesForInstancesByUniqueAttribute() throws Exception {
+        Referenceable db1 = TestUtils.createDBEntity();
+        Referenceable db2 = TestUtils.createDBEntity();
+        String id1 = createEntity(db1).get(0);
+        String id2 = createEntity(db2).get(0);
+
+        Referenceable existing1 = new Referenceable(TestUtils.DATABASE_TYPE);
+        existing1.set(TestUtils.NAME, db1.get(TestUtils.NAME));
+        Referenceable existing2 = new Referenceable(TestUtils.DATABASE_TYPE);
+        existing2.set(TestUtils.NAME, db2.get(TestUtils.NAME));
+        Referenceable notExisting = TestUtils.createDBEntity();
+
+        ClassType dbType = typeSystem.getDataType(ClassType.class, TestUtils.DATABASE_TYPE);
+        Map<Id, AtlasVertex> vertices = GraphHelper.getInstance().getVerticesForInstancesByUniqueAttribute(dbType,
+                Arrays.asList(existing1, notExisting, existing2));
+
+        assertEquals(vertices.size(), 2);
+        assertEquals(GraphHelper.getIdFromVertex(vertices.get(existing1.getId())), id1);
+        assertEquals(GraphHelper.getIdFromVertex(vertices.get(existing2.getId())), id2);
+    }
+
     @Test(dependsOnMethods = "testGetTraitNames")
     public void testAddTrait() throws Exception {
         final String aGUID = getGUID();
@@ -571,6 +661,18 @@ public class GraphBackedMetadataRepositoryTest {
 
     }
 
+    @Test(dependsOnMethods = "testSubmitEntity")
+    public void testFullTextIsCapped() throws Exception {
+        AtlasVertex vertex = GraphHelper.getInstance().getVertexForGUID(guid);
+
+        String fullText = new FullTextMapper(0).mapRecursive(vertex, true);
+        Assert.assertTrue(fullText.startsWith(TestUtils.DEPARTMENT_TYPE));
+        Assert.assertTrue(fullText.length() > 20);
+
+        String cappedFullText = new FullTextMapper(20).mapRecursive(vertex, true);
+        Assert.assertEquals(cappedFullText, fullText.substring(0, 20));
+    }
+
     /**
      * Full text search requires GraphBackedSearchIndexer, and GraphBackedSearchIndexer can't be enabled in
      * GraphBackedDiscoveryServiceTest because of its test data. So, test for full text search is in
@@ -626,6 +728,19 @@ public class GraphBackedMetadataRepositoryTest {
         //higher offset shouldn't return any rows
         results = new JSONArray(discoveryService.searchByFullText("Department", new QueryParams(2, 6)));
         assertEquals(results.length(), 0);
+
+        //pages should not overlap, and should cover all the results
+        final Set<String> guids = new HashSet<>();
+        DiscoveryService.FullTextResultHandler handler = new DiscoveryService.FullTextResultHandler() {
+            @Override
+            public void handle(String guid, String typeName, double score) {
+                assertTrue(guids.add(guid));
+            }
+        };
+        assertEquals(discoveryService.searchByFullText("Department", new QueryParams(2, 0), handler), 2);
+        assertEquals(discoveryService.searchByFullText("Department", new QueryParams(2, 2), handler), 2);
+        assertEquals(discoveryService.searchByFullText("Department", new QueryParams(2, 4), handler), 1);
+        assertEquals(guids.size(), 5);
     }
 
     private ITypedReferenceableInstance createHiveTableInstance(Referenceable databaseInstance) throws Exception {
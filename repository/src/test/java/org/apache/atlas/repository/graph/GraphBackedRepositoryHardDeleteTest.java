@@ -33,6 +33,7 @@ import org.apache.atlas.typesystem.exception.NullRequiredAttributeException;
 import org.apache.atlas.typesystem.types.TypeSystem;
 import org.testng.Assert;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -74,6 +75,20 @@ public class GraphBackedRepositoryHardDeleteTest extends GraphBackedMetadataRepo
         assertNull(newProcess.get(AtlasClient.PROCESS_ATTRIBUTE_OUTPUTS));
     }
 
+    @Override
+    protected void assertTestDeleteEntitiesReferencedByOtherEntity(String processId, List<String> remainingTableGuids,
+            List<String> deletedTableGuids) throws Exception {
+        //Assert that the process only references the remaining tables, in their original order
+        ITypedReferenceableInstance process = repositoryService.getEntityDefinition(processId);
+        List<IReferenceableInstance> outputs =
+                (List<IReferenceableInstance>) process.get(AtlasClient.PROCESS_ATTRIBUTE_OUTPUTS);
+        List<String> outputGuids = new ArrayList<>();
+        for (IReferenceableInstance output : outputs) {
+            outputGuids.add(output.getId()._getId());
+        }
+        assertEquals(outputGuids, remainingTableGuids);
+    }
+
     @Override
     protected void assertEntityDeleted(String id) throws Exception {
         try {
@@ -90,6 +90,24 @@ public class GraphBackedRepositorySoftDeleteTest extends GraphBackedMetadataRepo
         assertEquals(outputs.size(), expectedOutputs.size());
     }
 
+    @Override
+    protected void assertTestDeleteEntitiesReferencedByOtherEntity(String processId, List<String> remainingTableGuids,
+            List<String> deletedTableGuids) throws Exception {
+        //Assert that the process still references all the tables, and that the deleted tables are marked deleted
+        ITypedReferenceableInstance process = repositoryService.getEntityDefinition(processId);
+        List<IReferenceableInstance> outputs =
+                (List<IReferenceableInstance>) process.get(AtlasClient.PROCESS_ATTRIBUTE_OUTPUTS);
+        assertEquals(outputs.size(), remainingTableGuids.size() + deletedTableGuids.size());
+        for (IReferenceableInstance output : outputs) {
+            if (deletedTableGuids.contains(output.getId()._getId())) {
+                assertEquals(output.getId().getState(), Id.EntityState.DELETED);
+            } else {
+                assertTrue(remainingTableGuids.contains(output.getId()._getId()));
+                assertEquals(output.getId().getState(), Id.EntityState.ACTIVE);
+            }
+        }
+    }
+
     @Override
     protected void assertEntityDeleted(String id) throws Exception {
         ITypedReferenceableInstance entity = repositoryService.getEntityDefinition(id);
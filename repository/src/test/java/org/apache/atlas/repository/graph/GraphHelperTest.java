@@ -20,12 +20,14 @@ package org.apache.atlas.repository.graph;
 
 import org.apache.atlas.RepositoryMetadataModule;
 import org.apache.atlas.TestUtils;
+import org.apache.atlas.repository.Constants;
 import org.apache.atlas.repository.graph.GraphHelper.VertexInfo;
 import org.apache.atlas.repository.graphdb.AtlasEdge;
 import org.apache.atlas.repository.graphdb.AtlasGraph;
 import org.apache.atlas.repository.graphdb.AtlasVertex;
 import org.apache.atlas.type.AtlasTypeRegistry;
 import org.apache.atlas.typesystem.ITypedReferenceableInstance;
+import org.apache.atlas.typesystem.persistence.Id;
 import org.apache.atlas.typesystem.types.TypeSystem;
 import org.testng.Assert;
 import org.testng.annotations.AfterClass;
@@ -44,6 +46,7 @@ import javax.inject.Inject;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
@@ -144,4 +147,56 @@ public class GraphHelperTest {
         assertFalse(iterator.hasNext());
         assertFalse(iterator.hasNext());
     }
+
+    @Test
+    public void testGetOrCreateEdgeReusesEdge() throws Exception {
+        AtlasGraph graph = TestUtils.getGraph();
+        AtlasVertex hub = graph.addVertex();
+        AtlasVertex v1 = graph.addVertex();
+        AtlasVertex v2 = graph.addVertex();
+        GraphHelper graphHelper = GraphHelper.getInstance();
+
+        AtlasEdge edge1 = graphHelper.getOrCreateEdge(v1, hub, "ref");
+        assertEquals(graphHelper.getOrCreateEdge(v1, hub, "ref").getId(), edge1.getId());
+
+        GraphHelper.startTransactionCache();
+        try {
+            AtlasEdge edge2 = graphHelper.getOrCreateEdge(v2, hub, "ref");
+            assertNotEquals(edge2.getId(), edge1.getId());
+            assertEquals(graphHelper.getOrCreateEdge(v2, hub, "ref").getId(), edge2.getId());
+            assertEquals(graphHelper.getEdgeForLabel(v2, "ref").getId(), edge2.getId());
+
+            graphHelper.removeEdge(edge2);
+            assertNull(graphHelper.getEdgeForLabel(v2, "ref"));
+            assertNotEquals(graphHelper.getOrCreateEdge(v2, hub, "ref").getId(), edge2.getId());
+        } finally {
+            GraphHelper.clearTransactionCache();
+        }
+    }
+
+    @Test
+    public void testEdgeCacheForReplacedEdge() throws Exception {
+        AtlasGraph graph = TestUtils.getGraph();
+        AtlasVertex v1 = graph.addVertex();
+        AtlasVertex v2 = graph.addVertex();
+        AtlasVertex v3 = graph.addVertex();
+        GraphHelper graphHelper = GraphHelper.getInstance();
+
+        assertTrue(GraphHelper.startTransactionCache());
+        try {
+            // a nested transaction doesn't own the cache
+            assertFalse(GraphHelper.startTransactionCache());
+
+            AtlasEdge edge1 = graphHelper.getOrCreateEdge(v1, v2, "single");
+            assertEquals(graphHelper.getEdgeForLabel(v1, "single").getId(), edge1.getId());
+
+            // replace the reference, soft deleting the current edge
+            GraphHelper.setProperty(edge1, Constants.STATE_PROPERTY_KEY, Id.EntityState.DELETED.name());
+            GraphHelper.evictCachedEdge(edge1);
+            AtlasEdge edge2 = graphHelper.getOrCreateEdge(v1, v3, "single");
+            assertEquals(graphHelper.getEdgeForLabel(v1, "single").getId(), edge2.getId());
+        } finally {
+            GraphHelper.clearTransactionCache();
+        }
+    }
 }
@@ -17,6 +17,7 @@
  */
 package org.apache.atlas.repository.typestore;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -29,11 +30,18 @@ import org.apache.atlas.repository.graph.AtlasGraphProvider;
 import org.apache.atlas.typesystem.types.AttributeInfo;
 import org.apache.atlas.typesystem.types.ClassType;
 import org.apache.atlas.typesystem.types.DataTypes.TypeCategory;
+import org.apache.atlas.typesystem.types.EnumTypeDefinition;
 import org.apache.atlas.typesystem.types.HierarchicalType;
+import org.apache.atlas.typesystem.types.HierarchicalTypeDefinition;
 import org.apache.atlas.typesystem.types.IDataType;
+import org.apache.atlas.typesystem.types.StructTypeDefinition;
 import org.apache.atlas.typesystem.types.TraitType;
 import org.apache.atlas.typesystem.types.TypeSystem;
 import org.apache.atlas.typesystem.types.TypeUtils;
+import org.apache.atlas.typesystem.types.utils.TypesUtil;
+import org.apache.commons.configuration.PropertiesConfiguration;
+import org.mockito.Matchers;
+import org.mockito.Mockito;
 import org.testng.Assert;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
@@ -132,6 +140,60 @@ public class StoreBackedTypeCacheTest {
         }
     }
 
+    @Test
+    public void testPreload() throws Exception {
+        Assert.assertFalse(typeCache.isCachedInMemory("Manager"));
+
+        Map<String, IDataType> typesAdded = typeCache.preload(ImmutableList.of("Manager", "unknown_type"));
+
+        Assert.assertTrue(typesAdded.containsKey("Manager"));
+        Assert.assertFalse(typesAdded.containsKey("unknown_type"));
+        ClassType cachedType = (ClassType) typeCache.get("Manager");
+        verifyHierarchicalType(cachedType, classTypesToTest.get("Manager"));
+
+        // already cached, so nothing to load
+        Assert.assertTrue(typeCache.preload(ImmutableList.of("Manager")).isEmpty());
+    }
+
+    @Test
+    public void testPreloadConfiguredTypes() throws Exception {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.setProperty(StoreBackedTypeCache.PRELOAD_TYPES_PROPERTY, "Manager");
+
+        // the store isn't read while the cache is created
+        StoreBackedTypeCache cache = new StoreBackedTypeCache(typeStore, configuration);
+        Assert.assertFalse(cache.isCachedInMemory("Manager"));
+
+        cache.preloadConfiguredTypes();
+        Assert.assertTrue(cache.isCachedInMemory("Manager"));
+        verifyHierarchicalType((ClassType) cache.get("Manager"), classTypesToTest.get("Manager"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testTypeNotFoundIsRemembered() throws Exception {
+        ITypeStore mockTypeStore = Mockito.mock(ITypeStore.class);
+        Mockito.when(mockTypeStore.restoreTypes(Matchers.any(Collection.class), Matchers.any(Collection.class)))
+               .thenReturn(TypesUtil.getTypesDef(ImmutableList.<EnumTypeDefinition>of(),
+                       ImmutableList.<StructTypeDefinition>of(), ImmutableList.<HierarchicalTypeDefinition<TraitType>>of(),
+                       ImmutableList.<HierarchicalTypeDefinition<ClassType>>of()));
+
+        StoreBackedTypeCache cache = new StoreBackedTypeCache(mockTypeStore, new PropertiesConfiguration());
+
+        Assert.assertNull(cache.onTypeFault("Manager"));
+        Assert.assertNull(cache.onTypeFault("Manager"));
+        Mockito.verify(mockTypeStore, Mockito.times(1)).restoreTypes(Matchers.any(Collection.class),
+                Matchers.any(Collection.class));
+
+        // a type added to the cache is no longer treated as not found
+        cache.put(classTypesToTest.get("Manager"));
+        Assert.assertTrue(cache.has("Manager"));
+        cache.remove("Manager");
+        Assert.assertNull(cache.onTypeFault("Manager"));
+        Mockito.verify(mockTypeStore, Mockito.times(2)).restoreTypes(Matchers.any(Collection.class),
+                Matchers.any(Collection.class));
+    }
+
     private <T extends HierarchicalType> void verifyHierarchicalType(T dataType, T expectedDataType) throws AtlasException {
         Assert.assertEquals(dataType.numFields, expectedDataType.numFields);
         Assert.assertEquals(dataType.immediateAttrs.size(), expectedDataType.immediateAttrs.size());
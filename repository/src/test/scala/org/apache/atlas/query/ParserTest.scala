@@ -18,7 +18,10 @@
 
 package org.apache.atlas.query
 
+import java.util.concurrent.{Callable, Executors, TimeUnit}
+
 import org.apache.atlas.repository.BaseTest
+import org.testng.Assert
 import org.testng.annotations.{BeforeMethod,Test}
 
 
@@ -84,6 +87,33 @@ class ParserTest extends BaseTest {
       )
     }
 
+  @Test def testParserIsReusedPerThread: Unit = {
+    val parser = QueryParser.parser
+    Assert.assertSame(QueryParser.parser, parser)
+
+    val queries = Seq("DB where name = \"Reporting\"", "Table loop (LoadProcess outputTable)", "DB, Table")
+    val expected = queries.map(q => QueryParser.apply(q).right.get.toString)
+
+    val executor = Executors.newFixedThreadPool(4)
+    try {
+      val futures = (1 to 40).map { i =>
+        executor.submit(new Callable[(AnyRef, String)] {
+          override def call(): (AnyRef, String) =
+            (QueryParser.parser, QueryParser.apply(queries(i % queries.size)).right.get.toString)
+        })
+      }
+      val results = futures.map(_.get(1, TimeUnit.MINUTES))
+
+      results.zipWithIndex.foreach { case ((_, parsed), i) => Assert.assertEquals(parsed, expected(i % queries.size)) }
+      // each pool thread has its own parser, which isn't the one of this thread
+      val threadParsers = results.map(_._1).distinct
+      Assert.assertTrue(threadParsers.size <= 4)
+      Assert.assertFalse(threadParsers.exists(_ eq parser))
+    } finally {
+      executor.shutdownNow()
+    }
+  }
+
   @Test def testList: Unit = {
     println(QueryParser.apply(
       "Partition as p where values = ['2015-01-01']," +
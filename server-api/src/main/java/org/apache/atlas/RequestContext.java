@@ -27,8 +27,10 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 public class RequestContext {
@@ -44,9 +46,17 @@ public class RequestContext {
     private String user;
     private long requestTime;
 
+    // Entity instances loaded in this request, by guid. Only used by contexts created for a request through
+    // createContext(), as contexts created by get() in background threads are never cleared
+    private final boolean cacheEnabled;
+    private final Map<String, ITypedReferenceableInstance> instanceCache = new HashMap<>();
+    private int instanceCacheHits;
+    private int instanceCacheMisses;
+
     TypeSystem typeSystem = TypeSystem.getInstance();
 
-    private RequestContext() {
+    private RequestContext(boolean cacheEnabled) {
+        this.cacheEnabled = cacheEnabled;
     }
 
     //To handle gets from background threads where createContext() is not called
@@ -55,7 +65,7 @@ public class RequestContext {
         if (CURRENT_CONTEXT.get() == null) {
             synchronized (RequestContext.class) {
                 if (CURRENT_CONTEXT.get() == null) {
-                    createContext();
+                    createContext(false);
                 }
             }
         }
@@ -63,13 +73,22 @@ public class RequestContext {
     }
 
     public static RequestContext createContext() {
-        RequestContext context = new RequestContext();
+        return createContext(true);
+    }
+
+    private static RequestContext createContext(boolean cacheEnabled) {
+        RequestContext context = new RequestContext(cacheEnabled);
         context.requestTime = System.currentTimeMillis();
         CURRENT_CONTEXT.set(context);
         return context;
     }
 
     public static void clear() {
+        RequestContext context = CURRENT_CONTEXT.get();
+        if (context != null && context.cacheEnabled && LOG.isDebugEnabled()) {
+            LOG.debug("Request cache: entity hits={}, misses={}", context.instanceCacheHits,
+                    context.instanceCacheMisses);
+        }
         CURRENT_CONTEXT.remove();
     }
 
@@ -83,22 +102,26 @@ public class RequestContext {
 
     public void recordEntityCreate(Collection<String> createdEntityIds) {
         this.createdEntityIds.addAll(createdEntityIds);
+        clearCachedInstances();
     }
 
     public void recordEntityUpdate(Collection<String> updatedEntityIds) {
         this.updatedEntityIds.addAll(updatedEntityIds);
+        clearCachedInstances();
     }
 
     public void recordEntityUpdate(String entityId) {
         this.updatedEntityIds.add(entityId);
+        clearCachedInstances();
     }
 
     public void recordEntityDelete(String entityId, String typeName) throws AtlasException {
-        ClassType type = typeSystem.getDataType(ClassType.class, typeName);
-        ITypedReferenceableInstance entity = type.createInstance(new Id(entityId, 0, typeName));
-        if (deletedEntityIds.add(entityId)) {
-            deletedEntities.add(entity);
+        if (!deletedEntityIds.add(entityId)) {
+            return;
         }
+        clearCachedInstances();
+        ClassType type = typeSystem.getDataType(ClassType.class, typeName);
+        deletedEntities.add(type.createInstance(new Id(entityId, 0, typeName)));
     }
 
     public List<String> getCreatedEntityIds() {
@@ -124,4 +147,49 @@ public class RequestContext {
     public boolean isDeletedEntity(String entityGuid) {
         return deletedEntityIds.contains(entityGuid);
     }
+
+    /**
+     * Returns the instance cached by cacheInstance(). The same instance is returned to every caller in the request, so
+     * it must not be modified. Instances include their composite entities, and references to other entities with
+     * their state. So any change to an entity clears all the cached instances.
+     */
+    public ITypedReferenceableInstance getCachedInstance(String guid) {
+        if (!cacheEnabled) {
+            return null;
+        }
+
+        ITypedReferenceableInstance instance = instanceCache.get(guid);
+        if (instance == null) {
+            instanceCacheMisses++;
+        } else {
+            instanceCacheHits++;
+        }
+        return instance;
+    }
+
+    public void cacheInstance(String guid, ITypedReferenceableInstance instance) {
+        if (cacheEnabled) {
+            instanceCache.put(guid, instance);
+        }
+    }
+
+    /**
+     * Clears the cached instances. To be called on any change to an entity, and when a graph transaction is rolled
+     * back, as the instances may have been read in that transaction.
+     */
+    public void clearCachedInstances() {
+        if (instanceCache.isEmpty()) {
+            // clear() walks the whole table, which stays at its largest size
+            return;
+        }
+        instanceCache.clear();
+    }
+
+    public int getInstanceCacheHits() {
+        return instanceCacheHits;
+    }
+
+    public int getInstanceCacheMisses() {
+        return instanceCacheMisses;
+    }
 }
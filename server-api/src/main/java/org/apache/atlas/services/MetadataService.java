@@ -32,6 +32,7 @@ import org.codehaus.jettison.json.JSONObject;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Metadata service.
@@ -109,6 +110,18 @@ public interface MetadataService {
      */
     String getEntityDefinition(String guid) throws AtlasException;
 
+    /**
+     * Return the given attributes of the entity with the given guid, with its composite entities down to the
+     * given depth.
+     *
+     * @param guid guid
+     * @param attributes names of the attributes to return, null for all attributes
+     * @param compositeDepth number of levels of composite entities to return, -1 for all. Composite entities
+     *                       below this depth are returned as ids
+     * @return entity definition as JSON
+     */
+    String getEntityDefinition(String guid, Set<String> attributes, int compositeDepth) throws AtlasException;
+
     /**
      * Return the definition given type and attribute. The attribute has to be unique attribute for the type
      * @param entityType - type name
@@ -127,6 +140,16 @@ public interface MetadataService {
      */
     List<String> getEntityList(String entityType) throws AtlasException;
 
+    /**
+     * Return a page of the entity guids for the given type in the repository.
+     *
+     * @param entityType type
+     * @param offset number of entities to skip
+     * @param limit maximum number of entities to return, -1 for all
+     * @return list of entity guids for the given type in the repository
+     */
+    List<String> getEntityList(String entityType, int offset, int limit) throws AtlasException;
+
     /**
      * Adds the property to the given entity id(guid).
      * Currently supports updates only on PRIMITIVE, CLASS attribute types
@@ -155,6 +178,15 @@ public interface MetadataService {
      */
     AtlasClient.EntityResult updateEntities(String entityJson) throws AtlasException;
 
+    /**
+     * Batch API - Adds/Updates the given entity instances.
+     *
+     * @param typedInstances  instances to add/update
+     * @return guids of entities created/updated
+     * @throws AtlasException if unable to add/update the entities
+     */
+    AtlasClient.EntityResult updateEntities(ITypedReferenceableInstance[] typedInstances) throws AtlasException;
+
     // Trait management functions
 
     /**
@@ -27,7 +27,7 @@ import org.apache.atlas.typesystem.types.AttributeInfo;
 import org.apache.atlas.typesystem.types.ClassType;
 import org.apache.atlas.typesystem.types.DataTypes;
 import org.apache.atlas.typesystem.types.EnumType;
-import org.apache.atlas.typesystem.types.EnumValue;
+import org.apache.atlas.typesystem.types.FieldAccessor;
 import org.apache.atlas.typesystem.types.FieldMapping;
 import org.apache.atlas.typesystem.types.StructType;
 import org.apache.atlas.typesystem.types.TypeSystem;
@@ -104,12 +104,16 @@ public class StructInstance implements ITypedStruct {
     }
 
     public void set(String attrName, Object val) throws AtlasException {
-        AttributeInfo i = fieldMapping.fields.get(attrName);
-        if (i == null) {
+        FieldAccessor accessor = fieldMapping.getAccessor(attrName);
+        if (accessor == null) {
             throw new ValueConversionException(getTypeName(), val, "Unknown field " + attrName);
         }
-        int pos = fieldMapping.fieldPos.get(attrName);
-        int nullPos = fieldMapping.fieldNullPos.get(attrName);
+
+        set(accessor, attrName, val);
+    }
+
+    private void set(FieldAccessor accessor, String attrName, Object val) throws AtlasException {
+        AttributeInfo i = accessor.attributeInfo;
         Object cVal = null;
 
         if (val != null && val instanceof Id) {
@@ -124,137 +128,38 @@ public class StructInstance implements ITypedStruct {
             }
         }
         if (cVal == null) {
-            nullFlags[nullPos] = true;
+            nullFlags[accessor.nullPos] = true;
             return;
         }
-        nullFlags[nullPos] = false;
-        if (i.dataType() == DataTypes.BOOLEAN_TYPE) {
-            bools[pos] = ((Boolean) cVal).booleanValue();
-        } else if (i.dataType() == DataTypes.BYTE_TYPE) {
-            bytes[pos] = ((Byte) cVal).byteValue();
-        } else if (i.dataType() == DataTypes.SHORT_TYPE) {
-            shorts[pos] = ((Short) cVal).shortValue();
-        } else if (i.dataType() == DataTypes.INT_TYPE) {
-            ints[pos] = ((Integer) cVal).intValue();
-        } else if (i.dataType() == DataTypes.LONG_TYPE) {
-            longs[pos] = ((Long) cVal).longValue();
-        } else if (i.dataType() == DataTypes.FLOAT_TYPE) {
-            floats[pos] = ((Float) cVal).floatValue();
-        } else if (i.dataType() == DataTypes.DOUBLE_TYPE) {
-            doubles[pos] = ((Double) cVal).doubleValue();
-        } else if (i.dataType() == DataTypes.BIGINTEGER_TYPE) {
-            bigIntegers[pos] = (BigInteger) cVal;
-        } else if (i.dataType() == DataTypes.BIGDECIMAL_TYPE) {
-            bigDecimals[pos] = (BigDecimal) cVal;
-        } else if (i.dataType() == DataTypes.DATE_TYPE) {
-            dates[pos] = (Date) cVal;
-        } else if (i.dataType() == DataTypes.STRING_TYPE) {
-            strings[pos] = (String) cVal;
-        } else if (i.dataType().getTypeCategory() == DataTypes.TypeCategory.ENUM) {
-            ints[pos] = ((EnumValue) cVal).ordinal;
-        } else if (i.dataType().getTypeCategory() == DataTypes.TypeCategory.ARRAY) {
-            arrays[pos] = (ImmutableList) cVal;
-        } else if (i.dataType().getTypeCategory() == DataTypes.TypeCategory.MAP) {
-            maps[pos] = (ImmutableMap) cVal;
-        } else if (i.dataType().getTypeCategory() == DataTypes.TypeCategory.STRUCT
-                || i.dataType().getTypeCategory() == DataTypes.TypeCategory.TRAIT) {
-            structs[pos] = (StructInstance) cVal;
-        } else if (i.dataType().getTypeCategory() == DataTypes.TypeCategory.CLASS) {
-            if (cVal instanceof Id) {
-                ids[pos] = (Id) cVal;
-            } else {
-                referenceables[pos] = (ReferenceableInstance) cVal;
-            }
-        } else {
-            throw new AtlasException(String.format("Unknown datatype %s", i.dataType()));
-        }
+        nullFlags[accessor.nullPos] = false;
+        accessor.set(this, cVal);
     }
 
     public Object get(String attrName) throws AtlasException {
-        AttributeInfo i = fieldMapping.fields.get(attrName);
-        if (i == null) {
+        FieldAccessor accessor = fieldMapping.getAccessor(attrName);
+        if (accessor == null) {
             throw new AtlasException(String.format("Unknown field %s for Struct %s", attrName, getTypeName()));
         }
-        int pos = fieldMapping.fieldPos.get(attrName);
-        int nullPos = fieldMapping.fieldNullPos.get(attrName);
 
-        if (nullFlags[nullPos]) {
+        return get(accessor);
+    }
+
+    private Object get(FieldAccessor accessor) {
+        if (nullFlags[accessor.nullPos]) {
             return null;
         }
 
-        if (i.dataType() == DataTypes.BOOLEAN_TYPE) {
-            return bools[pos];
-        } else if (i.dataType() == DataTypes.BYTE_TYPE) {
-            return bytes[pos];
-        } else if (i.dataType() == DataTypes.SHORT_TYPE) {
-            return shorts[pos];
-        } else if (i.dataType() == DataTypes.INT_TYPE) {
-            return ints[pos];
-        } else if (i.dataType() == DataTypes.LONG_TYPE) {
-            return longs[pos];
-        } else if (i.dataType() == DataTypes.FLOAT_TYPE) {
-            return floats[pos];
-        } else if (i.dataType() == DataTypes.DOUBLE_TYPE) {
-            return doubles[pos];
-        } else if (i.dataType() == DataTypes.BIGINTEGER_TYPE) {
-            return bigIntegers[pos];
-        } else if (i.dataType() == DataTypes.BIGDECIMAL_TYPE) {
-            return bigDecimals[pos];
-        } else if (i.dataType() == DataTypes.DATE_TYPE) {
-            return dates[pos];
-        } else if (i.dataType() == DataTypes.STRING_TYPE) {
-            return strings[pos];
-        } else if (i.dataType().getTypeCategory() == DataTypes.TypeCategory.ENUM) {
-            return ((EnumType) i.dataType()).fromOrdinal(ints[pos]);
-        } else if (i.dataType().getTypeCategory() == DataTypes.TypeCategory.ARRAY) {
-            return arrays[pos];
-        } else if (i.dataType().getTypeCategory() == DataTypes.TypeCategory.MAP) {
-            return maps[pos];
-        } else if (i.dataType().getTypeCategory() == DataTypes.TypeCategory.STRUCT
-                || i.dataType().getTypeCategory() == DataTypes.TypeCategory.TRAIT) {
-            return structs[pos];
-        } else if (i.dataType().getTypeCategory() == DataTypes.TypeCategory.CLASS) {
-            if (ids[pos] != null) {
-                return ids[pos];
-            } else {
-                return referenceables[pos];
-            }
-        } else {
-            throw new AtlasException(String.format("Unknown datatype %s", i.dataType()));
-        }
+        return accessor.get(this);
     }
 
     public void setNull(String attrName) throws AtlasException {
-        AttributeInfo i = fieldMapping.fields.get(attrName);
-        if (i == null) {
+        FieldAccessor accessor = fieldMapping.getAccessor(attrName);
+        if (accessor == null) {
             throw new AtlasException(String.format("Unknown field %s for Struct %s", attrName, getTypeName()));
         }
-        int nullPos = fieldMapping.fieldNullPos.get(attrName);
-        nullFlags[nullPos] = true;
 
-        int pos = fieldMapping.fieldPos.get(attrName);
-
-        if (i.dataType() == DataTypes.BIGINTEGER_TYPE) {
-            bigIntegers[pos] = null;
-        } else if (i.dataType() == DataTypes.BIGDECIMAL_TYPE) {
-            bigDecimals[pos] = null;
-        } else if (i.dataType() == DataTypes.DATE_TYPE) {
-            dates[pos] = null;
-        } else if (i.dataType() == DataTypes.STRING_TYPE) {
-            strings[pos] = null;
-        } else if (i.dataType().getTypeCategory() == DataTypes.TypeCategory.ARRAY) {
-            arrays[pos] = null;
-        } else if (i.dataType().getTypeCategory() == DataTypes.TypeCategory.MAP) {
-            maps[pos] = null;
-        } else if (i.dataType().getTypeCategory() == DataTypes.TypeCategory.STRUCT
-            || i.dataType().getTypeCategory() == DataTypes.TypeCategory.TRAIT) {
-            structs[pos] = null;
-        } else if (i.dataType().getTypeCategory() == DataTypes.TypeCategory.CLASS) {
-                ids[pos] = null;
-                referenceables[pos] = null;
-        } else {
-            throw new AtlasException(String.format("Unknown datatype %s", i.dataType()));
-        }
+        nullFlags[accessor.nullPos] = true;
+        accessor.clear(this);
     }
 
     /*
@@ -0,0 +1,305 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.atlas.typesystem.types;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import org.apache.atlas.typesystem.persistence.Id;
+import org.apache.atlas.typesystem.persistence.ReferenceableInstance;
+import org.apache.atlas.typesystem.persistence.StructInstance;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Date;
+
+/**
+ * Reads and writes one attribute of a {@link StructInstance}. The slot array holding the attribute is picked once,
+ * when the {@link FieldMapping} is created, instead of by comparing data types on every access.
+ *
+ * Accessors don't check or convert values, or maintain the null flags; that is left to StructInstance.
+ */
+public abstract class FieldAccessor {
+    // name of the field in the FieldMapping, which differs from the attribute name for overridden attributes
+    public final String name;
+    public final AttributeInfo attributeInfo;
+    public final int pos;
+    public final int nullPos;
+
+    private FieldAccessor(String name, AttributeInfo attributeInfo, int pos, int nullPos) {
+        this.name = name;
+        this.attributeInfo = attributeInfo;
+        this.pos = pos;
+        this.nullPos = nullPos;
+    }
+
+    public abstract Object get(StructInstance s);
+
+    public abstract void set(StructInstance s, Object val);
+
+    /**
+     * Releases the object held in the slot, if any.
+     */
+    public void clear(StructInstance s) {
+    }
+
+    static FieldAccessor create(String name, AttributeInfo i, int pos, int nullPos) {
+        if (i.dataType() == DataTypes.BOOLEAN_TYPE) {
+            return new FieldAccessor(name, i, pos, nullPos) {
+                @Override
+                public Object get(StructInstance s) {
+                    return s.bools[pos];
+                }
+
+                @Override
+                public void set(StructInstance s, Object val) {
+                    s.bools[pos] = ((Boolean) val).booleanValue();
+                }
+            };
+        } else if (i.dataType() == DataTypes.BYTE_TYPE) {
+            return new FieldAccessor(name, i, pos, nullPos) {
+                @Override
+                public Object get(StructInstance s) {
+                    return s.bytes[pos];
+                }
+
+                @Override
+                public void set(StructInstance s, Object val) {
+                    s.bytes[pos] = ((Byte) val).byteValue();
+                }
+            };
+        } else if (i.dataType() == DataTypes.SHORT_TYPE) {
+            return new FieldAccessor(name, i, pos, nullPos) {
+                @Override
+                public Object get(StructInstance s) {
+                    return s.shorts[pos];
+                }
+
+                @Override
+                public void set(StructInstance s, Object val) {
+                    s.shorts[pos] = ((Short) val).shortValue();
+                }
+            };
+        } else if (i.dataType() == DataTypes.INT_TYPE) {
+            return new FieldAccessor(name, i, pos, nullPos) {
+                @Override
+                public Object get(StructInstance s) {
+                    return s.ints[pos];
+                }
+
+                @Override
+                public void set(StructInstance s, Object val) {
+                    s.ints[pos] = ((Integer) val).intValue();
+                }
+            };
+        } else if (i.dataType() == DataTypes.LONG_TYPE) {
+            return new FieldAccessor(name, i, pos, nullPos) {
+                @Override
+                public Object get(StructInstance s) {
+                    return s.longs[pos];
+                }
+
+                @Override
+                public void set(StructInstance s, Object val) {
+                    s.longs[pos] = ((Long) val).longValue();
+                }
+            };
+        } else if (i.dataType() == DataTypes.FLOAT_TYPE) {
+            return new FieldAccessor(name, i, pos, nullPos) {
+                @Override
+                public Object get(StructInstance s) {
+                    return s.floats[pos];
+                }
+
+                @Override
+                public void set(StructInstance s, Object val) {
+                    s.floats[pos] = ((Float) val).floatValue();
+                }
+            };
+        } else if (i.dataType() == DataTypes.DOUBLE_TYPE) {
+            return new FieldAccessor(name, i, pos, nullPos) {
+                @Override
+                public Object get(StructInstance s) {
+                    return s.doubles[pos];
+                }
+
+                @Override
+                public void set(StructInstance s, Object val) {
+                    s.doubles[pos] = ((Double) val).doubleValue();
+                }
+            };
+        } else if (i.dataType() == DataTypes.BIGINTEGER_TYPE) {
+            return new FieldAccessor(name, i, pos, nullPos) {
+                @Override
+                public Object get(StructInstance s) {
+                    return s.bigIntegers[pos];
+                }
+
+                @Override
+                public void set(StructInstance s, Object val) {
+                    s.bigIntegers[pos] = (BigInteger) val;
+                }
+
+                @Override
+                public void clear(StructInstance s) {
+                    s.bigIntegers[pos] = null;
+                }
+            };
+        } else if (i.dataType() == DataTypes.BIGDECIMAL_TYPE) {
+            return new FieldAccessor(name, i, pos, nullPos) {
+                @Override
+                public Object get(StructInstance s) {
+                    return s.bigDecimals[pos];
+                }
+
+                @Override
+                public void set(StructInstance s, Object val) {
+                    s.bigDecimals[pos] = (BigDecimal) val;
+                }
+
+                @Override
+                public void clear(StructInstance s) {
+                    s.bigDecimals[pos] = null;
+                }
+            };
+        } else if (i.dataType() == DataTypes.DATE_TYPE) {
+            return new FieldAccessor(name, i, pos, nullPos) {
+                @Override
+                public Object get(StructInstance s) {
+                    return s.dates[pos];
+                }
+
+                @Override
+                public void set(StructInstance s, Object val) {
+                    s.dates[pos] = (Date) val;
+                }
+
+                @Override
+                public void clear(StructInstance s) {
+                    s.dates[pos] = null;
+                }
+            };
+        } else if (i.dataType() == DataTypes.STRING_TYPE) {
+            return new FieldAccessor(name, i, pos, nullPos) {
+                @Override
+                public Object get(StructInstance s) {
+                    return s.strings[pos];
+                }
+
+                @Override
+                public void set(StructInstance s, Object val) {
+                    s.strings[pos] = (String) val;
+                }
+
+                @Override
+                public void clear(StructInstance s) {
+                    s.strings[pos] = null;
+                }
+            };
+        } else if (i.dataType().getTypeCategory() == DataTypes.TypeCategory.ENUM) {
+            return new FieldAccessor(name, i, pos, nullPos) {
+                @Override
+                public Object get(StructInstance s) {
+                    return ((EnumType) attributeInfo.dataType()).fromOrdinal(s.ints[pos]);
+                }
+
+                @Override
+                public void set(StructInstance s, Object val) {
+                    s.ints[pos] = ((EnumValue) val).ordinal;
+                }
+            };
+        } else if (i.dataType().getTypeCategory() == DataTypes.TypeCategory.ARRAY) {
+            return new FieldAccessor(name, i, pos, nullPos) {
+                @Override
+                public Object get(StructInstance s) {
+                    return s.arrays[pos];
+                }
+
+                @Override
+                public void set(StructInstance s, Object val) {
+                    s.arrays[pos] = (ImmutableList) val;
+                }
+
+                @Override
+                public void clear(StructInstance s) {
+                    s.arrays[pos] = null;
+                }
+            };
+        } else if (i.dataType().getTypeCategory() == DataTypes.TypeCategory.MAP) {
+            return new FieldAccessor(name, i, pos, nullPos) {
+                @Override
+                public Object get(StructInstance s) {
+                    return s.maps[pos];
+                }
+
+                @Override
+                public void set(StructInstance s, Object val) {
+                    s.maps[pos] = (ImmutableMap) val;
+                }
+
+                @Override
+                public void clear(StructInstance s) {
+                    s.maps[pos] = null;
+                }
+            };
+        } else if (i.dataType().getTypeCategory() == DataTypes.TypeCategory.STRUCT
+                || i.dataType().getTypeCategory() == DataTypes.TypeCategory.TRAIT) {
+            return new FieldAccessor(name, i, pos, nullPos) {
+                @Override
+                public Object get(StructInstance s) {
+                    return s.structs[pos];
+                }
+
+                @Override
+                public void set(StructInstance s, Object val) {
+                    s.structs[pos] = (StructInstance) val;
+                }
+
+                @Override
+                public void clear(StructInstance s) {
+                    s.structs[pos] = null;
+                }
+            };
+        } else if (i.dataType().getTypeCategory() == DataTypes.TypeCategory.CLASS) {
+            return new FieldAccessor(name, i, pos, nullPos) {
+                @Override
+                public Object get(StructInstance s) {
+                    return s.ids[pos] != null ? s.ids[pos] : s.referenceables[pos];
+                }
+
+                @Override
+                public void set(StructInstance s, Object val) {
+                    if (val instanceof Id) {
+                        s.ids[pos] = (Id) val;
+                    } else {
+                        s.referenceables[pos] = (ReferenceableInstance) val;
+                    }
+                }
+
+                @Override
+                public void clear(StructInstance s) {
+                    s.ids[pos] = null;
+                    s.referenceables[pos] = null;
+                }
+            };
+        } else {
+            throw new IllegalArgumentException(String.format("Unknown datatype %s", i.dataType()));
+        }
+    }
+}
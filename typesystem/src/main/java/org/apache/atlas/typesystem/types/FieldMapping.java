@@ -23,6 +23,7 @@ import org.apache.atlas.typesystem.IReferenceableInstance;
 import org.apache.atlas.typesystem.IStruct;
 import org.apache.atlas.typesystem.persistence.Id;
 
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -48,6 +49,8 @@ public class FieldMapping {
     public final int numStructs;
     public final int numReferenceables;
 
+    private final Map<String, FieldAccessor> accessorsByName;
+
     public FieldMapping(Map<String, AttributeInfo> fields, Map<String, Integer> fieldPos,
             Map<String, Integer> fieldNullPos, int numBools, int numBytes, int numShorts, int numInts, int numLongs,
             int numFloats, int numDoubles, int numBigInts, int numBigDecimals, int numDates, int numStrings,
@@ -70,6 +73,27 @@ public class FieldMapping {
         this.numMaps = numMaps;
         this.numStructs = numStructs;
         this.numReferenceables = numReferenceables;
+
+        // Mappings without field positions, only used for their attribute names, can't hold values
+        boolean hasPositions = fieldPos != null && fieldNullPos != null;
+        this.accessorsByName = new HashMap<>(fields.size());
+        for (Map.Entry<String, AttributeInfo> e : fields.entrySet()) {
+            String attrName = e.getKey();
+            if (!hasPositions || e.getValue() == null) {
+                continue;
+            }
+            FieldAccessor accessor = FieldAccessor.create(attrName, e.getValue(), fieldPos.get(attrName),
+                    fieldNullPos.get(attrName));
+
+            accessorsByName.put(attrName, accessor);
+        }
+    }
+
+    /**
+     * @return the accessor of the given field, null if there is no such field
+     */
+    public FieldAccessor getAccessor(String attrName) {
+        return accessorsByName.get(attrName);
     }
 
     protected void outputFields(IStruct s, Appendable buf, String fieldPrefix, Set<? extends IStruct> inProcess) throws AtlasException {
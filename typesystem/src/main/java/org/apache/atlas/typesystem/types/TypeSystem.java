@@ -35,11 +35,13 @@ import java.lang.reflect.Constructor;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.inject.Singleton;
 
@@ -61,11 +63,21 @@ public class TypeSystem {
     private TypeCache typeCache  = new DefaultTypeCache();
     private IdType idType;
     private Map<String, IDataType> coreTypes;
+    private final AtomicLong changeCount = new AtomicLong();
 
     public TypeSystem() {
         initialize();
     }
 
+    /**
+     * For {@link TransientTypeSystem}, which gets the core types from the type system it is created from.
+     */
+    private TypeSystem(boolean initialize) {
+        if (initialize) {
+            initialize();
+        }
+    }
+
     public static TypeSystem getInstance() {
         return INSTANCE;
     }
@@ -78,12 +90,14 @@ public class TypeSystem {
 
         typeCache.clear(); // clear all entries in cache
         initialize();
+        changeCount.incrementAndGet();
 
         return this;
     }
 
     public void setTypeCache(TypeCache typeCache) {
         this.typeCache = typeCache;
+        changeCount.incrementAndGet();
     }
 
     private void initialize() {
@@ -315,6 +329,7 @@ public class TypeSystem {
 
         EnumType eT = new EnumType(this, eDef.name, eDef.description, eDef.version, eDef.enumValues);
         typeCache.put(eT);
+        changeCount.incrementAndGet();
         return eT;
     }
 
@@ -355,11 +370,16 @@ public class TypeSystem {
      * @throws AtlasException
      */
     public void commitTypes(Map<String, IDataType> typesAdded) throws AtlasException {
-        for (Map.Entry<String, IDataType> typeEntry : typesAdded.entrySet()) {
-            IDataType type = typeEntry.getValue();
-            //Add/replace the new type in the typesystem
-            typeCache.put(type);
-        }
+        typeCache.putAll(typesAdded.values());
+        changeCount.incrementAndGet();
+    }
+
+    /**
+     * Returns a counter that changes whenever types are defined or committed in, or reset in, this type system. Can be used
+     * to detect that data derived from types, like validated queries, might be stale.
+     */
+    public long getChangeCount() {
+        return changeCount.get();
     }
 
     public class TransientTypeSystem extends TypeSystem {
@@ -383,6 +403,8 @@ public class TypeSystem {
         TransientTypeSystem(ImmutableList<EnumTypeDefinition> enumDefs, ImmutableList<StructTypeDefinition> structDefs,
                             ImmutableList<HierarchicalTypeDefinition<TraitType>> traitDefs,
                             ImmutableList<HierarchicalTypeDefinition<ClassType>> classDefs) {
+            // only the given types are held here; core types and all other types are looked up in the parent
+            super(false);
             this.enumDefs = enumDefs;
             this.structDefs = structDefs;
             this.traitDefs = traitDefs;
@@ -453,6 +475,16 @@ public class TypeSystem {
             return transientTypes.containsKey(typeName) || TypeSystem.this.isRegistered(typeName);
         }
 
+        @Override
+        protected boolean isCoreType(String typeName) {
+            return TypeSystem.this.isCoreType(typeName);
+        }
+
+        @Override
+        public IdType getIdType() {
+            return TypeSystem.this.getIdType();
+        }
+
         private <U extends HierarchicalType> void validateSuperTypes(Class<U> cls, HierarchicalTypeDefinition<U> def)
         throws AtlasException {
             for (String superTypeName : def.superTypes) {
@@ -629,7 +661,7 @@ public class TypeSystem {
 
         @Override
         public ImmutableList<String> getTypeNames() throws AtlasException {
-            Set<String> typeNames = transientTypes.keySet();
+            Set<String> typeNames = new HashSet<>(transientTypes.keySet());
             typeNames.addAll(TypeSystem.this.getTypeNames());
             return ImmutableList.copyOf(typeNames);
         }
@@ -249,8 +249,12 @@ public class DefaultTypeCache implements TypeCache {
     @Override
     public void putAll(Collection<IDataType> types) throws AtlasException {
 
+        // validate all the types first, so that an invalid type doesn't leave only some of them added
         for (IDataType type : types) {
             assertValidType(type);
+        }
+
+        for (IDataType type : types) {
             types_.put(type.getName(), type);
         }
     }
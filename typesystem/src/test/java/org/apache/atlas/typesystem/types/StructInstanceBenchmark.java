@@ -0,0 +1,107 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.typesystem.types;
+
+import org.apache.atlas.typesystem.ITypedStruct;
+import org.apache.atlas.typesystem.types.utils.TypesUtil;
+
+import java.util.Date;
+
+/**
+ * Measures StructInstance.set(), get() and getValuesMap() on a struct type with many attributes. Not run as part of
+ * the test suite; run with the typesystem module's test classpath:
+ *
+ * java org.apache.atlas.typesystem.types.StructInstanceBenchmark [number of attributes] [iterations]
+ */
+public class StructInstanceBenchmark {
+    private static final String STRUCT_TYPE = "benchmark_struct";
+
+    private static final String[] ATTRIBUTE_TYPES = {
+            DataTypes.INT_TYPE.getName(),
+            DataTypes.LONG_TYPE.getName(),
+            DataTypes.STRING_TYPE.getName(),
+            DataTypes.BOOLEAN_TYPE.getName(),
+            DataTypes.DOUBLE_TYPE.getName(),
+            DataTypes.DATE_TYPE.getName(),
+    };
+
+    public static void main(String[] args) throws Exception {
+        int numAttributes = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int iterations    = args.length > 1 ? Integer.parseInt(args[1]) : 20000;
+
+        AttributeDefinition[] attrDefs = new AttributeDefinition[numAttributes];
+        Object[]              values   = new Object[numAttributes];
+        String[]              names    = new String[numAttributes];
+        Date                  now      = new Date();
+
+        for (int i = 0; i < numAttributes; i++) {
+            names[i]    = "attr" + i;
+            attrDefs[i] = TypesUtil.createOptionalAttrDef(names[i], ATTRIBUTE_TYPES[i % ATTRIBUTE_TYPES.length]);
+            switch (i % ATTRIBUTE_TYPES.length) {
+                case 0: values[i] = i; break;
+                case 1: values[i] = (long) i; break;
+                case 2: values[i] = "value" + i; break;
+                case 3: values[i] = true; break;
+                case 4: values[i] = (double) i; break;
+                default: values[i] = now; break;
+            }
+        }
+
+        StructType    structType = new TypeSystem().defineStructType(STRUCT_TYPE, true, attrDefs);
+        ITypedStruct  struct     = structType.createInstance();
+
+        // warm up
+        for (int n = 0; n < iterations / 10; n++) {
+            for (int i = 0; i < numAttributes; i++) {
+                struct.set(names[i], values[i]);
+                struct.get(names[i]);
+            }
+            struct.getValuesMap();
+        }
+
+        long startTime = System.nanoTime();
+        for (int n = 0; n < iterations; n++) {
+            for (int i = 0; i < numAttributes; i++) {
+                struct.set(names[i], values[i]);
+            }
+        }
+        report("set", (long) iterations * numAttributes, System.nanoTime() - startTime);
+
+        long checksum = 0;
+        startTime = System.nanoTime();
+        for (int n = 0; n < iterations; n++) {
+            for (int i = 0; i < numAttributes; i++) {
+                checksum += struct.get(names[i]) == null ? 0 : 1;
+            }
+        }
+        report("get", (long) iterations * numAttributes, System.nanoTime() - startTime);
+
+        startTime = System.nanoTime();
+        for (int n = 0; n < iterations; n++) {
+            checksum += struct.getValuesMap().size();
+        }
+        report("getValuesMap", iterations, System.nanoTime() - startTime);
+
+        System.out.println("checksum " + checksum);
+    }
+
+    private static void report(String operation, long numOps, long timeTakenNs) {
+        System.out.println(String.format("%-13s %d ops in %d ms: %.1f ns/op", operation, numOps,
+                timeTakenNs / 1000000, timeTakenNs / (double) numOps));
+    }
+}
@@ -24,6 +24,7 @@ import org.apache.atlas.AtlasException;
 import org.apache.atlas.typesystem.ITypedStruct;
 import org.apache.atlas.typesystem.Struct;
 import org.apache.atlas.typesystem.TypesDef;
+import org.apache.atlas.typesystem.persistence.StructInstance;
 import org.apache.atlas.typesystem.types.utils.TypesUtil;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
@@ -72,6 +73,20 @@ public class StructTest extends TypeUpdateBaseTest {
                 "}");
     }
 
+    @Test
+    public void testSetNullOfPrimitiveField() throws AtlasException {
+        StructInstance ts = (StructInstance) structType.convert(createStruct(), Multiplicity.REQUIRED);
+
+        ts.set("d", 5);
+        Assert.assertEquals(ts.get("d"), (short) 5);
+        Assert.assertEquals(ts.getShort("d"), 5);
+
+        ts.setNull("d");
+        Assert.assertNull(ts.get("d"));
+        Assert.assertEquals(ts.fieldMapping().getAccessor("d").attributeInfo.name, "d");
+        Assert.assertNull(ts.fieldMapping().getAccessor("unknown"));
+    }
+
     @Test
     public void testStructWithEmptyString() throws AtlasException{
         try {
@@ -22,6 +22,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 
 import org.apache.atlas.AtlasException;
+import org.apache.atlas.typesystem.TypesDef;
 import org.apache.atlas.typesystem.exception.TypeExistsException;
 import org.apache.atlas.typesystem.types.utils.TypesUtil;
 import org.apache.commons.lang3.RandomStringUtils;
@@ -290,6 +291,34 @@ public class TypeSystemTest extends BaseTest {
         }
     }
 
+    @Test
+    public void testTransientTypeSystem() throws Exception {
+        TypeSystem typeSystem = getTypeSystem();
+        String structName = random();
+        typeSystem.defineStructType(structName, true, createRequiredAttrDef("name", DataTypes.STRING_TYPE));
+
+        String traitName = random();
+        HierarchicalTypeDefinition<TraitType> traitDef = createTraitTypeDef(traitName, ImmutableSet.<String>of(),
+                createOptionalAttrDef("created", DataTypes.DATE_TYPE),
+                createOptionalAttrDef("owner", structName),
+                createOptionalAttrDef("ids", DataTypes.arrayTypeName(typeSystem.getIdType().getName())));
+        TypesDef typesDef = TypesUtil.getTypesDef(ImmutableList.<EnumTypeDefinition>of(),
+                ImmutableList.<StructTypeDefinition>of(), ImmutableList.of(traitDef),
+                ImmutableList.<HierarchicalTypeDefinition<ClassType>>of());
+
+        TypeSystem.TransientTypeSystem transientTypeSystem = typeSystem.createTransientTypeSystem(typesDef, false);
+        Assert.assertEquals(transientTypeSystem.getTypesAdded().keySet(), ImmutableSet.of(traitName));
+        Assert.assertTrue(transientTypeSystem.getTypeNames().containsAll(ImmutableSet.of(structName, traitName)));
+        Assert.assertEquals(transientTypeSystem.getCoreTypes(), typeSystem.getCoreTypes());
+        Assert.assertSame(transientTypeSystem.getIdType(), typeSystem.getIdType());
+        Assert.assertFalse(typeSystem.isRegistered(traitName));
+
+        typeSystem.commitTypes(transientTypeSystem.getTypesAdded());
+        TraitType traitType = typeSystem.getDataType(TraitType.class, traitName);
+        Assert.assertSame(traitType.fieldMapping.fields.get("owner").dataType(),
+                typeSystem.getDataType(StructType.class, structName));
+    }
+
     @Test(expectedExceptions = ValueConversionException.class)
     public void testConvertInvalidDate() throws Exception {
        DataTypes.DATE_TYPE.convert("", Multiplicity.OPTIONAL);
@@ -19,6 +19,8 @@
 package org.apache.atlas;
 
 import com.google.inject.Inject;
+import org.apache.atlas.services.MetadataService;
+import org.apache.atlas.typesystem.ITypedReferenceableInstance;
 import org.apache.atlas.typesystem.Referenceable;
 import org.apache.atlas.typesystem.TypesDef;
 import org.apache.atlas.typesystem.json.InstanceSerialization;
@@ -34,6 +36,7 @@ import org.slf4j.LoggerFactory;
 
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Response;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
@@ -50,22 +53,26 @@ public class LocalAtlasClient extends AtlasClient {
 
     private final ServiceState serviceState;
 
+    private final MetadataService metadataService;
+
     @Inject
-    public LocalAtlasClient(ServiceState serviceState, EntityResource entityResource) {
+    public LocalAtlasClient(ServiceState serviceState, EntityResource entityResource, MetadataService metadataService) {
         super();
         this.serviceState = serviceState;
         this.entityResource = entityResource;
+        this.metadataService = metadataService;
     }
 
-    private String user;
+    // consumer threads share this client, so the user is tracked per thread
+    private final ThreadLocal<String> user = new ThreadLocal<>();
 
     public void setUser(String user) {
-        this.user = user;
+        this.user.set(user);
     }
 
     private void setRequestContext() {
         RequestContext requestContext = RequestContext.createContext();
-        requestContext.setUser(user);
+        requestContext.setUser(user.get());
     }
 
     @Override
@@ -103,6 +110,67 @@ public class LocalAtlasClient extends AtlasClient {
         return results;
     }
 
+    /**
+     * Creates the entities by calling MetadataService directly, without serializing them to json.
+     */
+    @Override
+    public List<String> createEntity(Collection<Referenceable> entities) throws AtlasServiceException {
+        LOG.debug("Creating entities: {}", entities);
+        TypedEntityOperation entityOperation = new TypedEntityOperation(API.CREATE_ENTITY) {
+            @Override
+            EntityResult invoke(ITypedReferenceableInstance[] typedInstances) throws AtlasException {
+                return new EntityResult(metadataService.createEntities(typedInstances), null, null);
+            }
+        };
+        EntityResult results = entityOperation.run(entities);
+        LOG.debug("Create entities returned results: {}", results);
+        return results.getCreatedEntities();
+    }
+
+    /**
+     * Updates the entities by calling MetadataService directly, without serializing them to json.
+     */
+    @Override
+    public EntityResult updateEntities(Collection<Referenceable> entities) throws AtlasServiceException {
+        LOG.debug("Updating entities: {}", entities);
+        TypedEntityOperation entityOperation = new TypedEntityOperation(API.UPDATE_ENTITY) {
+            @Override
+            EntityResult invoke(ITypedReferenceableInstance[] typedInstances) throws AtlasException {
+                return metadataService.updateEntities(typedInstances);
+            }
+        };
+        EntityResult results = entityOperation.run(entities);
+        LOG.debug("Update entities returned results: {}", results);
+        return results;
+    }
+
+    private abstract class TypedEntityOperation {
+        private final API api;
+
+        public TypedEntityOperation(API api) {
+            this.api = api;
+        }
+
+        public EntityResult run(Collection<Referenceable> entities) throws AtlasServiceException {
+            setRequestContext();
+            AuditFilter.audit(user.get(), CLASS, api.getMethod(), LOCALHOST, api.getPath(), LOCALHOST, DateTimeHelper.formatDateUTC(new Date()));
+
+            try {
+                ITypedReferenceableInstance[] typedInstances = new ITypedReferenceableInstance[entities.size()];
+                int index = 0;
+                for (Referenceable entity : entities) {
+                    typedInstances[index++] = metadataService.getTypedReferenceableInstance(entity);
+                }
+
+                return invoke(typedInstances);
+            } catch (AtlasException | RuntimeException e) {
+                throw new AtlasServiceException(api, e);
+            }
+        }
+
+        abstract EntityResult invoke(ITypedReferenceableInstance[] typedInstances) throws AtlasException;
+    }
+
     private abstract class EntityOperation {
         private final API api;
 
@@ -112,7 +180,7 @@ public class LocalAtlasClient extends AtlasClient {
 
         public JSONObject run() throws AtlasServiceException {
             setRequestContext();
-            AuditFilter.audit(user, CLASS, api.getMethod(), LOCALHOST, api.getPath(), LOCALHOST, DateTimeHelper.formatDateUTC(new Date()));
+            AuditFilter.audit(user.get(), CLASS, api.getMethod(), LOCALHOST, api.getPath(), LOCALHOST, DateTimeHelper.formatDateUTC(new Date()));
 
             try {
                 Response response = invoke();
@@ -211,6 +279,12 @@ public class LocalAtlasClient extends AtlasClient {
         throw new IllegalStateException("Not supported in LocalAtlasClient");
     }
 
+    @Override
+    public Referenceable getEntity(String guid, Collection<String> attributes, int depth)
+            throws AtlasServiceException {
+        throw new IllegalStateException("Not supported in LocalAtlasClient");
+    }
+
     @Override
     public Referenceable getEntity(final String entityType, final String attribute, final String value)
             throws AtlasServiceException {
@@ -222,6 +296,12 @@ public class LocalAtlasClient extends AtlasClient {
         throw new IllegalStateException("Not supported in LocalAtlasClient");
     }
 
+    @Override
+    public List<String> listEntities(final String entityType, final int limit, final int offset)
+            throws AtlasServiceException {
+        throw new IllegalStateException("Not supported in LocalAtlasClient");
+    }
+
     @Override
     public List<EntityAuditEvent> getEntityAuditEvents(String entityId, String startKey, short numResults)
             throws AtlasServiceException {
@@ -0,0 +1,189 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.notification;
+
+import org.apache.atlas.AtlasClient;
+import org.apache.atlas.notification.hook.HookNotification;
+import org.apache.atlas.typesystem.Referenceable;
+import org.apache.atlas.typesystem.Struct;
+import org.apache.atlas.typesystem.persistence.Id;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Partitions hook messages into lanes that can be processed in parallel. All messages that touch a common entity -
+ * directly, or transitively through other messages in the same batch - are placed in the same lane, in the order
+ * they were received. Entities are identified by their qualifiedName or guid.
+ */
+class HookMessagePartitioner {
+    private final int numLanes;
+
+    HookMessagePartitioner(int numLanes) {
+        this.numLanes = numLanes;
+    }
+
+    /**
+     * @param messages messages in the order they were received
+     * @return numLanes lists of messages; some of them may be empty
+     */
+    List<List<HookNotification.HookNotificationMessage>> partition(List<HookNotification.HookNotificationMessage> messages) {
+        int[] parent = new int[messages.size()];
+        Map<String, Integer> keyOwners = new HashMap<>();
+
+        for (int i = 0; i < messages.size(); i++) {
+            parent[i] = i;
+
+            for (String key : getEntityKeys(messages.get(i))) {
+                Integer owner = keyOwners.get(key);
+
+                if (owner == null) {
+                    keyOwners.put(key, i);
+                } else {
+                    union(parent, owner, i);
+                }
+            }
+        }
+
+        Map<Integer, List<HookNotification.HookNotificationMessage>> components = new LinkedHashMap<>();
+        for (int i = 0; i < messages.size(); i++) {
+            int root = find(parent, i);
+            List<HookNotification.HookNotificationMessage> component = components.get(root);
+
+            if (component == null) {
+                component = new ArrayList<>();
+                components.put(root, component);
+            }
+            component.add(messages.get(i));
+        }
+
+        // assign the largest components first, each to the lane with the fewest messages so far
+        List<List<HookNotification.HookNotificationMessage>> sorted = new ArrayList<>(components.values());
+        Collections.sort(sorted, new Comparator<List<HookNotification.HookNotificationMessage>>() {
+            @Override
+            public int compare(List<HookNotification.HookNotificationMessage> c1,
+                               List<HookNotification.HookNotificationMessage> c2) {
+                return c2.size() - c1.size();
+            }
+        });
+
+        List<List<HookNotification.HookNotificationMessage>> lanes = new ArrayList<>(numLanes);
+        for (int i = 0; i < numLanes; i++) {
+            lanes.add(new ArrayList<HookNotification.HookNotificationMessage>());
+        }
+
+        for (List<HookNotification.HookNotificationMessage> component : sorted) {
+            List<HookNotification.HookNotificationMessage> lane = lanes.get(0);
+
+            for (List<HookNotification.HookNotificationMessage> candidate : lanes) {
+                if (candidate.size() < lane.size()) {
+                    lane = candidate;
+                }
+            }
+            lane.addAll(component);
+        }
+
+        return lanes;
+    }
+
+    static Set<String> getEntityKeys(HookNotification.HookNotificationMessage message) {
+        Set<String> ret = new LinkedHashSet<>();
+
+        switch (message.getType()) {
+        case ENTITY_CREATE:
+        case ENTITY_FULL_UPDATE:
+            addEntityKeys(((HookNotification.EntityCreateRequest) message).getEntities(), ret,
+                    new IdentityHashMap<Object, Boolean>());
+            break;
+
+        case ENTITY_PARTIAL_UPDATE:
+            HookNotification.EntityPartialUpdateRequest partialUpdateRequest =
+                    (HookNotification.EntityPartialUpdateRequest) message;
+            ret.add(partialUpdateRequest.getAttributeValue());
+            addEntityKeys(partialUpdateRequest.getEntity(), ret, new IdentityHashMap<Object, Boolean>());
+            break;
+
+        case ENTITY_DELETE:
+            ret.add(((HookNotification.EntityDeleteRequest) message).getAttributeValue());
+            break;
+
+        default:
+            break;
+        }
+
+        ret.remove(null);
+        return ret;
+    }
+
+    private static void addEntityKeys(Object value, Set<String> keys, Map<Object, Boolean> visited) {
+        if (value == null || visited.put(value, Boolean.TRUE) != null) {
+            return;
+        }
+
+        if (value instanceof Referenceable) {
+            Referenceable entity = (Referenceable) value;
+            Object qualifiedName = entity.get(AtlasClient.REFERENCEABLE_ATTRIBUTE_NAME);
+
+            if (qualifiedName != null) {
+                keys.add(qualifiedName.toString());
+            }
+            addEntityKeys(entity.getId(), keys, visited);
+            addEntityKeys(entity.getValuesMap().values(), keys, visited);
+        } else if (value instanceof Id) {
+            Id id = (Id) value;
+
+            if (id.isAssigned()) {
+                keys.add(id._getId());
+            }
+        } else if (value instanceof Struct) {
+            addEntityKeys(((Struct) value).getValuesMap().values(), keys, visited);
+        } else if (value instanceof Collection) {
+            for (Object element : (Collection) value) {
+                addEntityKeys(element, keys, visited);
+            }
+        } else if (value instanceof Map) {
+            addEntityKeys(((Map) value).values(), keys, visited);
+        }
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static void union(int[] parent, int i, int j) {
+        int rootI = find(parent, i);
+        int rootJ = find(parent, j);
+
+        if (rootI != rootJ) {
+            parent[Math.max(rootI, rootJ)] = Math.min(rootI, rootJ);
+        }
+    }
+}
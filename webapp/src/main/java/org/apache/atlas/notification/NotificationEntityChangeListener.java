@@ -18,8 +18,13 @@
 package org.apache.atlas.notification;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
 import com.google.inject.Inject;
+import org.apache.atlas.ApplicationProperties;
 import org.apache.atlas.AtlasException;
+import org.apache.atlas.hook.AtlasHook;
+import org.apache.atlas.hook.FailedMessagesLogger;
 import org.apache.atlas.listener.EntityChangeListener;
 import org.apache.atlas.notification.entity.EntityNotification;
 import org.apache.atlas.notification.entity.EntityNotificationImpl;
@@ -31,6 +36,9 @@ import org.apache.atlas.typesystem.Struct;
 import org.apache.atlas.typesystem.types.FieldMapping;
 import org.apache.atlas.typesystem.types.TraitType;
 import org.apache.atlas.typesystem.types.TypeSystem;
+import org.apache.commons.configuration.Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.Collection;
 import java.util.Collections;
@@ -44,9 +52,16 @@ import java.util.Set;
  * Listen to the repository for entity changes and produce entity change notifications.
  */
 public class NotificationEntityChangeListener implements EntityChangeListener {
+    private static final Logger LOG = LoggerFactory.getLogger(NotificationEntityChangeListener.class);
+
+    public static final String NOTIFICATION_RETRIES_PROPERTY = "atlas.notification.entity.retries";
+    public static final String FAILED_MESSAGES_LOG_DEFAULT_NAME = "atlas_entity_failed_messages.log";
 
     private final NotificationInterface notificationInterface;
     private final TypeSystem typeSystem;
+    private final boolean sendAsync;
+    private final int maxRetries;
+    private final FailedMessagesLogger failedMessagesLogger;
 
 
     // ----- Constructors ------------------------------------------------------
@@ -58,9 +73,47 @@ public class NotificationEntityChangeListener implements EntityChangeListener {
      * @param typeSystem the Atlas type system
      */
     @Inject
-    public NotificationEntityChangeListener(NotificationInterface notificationInterface, TypeSystem typeSystem) {
+    public NotificationEntityChangeListener(NotificationInterface notificationInterface, TypeSystem typeSystem)
+        throws AtlasException {
+        this(notificationInterface, typeSystem, ApplicationProperties.get());
+    }
+
+    private NotificationEntityChangeListener(NotificationInterface notificationInterface, TypeSystem typeSystem,
+                                             Configuration configuration) {
+        this(notificationInterface, typeSystem,
+                configuration.getBoolean(NotificationInterface.PROPERTY_SEND_ASYNC, false),
+                configuration.getInt(NOTIFICATION_RETRIES_PROPERTY, 3), createFailedMessagesLogger(configuration));
+    }
+
+    /**
+     * Construct a NotificationEntityChangeListener.
+     *
+     * @param notificationInterface the notification framework interface
+     * @param typeSystem the Atlas type system
+     * @param sendAsync whether to send notifications without waiting for them to be acknowledged
+     */
+    public NotificationEntityChangeListener(NotificationInterface notificationInterface, TypeSystem typeSystem,
+                                            boolean sendAsync) {
+        this(notificationInterface, typeSystem, sendAsync, 3, null);
+    }
+
+    /**
+     * Construct a NotificationEntityChangeListener.
+     *
+     * @param notificationInterface the notification framework interface
+     * @param typeSystem the Atlas type system
+     * @param sendAsync whether to send notifications without waiting for them to be acknowledged
+     * @param maxRetries the number of attempts made to send notifications that failed asynchronously
+     * @param failedMessagesLogger the logger for notifications that could not be sent; may be null
+     */
+    public NotificationEntityChangeListener(NotificationInterface notificationInterface, TypeSystem typeSystem,
+                                            boolean sendAsync, int maxRetries,
+                                            FailedMessagesLogger failedMessagesLogger) {
         this.notificationInterface = notificationInterface;
         this.typeSystem = typeSystem;
+        this.sendAsync = sendAsync;
+        this.maxRetries = maxRetries;
+        this.failedMessagesLogger = failedMessagesLogger;
     }
 
 
@@ -156,6 +209,48 @@ public class NotificationEntityChangeListener implements EntityChangeListener {
             messages.add(notification);
         }
 
-        notificationInterface.send(NotificationInterface.NotificationType.ENTITIES, messages);
+        if (sendAsync) {
+            sendAsync(messages, 1);
+        } else {
+            notificationInterface.send(NotificationInterface.NotificationType.ENTITIES, messages);
+        }
+    }
+
+    // send the messages without waiting for them to be acknowledged; a failed send is re-sent from the callback,
+    // rather than blocking the producer thread that completes the future, until the retries are used up
+    private void sendAsync(final List<EntityNotification> messages, final int attempt) {
+        Futures.addCallback(notificationInterface.sendAsync(NotificationInterface.NotificationType.ENTITIES, messages),
+                new FutureCallback<Void>() {
+                    @Override
+                    public void onSuccess(Void result) {
+                    }
+
+                    @Override
+                    public void onFailure(Throwable t) {
+                        if (attempt < maxRetries) {
+                            LOG.error("Failed to send entity notifications - attempt #{}; error={}", attempt,
+                                    t.getMessage());
+                            sendAsync(messages, attempt + 1);
+                        } else {
+                            if (failedMessagesLogger != null && t instanceof NotificationException) {
+                                for (String msg : ((NotificationException) t).getFailedMessages()) {
+                                    failedMessagesLogger.log(msg);
+                                }
+                            }
+                            LOG.error("Failed to send entity notifications {} after {} retries. Quitting", messages,
+                                    maxRetries, t);
+                        }
+                    }
+                });
+    }
+
+    private static FailedMessagesLogger createFailedMessagesLogger(Configuration configuration) {
+        if (!configuration.getBoolean(AtlasHook.ATLAS_NOTIFICATION_LOG_FAILED_MESSAGES_ENABLED_KEY, true)) {
+            return null;
+        }
+        FailedMessagesLogger logger = new FailedMessagesLogger(configuration.getString(
+                AtlasHook.ATLAS_NOTIFICATION_FAILED_MESSAGES_FILENAME_KEY, FAILED_MESSAGES_LOG_DEFAULT_NAME));
+        logger.init();
+        return logger;
     }
 }
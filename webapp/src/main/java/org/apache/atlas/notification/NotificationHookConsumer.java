@@ -18,28 +18,41 @@
 package org.apache.atlas.notification;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.Uninterruptibles;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import kafka.consumer.ConsumerTimeoutException;
 import org.apache.atlas.ApplicationProperties;
+import org.apache.atlas.AtlasClient;
 import org.apache.atlas.AtlasException;
 import org.apache.atlas.AtlasServiceException;
 import org.apache.atlas.LocalAtlasClient;
 import org.apache.atlas.ha.HAConfiguration;
+import org.apache.atlas.kafka.KafkaNotification;
 import org.apache.atlas.listener.ActiveStateChangeHandler;
 import org.apache.atlas.notification.hook.HookNotification;
 import org.apache.atlas.service.Service;
+import org.apache.atlas.typesystem.Referenceable;
+import org.apache.atlas.utils.AtlasPerfTracer;
 import org.apache.commons.configuration.Configuration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Consumer of notifications from hooks e.g., hive hook etc.
@@ -47,6 +60,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 @Singleton
 public class NotificationHookConsumer implements Service, ActiveStateChangeHandler {
     private static final Logger LOG = LoggerFactory.getLogger(NotificationHookConsumer.class);
+    private static final Logger PERF_LOG = AtlasPerfTracer.getPerfLogger(NotificationHookConsumer.class);
     private static Logger FAILED_LOG = LoggerFactory.getLogger("FAILED");
 
     private static final String THREADNAME_PREFIX = NotificationHookConsumer.class.getSimpleName();
@@ -55,15 +69,30 @@ public class NotificationHookConsumer implements Service, ActiveStateChangeHandl
     public static final String CONSUMER_RETRIES_PROPERTY = "atlas.notification.hook.maxretries";
     public static final String CONSUMER_FAILEDCACHESIZE_PROPERTY = "atlas.notification.hook.failedcachesize";
     public static final String CONSUMER_RETRY_INTERVAL="atlas.notification.consumer.retry.interval";
+    public static final String CONSUMER_BATCH_SIZE_PROPERTY = "atlas.notification.hook.batch.size";
+    public static final String CONSUMER_BATCH_WAIT_MS_PROPERTY = "atlas.notification.hook.batch.max.wait.ms";
+    public static final String CONSUMER_LANES_PROPERTY = "atlas.notification.hook.lanes";
+    public static final String CONSUMER_TIMEOUT_PROPERTY = KafkaNotification.PROPERTY_PREFIX + ".consumer.timeout.ms";
 
     public static final int SERVER_READY_WAIT_TIME_MS = 1000;
     private final LocalAtlasClient atlasClient;
     private final int maxRetries;
     private final int failedMsgCacheSize;
     private final int consumerRetryInterval;
+    private final int batchSize;
+    private final int batchMaxWaitMs;
+    private final int numLanes;
+    private final HookMessagePartitioner partitioner;
+    private final AtomicLong[] laneMessages;
+    private final AtomicLong[] laneTimeMs;
+    private final AtomicLong numBatches = new AtomicLong();
+    private final AtomicLong numMessages = new AtomicLong();
+    private final AtomicLong totalBatchTimeMs = new AtomicLong();
+    private final AtomicLong numDuplicateEntities = new AtomicLong();
 
     private NotificationInterface notificationInterface;
     private ExecutorService executors;
+    private ExecutorService laneExecutor;
     private Configuration applicationProperties;
     private List<HookConsumer> consumers;
 
@@ -77,7 +106,30 @@ public class NotificationHookConsumer implements Service, ActiveStateChangeHandl
         maxRetries = applicationProperties.getInt(CONSUMER_RETRIES_PROPERTY, 3);
         failedMsgCacheSize = applicationProperties.getInt(CONSUMER_FAILEDCACHESIZE_PROPERTY, 20);
         consumerRetryInterval = applicationProperties.getInt(CONSUMER_RETRY_INTERVAL, 500);
+        batchSize = getBatchSize(applicationProperties);
+        batchMaxWaitMs = applicationProperties.getInt(CONSUMER_BATCH_WAIT_MS_PROPERTY, 1000);
+        numLanes = Math.max(1, applicationProperties.getInt(CONSUMER_LANES_PROPERTY, 1));
+        partitioner = new HookMessagePartitioner(numLanes);
+        laneMessages = new AtomicLong[numLanes];
+        laneTimeMs = new AtomicLong[numLanes];
+        for (int i = 0; i < numLanes; i++) {
+            laneMessages[i] = new AtomicLong();
+            laneTimeMs[i] = new AtomicLong();
+        }
+    }
 
+    /**
+     * A partially filled batch is only processed once reading the next message times out, so batching requires the
+     * Kafka consumer timeout. Without it, messages are processed one at a time.
+     */
+    private static int getBatchSize(Configuration configuration) {
+        int batchSize = Math.max(1, configuration.getInt(CONSUMER_BATCH_SIZE_PROPERTY, 1));
+        if (batchSize > 1 && !configuration.containsKey(CONSUMER_TIMEOUT_PROPERTY)) {
+            LOG.error("{} is ignored, as {} is not set. Hook messages are processed one at a time",
+                    CONSUMER_BATCH_SIZE_PROPERTY, CONSUMER_TIMEOUT_PROPERTY);
+            return 1;
+        }
+        return batchSize;
     }
 
     @Override
@@ -107,6 +159,10 @@ public class NotificationHookConsumer implements Service, ActiveStateChangeHandl
                     new ThreadFactoryBuilder().setNameFormat(THREADNAME_PREFIX + " thread-%d").build());
         }
         executors = executorService;
+        if (numLanes > 1 && batchSize > 1 && laneExecutor == null) {
+            laneExecutor = Executors.newFixedThreadPool(numLanes,
+                    new ThreadFactoryBuilder().setNameFormat(THREADNAME_PREFIX + " lane-%d").build());
+        }
         for (final NotificationConsumer<HookNotification.HookNotificationMessage> consumer : notificationConsumers) {
             HookConsumer hookConsumer = new HookConsumer(consumer);
             consumers.add(hookConsumer);
@@ -126,6 +182,13 @@ public class NotificationHookConsumer implements Service, ActiveStateChangeHandl
                 }
                 executors = null;
             }
+            if (laneExecutor != null) {
+                laneExecutor.shutdown();
+                if (!laneExecutor.awaitTermination(5000, TimeUnit.MILLISECONDS)) {
+                    LOG.error("Timed out waiting for consumer lane threads to shut down, exiting uncleanly");
+                }
+                laneExecutor = null;
+            }
             notificationInterface.close();
         } catch (InterruptedException e) {
             LOG.error("Failure in shutting down consumers");
@@ -165,6 +228,40 @@ public class NotificationHookConsumer implements Service, ActiveStateChangeHandl
         stop();
     }
 
+    /**
+     * Returns the batching metrics of the hook consumers, since the server started.
+     *
+     * @return metric name to value
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+
+        metrics.put("batchSize", batchSize);
+        metrics.put("batches", numBatches.get());
+        metrics.put("messages", numMessages.get());
+        metrics.put("avgBatchTimeMs", getAverageBatchTimeMs());
+        metrics.put("duplicateEntities", numDuplicateEntities.get());
+        for (int i = 0; i < numLanes; i++) {
+            metrics.put("lane" + i + ".messages", laneMessages[i].get());
+            metrics.put("lane" + i + ".timeMs", laneTimeMs[i].get());
+        }
+
+        return metrics;
+    }
+
+    long getNumBatches() {
+        return numBatches.get();
+    }
+
+    long getNumMessages() {
+        return numMessages.get();
+    }
+
+    long getAverageBatchTimeMs() {
+        long batches = numBatches.get();
+        return batches == 0 ? 0 : totalBatchTimeMs.get() / batches;
+    }
+
     static class Timer {
         public void sleep(int interval) throws InterruptedException {
             Thread.sleep(interval);
@@ -174,7 +271,8 @@ public class NotificationHookConsumer implements Service, ActiveStateChangeHandl
     class HookConsumer implements Runnable {
         private final NotificationConsumer<HookNotification.HookNotificationMessage> consumer;
         private final AtomicBoolean shouldRun = new AtomicBoolean(false);
-        private List<HookNotification.HookNotificationMessage> failedMessages = new ArrayList<>();
+        private final List<HookNotification.HookNotificationMessage> failedMessages =
+                Collections.synchronizedList(new ArrayList<HookNotification.HookNotificationMessage>());
 
         public HookConsumer(NotificationConsumer<HookNotification.HookNotificationMessage> consumer) {
             this.consumer = consumer;
@@ -198,7 +296,12 @@ public class NotificationHookConsumer implements Service, ActiveStateChangeHandl
 
             while (shouldRun.get()) {
                 try {
-                    if (hasNext()) {
+                    if (batchSize > 1) {
+                        List<HookNotification.HookNotificationMessage> messages = nextBatch();
+                        if (!messages.isEmpty()) {
+                            handleMessages(messages);
+                        }
+                    } else if (hasNext()) {
                         handleMessage(consumer.next());
                     }
                 } catch (Throwable t) {
@@ -207,9 +310,247 @@ public class NotificationHookConsumer implements Service, ActiveStateChangeHandl
             }
         }
 
+        /**
+         * Reads up to batchSize messages, returning early once batchMaxWaitMs has elapsed since the first message
+         * was read. hasNext() blocks for up to atlas.kafka.consumer.timeout.ms when the topic is idle, which
+         * getBatchSize() requires to be set.
+         */
+        private List<HookNotification.HookNotificationMessage> nextBatch() {
+            List<HookNotification.HookNotificationMessage> messages = new ArrayList<>(batchSize);
+            long startTime = 0;
+
+            while (shouldRun.get() && messages.size() < batchSize) {
+                if (!messages.isEmpty() && System.currentTimeMillis() - startTime >= batchMaxWaitMs) {
+                    break;
+                }
+
+                if (!hasNext()) {
+                    break;
+                }
+
+                if (messages.isEmpty()) {
+                    startTime = System.currentTimeMillis();
+                }
+                messages.add(consumer.next());
+            }
+
+            return messages;
+        }
+
         @VisibleForTesting
         void handleMessage(HookNotification.HookNotificationMessage message) throws
             AtlasServiceException, AtlasException {
+            if (processMessage(message)) {
+                commit();
+            }
+        }
+
+        /**
+         * Processes a batch of messages and commits the consumer offset once for the whole batch.
+         * Consecutive ENTITY_CREATE/ENTITY_FULL_UPDATE messages from the same user are merged into a single request,
+         * so that they are applied in one graph transaction. Messages touching an entity already in the merged
+         * request start a new one, so that the later message still wins. If a merged request fails, the messages in
+         * it are re-applied one at a time, so that a bad message only fails itself.
+         */
+        @VisibleForTesting
+        void handleMessages(List<HookNotification.HookNotificationMessage> messages) {
+            AtlasPerfTracer perf = null;
+
+            if (AtlasPerfTracer.isPerfTraceEnabled(PERF_LOG)) {
+                perf = AtlasPerfTracer.getPerfTracer(PERF_LOG, "NotificationHookConsumer.handleMessages(batchSize=" + messages.size() + ")");
+            }
+
+            long startTime = System.currentTimeMillis();
+
+            try {
+                ExecutorService lanes = laneExecutor;
+
+                if (lanes != null) {
+                    processInLanes(lanes, messages);
+                } else {
+                    processMessages(messages);
+                }
+
+                commit();
+            } finally {
+                long elapsedTime = System.currentTimeMillis() - startTime;
+
+                numBatches.incrementAndGet();
+                numMessages.addAndGet(messages.size());
+                totalBatchTimeMs.addAndGet(elapsedTime);
+
+                LOG.debug("Processed batch of {} messages in {} ms (batches={}, messages={}, avgBatchTimeMs={})",
+                        messages.size(), elapsedTime, numBatches.get(), numMessages.get(), getAverageBatchTimeMs());
+
+                AtlasPerfTracer.log(perf);
+            }
+        }
+
+        private void processMessages(List<HookNotification.HookNotificationMessage> messages) {
+            for (List<HookNotification.HookNotificationMessage> group : groupMessages(messages)) {
+                if (group.size() == 1) {
+                    processMessage(group.get(0));
+                } else if (!processMerged(group)) {
+                    LOG.warn("Failed to process {} merged messages, processing them individually", group.size());
+
+                    for (HookNotification.HookNotificationMessage message : group) {
+                        processMessage(message);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Processes the lanes of the batch in parallel and waits for all of them to complete. Messages touching the
+         * same entity are in the same lane, hence are applied in the order they were received. If a lane fails, all
+         * its messages are recorded as failed before the batch is committed, as it isn't known which were applied.
+         */
+        private void processInLanes(ExecutorService lanes, List<HookNotification.HookNotificationMessage> messages) {
+            List<List<HookNotification.HookNotificationMessage>> partitions = partitioner.partition(messages);
+            List<Future<?>> futures = new ArrayList<>();
+            List<List<HookNotification.HookNotificationMessage>> laneBatches = new ArrayList<>();
+
+            for (int i = 0; i < partitions.size(); i++) {
+                final int lane = i;
+                final List<HookNotification.HookNotificationMessage> laneBatch = partitions.get(i);
+
+                if (laneBatch.isEmpty()) {
+                    continue;
+                }
+
+                laneBatches.add(laneBatch);
+                futures.add(lanes.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        long startTime = System.currentTimeMillis();
+
+                        try {
+                            processMessages(laneBatch);
+                        } finally {
+                            laneMessages[lane].addAndGet(laneBatch.size());
+                            laneTimeMs[lane].addAndGet(System.currentTimeMillis() - startTime);
+                        }
+                    }
+                }));
+            }
+
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    Uninterruptibles.getUninterruptibly(futures.get(i));
+                } catch (ExecutionException e) {
+                    List<HookNotification.HookNotificationMessage> laneBatch = laneBatches.get(i);
+
+                    LOG.error("Failure in NotificationHookConsumer lane, recording its {} messages as failed",
+                            laneBatch.size(), e.getCause());
+                    failedMessages.addAll(laneBatch);
+                }
+            }
+
+            if (LOG.isDebugEnabled()) {
+                for (int i = 0; i < numLanes; i++) {
+                    LOG.debug("Lane {}: messages={}, timeMs={}", i, laneMessages[i].get(), laneTimeMs[i].get());
+                }
+            }
+        }
+
+        private List<List<HookNotification.HookNotificationMessage>> groupMessages(
+                List<HookNotification.HookNotificationMessage> messages) {
+            List<List<HookNotification.HookNotificationMessage>> ret = new ArrayList<>();
+            List<HookNotification.HookNotificationMessage> current = null;
+            Set<String> currentEntities = new HashSet<>();
+
+            for (HookNotification.HookNotificationMessage message : messages) {
+                if (current != null && canMerge(current.get(0), message)
+                        && Collections.disjoint(currentEntities, getEntityKeys(message))) {
+                    current.add(message);
+                } else {
+                    current = new ArrayList<>();
+                    current.add(message);
+                    ret.add(current);
+                    currentEntities.clear();
+                }
+
+                if (canMerge(message, message)) {
+                    currentEntities.addAll(getEntityKeys(message));
+                }
+            }
+
+            return ret;
+        }
+
+        private boolean canMerge(HookNotification.HookNotificationMessage first,
+                                 HookNotification.HookNotificationMessage message) {
+            HookNotification.HookNotificationType type = message.getType();
+
+            return (type == HookNotification.HookNotificationType.ENTITY_CREATE
+                    || type == HookNotification.HookNotificationType.ENTITY_FULL_UPDATE)
+                    && type == first.getType()
+                    && message.getUser().equals(first.getUser());
+        }
+
+        private Set<String> getEntityKeys(HookNotification.HookNotificationMessage message) {
+            Set<String> ret = new HashSet<>();
+
+            if (message instanceof HookNotification.EntityCreateRequest) {
+                for (Referenceable entity : ((HookNotification.EntityCreateRequest) message).getEntities()) {
+                    ret.add(getEntityKey(entity));
+                }
+            }
+
+            return ret;
+        }
+
+        /**
+         * An entity is identified by its type and unique attribute; entities without one are only equal to
+         * themselves.
+         */
+        private String getEntityKey(Referenceable entity) {
+            Object uniqueValue = entity.get(AtlasClient.REFERENCEABLE_ATTRIBUTE_NAME);
+
+            if (uniqueValue == null) {
+                return entity.getId()._getId();
+            }
+
+            return entity.getTypeName() + "." + uniqueValue;
+        }
+
+        private boolean processMerged(List<HookNotification.HookNotificationMessage> group) {
+            HookNotification.HookNotificationMessage first = group.get(0);
+            Map<String, Referenceable> entities = new LinkedHashMap<>();
+
+            // an entity repeated in the merged request is applied once, with its last occurrence
+            for (HookNotification.HookNotificationMessage message : group) {
+                for (Referenceable entity : ((HookNotification.EntityCreateRequest) message).getEntities()) {
+                    String key = getEntityKey(entity);
+
+                    if (entities.remove(key) != null) {
+                        numDuplicateEntities.incrementAndGet();
+                    }
+                    entities.put(key, entity);
+                }
+            }
+
+            try {
+                atlasClient.setUser(first.getUser());
+
+                if (first.getType() == HookNotification.HookNotificationType.ENTITY_CREATE) {
+                    atlasClient.createEntity(new ArrayList<>(entities.values()));
+                } else {
+                    atlasClient.updateEntities(new ArrayList<>(entities.values()));
+                }
+
+                return true;
+            } catch (Throwable e) {
+                LOG.warn("Error handling merged messages: " + e.getMessage());
+                return false;
+            }
+        }
+
+        /**
+         * Applies the message, retrying up to maxRetries times.
+         * @return true if the message was applied, false if it was recorded as failed
+         */
+        private boolean processMessage(HookNotification.HookNotificationMessage message) {
             for (int numRetries = 0; numRetries < maxRetries; numRetries++) {
                 LOG.debug("Running attempt {}", numRetries);
                 try {
@@ -263,19 +604,21 @@ public class NotificationHookConsumer implements Service, ActiveStateChangeHandl
                         if (failedMessages.size() >= failedMsgCacheSize) {
                             recordFailedMessages();
                         }
-                        return;
+                        return false;
                     }
                 }
             }
-            commit();
+            return true;
         }
 
         private void recordFailedMessages() {
             //logging failed messages
-            for (HookNotification.HookNotificationMessage message : failedMessages) {
-                FAILED_LOG.error("[DROPPED_NOTIFICATION] " + AbstractNotification.getMessageJson(message));
+            synchronized (failedMessages) {
+                for (HookNotification.HookNotificationMessage message : failedMessages) {
+                    FAILED_LOG.error("[DROPPED_NOTIFICATION] " + AbstractNotification.getMessageJson(message));
+                }
+                failedMessages.clear();
             }
-            failedMessages.clear();
         }
 
         private void commit() {
@@ -31,6 +31,8 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
 import org.apache.atlas.AtlasClient;
+import org.apache.atlas.notification.NotificationHookConsumer;
+import org.apache.atlas.repository.graph.DeleteHandler;
 import org.apache.atlas.utils.AtlasPerfTracer;
 import org.apache.atlas.web.filters.AtlasCSRFPreventionFilter;
 import org.apache.atlas.web.service.ServiceState;
@@ -63,10 +65,15 @@ public class AdminResource {
     
     private Response version;
     private ServiceState serviceState;
+    private NotificationHookConsumer notificationHookConsumer;
+    private DeleteHandler deleteHandler;
 
     @Inject
-    public AdminResource(ServiceState serviceState) {
+    public AdminResource(ServiceState serviceState, NotificationHookConsumer notificationHookConsumer,
+                         DeleteHandler deleteHandler) {
         this.serviceState = serviceState;
+        this.notificationHookConsumer = notificationHookConsumer;
+        this.deleteHandler = deleteHandler;
     }
 
     /**
@@ -170,6 +177,35 @@ public class AdminResource {
         }
     }
     
+    /**
+     * Fetches the metrics of the hook notification consumers and the progress of entity deletes.
+     *
+     * @return json representing the metrics.
+     */
+    @GET
+    @Path("metrics")
+    @Produces(Servlets.JSON_MEDIA_TYPE)
+    public Response getMetrics() {
+        AtlasPerfTracer perf = null;
+
+        try {
+            if (AtlasPerfTracer.isPerfTraceEnabled(PERF_LOG)) {
+                perf = AtlasPerfTracer.getPerfTracer(PERF_LOG, "AdminResource.getMetrics()");
+            }
+
+            JSONObject responseData = new JSONObject();
+            try {
+                responseData.put("notificationHookConsumer", new JSONObject(notificationHookConsumer.getMetrics()));
+                responseData.put("deleteHandler", new JSONObject(deleteHandler.getMetrics()));
+                return Response.ok(responseData).build();
+            } catch (JSONException e) {
+                throw new WebApplicationException(Servlets.getErrorResponse(e, Response.Status.INTERNAL_SERVER_ERROR));
+            }
+        } finally {
+            AtlasPerfTracer.log(perf);
+        }
+    }
+
     @GET
     @Path("session")
     @Produces(Servlets.JSON_MEDIA_TYPE)
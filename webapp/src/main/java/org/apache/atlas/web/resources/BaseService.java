@@ -22,11 +22,14 @@ import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.util.Collection;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.UriInfo;
 import javax.xml.bind.annotation.XmlRootElement;
 
+import org.apache.atlas.catalog.CollectionRequest;
 import org.apache.atlas.catalog.JsonSerializer;
 import org.apache.atlas.catalog.Request;
 import org.apache.atlas.catalog.ResourceProvider;
@@ -50,6 +53,8 @@ public abstract class BaseService {
     private static final Gson gson = new Gson();
     private final Logger LOG = LoggerFactory.getLogger(getClass());
     private final static JsonSerializer serializer = new JsonSerializer();
+    // page parameters appended to the query string, e.g. "name:fin*&sort=-name&offset=100&limit=50"
+    private static final Pattern PAGE_PARAMETER_PATTERN = Pattern.compile("(^|&)(limit|offset|sort)=([^&]*)");
 
     protected Result getResource(ResourceProvider provider, Request request)
             throws ResourceNotFoundException {
@@ -116,6 +121,68 @@ public abstract class BaseService {
         return (qsBegin == -1) ? null : uri.substring(qsBegin + 1);
     }
 
+    /**
+     * Create a collection request for the given query string. The page parameters "limit", "offset" and "sort"
+     * are removed from the query string and set on the request. The sort parameter is a property name, which
+     * is prefixed with '-' for descending order.
+     */
+    protected Request createCollectionRequest(Map<String, Object> properties, String queryString)
+            throws InvalidQueryException {
+
+        int offset = 0;
+        int limit = Request.NO_LIMIT;
+        String sort = null;
+
+        if (queryString != null) {
+            Matcher matcher = PAGE_PARAMETER_PATTERN.matcher(queryString);
+            StringBuffer remainder = new StringBuffer();
+            boolean found = false;
+            while (matcher.find()) {
+                found = true;
+                String value = matcher.group(3);
+                switch (matcher.group(2)) {
+                case "limit":
+                    limit = parsePageParameter("limit", value);
+                    break;
+                case "offset":
+                    offset = parsePageParameter("offset", value);
+                    break;
+                default:
+                    sort = value;
+                }
+                matcher.appendReplacement(remainder, "");
+            }
+            matcher.appendTail(remainder);
+
+            if (found) {
+                queryString = remainder.toString().replaceFirst("^&", "");
+                if (queryString.isEmpty()) {
+                    queryString = null;
+                }
+            }
+        }
+
+        Request request = new CollectionRequest(properties, queryString);
+        try {
+            request.setPage(offset, limit);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidQueryException(e.getMessage());
+        }
+        if (sort != null && !sort.isEmpty()) {
+            boolean descending = sort.startsWith("-");
+            request.setSort(descending ? sort.substring(1) : sort, descending);
+        }
+        return request;
+    }
+
+    private int parsePageParameter(String name, String value) throws InvalidQueryException {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidQueryException(String.format("Invalid %s '%s'", name, value));
+        }
+    }
+
     protected <T extends Map> T parsePayload(String body) throws InvalidPayloadException {
         T properties;
 
@@ -37,6 +37,9 @@ import org.apache.atlas.utils.ParamChecker;
 import org.apache.atlas.utils.AtlasPerfTracer;
 import org.apache.atlas.web.util.Servlets;
 import org.apache.commons.lang.StringUtils;
+import org.codehaus.jackson.JsonEncoding;
+import org.codehaus.jackson.JsonFactory;
+import org.codehaus.jackson.JsonGenerator;
 import org.codehaus.jettison.json.JSONArray;
 import org.codehaus.jettison.json.JSONException;
 import org.codehaus.jettison.json.JSONObject;
@@ -60,12 +63,18 @@ import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriBuilder;
 import javax.ws.rs.core.UriInfo;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 
 /**
@@ -82,6 +91,7 @@ public class EntityResource {
     private static final Logger PERF_LOG = AtlasPerfTracer.getPerfLogger("rest.EntityResource");
 
     private static final String TRAIT_NAME = "traitName";
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
 
     private final MetadataService metadataService;
 
@@ -454,23 +464,39 @@ public class EntityResource {
     }
 
     /**
-     * Fetch the complete definition of an entity given its GUID.
+     * Fetch the definition of an entity given its GUID.
      *
      * @param guid GUID for the entity
+     * @param attributes comma separated names of the attributes to fetch. All attributes are fetched if not given
+     * @param depth number of levels of composite entities to fetch, -1 for all. Composite entities below this depth
+     *              are returned as ids
      */
     @GET
     @Path("{guid}")
     @Produces(Servlets.JSON_MEDIA_TYPE)
-    public Response getEntityDefinition(@PathParam("guid") String guid) {
+    public Response getEntityDefinition(@PathParam("guid") String guid,
+                                        @QueryParam(AtlasClient.ATTRIBUTES) String attributes,
+                                        @DefaultValue("-1") @QueryParam(AtlasClient.DEPTH) int depth) {
         AtlasPerfTracer perf = null;
         try {
             if(AtlasPerfTracer.isPerfTraceEnabled(PERF_LOG)) {
-                perf = AtlasPerfTracer.getPerfTracer(PERF_LOG, "EntityResource.getEntityDefinition()");
+                perf = AtlasPerfTracer.getPerfTracer(PERF_LOG, "EntityResource.getEntityDefinition(" + guid + ", " + attributes + ", " + depth + ")");
             }
 
             LOG.debug("Fetching entity definition for guid={} ", guid);
             guid = ParamChecker.notEmpty(guid, "guid cannot be null");
-            final String entityDefinition = metadataService.getEntityDefinition(guid);
+            ParamChecker.greaterThan(depth, -2, AtlasClient.DEPTH);
+
+            final String entityDefinition;
+            if (StringUtils.isEmpty(attributes) && depth < 0) {
+                entityDefinition = metadataService.getEntityDefinition(guid);
+            } else {
+                Set<String> attributeNames = null;
+                if (StringUtils.isNotEmpty(attributes)) {
+                    attributeNames = new HashSet<>(Arrays.asList(StringUtils.stripAll(attributes.split(","))));
+                }
+                entityDefinition = metadataService.getEntityDefinition(guid, attributeNames, depth);
+            }
 
             JSONObject response = new JSONObject();
             response.put(AtlasClient.REQUEST_ID, Servlets.getRequestId());
@@ -506,19 +532,28 @@ public class EntityResource {
      * @param entityType name of a type which is unique
      */
     public Response getEntityListByType(String entityType) {
+        return getEntityListByType(entityType, -1, 0);
+    }
+
+    /**
+     * Gets a page of the entities for a given entity type. The guids are written to the response directly, instead of
+     * being converted to a json array first.
+     *
+     * @param entityType name of a type which is unique
+     * @param limit maximum number of entities to return, -1 for all
+     * @param offset number of entities to skip
+     */
+    public Response getEntityListByType(String entityType, int limit, int offset) {
         try {
             Preconditions.checkNotNull(entityType, "Entity type cannot be null");
+            ParamChecker.greaterThan(limit, -2, AtlasClient.LIMIT);
+            ParamChecker.greaterThan(offset, -1, AtlasClient.OFFSET);
 
-            LOG.debug("Fetching entity list for type={} ", entityType);
-            final List<String> entityList = metadataService.getEntityList(entityType);
+            LOG.debug("Fetching entity list for type={}, limit={}, offset={}", entityType, limit, offset);
+            // the page is read before the response is returned, so that a failed listing gets an error status
+            final List<String> entityList = metadataService.getEntityList(entityType, offset, limit);
 
-            JSONObject response = new JSONObject();
-            response.put(AtlasClient.REQUEST_ID, Servlets.getRequestId());
-            response.put(AtlasClient.TYPENAME, entityType);
-            response.put(AtlasClient.RESULTS, new JSONArray(entityList));
-            response.put(AtlasClient.COUNT, entityList.size());
-
-            return Response.ok(response).build();
+            return Response.ok(new EntityListOutput(entityType, entityList, Servlets.getRequestId())).build();
         } catch (NullPointerException e) {
             LOG.error("Entity type cannot be null", e);
             throw new WebApplicationException(Servlets.getErrorResponse(e, Response.Status.BAD_REQUEST));
@@ -531,12 +566,46 @@ public class EntityResource {
         }
     }
 
+    /**
+     * Writes the entity list response.
+     */
+    private static class EntityListOutput implements StreamingOutput {
+        private final String       entityType;
+        private final List<String> entityList;
+        private final String       requestId;
+
+        EntityListOutput(String entityType, List<String> entityList, String requestId) {
+            this.entityType = entityType;
+            this.entityList = entityList;
+            this.requestId  = requestId;
+        }
+
+        @Override
+        public void write(OutputStream output) throws IOException {
+            JsonGenerator generator = JSON_FACTORY.createJsonGenerator(output, JsonEncoding.UTF8);
+
+            generator.writeStartObject();
+            generator.writeStringField(AtlasClient.REQUEST_ID, requestId);
+            generator.writeStringField(AtlasClient.TYPENAME, entityType);
+            generator.writeArrayFieldStart(AtlasClient.RESULTS);
+            for (String guid : entityList) {
+                generator.writeString(guid);
+            }
+            generator.writeEndArray();
+            generator.writeNumberField(AtlasClient.COUNT, entityList.size());
+            generator.writeEndObject();
+            generator.close();
+        }
+    }
+
     @GET
     @Consumes({Servlets.JSON_MEDIA_TYPE, MediaType.APPLICATION_JSON})
     @Produces(Servlets.JSON_MEDIA_TYPE)
     public Response getEntity(@QueryParam("type") String entityType,
                               @QueryParam("property") String attribute,
-                              @QueryParam("value") String value) {
+                              @QueryParam("value") String value,
+                              @DefaultValue("-1") @QueryParam(AtlasClient.LIMIT) int limit,
+                              @DefaultValue("0") @QueryParam(AtlasClient.OFFSET) int offset) {
         AtlasPerfTracer perf = null;
         try {
             if(AtlasPerfTracer.isPerfTraceEnabled(PERF_LOG)) {
@@ -545,7 +614,7 @@ public class EntityResource {
 
             if (StringUtils.isEmpty(attribute)) {
                 //List API
-                return getEntityListByType(entityType);
+                return getEntityListByType(entityType, limit, offset);
             } else {
                 //Get entity by unique attribute
                 return getEntityDefinitionByAttribute(entityType, attribute, value);
@@ -20,6 +20,7 @@ package org.apache.atlas.web.resources;
 
 import org.apache.atlas.AtlasException;
 import org.apache.atlas.catalog.*;
+import org.apache.atlas.catalog.Request;
 import org.apache.atlas.catalog.exception.CatalogException;
 import org.apache.atlas.services.MetadataService;
 import org.apache.atlas.utils.AtlasPerfTracer;
@@ -61,10 +62,10 @@ public class EntityService extends BaseService {
 
             String queryString = decode(getQueryString(ui));
 
-            BaseRequest request = new CollectionRequest(Collections.<String, Object>emptyMap(), queryString);
+            Request request = createCollectionRequest(Collections.<String, Object>emptyMap(), queryString);
             Result result = getResources(entityResourceProvider, request);
 
-            return Response.status(Response.Status.OK).entity(getSerializer().serialize(result, ui)).build();
+            return Response.status(Response.Status.OK).entity(getSerializer().stream(result, ui)).build();
         } finally {
             AtlasPerfTracer.log(perf);
         }
@@ -127,11 +128,11 @@ public class EntityService extends BaseService {
                 perf = AtlasPerfTracer.getPerfTracer(PERF_LOG, "EntityService.getEntityTags(" + entityGuid + ")");
             }
 
-            BaseRequest request = new CollectionRequest(Collections.<String, Object>singletonMap("id", entityGuid),
+            Request request = createCollectionRequest(Collections.<String, Object>singletonMap("id", entityGuid),
                     decode(getQueryString(ui)));
             Result result = getResources(entityTagResourceProvider, request);
 
-            return Response.status(Response.Status.OK).entity(getSerializer().serialize(result, ui)).build();
+            return Response.status(Response.Status.OK).entity(getSerializer().stream(result, ui)).build();
         } finally {
             AtlasPerfTracer.log(perf);
         }
@@ -28,6 +28,9 @@ import org.apache.atlas.query.QueryParams;
 import org.apache.atlas.utils.AtlasPerfTracer;
 import org.apache.atlas.utils.ParamChecker;
 import org.apache.atlas.web.util.Servlets;
+import org.codehaus.jackson.JsonEncoding;
+import org.codehaus.jackson.JsonFactory;
+import org.codehaus.jackson.JsonGenerator;
 import org.codehaus.jettison.json.JSONArray;
 import org.codehaus.jettison.json.JSONException;
 import org.codehaus.jettison.json.JSONObject;
@@ -44,6 +47,10 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -59,7 +66,9 @@ public class MetadataDiscoveryResource {
     private static final String QUERY_TYPE_DSL = "dsl";
     private static final String QUERY_TYPE_GREMLIN = "gremlin";
     private static final String QUERY_TYPE_FULLTEXT = "full-text";
+    private static final String SCORE = "score";
     private static final String LIMIT_OFFSET_DEFAULT = "-1";
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
 
     private final DiscoveryService discoveryService;
 
@@ -246,11 +255,17 @@ public class MetadataDiscoveryResource {
 
             query = ParamChecker.notEmpty(query, "query cannot be null or empty");
             QueryParams queryParams = validateQueryParams(limit, offset);
-            final String jsonResultStr = discoveryService.searchByFullText(query, queryParams);
-            JSONArray rowsJsonArr = new JSONArray(jsonResultStr);
 
-            JSONObject response = new FullTextJSonResponseBuilder().results(rowsJsonArr).query(query).build();
-            return Response.ok(response).build();
+            // the page is read before the response is returned, so that a failed search gets an error status
+            final List<FullTextResult> results = new ArrayList<>();
+            discoveryService.searchByFullText(query, queryParams, new DiscoveryService.FullTextResultHandler() {
+                @Override
+                public void handle(String guid, String typeName, double score) {
+                    results.add(new FullTextResult(guid, typeName, score));
+                }
+            });
+
+            return Response.ok(new FullTextResultsOutput(query, results, Servlets.getRequestId())).build();
         } catch (DiscoveryException | IllegalArgumentException e) {
             LOG.error("Unable to get entity list for query {}", query, e);
             throw new WebApplicationException(Servlets.getErrorResponse(e, Response.Status.BAD_REQUEST));
@@ -262,6 +277,56 @@ public class MetadataDiscoveryResource {
         }
     }
 
+    private static class FullTextResult {
+        private final String guid;
+        private final String typeName;
+        private final double score;
+
+        FullTextResult(String guid, String typeName, double score) {
+            this.guid     = guid;
+            this.typeName = typeName;
+            this.score    = score;
+        }
+    }
+
+    /**
+     * Writes the full text search response, with the same fields as the other search responses, directly to the
+     * client instead of building it as a json object first.
+     */
+    private static class FullTextResultsOutput implements StreamingOutput {
+        private final String               query;
+        private final List<FullTextResult> results;
+        private final String               requestId;
+
+        FullTextResultsOutput(String query, List<FullTextResult> results, String requestId) {
+            this.query     = query;
+            this.results   = results;
+            this.requestId = requestId;
+        }
+
+        @Override
+        public void write(OutputStream output) throws IOException {
+            JsonGenerator generator = JSON_FACTORY.createJsonGenerator(output, JsonEncoding.UTF8);
+
+            generator.writeStartObject();
+            generator.writeStringField(AtlasClient.REQUEST_ID, requestId);
+            generator.writeStringField(AtlasClient.QUERY, query);
+            generator.writeStringField(AtlasClient.QUERY_TYPE, QUERY_TYPE_FULLTEXT);
+            generator.writeNumberField(AtlasClient.COUNT, results.size());
+            generator.writeArrayFieldStart(AtlasClient.RESULTS);
+            for (FullTextResult result : results) {
+                generator.writeStartObject();
+                generator.writeStringField("guid", result.guid);
+                generator.writeStringField(AtlasClient.TYPENAME, result.typeName);
+                generator.writeNumberField(SCORE, result.score);
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.close();
+        }
+    }
+
     private class JsonResponseBuilder {
 
         protected int count = 0;
@@ -332,33 +397,4 @@ public class MetadataDiscoveryResource {
         }
 
     }
-
-    private class FullTextJSonResponseBuilder extends JsonResponseBuilder {
-
-        private JSONArray fullTextResults;
-
-        public FullTextJSonResponseBuilder results(JSONArray fullTextResults) {
-            this.fullTextResults = fullTextResults;
-            return this;
-        }
-
-        public FullTextJSonResponseBuilder results(String dslResults) throws JSONException {
-            return results(new JSONArray(dslResults));
-        }
-
-        public FullTextJSonResponseBuilder() {
-            super();
-        }
-
-        @Override
-        public JSONObject build() throws JSONException {
-            Preconditions.checkNotNull(fullTextResults);
-            count(fullTextResults.length());
-            queryType(QUERY_TYPE_FULLTEXT);
-
-            JSONObject response = super.build();
-            response.put(AtlasClient.RESULTS, fullTextResults);
-            return response;
-        }
-    }
 }
@@ -86,9 +86,9 @@ public class TaxonomyService extends BaseService {
             }
 
             String queryString = decode(getQueryString(ui));
-            Request request = new CollectionRequest(Collections.<String, Object>emptyMap(), queryString);
+            Request request = createCollectionRequest(Collections.<String, Object>emptyMap(), queryString);
             Result result = getResources(taxonomyResourceProvider, request);
-            return Response.status(Response.Status.OK).entity(getSerializer().serialize(result, ui)).build();
+            return Response.status(Response.Status.OK).entity(getSerializer().stream(result, ui)).build();
         } finally {
             AtlasPerfTracer.log(perf);
         }
@@ -206,11 +206,11 @@ public class TaxonomyService extends BaseService {
 
             String queryString = decode(getQueryString(ui));
             TermPath termPath = new TermPath(taxonomyName, null);
-            Request request = new CollectionRequest(
+            Request request = createCollectionRequest(
                     Collections.<String, Object>singletonMap("termPath", termPath), queryString);
             Result result = getResources(termResourceProvider, request);
 
-            return Response.status(Response.Status.OK).entity(getSerializer().serialize(result, ui)).build();
+            return Response.status(Response.Status.OK).entity(getSerializer().stream(result, ui)).build();
         } finally {
             AtlasPerfTracer.log(perf);
         }
@@ -230,7 +230,7 @@ public class TaxonomyService extends BaseService {
                 perf = AtlasPerfTracer.getPerfTracer(PERF_LOG, "TaxonomyService.getSubTerms(" + taxonomyName + ", " + rootTerm + ", " + remainder + ")");
             }
 
-            Result result;
+            Object entity;
             String termName = String.format("%s%s", rootTerm,
                     remainder.replaceAll("/?terms/?([.]*)", "$1."));
             String queryString = decode(getQueryString(ui));
@@ -243,12 +243,14 @@ public class TaxonomyService extends BaseService {
             int lastIndex = pathSegments.size() - 1;
             String lastSegment = pathSegments.get(lastIndex).getPath();
             if (lastSegment.equals("terms") || (lastSegment.isEmpty() && pathSegments.get(lastIndex - 1).getPath().equals("terms"))) {
-                result = getResources(termResourceProvider, new CollectionRequest(properties, queryString));
+                Result result = getResources(termResourceProvider, createCollectionRequest(properties, queryString));
+                entity = getSerializer().stream(result, ui);
             } else {
-                result = getResource(termResourceProvider, new InstanceRequest(properties));
+                Result result = getResource(termResourceProvider, new InstanceRequest(properties));
+                entity = getSerializer().serialize(result, ui);
             }
 
-            return Response.status(Response.Status.OK).entity(getSerializer().serialize(result, ui)).build();
+            return Response.status(Response.Status.OK).entity(entity).build();
         } finally {
             AtlasPerfTracer.log(perf);
         }
@@ -20,6 +20,8 @@ package org.apache.atlas;
 
 import com.google.inject.Inject;
 import com.sun.jersey.api.client.ClientResponse;
+import org.apache.atlas.services.MetadataService;
+import org.apache.atlas.typesystem.ITypedReferenceableInstance;
 import org.apache.atlas.typesystem.Referenceable;
 import org.apache.atlas.web.resources.EntityResource;
 import org.apache.atlas.web.service.ServiceState;
@@ -61,6 +63,9 @@ public class LocalAtlasClientTest {
     @Mock
     private ServiceState serviceState;
 
+    @Mock
+    private MetadataService mockMetadataService;
+
     @BeforeMethod
     public void setup() {
         MockitoAnnotations.initMocks(this);
@@ -68,6 +73,18 @@ public class LocalAtlasClientTest {
 
     @Test
     public void testCreateEntity() throws Exception {
+        final String guid = random();
+        when(mockMetadataService.createEntities(any(ITypedReferenceableInstance[].class)))
+                .thenReturn(Arrays.asList(guid));
+
+        LocalAtlasClient atlasClient = new LocalAtlasClient(serviceState, mockEntityResource, mockMetadataService);
+        List<String> results = atlasClient.createEntity(new Referenceable(random()));
+        assertEquals(results.size(), 1);
+        assertEquals(results.get(0), guid);
+    }
+
+    @Test
+    public void testCreateEntityFromJson() throws Exception {
         Response response = mock(Response.class);
         when(mockEntityResource.submit(any(HttpServletRequest.class))).thenReturn(response);
         final String guid = random();
@@ -76,15 +93,26 @@ public class LocalAtlasClientTest {
                     new AtlasClient.EntityResult(Arrays.asList(guid), null, null).toString()).get(ENTITIES));
         }});
 
-        LocalAtlasClient atlasClient = new LocalAtlasClient(serviceState, mockEntityResource);
-        List<String> results = atlasClient.createEntity(new Referenceable(random()));
+        LocalAtlasClient atlasClient = new LocalAtlasClient(serviceState, mockEntityResource, mockMetadataService);
+        List<String> results = atlasClient.createEntity("{}");
         assertEquals(results.size(), 1);
         assertEquals(results.get(0), guid);
     }
 
+    @Test
+    public void testUpdateEntities() throws Exception {
+        final String guid = random();
+        when(mockMetadataService.updateEntities(any(ITypedReferenceableInstance[].class)))
+                .thenReturn(new AtlasClient.EntityResult(null, Arrays.asList(guid), null));
+
+        LocalAtlasClient atlasClient = new LocalAtlasClient(serviceState, mockEntityResource, mockMetadataService);
+        AtlasClient.EntityResult entityResult = atlasClient.updateEntities(new Referenceable(random()));
+        assertEquals(entityResult.getUpdateEntities(), Arrays.asList(guid));
+    }
+
     @Test
     public void testException() throws Exception {
-        LocalAtlasClient atlasClient = new LocalAtlasClient(serviceState, mockEntityResource);
+        LocalAtlasClient atlasClient = new LocalAtlasClient(serviceState, mockEntityResource, mockMetadataService);
 
         Response response = mock(Response.class);
         when(mockEntityResource.submit(any(HttpServletRequest.class))).thenThrow(new WebApplicationException(response));
@@ -93,12 +121,21 @@ public class LocalAtlasClientTest {
         }});
         when(response.getStatus()).thenReturn(Response.Status.BAD_REQUEST.getStatusCode());
         try {
-            atlasClient.createEntity(new Referenceable(random()));
+            atlasClient.createEntity("{}");
             fail("Expected AtlasServiceException");
         } catch(AtlasServiceException e) {
             assertEquals(e.getStatus(), ClientResponse.Status.BAD_REQUEST);
         }
 
+        when(mockMetadataService.createEntities(any(ITypedReferenceableInstance[].class)))
+                .thenThrow(new AtlasException("Simulating failure in createEntities"));
+        try {
+            atlasClient.createEntity(new Referenceable(random()));
+            fail("Expected AtlasServiceException");
+        } catch(AtlasServiceException e) {
+            assertTrue(e.getCause() instanceof AtlasException);
+        }
+
         when(mockEntityResource.updateByUniqueAttribute(anyString(), anyString(), anyString(),
                 any(HttpServletRequest.class))).thenThrow(new WebApplicationException(response));
         when(response.getStatus()).thenReturn(Response.Status.NOT_FOUND.getStatusCode());
@@ -114,7 +151,7 @@ public class LocalAtlasClientTest {
     @Test
     public void testIsServerReady() throws Exception {
         when(serviceState.getState()).thenReturn(ServiceState.ServiceStateValue.ACTIVE);
-        LocalAtlasClient atlasClient = new LocalAtlasClient(serviceState, mockEntityResource);
+        LocalAtlasClient atlasClient = new LocalAtlasClient(serviceState, mockEntityResource, mockMetadataService);
         assertTrue(atlasClient.isServerReady());
 
         when(serviceState.getState()).thenReturn(ServiceState.ServiceStateValue.BECOMING_ACTIVE);
@@ -132,7 +169,7 @@ public class LocalAtlasClientTest {
                     new AtlasClient.EntityResult(null, Arrays.asList(guid), null).toString()).get(ENTITIES));
         }});
 
-        LocalAtlasClient atlasClient = new LocalAtlasClient(serviceState, mockEntityResource);
+        LocalAtlasClient atlasClient = new LocalAtlasClient(serviceState, mockEntityResource, mockMetadataService);
         AtlasClient.EntityResult
                 entityResult = atlasClient.updateEntity(random(), random(), random(), new Referenceable(random()));
         assertEquals(entityResult.getUpdateEntities(), Arrays.asList(guid));
@@ -148,7 +185,7 @@ public class LocalAtlasClientTest {
         }});
 
         when(mockEntityResource.deleteEntities(anyListOf(String.class), anyString(), anyString(), anyString())).thenReturn(response);
-        LocalAtlasClient atlasClient = new LocalAtlasClient(serviceState, mockEntityResource);
+        LocalAtlasClient atlasClient = new LocalAtlasClient(serviceState, mockEntityResource, mockMetadataService);
         AtlasClient.EntityResult entityResult = atlasClient.deleteEntity(random(), random(), random());
         assertEquals(entityResult.getDeletedEntities(), Arrays.asList(guid));
     }
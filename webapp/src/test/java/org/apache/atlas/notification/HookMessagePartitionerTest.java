@@ -0,0 +1,82 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.atlas.notification;
+
+import org.apache.atlas.AtlasClient;
+import org.apache.atlas.notification.hook.HookNotification;
+import org.apache.atlas.typesystem.Referenceable;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class HookMessagePartitionerTest {
+
+    @Test
+    public void testMessagesForSameEntityAreInSameLaneInOrder() {
+        Referenceable db1 = entity("db1");
+        HookNotification.HookNotificationMessage create1 =
+                new HookNotification.EntityCreateRequest("user", db1, table("db1.t1", db1));
+        HookNotification.HookNotificationMessage create2 =
+                new HookNotification.EntityCreateRequest("user", table("db2.t2", entity("db2")));
+        HookNotification.HookNotificationMessage update1 =
+                new HookNotification.EntityPartialUpdateRequest("user", "table", AtlasClient.REFERENCEABLE_ATTRIBUTE_NAME,
+                        "db1.t1", new Referenceable("table"));
+        HookNotification.HookNotificationMessage create3 =
+                new HookNotification.EntityCreateRequest("user", table("db1.t3", entity("db1")));
+        HookNotification.HookNotificationMessage delete2 =
+                new HookNotification.EntityDeleteRequest("user", "table", AtlasClient.REFERENCEABLE_ATTRIBUTE_NAME, "db2.t2");
+
+        List<List<HookNotification.HookNotificationMessage>> lanes = new HookMessagePartitioner(4).partition(
+                Arrays.asList(create1, create2, update1, create3, delete2));
+
+        assertEquals(lanes.size(), 4);
+        assertTrue(lanes.contains(Arrays.asList(create1, update1, create3)));
+        assertTrue(lanes.contains(Arrays.asList(create2, delete2)));
+    }
+
+    @Test
+    public void testUnrelatedMessagesAreSpreadAcrossLanes() {
+        HookNotification.HookNotificationMessage message1 =
+                new HookNotification.EntityDeleteRequest("user", "table", AtlasClient.REFERENCEABLE_ATTRIBUTE_NAME, "t1");
+        HookNotification.HookNotificationMessage message2 =
+                new HookNotification.EntityDeleteRequest("user", "table", AtlasClient.REFERENCEABLE_ATTRIBUTE_NAME, "t2");
+
+        List<List<HookNotification.HookNotificationMessage>> lanes =
+                new HookMessagePartitioner(2).partition(Arrays.asList(message1, message2));
+
+        assertEquals(lanes.get(0).size(), 1);
+        assertEquals(lanes.get(1).size(), 1);
+    }
+
+    private Referenceable entity(String qualifiedName) {
+        Referenceable entity = new Referenceable("db");
+        entity.set(AtlasClient.REFERENCEABLE_ATTRIBUTE_NAME, qualifiedName);
+        return entity;
+    }
+
+    private Referenceable table(String qualifiedName, Referenceable db) {
+        Referenceable table = new Referenceable("table");
+        table.set(AtlasClient.REFERENCEABLE_ATTRIBUTE_NAME, qualifiedName);
+        table.set("db", db);
+        return table;
+    }
+}
@@ -18,13 +18,19 @@
 
 package org.apache.atlas.notification;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.Futures;
+import org.apache.atlas.hook.FailedMessagesLogger;
 import org.apache.atlas.typesystem.IStruct;
+import org.apache.atlas.typesystem.ITypedReferenceableInstance;
 import org.apache.atlas.typesystem.Referenceable;
 import org.apache.atlas.typesystem.Struct;
+import org.apache.atlas.typesystem.persistence.Id;
 import org.apache.atlas.typesystem.types.TraitType;
 import org.apache.atlas.typesystem.types.TypeSystem;
 import org.testng.annotations.Test;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
@@ -32,7 +38,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyList;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
@@ -72,6 +84,56 @@ public class NotificationEntityChangeListenerTest {
         }
     }
 
+    @Test
+    public void testAsyncSendFailureIsRetried() throws Exception {
+        NotificationInterface notificationInterface = mock(NotificationInterface.class);
+        FailedMessagesLogger failedMessagesLogger = mock(FailedMessagesLogger.class);
+        NotificationException exception =
+                new NotificationException(new Exception(), Arrays.asList("message1", "message2"));
+
+        when(notificationInterface.sendAsync(any(NotificationInterface.NotificationType.class), anyList()))
+                .thenReturn(Futures.<Void>immediateFailedFuture(exception))
+                .thenReturn(Futures.<Void>immediateFuture(null));
+
+        NotificationEntityChangeListener listener = new NotificationEntityChangeListener(notificationInterface,
+                mock(TypeSystem.class), true, 3, failedMessagesLogger);
+        listener.onEntitiesAdded(Collections.singleton(getTypedEntity()));
+
+        verify(notificationInterface, times(2)).sendAsync(any(NotificationInterface.NotificationType.class),
+                anyList());
+        verify(failedMessagesLogger, never()).log(anyString());
+    }
+
+    @Test
+    public void testAsyncSendFailureIsLoggedAfterRetries() throws Exception {
+        NotificationInterface notificationInterface = mock(NotificationInterface.class);
+        FailedMessagesLogger failedMessagesLogger = mock(FailedMessagesLogger.class);
+        NotificationException exception =
+                new NotificationException(new Exception(), Arrays.asList("message1", "message2"));
+
+        when(notificationInterface.sendAsync(any(NotificationInterface.NotificationType.class), anyList()))
+                .thenReturn(Futures.<Void>immediateFailedFuture(exception));
+
+        NotificationEntityChangeListener listener = new NotificationEntityChangeListener(notificationInterface,
+                mock(TypeSystem.class), true, 3, failedMessagesLogger);
+        listener.onEntitiesAdded(Collections.singleton(getTypedEntity()));
+
+        verify(notificationInterface, times(3)).sendAsync(any(NotificationInterface.NotificationType.class),
+                anyList());
+        verify(failedMessagesLogger).log("message1");
+        verify(failedMessagesLogger).log("message2");
+    }
+
+    private ITypedReferenceableInstance getTypedEntity() {
+        ITypedReferenceableInstance entity = mock(ITypedReferenceableInstance.class);
+
+        when(entity.getId()).thenReturn(new Id("typeName"));
+        when(entity.getTypeName()).thenReturn("typeName");
+        when(entity.getValuesMap()).thenReturn(Collections.<String, Object>emptyMap());
+        when(entity.getTraits()).thenReturn(ImmutableList.<String>of());
+        return entity;
+    }
+
     private Referenceable getEntity(String id, IStruct... traits) {
         String typeName = "typeName";
         Map<String, Object> values = new HashMap<>();
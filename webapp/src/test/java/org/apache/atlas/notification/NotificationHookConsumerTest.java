@@ -25,12 +25,15 @@ import org.apache.atlas.ha.HAConfiguration;
 import org.apache.atlas.notification.hook.HookNotification;
 import org.apache.atlas.typesystem.Referenceable;
 import org.apache.commons.configuration.Configuration;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 
@@ -41,6 +44,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
+import static org.testng.AssertJUnit.assertEquals;
 import static org.testng.AssertJUnit.assertFalse;
 import static org.testng.AssertJUnit.assertTrue;
 
@@ -202,4 +206,100 @@ public class NotificationHookConsumerTest {
         verify(notificationInterface).close();
         verify(executorService).shutdown();
     }
+
+    @Test
+    public void testBatchIsMergedAndCommittedOnce() throws Exception {
+        NotificationHookConsumer notificationHookConsumer =
+                new NotificationHookConsumer(notificationInterface, atlasClient);
+        NotificationConsumer consumer = mock(NotificationConsumer.class);
+        NotificationHookConsumer.HookConsumer hookConsumer =
+                notificationHookConsumer.new HookConsumer(consumer);
+        List<HookNotification.HookNotificationMessage> messages = Arrays.<HookNotification.HookNotificationMessage>asList(
+                new HookNotification.EntityCreateRequest("user", new Referenceable("type1")),
+                new HookNotification.EntityCreateRequest("user", new Referenceable("type1")),
+                new HookNotification.EntityDeleteRequest("user", "type1", "name", "value"),
+                new HookNotification.EntityCreateRequest("user", new Referenceable("type1")));
+
+        hookConsumer.handleMessages(messages);
+
+        verify(atlasClient, times(2)).createEntity(any(Collection.class));
+        verify(atlasClient).deleteEntity("type1", "name", "value");
+        verify(consumer, times(1)).commit();
+        assertEquals(1, notificationHookConsumer.getNumBatches());
+        assertEquals(4, notificationHookConsumer.getNumMessages());
+        assertEquals(4L, notificationHookConsumer.getMetrics().get("messages"));
+    }
+
+    @Test
+    public void testMessagesTouchingSameEntityAreNotMerged() throws Exception {
+        NotificationHookConsumer notificationHookConsumer =
+                new NotificationHookConsumer(notificationInterface, atlasClient);
+        NotificationConsumer consumer = mock(NotificationConsumer.class);
+        NotificationHookConsumer.HookConsumer hookConsumer =
+                notificationHookConsumer.new HookConsumer(consumer);
+        Referenceable table1 = createEntity("table", "t1", "v1");
+        Referenceable table2 = createEntity("table", "t2", "v1");
+        Referenceable table1Update = createEntity("table", "t1", "v2");
+        List<HookNotification.HookNotificationMessage> messages = Arrays.<HookNotification.HookNotificationMessage>asList(
+                new HookNotification.EntityUpdateRequest("user", table1),
+                new HookNotification.EntityUpdateRequest("user", table2),
+                new HookNotification.EntityUpdateRequest("user", table1Update));
+
+        hookConsumer.handleMessages(messages);
+
+        ArgumentCaptor<Collection> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(atlasClient, times(2)).updateEntities(captor.capture());
+        assertEquals(Arrays.asList(table1, table2), new ArrayList<>(captor.getAllValues().get(0)));
+        assertEquals(Arrays.asList(table1Update), new ArrayList<>(captor.getAllValues().get(1)));
+        verify(consumer, times(1)).commit();
+    }
+
+    @Test
+    public void testDuplicateEntitiesInMergedRequestAreDeduplicated() throws Exception {
+        NotificationHookConsumer notificationHookConsumer =
+                new NotificationHookConsumer(notificationInterface, atlasClient);
+        NotificationConsumer consumer = mock(NotificationConsumer.class);
+        NotificationHookConsumer.HookConsumer hookConsumer =
+                notificationHookConsumer.new HookConsumer(consumer);
+        Referenceable db = createEntity("db", "db1", "v1");
+        Referenceable dbUpdate = createEntity("db", "db1", "v2");
+        Referenceable table = createEntity("table", "t1", "v1");
+        List<HookNotification.HookNotificationMessage> messages = Arrays.<HookNotification.HookNotificationMessage>asList(
+                new HookNotification.EntityCreateRequest("user", db, dbUpdate),
+                new HookNotification.EntityCreateRequest("user", table));
+
+        hookConsumer.handleMessages(messages);
+
+        ArgumentCaptor<Collection> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(atlasClient, times(1)).createEntity(captor.capture());
+        assertEquals(Arrays.asList(dbUpdate, table), new ArrayList<>(captor.getValue()));
+        assertEquals(1L, notificationHookConsumer.getMetrics().get("duplicateEntities"));
+    }
+
+    private Referenceable createEntity(String typeName, String qualifiedName, String description) {
+        Referenceable entity = new Referenceable(typeName);
+        entity.set(AtlasClient.REFERENCEABLE_ATTRIBUTE_NAME, qualifiedName);
+        entity.set("description", description);
+        return entity;
+    }
+
+    @Test
+    public void testBatchFallsBackToIndividualMessagesOnFailure() throws Exception {
+        NotificationHookConsumer notificationHookConsumer =
+                new NotificationHookConsumer(notificationInterface, atlasClient);
+        NotificationConsumer consumer = mock(NotificationConsumer.class);
+        NotificationHookConsumer.HookConsumer hookConsumer =
+                notificationHookConsumer.new HookConsumer(consumer);
+        List<HookNotification.HookNotificationMessage> messages = Arrays.<HookNotification.HookNotificationMessage>asList(
+                new HookNotification.EntityUpdateRequest("user", new Referenceable("type1")),
+                new HookNotification.EntityUpdateRequest("user", new Referenceable("type1")));
+        when(atlasClient.updateEntities(any(Collection.class)))
+                .thenThrow(new RuntimeException("Simulating exception in processing merged messages"))
+                .thenReturn(null);
+
+        hookConsumer.handleMessages(messages);
+
+        verify(atlasClient, times(3)).updateEntities(any(Collection.class));
+        verify(consumer, times(1)).commit();
+    }
 }
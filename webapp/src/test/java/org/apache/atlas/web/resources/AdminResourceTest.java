@@ -18,6 +18,8 @@
 
 package org.apache.atlas.web.resources;
 
+import org.apache.atlas.notification.NotificationHookConsumer;
+import org.apache.atlas.repository.graph.DeleteHandler;
 import org.apache.atlas.web.service.ServiceState;
 import org.codehaus.jettison.json.JSONException;
 import org.codehaus.jettison.json.JSONObject;
@@ -28,6 +30,7 @@ import org.testng.annotations.Test;
 
 import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.core.Response;
+import java.util.Collections;
 
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -38,6 +41,12 @@ public class AdminResourceTest {
     @Mock
     private ServiceState serviceState;
 
+    @Mock
+    private NotificationHookConsumer notificationHookConsumer;
+
+    @Mock
+    private DeleteHandler deleteHandler;
+
     @BeforeMethod
     public void setup() {
         MockitoAnnotations.initMocks(this);
@@ -48,7 +57,7 @@ public class AdminResourceTest {
 
         when(serviceState.getState()).thenReturn(ServiceState.ServiceStateValue.ACTIVE);
 
-        AdminResource adminResource = new AdminResource(serviceState);
+        AdminResource adminResource = new AdminResource(serviceState, notificationHookConsumer, deleteHandler);
         Response response = adminResource.getStatus();
         assertEquals(response.getStatus(), HttpServletResponse.SC_OK);
         JSONObject entity = (JSONObject) response.getEntity();
@@ -59,7 +68,7 @@ public class AdminResourceTest {
     public void testResourceGetsValueFromServiceState() throws JSONException {
         when(serviceState.getState()).thenReturn(ServiceState.ServiceStateValue.PASSIVE);
 
-        AdminResource adminResource = new AdminResource(serviceState);
+        AdminResource adminResource = new AdminResource(serviceState, notificationHookConsumer, deleteHandler);
         Response response = adminResource.getStatus();
 
         verify(serviceState).getState();
@@ -67,4 +76,18 @@ public class AdminResourceTest {
         assertEquals(entity.get("Status"), "PASSIVE");
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testMetricsOfHookConsumerAndDeletesAreReturned() throws JSONException {
+        when(notificationHookConsumer.getMetrics()).thenReturn(Collections.<String, Object>singletonMap("batches", 3L));
+        when(deleteHandler.getMetrics()).thenReturn(Collections.<String, Object>singletonMap("pendingEntities", 5L));
+
+        AdminResource adminResource = new AdminResource(serviceState, notificationHookConsumer, deleteHandler);
+        Response response = adminResource.getMetrics();
+
+        assertEquals(response.getStatus(), HttpServletResponse.SC_OK);
+        JSONObject entity = (JSONObject) response.getEntity();
+        assertEquals(entity.getJSONObject("notificationHookConsumer").getLong("batches"), 3L);
+        assertEquals(entity.getJSONObject("deleteHandler").getLong("pendingEntities"), 5L);
+    }
+}
@@ -32,6 +32,7 @@ import static org.testng.Assert.assertTrue;
 
 import javax.ws.rs.core.PathSegment;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 import java.net.URI;
 import java.util.*;
@@ -86,6 +87,7 @@ public class TaxonomyServiceTest {
         UriInfo uriInfo = createNiceMock(UriInfo.class);
         URI uri = new URI("http://localhost:21000/api/atlas/v1/taxonomies?name:testTaxonomy");
         JsonSerializer serializer = createStrictMock(JsonSerializer.class);
+        StreamingOutput streamingOutput = createNiceMock(StreamingOutput.class);
         Capture<Request> requestCapture = newCapture();
 
         Collection<Map<String, Object>> resultPropertyMaps = new ArrayList<>();
@@ -97,7 +99,7 @@ public class TaxonomyServiceTest {
         // set mock expectations
         expect(uriInfo.getRequestUri()).andReturn(uri);
         expect(taxonomyResourceProvider.getResources(capture(requestCapture))).andReturn(result);
-        expect(serializer.serialize(result, uriInfo)).andReturn("Taxonomy Get Response");
+        expect(serializer.stream(result, uriInfo)).andReturn(streamingOutput);
         expect(metadataService.getTypeDefinition(TaxonomyResourceProvider.TAXONOMY_TERM_TYPE)).andReturn(TaxonomyResourceProvider.TAXONOMY_TERM_TYPE + "-definition");
         replay(uriInfo, metadataService, taxonomyResourceProvider, termResourceProvider, serializer);
 
@@ -113,7 +115,7 @@ public class TaxonomyServiceTest {
         assertEquals(request.getQueryString(), "name:testTaxonomy");
 
         assertEquals(response.getStatus(), 200);
-        assertEquals(response.getEntity(), "Taxonomy Get Response");
+        assertEquals(response.getEntity(), streamingOutput);
 
         verify(uriInfo, metadataService, taxonomyResourceProvider, termResourceProvider, serializer);
     }
@@ -238,6 +240,7 @@ public class TaxonomyServiceTest {
         UriInfo uriInfo = createNiceMock(UriInfo.class);
         URI uri = new URI("http://localhost:21000/api/atlas/v1/taxonomies/testTaxonomy/terms?name:testTaxonomy.testTerm");
         JsonSerializer serializer = createStrictMock(JsonSerializer.class);
+        StreamingOutput streamingOutput = createNiceMock(StreamingOutput.class);
         Capture<Request> requestCapture = newCapture();
 
         Collection<Map<String, Object>> resultPropertyMaps = new ArrayList<>();
@@ -249,7 +252,7 @@ public class TaxonomyServiceTest {
         // set mock expectations
         expect(uriInfo.getRequestUri()).andReturn(uri);
         expect(termResourceProvider.getResources(capture(requestCapture))).andReturn(result);
-        expect(serializer.serialize(result, uriInfo)).andReturn("Taxonomy Term Get Response");
+        expect(serializer.stream(result, uriInfo)).andReturn(streamingOutput);
         expect(metadataService.getTypeDefinition(TaxonomyResourceProvider.TAXONOMY_TERM_TYPE)).andReturn(TaxonomyResourceProvider.TAXONOMY_TERM_TYPE + "-definition");
         replay(uriInfo, metadataService, taxonomyResourceProvider, termResourceProvider, serializer);
 
@@ -267,7 +270,54 @@ public class TaxonomyServiceTest {
         assertEquals(request.getQueryString(), "name:testTaxonomy.testTerm");
 
         assertEquals(response.getStatus(), 200);
-        assertEquals(response.getEntity(), "Taxonomy Term Get Response");
+        assertEquals(response.getEntity(), streamingOutput);
+
+        verify(uriInfo, metadataService, taxonomyResourceProvider, termResourceProvider, serializer);
+    }
+
+    @Test
+    public void testGetTaxonomyTerms_pagedAndSorted() throws Exception {
+        MetadataService metadataService = createStrictMock(MetadataService.class);
+        ResourceProvider taxonomyResourceProvider = createStrictMock(ResourceProvider.class);
+        ResourceProvider termResourceProvider = createStrictMock(ResourceProvider.class);
+        UriInfo uriInfo = createNiceMock(UriInfo.class);
+        URI uri = new URI("http://localhost:21000/api/atlas/v1/taxonomies/testTaxonomy/terms?name:testTaxonomy.testTerm&sort=-name&offset=100&limit=50");
+        JsonSerializer serializer = createStrictMock(JsonSerializer.class);
+        StreamingOutput streamingOutput = createNiceMock(StreamingOutput.class);
+        Capture<Request> requestCapture = newCapture();
+
+        Collection<Map<String, Object>> resultPropertyMaps = new ArrayList<>();
+        Map<String, Object> propertyMap = new HashMap<>();
+        propertyMap.put("name", "testTaxonomy.testTerm");
+        resultPropertyMaps.add(propertyMap);
+        Result result = new Result(resultPropertyMaps);
+
+        // set mock expectations
+        expect(uriInfo.getRequestUri()).andReturn(uri);
+        expect(termResourceProvider.getResources(capture(requestCapture))).andReturn(result);
+        expect(serializer.stream(result, uriInfo)).andReturn(streamingOutput);
+        expect(metadataService.getTypeDefinition(TaxonomyResourceProvider.TAXONOMY_TERM_TYPE)).andReturn(TaxonomyResourceProvider.TAXONOMY_TERM_TYPE + "-definition");
+        replay(uriInfo, metadataService, taxonomyResourceProvider, termResourceProvider, serializer);
+
+        // instantiate service and invoke method being tested
+        TestTaxonomyService service = new TestTaxonomyService(
+                metadataService, taxonomyResourceProvider, termResourceProvider, serializer);
+        Response response = service.getTaxonomyTerms(null, uriInfo, "testTaxonomy");
+
+        assertTrue(service.wasTransactionInitialized());
+
+        Request request = requestCapture.getValue();
+        assertEquals(request.getQueryProperties().size(), 1);
+        TermPath termPath = (TermPath) request.getQueryProperties().get("termPath");
+        assertEquals(termPath.getFullyQualifiedName(), "testTaxonomy");
+        assertEquals(request.getQueryString(), "name:testTaxonomy.testTerm");
+        assertEquals(request.getOffset(), 100);
+        assertEquals(request.getLimit(), 50);
+        assertEquals(request.getSortProperty(), "name");
+        assertTrue(request.isSortDescending());
+
+        assertEquals(response.getStatus(), 200);
+        assertEquals(response.getEntity(), streamingOutput);
 
         verify(uriInfo, metadataService, taxonomyResourceProvider, termResourceProvider, serializer);
     }
@@ -330,6 +380,7 @@ public class TaxonomyServiceTest {
         UriInfo uriInfo = createNiceMock(UriInfo.class);
         URI uri = new URI("http://localhost:21000/api/atlas/v1/taxonomies/testTaxonomy/terms/testTerm/terms/testTerm2/terms?name:testTaxonomy.testTerm.testTerm2.testTerm3");
         JsonSerializer serializer = createStrictMock(JsonSerializer.class);
+        StreamingOutput streamingOutput = createNiceMock(StreamingOutput.class);
         // would actually be more segments but at this time only the last segment is used
         PathSegment segment1 = createNiceMock(PathSegment.class);
         PathSegment segment2 = createNiceMock(PathSegment.class);
@@ -349,7 +400,7 @@ public class TaxonomyServiceTest {
         expect(segment3.getPath()).andReturn("terms");
 
         expect(termResourceProvider.getResources(capture(requestCapture))).andReturn(result);
-        expect(serializer.serialize(result, uriInfo)).andReturn("Taxonomy Term Get Response");
+        expect(serializer.stream(result, uriInfo)).andReturn(streamingOutput);
         expect(metadataService.getTypeDefinition(TaxonomyResourceProvider.TAXONOMY_TERM_TYPE)).andReturn(TaxonomyResourceProvider.TAXONOMY_TERM_TYPE + "-definition");
         replay(uriInfo, metadataService, taxonomyResourceProvider, termResourceProvider, serializer,
                 segment1, segment2, segment3);
@@ -368,7 +419,7 @@ public class TaxonomyServiceTest {
         assertEquals(request.getQueryString(), "name:testTaxonomy.testTerm.testTerm2.testTerm3");
 
         assertEquals(response.getStatus(), 200);
-        assertEquals(response.getEntity(), "Taxonomy Term Get Response");
+        assertEquals(response.getEntity(), streamingOutput);
 
         verify(uriInfo, metadataService, taxonomyResourceProvider, termResourceProvider, serializer,
                 segment1, segment2, segment3);